@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { Container, Row, Col, Card, Button, Form, Modal, Badge, Spinner } from 'react-bootstrap';
 import { useParams, useNavigate } from 'react-router-dom';
 import { hotelAPI, reservationAPI } from '../services/api';
@@ -23,6 +23,8 @@ const HotelDetails = () => {
     specialRequests: ''
   });
   const [bookingLoading, setBookingLoading] = useState(false);
+  // One key per booking, so a double click or a retried request creates a single reservation
+  const bookingKey = useRef(null);
 
   useEffect(() => {
     loadHotelDetails();
@@ -71,7 +73,11 @@ const HotelDetails = () => {
         totalCost: calculateTotalCost()
       };
 
-      const response = await reservationAPI.createReservation(reservationPayload);
+      if (!bookingKey.current) {
+        bookingKey.current = crypto.randomUUID();
+      }
+      const response = await reservationAPI.createReservation(reservationPayload, bookingKey.current);
+      bookingKey.current = null;
       toast.success('Reservation created successfully!');
       setShowBookingModal(false);
       
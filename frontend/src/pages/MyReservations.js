@@ -123,6 +123,7 @@ const MyReservations = () => {
       'CONFIRMED': 'success',
       'PENDING': 'warning',
       'CANCELLED': 'danger',
+      'EXPIRED': 'secondary',
       'REFUNDED': 'info',
       'COMPLETED': 'info'
     };
@@ -236,7 +236,7 @@ const SearchHotels = () => {
         {hotel.imagePath ? (
           <div style={{ height: '200px', overflow: 'hidden' }}>
             <Image 
-              src={hotelAPI.getHotelImageUrl(hotel.hotelId)} 
+              src={hotelAPI.getImageUrl(hotel.imagePath, 800)} 
               alt={hotel.hotelName}
               style={{ 
                 width: '100%', 
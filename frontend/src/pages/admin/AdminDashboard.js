@@ -82,6 +82,7 @@ const AdminDashboard = () => {
       'CONFIRMED': 'success',
       'PENDING': 'warning',
       'CANCELLED': 'danger',
+      'EXPIRED': 'secondary',
       'COMPLETED': 'info'
     };
     return <Badge bg={variants[status] || 'secondary'}>{status}</Badge>;
@@ -128,6 +128,7 @@ const AdminReservations = () => {
       'PENDING': { variant: 'warning', text: 'Pending Payment' },
       'CONFIRMED': { variant: 'success', text: 'Confirmed' },
       'CANCELLED': { variant: 'danger', text: 'Cancelled' },
+      'EXPIRED': { variant: 'secondary', text: 'Expired Unpaid' },
       'COMPLETED': { variant: 'info', text: 'Completed' }
     };
 
@@ -331,6 +332,7 @@ const AdminReservations = () => {
             <option value="PENDING">Pending Payment</option>
             <option value="CONFIRMED">Confirmed</option>
             <option value="CANCELLED">Cancelled</option>
+            <option value="EXPIRED">Expired Unpaid</option>
             <option value="COMPLETED">Completed</option>
           </Form.Select>
         </Col>
@@ -409,7 +411,7 @@ const AdminReservations = () => {
                             >
                               <FaEye />
                             </Button>
-                            {reservation.status !== 'CANCELLED' && reservation.status !== 'COMPLETED' && (
+                            {reservation.status !== 'CANCELLED' && reservation.status !== 'EXPIRED' && reservation.status !== 'COMPLETED' && (
                               <Button
                                 variant="outline-danger"
                                 size="sm"
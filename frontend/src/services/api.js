@@ -66,15 +66,39 @@ export const authAPI = {
 export const hotelAPI = {
   getAllHotels: () => api.get('/hotels'),
   getHotelById: (id) => api.get(`/hotels/${id}`),
-  searchHotels: (params) => api.get('/hotels', { params }),
+  // params: { city, state, country, name, minPrice, maxPrice, roomType, minRating, sort, size, cursor }
+  // returns { hotels: [...summaries], nextCursor } - pass nextCursor as cursor for the next page
+  searchHotels: (params) => api.get('/hotels/search', { params }),
+  // returns { total, cities, states, countries: [{ value, count }], ratings, acRoomCost, nonAcRoomCost: [{ from, to, count }] }
+  getHotelFacets: (params) => api.get('/hotels/facets', { params }),
   searchByCity: (city) => api.get(`/hotels/search/city/${city}`),
   searchByState: (state) => api.get(`/hotels/search/state/${state}`),
   searchByCountry: (country) => api.get(`/hotels/search/country/${country}`),
   searchByName: (name) => api.get(`/hotels/search/name/${name}`),
+  // returns [{ hotelId, hotelName, city, country, similarity }], best match first
+  suggestHotels: (q, limit = 10) => api.get('/hotels/suggest', { params: { q, limit } }),
+  // returns [{ hotel: summary, distanceKm }], nearest first
+  findNearbyHotels: (lat, lon, radiusKm = 5, options = {}) =>
+    api.get('/hotels/nearby', { params: { lat, lon, radiusKm, ...options } }),
   searchByCityAndMaxAcCost: (city, maxCost) => api.get(`/hotels/search/city/${city}/maxac/${maxCost}`),
   searchByCityAndMaxNonAcCost: (city, maxCost) => api.get(`/hotels/search/city/${city}/maxnonac/${maxCost}`),
+  // queries: [{ hotelId, roomType, numberOfRooms, checkInDate?, checkOutDate? }]
+  // returns { availableRooms: [...], available: [...] } in the same order
+  checkAvailabilityBatch: (queries) => api.post('/hotels/availability/batch', queries),
+  // Server-side price of a stay; the booking's totalCost is set from the same quote
+  // returns { nights, numberOfRooms, roomCost, totalCost, ... }
+  quoteStay: (id, { roomType, numberOfRooms = 1, checkInDate, checkOutDate }) =>
+    api.get(`/hotels/${id}/quote`, { params: { roomType, numberOfRooms, checkInDate, checkOutDate } }),
   addHotel: (hotelData) => api.post('/hotels', hotelData),
+  // file: a .csv (with header row) or .ndjson File; returns { received, imported, failed, errors: [{ line, message }] }
+  importHotels: (file) => api.post('/hotels/bulk', file, {
+    headers: { 'Content-Type': file.name.endsWith('.csv') ? 'text/csv' : 'application/x-ndjson' },
+  }),
   updateHotel: (id, hotelData) => api.put(`/hotels/${id}`, hotelData),
+  // review: { userId, rating (1-5), comment }; one per user and hotel
+  submitReview: (id, review) => api.post(`/hotels/${id}/reviews`, review),
+  // Newest first; returns { reviews, nextCursor }, pass nextCursor back as cursor for the next page
+  getHotelReviews: (id, cursor, size = 20) => api.get(`/hotels/${id}/reviews`, { params: { cursor, size } }),
   deleteHotel: (id) => api.delete(`/hotels/${id}`),
   uploadHotelImage: (id, imageFile) => {
     const formData = new FormData();
@@ -85,7 +109,11 @@ export const hotelAPI = {
       },
     });
   },
-  getHotelImageUrl: (id) => `${API_BASE_URL}/hotels/${id}/image`
+  getHotelImageUrl: (id) => `${API_BASE_URL}/hotels/${id}/image`,
+  // Stored image by file name (hotel.imagePath); served with long-lived cache headers.
+  // width asks for the smallest resized variant at least that many pixels wide
+  getImageUrl: (imagePath, width) => `${API_BASE_URL}/hotels/images/${encodeURIComponent(imagePath)}`
+    + (width ? `?w=${width}` : '')
 };
 
 // Reservation API
@@ -93,9 +121,18 @@ export const reservationAPI = {
   getAllReservations: () => api.get('/reservations'),
   getReservationById: (id) => api.get(`/reservations/${id}`),
   getUserReservations: (userId) => api.get(`/reservations/user/${userId}`),
-  createReservation: (reservationData) => api.post('/reservations', reservationData),
+  createReservation: (reservationData, idempotencyKey) =>
+    api.post('/reservations', reservationData, idempotencyKey ? { headers: { 'Idempotency-Key': idempotencyKey } } : undefined),
   updateReservation: (id, reservationData) => api.put(`/reservations/${id}`, reservationData),
-  cancelReservation: (id) => api.put(`/reservations/${id}/cancel`)
+  cancelReservation: (id) => api.put(`/reservations/${id}/cancel`),
+  getOverlappingReservations: (hotelId, roomType, checkInDate, checkOutDate) =>
+    api.get(`/reservations/hotel/${hotelId}/overlapping`, { params: { roomType, checkInDate, checkOutDate } }),
+  getPeakOccupancy: (hotelId, roomType, checkInDate, checkOutDate) =>
+    api.get(`/reservations/hotel/${hotelId}/peak-occupancy`, { params: { roomType, checkInDate, checkOutDate } }),
+  getHoldMetrics: () => api.get('/reservations/holds/metrics'),
+  getOutboxMetrics: () => api.get('/reservations/outbox/metrics'),
+  getValidationMetrics: () => api.get('/reservations/validation/metrics'),
+  getHotelTeardown: (hotelId) => api.get(`/reservations/hotel/${hotelId}/teardown`)
 };
 
 // Payment API
@@ -23,7 +23,6 @@ public class DataInitializer implements CommandLineRunner {
             hotel1.setState("Maharashtra");
             hotel1.setCountry("India");
             hotel1.setDescription("Luxury hotel in the heart of Mumbai");
-            hotel1.setAvgRatingByCustomers(4.5);
             hotel1.setAcRoomCost(5000.0);
             hotel1.setNonAcRoomCost(3000.0);
             hotelRepository.save(hotel1);
@@ -35,7 +34,6 @@ public class DataInitializer implements CommandLineRunner {
             hotel2.setState("Goa");
             hotel2.setCountry("India");
             hotel2.setDescription("Beautiful beachside resort");
-            hotel2.setAvgRatingByCustomers(4.2);
             hotel2.setAcRoomCost(4000.0);
             hotel2.setNonAcRoomCost(2500.0);
             hotelRepository.save(hotel2);
@@ -47,7 +45,6 @@ public class DataInitializer implements CommandLineRunner {
             hotel3.setState("Himachal Pradesh");
             hotel3.setCountry("India");
             hotel3.setDescription("Cozy lodge with mountain views");
-            hotel3.setAvgRatingByCustomers(4.0);
             hotel3.setAcRoomCost(3500.0);
             hotel3.setNonAcRoomCost(2000.0);
             hotelRepository.save(hotel3);
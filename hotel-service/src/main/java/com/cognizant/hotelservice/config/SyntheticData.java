@@ -0,0 +1,169 @@
+package com.cognizant.hotelservice.config;
+
+import java.util.SplittableRandom;
+
+/**
+ * The synthetic hotels, as pure functions of the seed, the scale and a hotel id. Every hotel draws
+ * from its own random stream, so any worker can produce any range of ids in any order and a run
+ * with the same settings always writes the same rows. Generated ids start at 1.
+ *
+ * This class is the canonical source of the hotel stream, acCost, roundTo50, cityRanges and the
+ * random seeding (random and mix). reservation-service and payment-service recompute hotel prices
+ * and city ranges rather than reading them, and user-service seeds its stream the same way, so
+ * their SyntheticData carry copies of these helpers. Change them here first, then make the same
+ * edit in each copy; SyntheticDataTest in each service pins the same values to catch a miss.
+ *
+ * Skew: hotels per city follow a Zipf law over city rank, and popular cities are dearer.
+ */
+final class SyntheticData {
+
+    private static final String[] CITY_NAMES = {
+        "Mumbai", "Delhi", "Bengaluru", "Goa", "Jaipur", "Chennai", "Hyderabad", "Kolkata", "Pune", "Udaipur",
+        "Shimla", "Kochi", "Agra", "Varanasi", "Rishikesh", "Manali", "Mysuru", "Amritsar", "Darjeeling", "Ooty"};
+    private static final String[] COUNTRIES = {
+        "India", "Thailand", "Indonesia", "Sri Lanka", "Nepal", "Malaysia", "Vietnam", "Singapore"};
+    private static final String[] NAME_PREFIXES = {
+        "Grand", "Royal", "Ocean", "Mountain", "Garden", "Heritage", "City", "Lake", "Palm", "Silver",
+        "Golden", "Sunset", "Riverside", "Park", "Imperial", "Blue"};
+    private static final String[] NAME_SUFFIXES = {
+        "Hotel", "Resort", "Inn", "Lodge", "Residency", "Suites", "Palace", "Retreat"};
+    private static final String[] STREETS = {
+        "Marine Drive", "MG Road", "Beach Road", "Station Road", "Hill Road", "Lake Road", "Main Street", "Park Avenue"};
+
+    // Separate streams per table, so adding a draw to one kind of row does not shift the others
+    private static final long HOTEL_STREAM = 0x1L;
+    private static final long CITY_STREAM = 0x2L;
+
+    private final long seed;
+    private final int cities;
+
+    // Hotels of city c (0 = most popular) have ids cityStart[c] + 1 .. cityStart[c + 1]
+    private final long[] cityStart;
+
+    SyntheticData(long seed, int hotels, int cities, double zipfExponent) {
+        if (hotels < 1 || cities < 1) {
+            throw new IllegalArgumentException("hotels and cities must be positive");
+        }
+        this.seed = seed;
+        this.cities = Math.min(cities, hotels);
+        this.cityStart = cityRanges(hotels, this.cities, zipfExponent);
+    }
+
+    Hotel hotel(long hotelId) {
+        SplittableRandom random = random(HOTEL_STREAM, hotelId);
+        int city = cityOf(hotelId);
+        Hotel hotel = new Hotel();
+        hotel.hotelId = hotelId;
+        // Costs are drawn first so reservation-service can recompute them without the rest of the row
+        hotel.acRoomCost = acCost(random, city);
+        hotel.nonAcRoomCost = roundTo50(hotel.acRoomCost * (0.55 + 0.2 * random.nextDouble()));
+        hotel.hotelName = NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)] + " "
+                + NAME_SUFFIXES[random.nextInt(NAME_SUFFIXES.length)] + " " + cityName(city);
+        hotel.address = (1 + random.nextInt(999)) + " " + STREETS[random.nextInt(STREETS.length)];
+        hotel.city = cityName(city);
+        hotel.state = "Region " + (1 + city % 12);
+        hotel.country = COUNTRIES[city % COUNTRIES.length];
+        hotel.description = "Synthetic hotel " + hotelId;
+        // Ratings lean high, as they do on booking sites
+        hotel.avgRatingByCustomers = Math.round((2.5 + 2.5 * Math.sqrt(random.nextDouble())) * 10) / 10.0;
+        hotel.totalAcRooms = 5 + (int) Math.min(295, Math.exp(3 + random.nextGaussian() * 0.7));
+        hotel.totalNonAcRooms = random.nextInt(4) == 0 ? 0 : 2 + (int) Math.min(148, Math.exp(2.5 + random.nextGaussian() * 0.7));
+        double[] center = cityCenter(city);
+        hotel.latitude = Math.max(-90, Math.min(90, center[0] + random.nextGaussian() * 0.05));
+        hotel.longitude = wrapLongitude(center[1] + random.nextGaussian() * 0.05);
+        return hotel;
+    }
+
+    // 0-based popularity rank of the hotel's city
+    int cityOf(long hotelId) {
+        int low = 0;
+        int high = cities - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (cityStart[mid] < hotelId) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    String cityName(int city) {
+        if (city < CITY_NAMES.length) {
+            return CITY_NAMES[city];
+        }
+        return CITY_NAMES[city % CITY_NAMES.length] + " " + (city / CITY_NAMES.length + 1);
+    }
+
+    // ---- Helpers (copied into the other services' SyntheticData, see the class comment) ----
+
+    private SplittableRandom random(long stream, long id) {
+        return new SplittableRandom(mix(seed ^ (stream * 0x9E3779B97F4A7C15L)) + id);
+    }
+
+    // Popular cities are dearer
+    private static double acCost(SplittableRandom random, int city) {
+        double base = 1500 + 6000 / Math.sqrt(city + 1);
+        return roundTo50(base * Math.exp(random.nextGaussian() * 0.35));
+    }
+
+    private double[] cityCenter(int city) {
+        SplittableRandom random = random(CITY_STREAM, city);
+        return new double[] {-40 + random.nextDouble() * 100, -180 + random.nextDouble() * 360};
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        return longitude < -180 ? longitude + 360 : longitude;
+    }
+
+    private static double roundTo50(double cost) {
+        return Math.max(50, Math.round(cost / 50) * 50);
+    }
+
+    // Splits hotels into contiguous id ranges with Zipf-distributed sizes, at least one per city
+    static long[] cityRanges(int hotels, int cities, double exponent) {
+        double total = 0;
+        for (int c = 1; c <= cities; c++) {
+            total += Math.pow(c, -exponent);
+        }
+        long[] start = new long[cities + 1];
+        int spare = hotels - cities;
+        long assigned = 0;
+        for (int c = 0; c < cities; c++) {
+            start[c] = assigned;
+            long share = c == cities - 1 ? hotels - assigned
+                    : 1 + (long) Math.floor(spare * Math.pow(c + 1, -exponent) / total);
+            assigned += share;
+        }
+        start[cities] = hotels;
+        return start;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // A plain row of the hotels table
+    static final class Hotel {
+        long hotelId;
+        String hotelName;
+        String address;
+        String city;
+        String state;
+        String country;
+        String description;
+        double avgRatingByCustomers;
+        double acRoomCost;
+        double nonAcRoomCost;
+        int totalAcRooms;
+        int totalNonAcRooms;
+        double latitude;
+        double longitude;
+    }
+}
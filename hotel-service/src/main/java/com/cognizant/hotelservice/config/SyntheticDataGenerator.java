@@ -0,0 +1,120 @@
+package com.cognizant.hotelservice.config;
+
+import com.cognizant.hotelservice.service.HotelIdAllocator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills an empty hotels table with synthetic-data.hotels generated hotels (see SyntheticData) when
+ * synthetic-data.enabled is set. Id ranges are split across synthetic-data.threads workers, each
+ * writing JDBC batches of synthetic-data.batch-size rows with explicit ids 1..n. Runs before
+ * DataInitializer, which then finds the table non-empty and adds no sample hotels.
+ *
+ * Plain INSERTs only, so it works against MySQL and H2 alike.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "synthetic-data.enabled", havingValue = "true")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String INSERT_SQL = "INSERT INTO hotels (hotel_id, hotel_name, address, city, state, "
+            + "country, description, avg_rating_by_customers, ac_room_cost, non_ac_room_cost, total_ac_rooms, "
+            + "available_ac_rooms, total_non_ac_rooms, available_non_ac_rooms, latitude, longitude) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Ids per task handed to a worker
+    private static final int CHUNK = 20_000;
+
+    @Value("${synthetic-data.seed:42}")
+    private long seed;
+
+    @Value("${synthetic-data.hotels:1000000}")
+    private int hotels;
+
+    @Value("${synthetic-data.cities:2000}")
+    private int cities;
+
+    @Value("${synthetic-data.zipf-exponent:1.0}")
+    private double zipfExponent;
+
+    @Value("${synthetic-data.threads:4}")
+    private int threads;
+
+    @Value("${synthetic-data.batch-size:1000}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HotelIdAllocator idAllocator;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hotels", Long.class);
+        if (existing != null && existing > 0) {
+            System.out.println("Synthetic data skipped: hotels table already has " + existing + " rows");
+            return;
+        }
+        SyntheticData data = new SyntheticData(seed, hotels, cities, zipfExponent);
+        long started = System.nanoTime();
+        writeInParallel(data, hotels);
+        idAllocator.advancePast(hotels);
+        report("hotels", hotels, started);
+    }
+
+    private void writeInParallel(SyntheticData data, long count) throws InterruptedException, ExecutionException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (long from = 1; from <= count; from += CHUNK) {
+                long first = from;
+                long last = Math.min(count, from + CHUNK - 1);
+                tasks.add(workers.submit(() -> writeRange(data, first, last)));
+            }
+            // get() rethrows the first failure
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void writeRange(SyntheticData data, long first, long last) {
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (long id = first; id <= last; id++) {
+            SyntheticData.Hotel hotel = data.hotel(id);
+            rows.add(new Object[] {hotel.hotelId, hotel.hotelName, hotel.address, hotel.city, hotel.state,
+                    hotel.country, hotel.description, hotel.avgRatingByCustomers, hotel.acRoomCost,
+                    hotel.nonAcRoomCost, hotel.totalAcRooms, hotel.totalAcRooms, hotel.totalNonAcRooms,
+                    hotel.totalNonAcRooms, hotel.latitude, hotel.longitude});
+            if (rows.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    private static void report(String what, long rows, long started) {
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        System.out.println("Synthetic data: " + rows + " " + what + " written in " + millis + " ms ("
+                + (rows * 1000L / millis) + " rows/s)");
+    }
+}
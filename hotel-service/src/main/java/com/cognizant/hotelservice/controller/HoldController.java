@@ -0,0 +1,71 @@
+package com.cognizant.hotelservice.controller;
+
+import com.cognizant.hotelservice.model.HoldReleaseRequest;
+import com.cognizant.hotelservice.model.HoldRequest;
+import com.cognizant.hotelservice.model.InventoryHold;
+import com.cognizant.hotelservice.service.HoldService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/hotels/{hotelId}/holds")
+@CrossOrigin(origins = "*")
+public class HoldController {
+    
+    @Autowired
+    private HoldService holdService;
+    
+    @PostMapping
+    public ResponseEntity<?> createHold(@PathVariable Long hotelId, @Valid @RequestBody HoldRequest request) {
+        try {
+            Optional<InventoryHold> hold = holdService.createHold(hotelId, request);
+            if (hold.isPresent()) {
+                return new ResponseEntity<>(hold.get(), HttpStatus.CREATED);
+            }
+            return new ResponseEntity<>("Insufficient rooms available for the requested reservation", HttpStatus.CONFLICT);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    @PostMapping("/release")
+    public ResponseEntity<?> releaseHolds(@PathVariable Long hotelId, @Valid @RequestBody HoldReleaseRequest request) {
+        try {
+            return new ResponseEntity<>(holdService.releaseHolds(hotelId, request), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    @GetMapping("/{holdToken}")
+    public ResponseEntity<?> getHold(@PathVariable Long hotelId, @PathVariable String holdToken) {
+        Optional<InventoryHold> hold = holdService.getHold(hotelId, holdToken);
+        if (hold.isPresent()) {
+            return new ResponseEntity<>(hold.get(), HttpStatus.OK);
+        }
+        return new ResponseEntity<>("Hold not found", HttpStatus.NOT_FOUND);
+    }
+    
+    @PostMapping("/{holdToken}/commit")
+    public ResponseEntity<?> commitHold(@PathVariable Long hotelId, @PathVariable String holdToken) {
+        try {
+            return new ResponseEntity<>(holdService.commitHold(hotelId, holdToken), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        }
+    }
+    
+    @DeleteMapping("/{holdToken}")
+    public ResponseEntity<?> releaseHold(@PathVariable Long hotelId, @PathVariable String holdToken) {
+        try {
+            return new ResponseEntity<>(holdService.releaseHold(hotelId, holdToken), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+}
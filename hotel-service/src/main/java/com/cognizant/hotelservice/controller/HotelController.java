@@ -1,15 +1,35 @@
 package com.cognizant.hotelservice.controller;
 
+import com.cognizant.hotelservice.model.AvailabilityQuery;
+import com.cognizant.hotelservice.model.BatchAvailabilityResult;
+import com.cognizant.hotelservice.model.BulkImportResult;
+import com.cognizant.hotelservice.model.CacheStats;
 import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.HotelFacets;
+import com.cognizant.hotelservice.model.HotelSearchCriteria;
+import com.cognizant.hotelservice.model.HotelSearchPage;
+import com.cognizant.hotelservice.model.HotelSuggestion;
+import com.cognizant.hotelservice.model.ImageFile;
+import com.cognizant.hotelservice.model.ImageVariantMetrics;
+import com.cognizant.hotelservice.model.InventoryMetrics;
+import com.cognizant.hotelservice.model.InventoryResult;
+import com.cognizant.hotelservice.model.NearbyHotel;
+import com.cognizant.hotelservice.model.PriceQuote;
 import com.cognizant.hotelservice.service.HotelService;
+import com.cognizant.hotelservice.service.InventoryService;
+import com.cognizant.hotelservice.service.PricingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,9 +38,28 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class HotelController {
     
+    private static final int MAX_AVAILABILITY_BATCH = 200;
+    
+    private static final int MAX_SUGGESTIONS = 50;
+    
+    private static final int MAX_NEARBY = 100;
+    
+    private static final int MAX_FACET_BINS = 100;
+    
+    private static final int MAX_FACET_VALUES = 100;
+    
+    private static final String REVALIDATE = "no-cache";
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    
     @Autowired
     private HotelService hotelService;
     
+    @Autowired
+    private InventoryService inventoryService;
+    
+    @Autowired
+    private PricingService pricingService;
+    
     @PostMapping
     public ResponseEntity<?> addHotel(@Valid @RequestBody Hotel hotel) {
         try {
@@ -31,6 +70,17 @@ public class HotelController {
         }
     }
     
+    // Body is CSV with a header row or NDJSON, read as it arrives; answers 200 with per-row errors
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson", "application/jsonl"})
+    public ResponseEntity<?> importHotels(HttpServletRequest request) {
+        try {
+            BulkImportResult result = hotelService.importHotels(request.getInputStream(), request.getContentType());
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
     @GetMapping("/{hotelId}")
     public ResponseEntity<?> getHotelById(@PathVariable Long hotelId) {
         Optional<Hotel> hotel = hotelService.getHotelById(hotelId);
@@ -46,6 +96,31 @@ public class HotelController {
         return new ResponseEntity<>(hotels, HttpStatus.OK);
     }
     
+    // Query parameters bind to HotelSearchCriteria; pass nextCursor back as cursor for the next page
+    @GetMapping("/search")
+    public ResponseEntity<?> searchHotels(HotelSearchCriteria criteria) {
+        try {
+            HotelSearchPage page = hotelService.searchHotels(criteria);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // Same filters as /search; counts per city, state, country and rating, and price histograms
+    @GetMapping("/facets")
+    public ResponseEntity<?> getHotelFacets(HotelSearchCriteria criteria,
+                                            @RequestParam(defaultValue = "20") int bins,
+                                            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            HotelFacets facets = hotelService.getHotelFacets(criteria, Math.min(Math.max(bins, 1), MAX_FACET_BINS),
+                    Math.min(Math.max(limit, 1), MAX_FACET_VALUES));
+            return new ResponseEntity<>(facets, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
     @GetMapping("/search/city/{city}")
     public ResponseEntity<List<Hotel>> searchHotelsByCity(@PathVariable String city) {
         List<Hotel> hotels = hotelService.searchHotelsByCity(city);
@@ -84,6 +159,28 @@ public class HotelController {
         return new ResponseEntity<>(hotels, HttpStatus.OK);
     }
     
+    @GetMapping("/suggest")
+    public ResponseEntity<List<HotelSuggestion>> suggestHotels(@RequestParam("q") String query,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        List<HotelSuggestion> suggestions = hotelService.suggestHotels(query, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
+    }
+    
+    @GetMapping("/nearby")
+    public ResponseEntity<?> findNearbyHotels(@RequestParam Double lat, @RequestParam Double lon,
+                                              @RequestParam(defaultValue = "5") Double radiusKm,
+                                              @RequestParam(defaultValue = "20") int limit,
+                                              @RequestParam(defaultValue = "false") boolean available,
+                                              @RequestParam(required = false) String roomType) {
+        try {
+            List<NearbyHotel> hotels = hotelService.findNearbyHotels(lat, lon, radiusKm,
+                    Math.min(Math.max(limit, 1), MAX_NEARBY), available, roomType);
+            return new ResponseEntity<>(hotels, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
     @PutMapping("/{hotelId}")
     public ResponseEntity<?> updateHotel(@PathVariable Long hotelId, @Valid @RequestBody Hotel hotel) {
         try {
@@ -107,28 +204,107 @@ public class HotelController {
     @GetMapping("/{hotelId}/room-availability")
     public ResponseEntity<Boolean> checkRoomAvailability(@PathVariable Long hotelId,
                                                         @RequestParam String roomType,
-                                                        @RequestParam Integer numberOfRooms) {
+                                                        @RequestParam Integer numberOfRooms,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate) {
         try {
-            boolean isAvailable = hotelService.checkRoomAvailability(hotelId, roomType, numberOfRooms);
+            boolean isAvailable = hasStayDates(checkInDate, checkOutDate)
+                    ? hotelService.checkRoomAvailability(hotelId, roomType, numberOfRooms, checkInDate, checkOutDate)
+                    : hotelService.checkRoomAvailability(hotelId, roomType, numberOfRooms);
             return new ResponseEntity<>(isAvailable, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(false, HttpStatus.BAD_REQUEST);
         }
     }
     
+    // Price of a stay from nightly rates that follow occupancy and day of week
+    @GetMapping("/{hotelId}/quote")
+    public ResponseEntity<?> quoteStay(@PathVariable Long hotelId,
+                                       @RequestParam String roomType,
+                                       @RequestParam(defaultValue = "1") Integer numberOfRooms,
+                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate) {
+        try {
+            PriceQuote quote = pricingService.quote(hotelId, roomType, numberOfRooms, checkInDate, checkOutDate);
+            return new ResponseEntity<>(quote, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    @PostMapping("/availability/batch")
+    public ResponseEntity<?> checkAvailabilityBatch(@RequestBody List<AvailabilityQuery> queries) {
+        if (queries == null || queries.isEmpty() || queries.size() > MAX_AVAILABILITY_BATCH) {
+            return new ResponseEntity<>("Batch must contain between 1 and " + MAX_AVAILABILITY_BATCH + " queries",
+                    HttpStatus.BAD_REQUEST);
+        }
+        try {
+            BatchAvailabilityResult result = inventoryService.checkAvailability(queries);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
     @PostMapping("/{hotelId}/update-room-availability")
     public ResponseEntity<Boolean> updateRoomAvailability(@PathVariable Long hotelId,
                                                          @RequestParam String roomType,
                                                          @RequestParam Integer numberOfRooms,
-                                                         @RequestParam boolean isReservation) {
+                                                         @RequestParam boolean isReservation,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate) {
         try {
-            boolean success = hotelService.updateRoomAvailability(hotelId, roomType, numberOfRooms, isReservation);
+            boolean success = hasStayDates(checkInDate, checkOutDate)
+                    ? hotelService.updateRoomAvailability(hotelId, roomType, numberOfRooms, isReservation, checkInDate, checkOutDate)
+                    : hotelService.updateRoomAvailability(hotelId, roomType, numberOfRooms, isReservation);
             return new ResponseEntity<>(success, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(false, HttpStatus.BAD_REQUEST);
         }
     }
     
+    @PostMapping("/{hotelId}/inventory/reserve")
+    public ResponseEntity<?> reserveRooms(@PathVariable Long hotelId,
+                                          @RequestParam String roomType,
+                                          @RequestParam Integer numberOfRooms,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate) {
+        try {
+            InventoryResult result = hasStayDates(checkInDate, checkOutDate)
+                    ? inventoryService.reserveRooms(hotelId, roomType, numberOfRooms, checkInDate, checkOutDate)
+                    : inventoryService.reserveRooms(hotelId, roomType, numberOfRooms);
+            return new ResponseEntity<>(result, result.isSuccess() ? HttpStatus.OK : HttpStatus.CONFLICT);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    @PostMapping("/{hotelId}/inventory/release")
+    public ResponseEntity<?> releaseRooms(@PathVariable Long hotelId,
+                                          @RequestParam String roomType,
+                                          @RequestParam Integer numberOfRooms,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate) {
+        try {
+            InventoryResult result = hasStayDates(checkInDate, checkOutDate)
+                    ? inventoryService.releaseRooms(hotelId, roomType, numberOfRooms, checkInDate, checkOutDate)
+                    : inventoryService.releaseRooms(hotelId, roomType, numberOfRooms);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    @GetMapping("/inventory/metrics")
+    public ResponseEntity<InventoryMetrics> getInventoryMetrics() {
+        return new ResponseEntity<>(inventoryService.getMetrics(), HttpStatus.OK);
+    }
+    
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheStats>> getCacheStats() {
+        return new ResponseEntity<>(hotelService.getCacheStats(), HttpStatus.OK);
+    }
+    
     @PostMapping("/{hotelId}/upload-image")
     public ResponseEntity<?> uploadHotelImage(@PathVariable Long hotelId, 
                                             @RequestParam("image") MultipartFile image) {
@@ -140,15 +316,43 @@ public class HotelController {
         }
     }
     
+    // The hotel's current image; its name changes on every upload, so clients revalidate by ETag.
+    // w picks the smallest resized variant at least w pixels wide
     @GetMapping("/{hotelId}/image")
-    public ResponseEntity<byte[]> getHotelImage(@PathVariable Long hotelId) {
+    public void getHotelImage(@PathVariable Long hotelId, @RequestParam(required = false) Integer w,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageFile image;
         try {
-            byte[] imageData = hotelService.getHotelImage(hotelId);
-            return ResponseEntity.ok()
-                    .contentType(MediaType.IMAGE_JPEG)
-                    .body(imageData);
+            image = hotelService.getHotelImage(hotelId, w);
         } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
+        ImageResponses.write(image, REVALIDATE, request, response);
+    }
+    
+    // Stored image by file name; the bytes behind a name never change, so it may be cached for good
+    @GetMapping("/images/{fileName}")
+    public void getImage(@PathVariable String fileName, @RequestParam(required = false) Integer w,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageFile image;
+        try {
+            image = hotelService.getImage(fileName, w);
+        } catch (Exception e) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // Until its variant exists the original stands in, and must not be cached under this URL
+        ImageResponses.write(image, image.isPending() ? REVALIDATE : IMMUTABLE, request, response);
+    }
+    
+    @GetMapping("/images/variants/metrics")
+    public ResponseEntity<ImageVariantMetrics> getImageVariantMetrics() {
+        return new ResponseEntity<>(hotelService.getImageVariantMetrics(), HttpStatus.OK);
+    }
+    
+    // Requests without stay dates keep using the undated per-hotel counters
+    private boolean hasStayDates(LocalDate checkInDate, LocalDate checkOutDate) {
+        return checkInDate != null && checkOutDate != null;
     }
 }
@@ -0,0 +1,41 @@
+package com.cognizant.hotelservice.controller;
+
+import com.cognizant.hotelservice.model.Review;
+import com.cognizant.hotelservice.model.ReviewPage;
+import com.cognizant.hotelservice.model.ReviewRequest;
+import com.cognizant.hotelservice.service.ReviewService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/hotels/{hotelId}/reviews")
+@CrossOrigin(origins = "*")
+public class ReviewController {
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    @Autowired
+    private ReviewService reviewService;
+    
+    @PostMapping
+    public ResponseEntity<?> submitReview(@PathVariable Long hotelId, @Valid @RequestBody ReviewRequest request) {
+        try {
+            Review review = reviewService.submitReview(hotelId, request);
+            return new ResponseEntity<>(review, HttpStatus.CREATED);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    // Pass nextCursor back as cursor for the next page
+    @GetMapping
+    public ResponseEntity<ReviewPage> getReviews(@PathVariable Long hotelId,
+                                                 @RequestParam(required = false) Long cursor,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        ReviewPage page = reviewService.getReviews(hotelId, cursor, Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,49 @@
+package com.cognizant.hotelservice.model;
+
+import java.time.LocalDate;
+
+public class AvailabilityQuery {
+    
+    private Long hotelId;
+    
+    private String roomType;
+    
+    private Integer numberOfRooms;
+    
+    // Optional; without both dates the query is answered from the undated room counters
+    private LocalDate checkInDate;
+    
+    private LocalDate checkOutDate;
+    
+    // Default constructor
+    public AvailabilityQuery() {}
+    
+    public AvailabilityQuery(Long hotelId, String roomType, Integer numberOfRooms,
+                             LocalDate checkInDate, LocalDate checkOutDate) {
+        this.hotelId = hotelId;
+        this.roomType = roomType;
+        this.numberOfRooms = numberOfRooms;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+    }
+    
+    public boolean isDated() {
+        return checkInDate != null && checkOutDate != null;
+    }
+    
+    // Getters and Setters
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+    
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+    
+    public Integer getNumberOfRooms() { return numberOfRooms; }
+    public void setNumberOfRooms(Integer numberOfRooms) { this.numberOfRooms = numberOfRooms; }
+    
+    public LocalDate getCheckInDate() { return checkInDate; }
+    public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+    
+    public LocalDate getCheckOutDate() { return checkOutDate; }
+    public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+}
@@ -0,0 +1,27 @@
+package com.cognizant.hotelservice.model;
+
+/**
+ * Answers to a batch of availability queries as parallel arrays in request order. availableRooms
+ * is -1 for a query that names an unknown hotel or an invalid room type or stay.
+ */
+public class BatchAvailabilityResult {
+    
+    private int[] availableRooms;
+    
+    private boolean[] available;
+    
+    // Default constructor
+    public BatchAvailabilityResult() {}
+    
+    public BatchAvailabilityResult(int[] availableRooms, boolean[] available) {
+        this.availableRooms = availableRooms;
+        this.available = available;
+    }
+    
+    // Getters and Setters
+    public int[] getAvailableRooms() { return availableRooms; }
+    public void setAvailableRooms(int[] availableRooms) { this.availableRooms = availableRooms; }
+    
+    public boolean[] getAvailable() { return available; }
+    public void setAvailable(boolean[] available) { this.available = available; }
+}
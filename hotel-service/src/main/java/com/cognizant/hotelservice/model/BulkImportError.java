@@ -0,0 +1,27 @@
+package com.cognizant.hotelservice.model;
+
+/**
+ * Why one record of a bulk import was not imported. line is the 1-based line of the request body
+ * the record starts on (the CSV header is line 1).
+ */
+public class BulkImportError {
+
+    private long line;
+
+    private String message;
+
+    // Default constructor
+    public BulkImportError() {}
+
+    public BulkImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public long getLine() { return line; }
+    public void setLine(long line) { this.line = line; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,40 @@
+package com.cognizant.hotelservice.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of POST /hotels/bulk. Every record is either imported or failed; errors lists the first
+ * failures only (hotel.import.max-errors), so failed can be larger than its size.
+ */
+public class BulkImportResult {
+
+    private long received;
+
+    private long imported;
+
+    private long failed;
+
+    private List<BulkImportError> errors = new ArrayList<>();
+
+    private long elapsedMillis;
+
+    // Default constructor
+    public BulkImportResult() {}
+
+    // Getters and Setters
+    public long getReceived() { return received; }
+    public void setReceived(long received) { this.received = received; }
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public List<BulkImportError> getErrors() { return errors; }
+    public void setErrors(List<BulkImportError> errors) { this.errors = errors; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+}
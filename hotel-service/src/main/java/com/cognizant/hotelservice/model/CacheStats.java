@@ -0,0 +1,52 @@
+package com.cognizant.hotelservice.model;
+
+public class CacheStats {
+    
+    private String name;
+    private int size;
+    private int maxEntries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    
+    // Default constructor
+    public CacheStats() {}
+    
+    public CacheStats(String name, int size, int maxEntries, long hits, long misses, long evictions, long expirations) {
+        this.name = name;
+        this.size = size;
+        this.maxEntries = maxEntries;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+    }
+    
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+    
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    
+    public long getHits() { return hits; }
+    public void setHits(long hits) { this.hits = hits; }
+    
+    public long getMisses() { return misses; }
+    public void setMisses(long misses) { this.misses = misses; }
+    
+    public long getEvictions() { return evictions; }
+    public void setEvictions(long evictions) { this.evictions = evictions; }
+    
+    public long getExpirations() { return expirations; }
+    public void setExpirations(long expirations) { this.expirations = expirations; }
+}
@@ -0,0 +1,26 @@
+package com.cognizant.hotelservice.model;
+
+/**
+ * Number of matching hotels that share one value of a facet, such as a city.
+ */
+public class FacetCount {
+
+    private String value;
+
+    private long count;
+
+    // Default constructor
+    public FacetCount() {}
+
+    public FacetCount(String value, long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public String getValue() { return value; }
+    public void setValue(String value) { this.value = value; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,33 @@
+package com.cognizant.hotelservice.model;
+
+/**
+ * Number of matching hotels with a value in [from, to); the last bucket of a histogram also
+ * includes to.
+ */
+public class HistogramBucket {
+
+    private double from;
+
+    private double to;
+
+    private long count;
+
+    // Default constructor
+    public HistogramBucket() {}
+
+    public HistogramBucket(double from, double to, long count) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public double getFrom() { return from; }
+    public void setFrom(double from) { this.from = from; }
+
+    public double getTo() { return to; }
+    public void setTo(double to) { this.to = to; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
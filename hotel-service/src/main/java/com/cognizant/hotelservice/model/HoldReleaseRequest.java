@@ -0,0 +1,41 @@
+package com.cognizant.hotelservice.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Holds of one room type to release together, as when reservation-service expires a batch of
+ * unpaid reservations, plus any rooms of that type taken without a hold.
+ */
+public class HoldReleaseRequest {
+    
+    @NotBlank(message = "Room type is required")
+    private String roomType;
+    
+    @Size(max = 1000, message = "At most 1000 holds can be released at once")
+    private List<String> holdTokens;
+    
+    @Valid
+    @Size(max = 1000, message = "At most 1000 room releases can be sent at once")
+    private List<RoomRelease> roomReleases;
+    
+    // Default constructor
+    public HoldReleaseRequest() {}
+    
+    public HoldReleaseRequest(String roomType, List<String> holdTokens) {
+        this.roomType = roomType;
+        this.holdTokens = holdTokens;
+    }
+    
+    // Getters and Setters
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+    
+    public List<String> getHoldTokens() { return holdTokens; }
+    public void setHoldTokens(List<String> holdTokens) { this.holdTokens = holdTokens; }
+    
+    public List<RoomRelease> getRoomReleases() { return roomReleases; }
+    public void setRoomReleases(List<RoomRelease> roomReleases) { this.roomReleases = roomReleases; }
+}
@@ -0,0 +1,54 @@
+package com.cognizant.hotelservice.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch release. Holds already released count as alreadyReleased, so retrying a
+ * batch is harmless; tokens that match no hold of this hotel and room type are listed in notFound.
+ */
+public class HoldReleaseResult {
+    
+    private Long hotelId;
+    
+    private String roomType;
+    
+    private int released;
+    
+    private int roomsReleased;
+    
+    private int alreadyReleased;
+    
+    private List<String> notFound;
+    
+    // Default constructor
+    public HoldReleaseResult() {}
+    
+    public HoldReleaseResult(Long hotelId, String roomType, int released, int roomsReleased, int alreadyReleased,
+                             List<String> notFound) {
+        this.hotelId = hotelId;
+        this.roomType = roomType;
+        this.released = released;
+        this.roomsReleased = roomsReleased;
+        this.alreadyReleased = alreadyReleased;
+        this.notFound = notFound;
+    }
+    
+    // Getters and Setters
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+    
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+    
+    public int getReleased() { return released; }
+    public void setReleased(int released) { this.released = released; }
+    
+    public int getRoomsReleased() { return roomsReleased; }
+    public void setRoomsReleased(int roomsReleased) { this.roomsReleased = roomsReleased; }
+    
+    public int getAlreadyReleased() { return alreadyReleased; }
+    public void setAlreadyReleased(int alreadyReleased) { this.alreadyReleased = alreadyReleased; }
+    
+    public List<String> getNotFound() { return notFound; }
+    public void setNotFound(List<String> notFound) { this.notFound = notFound; }
+}
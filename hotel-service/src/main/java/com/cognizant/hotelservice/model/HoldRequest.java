@@ -0,0 +1,43 @@
+package com.cognizant.hotelservice.model;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+public class HoldRequest {
+    
+    @NotBlank(message = "Room type is required")
+    private String roomType;
+    
+    @NotNull(message = "Number of rooms is required")
+    @Min(value = 1, message = "Number of rooms must be at least 1")
+    private Integer numberOfRooms;
+    
+    private LocalDate checkInDate;
+    
+    private LocalDate checkOutDate;
+    
+    // Default constructor
+    public HoldRequest() {}
+    
+    public HoldRequest(String roomType, Integer numberOfRooms, LocalDate checkInDate, LocalDate checkOutDate) {
+        this.roomType = roomType;
+        this.numberOfRooms = numberOfRooms;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+    }
+    
+    // Getters and Setters
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+    
+    public Integer getNumberOfRooms() { return numberOfRooms; }
+    public void setNumberOfRooms(Integer numberOfRooms) { this.numberOfRooms = numberOfRooms; }
+    
+    public LocalDate getCheckInDate() { return checkInDate; }
+    public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+    
+    public LocalDate getCheckOutDate() { return checkOutDate; }
+    public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+}
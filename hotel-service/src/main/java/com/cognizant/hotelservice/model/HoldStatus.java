@@ -0,0 +1,5 @@
+package com.cognizant.hotelservice.model;
+
+public enum HoldStatus {
+    HELD, COMMITTED, RELEASED
+}
@@ -2,13 +2,18 @@ package com.cognizant.hotelservice.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "hotels")
 public class Hotel {
     
+    // Ids come from a row in id_generators rather than AUTO_INCREMENT, so inserts can be batched;
+    // bulk import reserves its blocks from the same row through HotelIdAllocator
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "hotel_ids")
+    @TableGenerator(name = "hotel_ids", table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "hotels", allocationSize = 50)
     private Long hotelId;
     
     @NotBlank(message = "Hotel name is required")
@@ -35,10 +40,23 @@ public class Hotel {
     @Column(length = 1000)
     private String description;
     
+    // Bayesian average of the reviews, kept up to date by HotelRepository.addRating. Hibernate leaves
+    // these three columns out of its INSERTs and UPDATEs, so a new hotel starts unrated whatever the
+    // request says and saving a stale entity cannot undo a review
     @DecimalMin(value = "0.0", message = "Rating must be at least 0")
     @DecimalMax(value = "5.0", message = "Rating must be at most 5")
+    @Column(insertable = false, updatable = false)
+    @ColumnDefault("0")
     private Double avgRatingByCustomers = 0.0;
     
+    @Column(insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Integer reviewCount = 0;
+    
+    @Column(insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long ratingSum = 0L;
+    
     @NotNull(message = "AC room cost is required")
     @DecimalMin(value = "0.01", message = "AC room cost must be greater than 0")
     private Double acRoomCost;
@@ -66,6 +84,19 @@ public class Hotel {
     @Size(max = 255, message = "Image path must be less than 255 characters")
     private String imagePath;
     
+    // Detected from the file's leading bytes at upload
+    @Size(max = 100, message = "Image content type must be less than 100 characters")
+    private String imageContentType;
+    
+    // WGS84 degrees; hotels without coordinates are left out of nearby search
+    @DecimalMin(value = "-90.0", message = "Latitude must be at least -90")
+    @DecimalMax(value = "90.0", message = "Latitude must be at most 90")
+    private Double latitude;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude must be at least -180")
+    @DecimalMax(value = "180.0", message = "Longitude must be at most 180")
+    private Double longitude;
+    
     // Default constructor
     public Hotel() {}
     
@@ -153,6 +184,22 @@ public class Hotel {
         this.avgRatingByCustomers = avgRatingByCustomers;
     }
     
+    public Integer getReviewCount() {
+        return reviewCount;
+    }
+    
+    public void setReviewCount(Integer reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+    
+    public Long getRatingSum() {
+        return ratingSum;
+    }
+    
+    public void setRatingSum(Long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+    
     public Double getAcRoomCost() {
         return acRoomCost;
     }
@@ -217,6 +264,56 @@ public class Hotel {
         this.imagePath = imagePath;
     }
     
+    public String getImageContentType() {
+        return imageContentType;
+    }
+    
+    public void setImageContentType(String imageContentType) {
+        this.imageContentType = imageContentType;
+    }
+    
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
+    // Field-by-field copy, bypassing the setters' side effects; used to hand out cached hotels safely
+    public Hotel copy() {
+        Hotel copy = new Hotel();
+        copy.hotelId = hotelId;
+        copy.hotelName = hotelName;
+        copy.address = address;
+        copy.city = city;
+        copy.state = state;
+        copy.country = country;
+        copy.description = description;
+        copy.avgRatingByCustomers = avgRatingByCustomers;
+        copy.reviewCount = reviewCount;
+        copy.ratingSum = ratingSum;
+        copy.acRoomCost = acRoomCost;
+        copy.nonAcRoomCost = nonAcRoomCost;
+        copy.totalAcRooms = totalAcRooms;
+        copy.availableAcRooms = availableAcRooms;
+        copy.totalNonAcRooms = totalNonAcRooms;
+        copy.availableNonAcRooms = availableNonAcRooms;
+        copy.imagePath = imagePath;
+        copy.imageContentType = imageContentType;
+        copy.latitude = latitude;
+        copy.longitude = longitude;
+        return copy;
+    }
+    
     @Override
     public String toString() {
         return "Hotel{" +
@@ -228,6 +325,8 @@ public class Hotel {
                 ", country='" + country + '\'' +
                 ", description='" + description + '\'' +
                 ", avgRatingByCustomers=" + avgRatingByCustomers +
+                ", reviewCount=" + reviewCount +
+                ", ratingSum=" + ratingSum +
                 ", acRoomCost=" + acRoomCost +
                 ", nonAcRoomCost=" + nonAcRoomCost +
                 ", totalAcRooms=" + totalAcRooms +
@@ -235,6 +334,9 @@ public class Hotel {
                 ", totalNonAcRooms=" + totalNonAcRooms +
                 ", availableNonAcRooms=" + availableNonAcRooms +
                 ", imagePath='" + imagePath + '\'' +
+                ", imageContentType='" + imageContentType + '\'' +
+                ", latitude=" + latitude +
+                ", longitude=" + longitude +
                 '}';
     }
 }
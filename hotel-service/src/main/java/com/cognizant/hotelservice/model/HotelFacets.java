@@ -0,0 +1,52 @@
+package com.cognizant.hotelservice.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Facet counts for GET /hotels/facets. total counts the hotels matching every filter. Each facet
+ * ignores its own filter, so the city counts with city=Mumbai still list the other cities, and the
+ * price histograms show the whole range a slider can move over.
+ */
+public class HotelFacets {
+
+    private long total;
+
+    private List<FacetCount> cities = new ArrayList<>();
+
+    private List<FacetCount> states = new ArrayList<>();
+
+    private List<FacetCount> countries = new ArrayList<>();
+
+    // One bucket per whole star, 0 to 5
+    private List<HistogramBucket> ratings = new ArrayList<>();
+
+    private List<HistogramBucket> acRoomCost = new ArrayList<>();
+
+    private List<HistogramBucket> nonAcRoomCost = new ArrayList<>();
+
+    // Default constructor
+    public HotelFacets() {}
+
+    // Getters and Setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public List<FacetCount> getCities() { return cities; }
+    public void setCities(List<FacetCount> cities) { this.cities = cities; }
+
+    public List<FacetCount> getStates() { return states; }
+    public void setStates(List<FacetCount> states) { this.states = states; }
+
+    public List<FacetCount> getCountries() { return countries; }
+    public void setCountries(List<FacetCount> countries) { this.countries = countries; }
+
+    public List<HistogramBucket> getRatings() { return ratings; }
+    public void setRatings(List<HistogramBucket> ratings) { this.ratings = ratings; }
+
+    public List<HistogramBucket> getAcRoomCost() { return acRoomCost; }
+    public void setAcRoomCost(List<HistogramBucket> acRoomCost) { this.acRoomCost = acRoomCost; }
+
+    public List<HistogramBucket> getNonAcRoomCost() { return nonAcRoomCost; }
+    public void setNonAcRoomCost(List<HistogramBucket> nonAcRoomCost) { this.nonAcRoomCost = nonAcRoomCost; }
+}
@@ -0,0 +1,68 @@
+package com.cognizant.hotelservice.model;
+
+/**
+ * Filters for GET /hotels/search, bound from query parameters. Every filter is optional. The price
+ * range applies to the cost of roomType, or to the cheaper room type when none is given. cursor is
+ * the nextCursor of the previous page and must be used with the same sort.
+ */
+public class HotelSearchCriteria {
+    
+    private String city;
+    
+    private String state;
+    
+    private String country;
+    
+    private String name;
+    
+    private Double minPrice;
+    
+    private Double maxPrice;
+    
+    private String roomType;
+    
+    private Double minRating;
+    
+    private String sort;
+    
+    private String cursor;
+    
+    private Integer size;
+    
+    // Default constructor
+    public HotelSearchCriteria() {}
+    
+    // Getters and Setters
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+    
+    public String getCountry() { return country; }
+    public void setCountry(String country) { this.country = country; }
+    
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    
+    public Double getMinPrice() { return minPrice; }
+    public void setMinPrice(Double minPrice) { this.minPrice = minPrice; }
+    
+    public Double getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(Double maxPrice) { this.maxPrice = maxPrice; }
+    
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+    
+    public Double getMinRating() { return minRating; }
+    public void setMinRating(Double minRating) { this.minRating = minRating; }
+    
+    public String getSort() { return sort; }
+    public void setSort(String sort) { this.sort = sort; }
+    
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+    
+    public Integer getSize() { return size; }
+    public void setSize(Integer size) { this.size = size; }
+}
@@ -0,0 +1,28 @@
+package com.cognizant.hotelservice.model;
+
+import java.util.List;
+
+/**
+ * One page of search results. nextCursor is null on the last page.
+ */
+public class HotelSearchPage {
+    
+    private List<HotelSummary> hotels;
+    
+    private String nextCursor;
+    
+    // Default constructor
+    public HotelSearchPage() {}
+    
+    public HotelSearchPage(List<HotelSummary> hotels, String nextCursor) {
+        this.hotels = hotels;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Getters and Setters
+    public List<HotelSummary> getHotels() { return hotels; }
+    public void setHotels(List<HotelSummary> hotels) { this.hotels = hotels; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,18 @@
+package com.cognizant.hotelservice.model;
+
+public enum HotelSearchSort {
+    ID, PRICE_ASC, PRICE_DESC, RATING_DESC, NAME_ASC;
+
+    // Returns null for unknown sort orders, like RoomType.fromString
+    public static HotelSearchSort fromString(String sort) {
+        if (sort == null) {
+            return null;
+        }
+        for (HotelSearchSort value : values()) {
+            if (value.name().equalsIgnoreCase(sort)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
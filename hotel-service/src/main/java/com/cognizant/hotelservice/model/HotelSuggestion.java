@@ -0,0 +1,45 @@
+package com.cognizant.hotelservice.model;
+
+/**
+ * One typeahead match for a hotel name. similarity is the trigram similarity between the query and
+ * the name, from 0 to 1.
+ */
+public class HotelSuggestion {
+
+    private Long hotelId;
+
+    private String hotelName;
+
+    private String city;
+
+    private String country;
+
+    private double similarity;
+
+    // Default constructor
+    public HotelSuggestion() {}
+
+    public HotelSuggestion(Long hotelId, String hotelName, String city, String country, double similarity) {
+        this.hotelId = hotelId;
+        this.hotelName = hotelName;
+        this.city = city;
+        this.country = country;
+        this.similarity = similarity;
+    }
+
+    // Getters and Setters
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public String getHotelName() { return hotelName; }
+    public void setHotelName(String hotelName) { this.hotelName = hotelName; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getCountry() { return country; }
+    public void setCountry(String country) { this.country = country; }
+
+    public double getSimilarity() { return similarity; }
+    public void setSimilarity(double similarity) { this.similarity = similarity; }
+}
@@ -0,0 +1,74 @@
+package com.cognizant.hotelservice.model;
+
+/**
+ * Read-only view of the searchable fields of a hotel, as held by the catalog index. Instances are
+ * shared between readers, so there are no setters.
+ */
+public class HotelSummary {
+    
+    private final Long hotelId;
+    private final String hotelName;
+    private final String city;
+    private final String state;
+    private final String country;
+    private final Double avgRatingByCustomers;
+    private final Double acRoomCost;
+    private final Double nonAcRoomCost;
+    private final String imagePath;
+    private final Integer totalAcRooms;
+    private final Integer totalNonAcRooms;
+    private final Double latitude;
+    private final Double longitude;
+    
+    public HotelSummary(Long hotelId, String hotelName, String city, String state, String country,
+                        Double avgRatingByCustomers, Double acRoomCost, Double nonAcRoomCost, String imagePath,
+                        Integer totalAcRooms, Integer totalNonAcRooms, Double latitude, Double longitude) {
+        this.hotelId = hotelId;
+        this.hotelName = hotelName;
+        this.city = city;
+        this.state = state;
+        this.country = country;
+        this.avgRatingByCustomers = avgRatingByCustomers;
+        this.acRoomCost = acRoomCost;
+        this.nonAcRoomCost = nonAcRoomCost;
+        this.imagePath = imagePath;
+        this.totalAcRooms = totalAcRooms;
+        this.totalNonAcRooms = totalNonAcRooms;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+    
+    public static HotelSummary from(Hotel hotel) {
+        return new HotelSummary(hotel.getHotelId(), hotel.getHotelName(), hotel.getCity(), hotel.getState(),
+                hotel.getCountry(), hotel.getAvgRatingByCustomers(), hotel.getAcRoomCost(),
+                hotel.getNonAcRoomCost(), hotel.getImagePath(), hotel.getTotalAcRooms(), hotel.getTotalNonAcRooms(),
+                hotel.getLatitude(), hotel.getLongitude());
+    }
+    
+    // Getters
+    public Long getHotelId() { return hotelId; }
+    
+    public String getHotelName() { return hotelName; }
+    
+    public String getCity() { return city; }
+    
+    public String getState() { return state; }
+    
+    public String getCountry() { return country; }
+    
+    public Double getAvgRatingByCustomers() { return avgRatingByCustomers; }
+    
+    public Double getAcRoomCost() { return acRoomCost; }
+    
+    public Double getNonAcRoomCost() { return nonAcRoomCost; }
+    
+    public String getImagePath() { return imagePath; }
+    
+    public Integer getTotalAcRooms() { return totalAcRooms; }
+    
+    public Integer getTotalNonAcRooms() { return totalNonAcRooms; }
+    
+    public Double getLatitude() { return latitude; }
+    
+    public Double getLongitude() { return longitude; }
+}
@@ -0,0 +1,45 @@
+package com.cognizant.hotelservice.model;
+
+import java.nio.file.Path;
+
+/**
+ * A stored image ready to be streamed: where it is, how long it is and what it is. Stored files are
+ * never rewritten - a new upload gets a new name - so the name is a strong validator for the bytes.
+ */
+public class ImageFile {
+    
+    private final Path path;
+    private final String fileName;
+    private final String contentType;
+    private final long length;
+    private final boolean pending;
+    
+    public ImageFile(Path path, String fileName, String contentType, long length) {
+        this(path, fileName, contentType, length, false);
+    }
+    
+    // pending: a better-sized variant was asked for and is still being generated
+    public ImageFile(Path path, String fileName, String contentType, long length, boolean pending) {
+        this.path = path;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.length = length;
+        this.pending = pending;
+    }
+    
+    // Strong entity tag, quoted as sent in the ETag header
+    public String getEtag() {
+        return "\"" + fileName + "\"";
+    }
+    
+    // Getters
+    public Path getPath() { return path; }
+    
+    public String getFileName() { return fileName; }
+    
+    public String getContentType() { return contentType; }
+    
+    public long getLength() { return length; }
+    
+    public boolean isPending() { return pending; }
+}
@@ -0,0 +1,37 @@
+package com.cognizant.hotelservice.model;
+
+public class ImageVariantMetrics {
+    
+    private int queueDepth;
+    private int queueCapacity;
+    private int activeWorkers;
+    private long submitted;
+    private long rejected;
+    private long completed;
+    private long failed;
+    
+    // Default constructor
+    public ImageVariantMetrics() {}
+    
+    // Getters and Setters
+    public int getQueueDepth() { return queueDepth; }
+    public void setQueueDepth(int queueDepth) { this.queueDepth = queueDepth; }
+    
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    
+    public int getActiveWorkers() { return activeWorkers; }
+    public void setActiveWorkers(int activeWorkers) { this.activeWorkers = activeWorkers; }
+    
+    public long getSubmitted() { return submitted; }
+    public void setSubmitted(long submitted) { this.submitted = submitted; }
+    
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+    
+    public long getCompleted() { return completed; }
+    public void setCompleted(long completed) { this.completed = completed; }
+    
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+}
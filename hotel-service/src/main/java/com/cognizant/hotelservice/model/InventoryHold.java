@@ -0,0 +1,90 @@
+package com.cognizant.hotelservice.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "inventory_holds", indexes = @Index(name = "idx_hold_hotel", columnList = "hotelId"))
+public class InventoryHold {
+    
+    @Id
+    @Column(length = 36)
+    private String holdToken;
+    
+    @Column(nullable = false)
+    private Long hotelId;
+    
+    @Column(nullable = false, length = 10)
+    private String roomType;
+    
+    @Column(nullable = false)
+    private Integer numberOfRooms;
+    
+    // Null for holds taken against the undated room counters
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private HoldStatus status = HoldStatus.HELD;
+    
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Default constructor
+    public InventoryHold() {}
+    
+    public InventoryHold(String holdToken, Long hotelId, String roomType, Integer numberOfRooms,
+                         LocalDate checkInDate, LocalDate checkOutDate) {
+        this.holdToken = holdToken;
+        this.hotelId = hotelId;
+        this.roomType = roomType;
+        this.numberOfRooms = numberOfRooms;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    public boolean isDated() {
+        return checkInDate != null && checkOutDate != null;
+    }
+    
+    // Getters and Setters
+    public String getHoldToken() { return holdToken; }
+    public void setHoldToken(String holdToken) { this.holdToken = holdToken; }
+    
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+    
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+    
+    public Integer getNumberOfRooms() { return numberOfRooms; }
+    public void setNumberOfRooms(Integer numberOfRooms) { this.numberOfRooms = numberOfRooms; }
+    
+    public LocalDate getCheckInDate() { return checkInDate; }
+    public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+    
+    public LocalDate getCheckOutDate() { return checkOutDate; }
+    public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+    
+    public HoldStatus getStatus() { return status; }
+    public void setStatus(HoldStatus status) { this.status = status; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
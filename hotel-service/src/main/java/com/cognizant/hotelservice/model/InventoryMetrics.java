@@ -0,0 +1,49 @@
+package com.cognizant.hotelservice.model;
+
+public class InventoryMetrics {
+    
+    private String mode;
+    private int trackedCounters;
+    private long fastPathOperations;
+    private long casRetries;
+    private long lockWaits;
+    private int pendingFlushQueueDepth;
+    private long flushBatches;
+    private long flushedRows;
+    private long walAppends;
+    private long walSyncs;
+    
+    // Default constructor
+    public InventoryMetrics() {}
+    
+    // Getters and Setters
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+    
+    public int getTrackedCounters() { return trackedCounters; }
+    public void setTrackedCounters(int trackedCounters) { this.trackedCounters = trackedCounters; }
+    
+    public long getFastPathOperations() { return fastPathOperations; }
+    public void setFastPathOperations(long fastPathOperations) { this.fastPathOperations = fastPathOperations; }
+    
+    public long getCasRetries() { return casRetries; }
+    public void setCasRetries(long casRetries) { this.casRetries = casRetries; }
+    
+    public long getLockWaits() { return lockWaits; }
+    public void setLockWaits(long lockWaits) { this.lockWaits = lockWaits; }
+    
+    public int getPendingFlushQueueDepth() { return pendingFlushQueueDepth; }
+    public void setPendingFlushQueueDepth(int pendingFlushQueueDepth) { this.pendingFlushQueueDepth = pendingFlushQueueDepth; }
+    
+    public long getFlushBatches() { return flushBatches; }
+    public void setFlushBatches(long flushBatches) { this.flushBatches = flushBatches; }
+    
+    public long getFlushedRows() { return flushedRows; }
+    public void setFlushedRows(long flushedRows) { this.flushedRows = flushedRows; }
+    
+    public long getWalAppends() { return walAppends; }
+    public void setWalAppends(long walAppends) { this.walAppends = walAppends; }
+    
+    public long getWalSyncs() { return walSyncs; }
+    public void setWalSyncs(long walSyncs) { this.walSyncs = walSyncs; }
+}
@@ -0,0 +1,54 @@
+package com.cognizant.hotelservice.model;
+
+import java.time.LocalDate;
+
+public class InventoryResult {
+    
+    private Long hotelId;
+    private String roomType;
+    private Integer requestedRooms;
+    private Integer availableRooms;
+    private boolean success;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    
+    // Default constructor
+    public InventoryResult() {}
+    
+    public InventoryResult(Long hotelId, String roomType, Integer requestedRooms, Integer availableRooms, boolean success) {
+        this.hotelId = hotelId;
+        this.roomType = roomType;
+        this.requestedRooms = requestedRooms;
+        this.availableRooms = availableRooms;
+        this.success = success;
+    }
+    
+    public InventoryResult(Long hotelId, String roomType, Integer requestedRooms, Integer availableRooms, boolean success,
+                           LocalDate checkInDate, LocalDate checkOutDate) {
+        this(hotelId, roomType, requestedRooms, availableRooms, success);
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+    }
+    
+    // Getters and Setters
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+    
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+    
+    public Integer getRequestedRooms() { return requestedRooms; }
+    public void setRequestedRooms(Integer requestedRooms) { this.requestedRooms = requestedRooms; }
+    
+    public Integer getAvailableRooms() { return availableRooms; }
+    public void setAvailableRooms(Integer availableRooms) { this.availableRooms = availableRooms; }
+    
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    
+    public LocalDate getCheckInDate() { return checkInDate; }
+    public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+    
+    public LocalDate getCheckOutDate() { return checkOutDate; }
+    public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+}
@@ -0,0 +1,26 @@
+package com.cognizant.hotelservice.model;
+
+/**
+ * A hotel found by nearby search, with its great-circle distance from the searched position.
+ */
+public class NearbyHotel {
+
+    private HotelSummary hotel;
+
+    private double distanceKm;
+
+    // Default constructor
+    public NearbyHotel() {}
+
+    public NearbyHotel(HotelSummary hotel, double distanceKm) {
+        this.hotel = hotel;
+        this.distanceKm = distanceKm;
+    }
+
+    // Getters and Setters
+    public HotelSummary getHotel() { return hotel; }
+    public void setHotel(HotelSummary hotel) { this.hotel = hotel; }
+
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+}
@@ -0,0 +1,66 @@
+package com.cognizant.hotelservice.model;
+
+import java.time.LocalDate;
+
+/**
+ * Price of a stay under the current pricing rules and occupancy. roomCost is one room for all
+ * nights; totalCost is roomCost times numberOfRooms.
+ */
+public class PriceQuote {
+    
+    private Long hotelId;
+    
+    private String roomType;
+    
+    private LocalDate checkInDate;
+    
+    private LocalDate checkOutDate;
+    
+    private Integer nights;
+    
+    private Integer numberOfRooms;
+    
+    private Double roomCost;
+    
+    private Double totalCost;
+    
+    // Default constructor
+    public PriceQuote() {}
+    
+    public PriceQuote(Long hotelId, String roomType, LocalDate checkInDate, LocalDate checkOutDate, Integer nights,
+                      Integer numberOfRooms, Double roomCost, Double totalCost) {
+        this.hotelId = hotelId;
+        this.roomType = roomType;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.nights = nights;
+        this.numberOfRooms = numberOfRooms;
+        this.roomCost = roomCost;
+        this.totalCost = totalCost;
+    }
+    
+    // Getters and Setters
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+    
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+    
+    public LocalDate getCheckInDate() { return checkInDate; }
+    public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+    
+    public LocalDate getCheckOutDate() { return checkOutDate; }
+    public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+    
+    public Integer getNights() { return nights; }
+    public void setNights(Integer nights) { this.nights = nights; }
+    
+    public Integer getNumberOfRooms() { return numberOfRooms; }
+    public void setNumberOfRooms(Integer numberOfRooms) { this.numberOfRooms = numberOfRooms; }
+    
+    public Double getRoomCost() { return roomCost; }
+    public void setRoomCost(Double roomCost) { this.roomCost = roomCost; }
+    
+    public Double getTotalCost() { return totalCost; }
+    public void setTotalCost(Double totalCost) { this.totalCost = totalCost; }
+}
@@ -0,0 +1,67 @@
+package com.cognizant.hotelservice.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A guest's rating of a hotel, at most one per user and hotel. Review ids grow with time, so a
+ * hotel's reviews are paged newest first by id.
+ */
+@Entity
+@Table(name = "reviews",
+       uniqueConstraints = @UniqueConstraint(name = "uk_review_hotel_user", columnNames = {"hotelId", "userId"}),
+       indexes = @Index(name = "idx_review_hotel_id", columnList = "hotelId, reviewId"))
+public class Review {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long reviewId;
+    
+    @Column(nullable = false)
+    private Long hotelId;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Integer rating;
+    
+    @Column(length = 2000)
+    private String comment;
+    
+    private LocalDateTime createdAt;
+    
+    // Default constructor
+    public Review() {}
+    
+    public Review(Long hotelId, Long userId, Integer rating, String comment) {
+        this.hotelId = hotelId;
+        this.userId = userId;
+        this.rating = rating;
+        this.comment = comment;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getReviewId() { return reviewId; }
+    public void setReviewId(Long reviewId) { this.reviewId = reviewId; }
+    
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+    
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
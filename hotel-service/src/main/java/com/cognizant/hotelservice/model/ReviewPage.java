@@ -0,0 +1,29 @@
+package com.cognizant.hotelservice.model;
+
+import java.util.List;
+
+/**
+ * One page of a hotel's reviews, newest first. nextCursor is the id to pass as cursor for the
+ * following page, and null on the last page.
+ */
+public class ReviewPage {
+    
+    private List<Review> reviews;
+    
+    private Long nextCursor;
+    
+    // Default constructor
+    public ReviewPage() {}
+    
+    public ReviewPage(List<Review> reviews, Long nextCursor) {
+        this.reviews = reviews;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Getters and Setters
+    public List<Review> getReviews() { return reviews; }
+    public void setReviews(List<Review> reviews) { this.reviews = reviews; }
+    
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,39 @@
+package com.cognizant.hotelservice.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class ReviewRequest {
+    
+    @NotNull(message = "User ID is required")
+    private Long userId;
+    
+    @NotNull(message = "Rating is required")
+    @Min(value = 1, message = "Rating must be at least 1")
+    @Max(value = 5, message = "Rating must be at most 5")
+    private Integer rating;
+    
+    @Size(max = 2000, message = "Comment must be less than 2000 characters")
+    private String comment;
+    
+    // Default constructor
+    public ReviewRequest() {}
+    
+    public ReviewRequest(Long userId, Integer rating, String comment) {
+        this.userId = userId;
+        this.rating = rating;
+        this.comment = comment;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+    
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+}
@@ -0,0 +1,53 @@
+package com.cognizant.hotelservice.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "room_night_inventory",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"hotelId", "roomType", "stayDate"}),
+       indexes = @Index(name = "idx_room_night_hotel_type", columnList = "hotelId, roomType, stayDate"))
+public class RoomNightInventory {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long hotelId;
+    
+    @Column(nullable = false, length = 10)
+    private String roomType;
+    
+    @Column(nullable = false)
+    private LocalDate stayDate;
+    
+    @Column(nullable = false)
+    private Integer bookedRooms = 0;
+    
+    // Default constructor
+    public RoomNightInventory() {}
+    
+    public RoomNightInventory(Long hotelId, String roomType, LocalDate stayDate, Integer bookedRooms) {
+        this.hotelId = hotelId;
+        this.roomType = roomType;
+        this.stayDate = stayDate;
+        this.bookedRooms = bookedRooms;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+    
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+    
+    public LocalDate getStayDate() { return stayDate; }
+    public void setStayDate(LocalDate stayDate) { this.stayDate = stayDate; }
+    
+    public Integer getBookedRooms() { return bookedRooms; }
+    public void setBookedRooms(Integer bookedRooms) { this.bookedRooms = bookedRooms; }
+}
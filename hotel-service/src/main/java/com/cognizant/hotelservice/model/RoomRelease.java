@@ -0,0 +1,50 @@
+package com.cognizant.hotelservice.model;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+
+/**
+ * Rooms to give back that were taken without a hold, as by reservations made before holds
+ * existed. The sender names the release; it is stored as a RELEASED hold under that id, so a
+ * redelivered release is recognised and skipped.
+ */
+public class RoomRelease {
+
+    @NotBlank(message = "Release id is required")
+    @Size(max = 36, message = "Release id must be at most 36 characters")
+    private String releaseId;
+
+    @NotNull(message = "Number of rooms is required")
+    @Min(value = 1, message = "Number of rooms must be at least 1")
+    private Integer numberOfRooms;
+
+    // Null for rooms taken from the undated counters
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+
+    // Default constructor
+    public RoomRelease() {}
+
+    public RoomRelease(String releaseId, Integer numberOfRooms, LocalDate checkInDate, LocalDate checkOutDate) {
+        this.releaseId = releaseId;
+        this.numberOfRooms = numberOfRooms;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+    }
+
+    // Getters and Setters
+    public String getReleaseId() { return releaseId; }
+    public void setReleaseId(String releaseId) { this.releaseId = releaseId; }
+
+    public Integer getNumberOfRooms() { return numberOfRooms; }
+    public void setNumberOfRooms(Integer numberOfRooms) { this.numberOfRooms = numberOfRooms; }
+
+    public LocalDate getCheckInDate() { return checkInDate; }
+    public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+
+    public LocalDate getCheckOutDate() { return checkOutDate; }
+    public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+}
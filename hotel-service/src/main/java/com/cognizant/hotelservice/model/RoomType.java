@@ -0,0 +1,18 @@
+package com.cognizant.hotelservice.model;
+
+public enum RoomType {
+    AC, NON_AC;
+
+    // Returns null for unknown room types so callers can keep their existing "return false" contracts
+    public static RoomType fromString(String roomType) {
+        if (roomType == null) {
+            return null;
+        }
+        for (RoomType type : values()) {
+            if (type.name().equalsIgnoreCase(roomType)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
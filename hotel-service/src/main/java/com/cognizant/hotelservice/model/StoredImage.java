@@ -0,0 +1,59 @@
+package com.cognizant.hotelservice.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One distinct image in the content-addressed store, keyed by the SHA-256 of its bytes. refCount
+ * is the number of hotels whose imagePath names it; the file is deleted when it drops to zero.
+ */
+@Entity
+@Table(name = "stored_images")
+public class StoredImage {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Integer refCount;
+
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public StoredImage() {}
+
+    public StoredImage(String hash, Long size, String contentType, Integer refCount) {
+        this.hash = hash;
+        this.size = size;
+        this.contentType = contentType;
+        this.refCount = refCount;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getHash() { return hash; }
+    public void setHash(String hash) { this.hash = hash; }
+
+    public Long getSize() { return size; }
+    public void setSize(Long size) { this.size = size; }
+
+    public String getContentType() { return contentType; }
+    public void setContentType(String contentType) { this.contentType = contentType; }
+
+    public Integer getRefCount() { return refCount; }
+    public void setRefCount(Integer refCount) { this.refCount = refCount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
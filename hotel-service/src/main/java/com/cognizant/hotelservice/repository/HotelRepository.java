@@ -2,26 +2,55 @@ package com.cognizant.hotelservice.repository;
 
 import com.cognizant.hotelservice.model.Hotel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
     
-    List<Hotel> findByCityIgnoreCase(String city);
+    // Guarded inventory updates: the WHERE clause makes check-and-decrement a single atomic statement
+    @Modifying
+    @Query("UPDATE Hotel h SET h.availableAcRooms = h.availableAcRooms - :rooms " +
+           "WHERE h.hotelId = :hotelId AND h.availableAcRooms >= :rooms")
+    int decrementAvailableAcRooms(@Param("hotelId") Long hotelId, @Param("rooms") Integer rooms);
     
-    List<Hotel> findByStateIgnoreCase(String state);
+    @Modifying
+    @Query("UPDATE Hotel h SET h.availableNonAcRooms = h.availableNonAcRooms - :rooms " +
+           "WHERE h.hotelId = :hotelId AND h.availableNonAcRooms >= :rooms")
+    int decrementAvailableNonAcRooms(@Param("hotelId") Long hotelId, @Param("rooms") Integer rooms);
     
-    List<Hotel> findByCountryIgnoreCase(String country);
+    @Modifying
+    @Query("UPDATE Hotel h SET h.availableAcRooms = CASE " +
+           "WHEN h.availableAcRooms + :rooms > h.totalAcRooms THEN h.totalAcRooms " +
+           "ELSE h.availableAcRooms + :rooms END WHERE h.hotelId = :hotelId")
+    int incrementAvailableAcRooms(@Param("hotelId") Long hotelId, @Param("rooms") Integer rooms);
     
-    List<Hotel> findByHotelNameContainingIgnoreCase(String hotelName);
+    @Modifying
+    @Query("UPDATE Hotel h SET h.availableNonAcRooms = CASE " +
+           "WHEN h.availableNonAcRooms + :rooms > h.totalNonAcRooms THEN h.totalNonAcRooms " +
+           "ELSE h.availableNonAcRooms + :rooms END WHERE h.hotelId = :hotelId")
+    int incrementAvailableNonAcRooms(@Param("hotelId") Long hotelId, @Param("rooms") Integer rooms);
     
-    @Query("SELECT h FROM Hotel h WHERE LOWER(h.city) = LOWER(:city) AND h.acRoomCost <= :maxCost")
-    List<Hotel> findByCityAndMaxAcCost(@Param("city") String city, @Param("maxCost") Double maxCost);
+    @Query("SELECT h.availableAcRooms FROM Hotel h WHERE h.hotelId = :hotelId")
+    Integer findAvailableAcRooms(@Param("hotelId") Long hotelId);
     
-    @Query("SELECT h FROM Hotel h WHERE LOWER(h.city) = LOWER(:city) AND h.nonAcRoomCost <= :maxCost")
-    List<Hotel> findByCityAndMaxNonAcCost(@Param("city") String city, @Param("maxCost") Double maxCost);
+    @Query("SELECT h.availableNonAcRooms FROM Hotel h WHERE h.hotelId = :hotelId")
+    Integer findAvailableNonAcRooms(@Param("hotelId") Long hotelId);
+    
+    Optional<Hotel> findFirstByImagePath(String imagePath);
+    
+    // Folds one review into the running count and sum and recomputes the Bayesian average from them.
+    // The average is assigned first so it reads the old count and sum on MySQL too, which applies
+    // SET clauses left to right. The cast stops the weight being bound as an integer like reviewCount
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Hotel h SET h.avgRatingByCustomers = (:priorWeight * :priorMean + h.ratingSum + :rating) " +
+           "/ (cast(:priorWeight as Double) + h.reviewCount + 1), " +
+           "h.ratingSum = h.ratingSum + :rating, h.reviewCount = h.reviewCount + 1 WHERE h.hotelId = :hotelId")
+    int addRating(@Param("hotelId") Long hotelId, @Param("rating") Integer rating,
+                  @Param("priorMean") Double priorMean, @Param("priorWeight") Double priorWeight);
 }
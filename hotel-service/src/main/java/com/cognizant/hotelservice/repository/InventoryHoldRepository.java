@@ -0,0 +1,61 @@
+package com.cognizant.hotelservice.repository;
+
+import com.cognizant.hotelservice.model.HoldStatus;
+import com.cognizant.hotelservice.model.InventoryHold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventoryHoldRepository extends JpaRepository<InventoryHold, String> {
+    
+    Optional<InventoryHold> findByHoldTokenAndHotelId(String holdToken, Long hotelId);
+    
+    // Status transitions are guarded so concurrent commit/release calls cannot both win
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE InventoryHold h SET h.status = :newStatus, h.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE h.holdToken = :holdToken AND h.status = :expectedStatus")
+    int transition(@Param("holdToken") String holdToken,
+                   @Param("expectedStatus") HoldStatus expectedStatus,
+                   @Param("newStatus") HoldStatus newStatus);
+    
+    // Row locks keep single commits and releases out until a batch release has committed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM InventoryHold h WHERE h.holdToken IN :holdTokens AND h.hotelId = :hotelId " +
+           "AND h.roomType = :roomType")
+    List<InventoryHold> lockHolds(@Param("hotelId") Long hotelId,
+                                  @Param("roomType") String roomType,
+                                  @Param("holdTokens") Collection<String> holdTokens);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE InventoryHold h SET h.status = :newStatus, h.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE h.holdToken IN :holdTokens")
+    int transitionAll(@Param("holdTokens") Collection<String> holdTokens,
+                      @Param("newStatus") HoldStatus newStatus);
+    
+    // Insert-only, so an id that is already taken fails the release instead of overwriting that hold
+    @Modifying
+    @Query(value = "INSERT INTO inventory_holds (hold_token, hotel_id, room_type, number_of_rooms, " +
+                   "check_in_date, check_out_date, status, created_at, updated_at) " +
+                   "VALUES (:holdToken, :hotelId, :roomType, :numberOfRooms, :checkInDate, :checkOutDate, " +
+                   "'RELEASED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int insertReleased(@Param("holdToken") String holdToken,
+                       @Param("hotelId") Long hotelId,
+                       @Param("roomType") String roomType,
+                       @Param("numberOfRooms") Integer numberOfRooms,
+                       @Param("checkInDate") LocalDate checkInDate,
+                       @Param("checkOutDate") LocalDate checkOutDate);
+    
+    @Modifying
+    @Query("DELETE FROM InventoryHold h WHERE h.hotelId = :hotelId")
+    int deleteByHotelId(@Param("hotelId") Long hotelId);
+}
@@ -0,0 +1,27 @@
+package com.cognizant.hotelservice.repository;
+
+import com.cognizant.hotelservice.model.Review;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+    
+    boolean existsByHotelIdAndUserId(Long hotelId, Long userId);
+    
+    // Keyset page: a range scan of idx_review_hotel_id starting below the cursor, however deep the page
+    @Query("SELECT r FROM Review r WHERE r.hotelId = :hotelId AND r.reviewId < :before ORDER BY r.reviewId DESC")
+    List<Review> findPageBefore(@Param("hotelId") Long hotelId, @Param("before") Long before, Pageable pageable);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Review r WHERE r.hotelId = :hotelId")
+    int deleteByHotelId(@Param("hotelId") Long hotelId);
+}
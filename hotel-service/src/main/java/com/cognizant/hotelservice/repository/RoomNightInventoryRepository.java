@@ -0,0 +1,30 @@
+package com.cognizant.hotelservice.repository;
+
+import com.cognizant.hotelservice.model.RoomNightInventory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RoomNightInventoryRepository extends JpaRepository<RoomNightInventory, Long> {
+    
+    List<RoomNightInventory> findByHotelIdAndRoomTypeAndStayDateGreaterThanEqual(Long hotelId, String roomType,
+                                                                                LocalDate fromDate);
+    
+    // Adds to the night's booked count, creating the row on first use; never goes below zero
+    @Modifying
+    @Query(value = "INSERT INTO room_night_inventory (hotel_id, room_type, stay_date, booked_rooms) " +
+                   "VALUES (:hotelId, :roomType, :stayDate, GREATEST(:delta, 0)) " +
+                   "ON DUPLICATE KEY UPDATE booked_rooms = GREATEST(booked_rooms + :delta, 0)", nativeQuery = true)
+    int addBookedRooms(@Param("hotelId") Long hotelId, @Param("roomType") String roomType,
+                       @Param("stayDate") LocalDate stayDate, @Param("delta") Integer delta);
+    
+    @Modifying
+    @Query("DELETE FROM RoomNightInventory n WHERE n.hotelId = :hotelId")
+    int deleteByHotelId(@Param("hotelId") Long hotelId);
+}
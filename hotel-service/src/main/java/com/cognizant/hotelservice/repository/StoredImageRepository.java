@@ -0,0 +1,30 @@
+package com.cognizant.hotelservice.repository;
+
+import com.cognizant.hotelservice.model.StoredImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface StoredImageRepository extends JpaRepository<StoredImage, String> {
+
+    // Each statement commits on its own: the image store holds a lock until the count is durable
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredImage s SET s.refCount = s.refCount + 1 WHERE s.hash = :hash")
+    int incrementRefCount(@Param("hash") String hash);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredImage s SET s.refCount = s.refCount - 1 WHERE s.hash = :hash AND s.refCount > 0")
+    int decrementRefCount(@Param("hash") String hash);
+
+    // Removes the row only if nothing references it; 1 means the file may be deleted
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StoredImage s WHERE s.hash = :hash AND s.refCount = 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -0,0 +1,111 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.CacheStats;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache with a fixed time-to-live per entry, backed by an access-ordered
+ * LinkedHashMap under a single lock. Each invalidation leaves a tombstone stamped with the next
+ * generation, and a load that started before the tombstone of its own key is not cached, so a value
+ * read just before a write commits cannot be put back after the write has invalidated it. Loads of
+ * other keys are unaffected.
+ *
+ * Only the latest MAX_TOMBSTONES tombstones are kept. The newest generation dropped becomes a floor,
+ * and loads that started before it are not cached for any key.
+ */
+final class BoundedCache<K, V> {
+
+    static final int MAX_TOMBSTONES = 4096;
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final LinkedHashMap<K, Long> tombstones = new LinkedHashMap<>();
+    private long generation;
+    private long floor;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    BoundedCache(String name, int maxEntries, long ttlSeconds) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAt > ttlNanos) {
+            entries.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    // Read before loading from the database and pass to put()
+    synchronized long generation() {
+        return generation;
+    }
+
+    synchronized void put(K key, V value, long loadGeneration) {
+        if (maxEntries <= 0 || loadGeneration < floor) {
+            return;
+        }
+        Long invalidatedAt = tombstones.get(key);
+        if (invalidatedAt != null && invalidatedAt > loadGeneration) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+        // Re-inserted so the map stays in generation order and the eldest tombstone is the oldest
+        tombstones.remove(key);
+        tombstones.put(key, generation);
+        if (tombstones.size() > MAX_TOMBSTONES) {
+            Iterator<Long> eldest = tombstones.values().iterator();
+            floor = eldest.next();
+            eldest.remove();
+        }
+    }
+
+    synchronized CacheStats stats() {
+        return new CacheStats(name, entries.size(), maxEntries, hits, misses, evictions, expirations);
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long loadedAt;
+
+        Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
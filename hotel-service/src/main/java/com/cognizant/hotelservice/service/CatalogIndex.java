@@ -0,0 +1,699 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.HotelFacets;
+import com.cognizant.hotelservice.model.HotelSearchCriteria;
+import com.cognizant.hotelservice.model.HotelSearchPage;
+import com.cognizant.hotelservice.model.HotelSearchSort;
+import com.cognizant.hotelservice.model.HotelSuggestion;
+import com.cognizant.hotelservice.model.HotelSummary;
+import com.cognizant.hotelservice.model.NearbyHotel;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-memory index of the hotel catalog. City, state and country are hash indexes on a normalized
+ * key (trimmed, lower case); each bucket also keeps its hotels sorted by AC and non-AC cost in
+ * primitive arrays, so a price cutoff is a binary search. Hotel names go into a trigram index for
+ * substring search and typeahead, coordinates into a k-d tree for nearest-hotel search, and the
+ * filterable fields into a columnar snapshot for facet counts.
+ *
+ * Buckets are immutable and replaced whole on every write, so readers never lock. Writes are
+ * serialized and only rebuild the buckets of the keys the hotel leaves or joins. The index is
+ * built from the hotels table once the application is ready and then kept current from
+ * HotelChangedEvents and, for bulk imports, upsertAll.
+ */
+@Component
+public class CatalogIndex {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    private final ConcurrentMap<Long, HotelSummary> hotels = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Bucket> byCity = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Bucket> byState = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Bucket> byCountry = new ConcurrentHashMap<>();
+    private volatile TrigramIndex names = new TrigramIndex();
+    private volatile GeoIndex locations = new GeoIndex();
+    private volatile FacetIndex facets = new FacetIndex();
+    private volatile boolean built;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        List<Hotel> all = hotelRepository.findAll();
+        hotels.clear();
+        byCity.clear();
+        byState.clear();
+        byCountry.clear();
+
+        Map<String, List<HotelSummary>> cities = new HashMap<>();
+        Map<String, List<HotelSummary>> states = new HashMap<>();
+        Map<String, List<HotelSummary>> countries = new HashMap<>();
+        // A fresh name index also drops the dead slots left behind by renames and deletes
+        TrigramIndex rebuiltNames = new TrigramIndex();
+        FacetIndex rebuiltFacets = new FacetIndex();
+        long[] locatedIds = new long[all.size()];
+        double[] latitudes = new double[all.size()];
+        double[] longitudes = new double[all.size()];
+        int located = 0;
+        for (Hotel hotel : all) {
+            HotelSummary summary = HotelSummary.from(hotel);
+            hotels.put(summary.getHotelId(), summary);
+            rebuiltNames.add(summary.getHotelId(), summary.getHotelName());
+            rebuiltFacets.add(summary);
+            if (hasLocation(summary)) {
+                locatedIds[located] = summary.getHotelId();
+                latitudes[located] = summary.getLatitude();
+                longitudes[located] = summary.getLongitude();
+                located++;
+            }
+            cities.computeIfAbsent(normalize(summary.getCity()), k -> new ArrayList<>()).add(summary);
+            states.computeIfAbsent(normalize(summary.getState()), k -> new ArrayList<>()).add(summary);
+            countries.computeIfAbsent(normalize(summary.getCountry()), k -> new ArrayList<>()).add(summary);
+        }
+        cities.forEach((key, members) -> byCity.put(key, new Bucket(members)));
+        states.forEach((key, members) -> byState.put(key, new Bucket(members)));
+        countries.forEach((key, members) -> byCountry.put(key, new Bucket(members)));
+        names = rebuiltNames;
+        locations = new GeoIndex(locatedIds, latitudes, longitudes, located);
+        facets = rebuiltFacets;
+        built = true;
+        System.out.println("Catalog index built with " + hotels.size() + " hotels");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getHotelId());
+        } else if (event.getAfter() != null) {
+            upsert(event.getAfter());
+        }
+    }
+
+    public synchronized void upsert(Hotel hotel) {
+        HotelSummary summary = HotelSummary.from(hotel);
+        HotelSummary previous = hotels.put(summary.getHotelId(), summary);
+        if (previous != null) {
+            leave(previous);
+        }
+        join(summary);
+        names.add(summary.getHotelId(), summary.getHotelName());
+        facets.add(summary);
+        // Most updates leave the position alone; only a move costs the location index anything
+        if (previous == null || !Objects.equals(previous.getLatitude(), summary.getLatitude())
+                || !Objects.equals(previous.getLongitude(), summary.getLongitude())) {
+            if (hasLocation(summary)) {
+                locations.add(summary.getHotelId(), summary.getLatitude(), summary.getLongitude());
+            } else if (previous != null) {
+                locations.remove(summary.getHotelId());
+            }
+        }
+    }
+
+    /**
+     * upsert for many hotels at once, as after a bulk import: each bucket touched is rebuilt once
+     * rather than once per hotel, and the location index takes every move before deciding whether
+     * to rebuild its tree.
+     */
+    public synchronized void upsertAll(Collection<Hotel> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        BucketChanges cities = new BucketChanges();
+        BucketChanges states = new BucketChanges();
+        BucketChanges countries = new BucketChanges();
+        long[] locatedIds = new long[changed.size()];
+        double[] latitudes = new double[changed.size()];
+        double[] longitudes = new double[changed.size()];
+        int located = 0;
+        for (Hotel hotel : changed) {
+            HotelSummary summary = HotelSummary.from(hotel);
+            HotelSummary previous = hotels.put(summary.getHotelId(), summary);
+            if (previous != null) {
+                cities.leave(previous.getCity(), previous.getHotelId());
+                states.leave(previous.getState(), previous.getHotelId());
+                countries.leave(previous.getCountry(), previous.getHotelId());
+            }
+            cities.join(summary.getCity(), summary);
+            states.join(summary.getState(), summary);
+            countries.join(summary.getCountry(), summary);
+            names.add(summary.getHotelId(), summary.getHotelName());
+            facets.add(summary);
+            if (hasLocation(summary)) {
+                locatedIds[located] = summary.getHotelId();
+                latitudes[located] = summary.getLatitude();
+                longitudes[located] = summary.getLongitude();
+                located++;
+            } else if (previous != null) {
+                locations.remove(summary.getHotelId());
+            }
+        }
+        cities.applyTo(byCity);
+        states.applyTo(byState);
+        countries.applyTo(byCountry);
+        locations.addAll(locatedIds, latitudes, longitudes, located);
+    }
+
+    public synchronized void remove(Long hotelId) {
+        HotelSummary previous = hotels.remove(hotelId);
+        if (previous != null) {
+            leave(previous);
+        }
+        names.remove(hotelId);
+        locations.remove(hotelId);
+        facets.remove(hotelId);
+    }
+
+    // Ids in ascending order
+    public List<Long> findByCity(String city) {
+        return bucket(byCity, city).ids();
+    }
+
+    public List<Long> findByState(String state) {
+        return bucket(byState, state).ids();
+    }
+
+    public List<Long> findByCountry(String country) {
+        return bucket(byCountry, country).ids();
+    }
+
+    // Cheapest first
+    public List<Long> findByCityAndMaxAcCost(String city, Double maxCost) {
+        return bucket(byCity, city).acCostAtMost(maxCost);
+    }
+
+    public List<Long> findByCityAndMaxNonAcCost(String city, Double maxCost) {
+        return bucket(byCity, city).nonAcCostAtMost(maxCost);
+    }
+
+    // Case-insensitive substring match, ids in ascending order
+    public List<Long> findByNameContaining(String fragment) {
+        ensureBuilt();
+        List<Long> ids = names.findContaining(fragment);
+        ids.sort(Comparator.naturalOrder());
+        return ids;
+    }
+
+    // Best matches first; every query word must start a word of the hotel name
+    public List<HotelSuggestion> suggest(String query, int limit) {
+        ensureBuilt();
+        List<HotelSuggestion> suggestions = new ArrayList<>();
+        for (TrigramIndex.Match match : names.suggest(query, limit)) {
+            HotelSummary summary = hotels.get(match.hotelId);
+            if (summary != null) {
+                suggestions.add(new HotelSuggestion(summary.getHotelId(), summary.getHotelName(),
+                        summary.getCity(), summary.getCountry(), match.similarity));
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Facet counts and price histograms for the hotels matching criteria; sort, cursor and size are
+     * ignored. bins is the number of buckets per price histogram, limit the most values listed per
+     * location facet.
+     */
+    public HotelFacets facets(HotelSearchCriteria criteria, RoomType roomType, int bins, int limit) {
+        ensureBuilt();
+        List<Long> nameMatches = criteria.getName() == null || criteria.getName().trim().isEmpty()
+                ? null : names.findContaining(criteria.getName());
+        return facets.facets(criteria, roomType, nameMatches, bins, limit);
+    }
+
+    /**
+     * Up to limit located hotels within radiusKm of the position, nearest first, among those accept
+     * allows. accept is only asked about hotels near enough to make the result, so it may be costly.
+     */
+    public List<NearbyHotel> nearby(double latitude, double longitude, double radiusKm, int limit,
+                                    Predicate<HotelSummary> accept) {
+        ensureBuilt();
+        List<NearbyHotel> nearby = new ArrayList<>();
+        List<GeoIndex.Match> matches = locations.nearest(latitude, longitude, radiusKm, limit, hotelId -> {
+            HotelSummary summary = hotels.get(hotelId);
+            return summary != null && accept.test(summary);
+        });
+        for (GeoIndex.Match match : matches) {
+            HotelSummary summary = hotels.get(match.hotelId);
+            if (summary != null) {
+                nearby.add(new NearbyHotel(summary, match.distanceKm));
+            }
+        }
+        return nearby;
+    }
+
+    /**
+     * One page of the hotels matching every given filter, in the requested order. Paging is by
+     * keyset: the cursor holds the sort key and id of the last hotel returned and the next page
+     * starts strictly after it, so a deep page costs the same as the first.
+     *
+     * Candidates come from the smallest location bucket given, else from the name index, else from
+     * the whole catalog. A bucket sorted by id is walked from the cursor; any other order keeps the
+     * best size + 1 candidates in a heap.
+     */
+    public HotelSearchPage search(HotelSearchCriteria criteria, HotelSearchSort sort, RoomType roomType, int size) {
+        ensureBuilt();
+        Position after = criteria.getCursor() == null || criteria.getCursor().isEmpty()
+                ? null : Position.decode(criteria.getCursor(), sort);
+        String nameNeedle = criteria.getName() == null || criteria.getName().trim().isEmpty()
+                ? null : criteria.getName().trim().toLowerCase(Locale.ROOT);
+
+        Bucket bucket = narrowestBucket(criteria);
+        List<HotelSummary> page = new ArrayList<>();
+        if (bucket != null && sort == HotelSearchSort.ID) {
+            int start = after == null ? 0 : Bucket.upperBound(bucket.ids, after.hotelId);
+            for (int i = start; i < bucket.members.length && page.size() <= size; i++) {
+                if (matches(bucket.members[i], criteria, roomType, nameNeedle)) {
+                    page.add(bucket.members[i]);
+                }
+            }
+        } else {
+            Collection<HotelSummary> candidates;
+            if (bucket != null) {
+                candidates = Arrays.asList(bucket.members);
+            } else if (nameNeedle != null) {
+                candidates = new ArrayList<>();
+                for (Long hotelId : names.findContaining(nameNeedle)) {
+                    HotelSummary summary = hotels.get(hotelId);
+                    if (summary != null) {
+                        candidates.add(summary);
+                    }
+                }
+            } else {
+                candidates = hotels.values();
+            }
+            // Largest position on top, so the worst of the kept candidates is the one dropped
+            PriorityQueue<Position> best = new PriorityQueue<>(size + 2, Comparator.reverseOrder());
+            for (HotelSummary summary : candidates) {
+                if (!matches(summary, criteria, roomType, nameNeedle)) {
+                    continue;
+                }
+                Position position = Position.of(summary, sort, roomType);
+                if (after != null && position.compareTo(after) <= 0) {
+                    continue;
+                }
+                best.offer(position);
+                if (best.size() > size + 1) {
+                    best.poll();
+                }
+            }
+            List<Position> ordered = new ArrayList<>(best);
+            ordered.sort(Comparator.naturalOrder());
+            for (Position position : ordered) {
+                page.add(position.summary);
+            }
+        }
+
+        String nextCursor = null;
+        if (page.size() > size) {
+            page = new ArrayList<>(page.subList(0, size));
+            nextCursor = Position.of(page.get(size - 1), sort, roomType).encode();
+        }
+        return new HotelSearchPage(page, nextCursor);
+    }
+
+    public int size() {
+        ensureBuilt();
+        return hotels.size();
+    }
+
+    private void join(HotelSummary summary) {
+        List<HotelSummary> added = Collections.singletonList(summary);
+        rebuildBucket(byCity, normalize(summary.getCity()), added, Collections.emptySet());
+        rebuildBucket(byState, normalize(summary.getState()), added, Collections.emptySet());
+        rebuildBucket(byCountry, normalize(summary.getCountry()), added, Collections.emptySet());
+    }
+
+    private void leave(HotelSummary summary) {
+        Set<Long> removed = Collections.singleton(summary.getHotelId());
+        rebuildBucket(byCity, normalize(summary.getCity()), Collections.emptyList(), removed);
+        rebuildBucket(byState, normalize(summary.getState()), Collections.emptyList(), removed);
+        rebuildBucket(byCountry, normalize(summary.getCountry()), Collections.emptyList(), removed);
+    }
+
+    // Replaces the bucket with its members minus removedIds, with added in place of any older entry
+    private static void rebuildBucket(ConcurrentMap<String, Bucket> index, String key, List<HotelSummary> added,
+                                      Set<Long> removedIds) {
+        Bucket current = index.get(key);
+        Set<Long> replaced = new HashSet<>(removedIds);
+        for (HotelSummary summary : added) {
+            replaced.add(summary.getHotelId());
+        }
+        List<HotelSummary> members = new ArrayList<>();
+        if (current != null) {
+            for (HotelSummary member : current.members) {
+                if (!replaced.contains(member.getHotelId())) {
+                    members.add(member);
+                }
+            }
+        }
+        members.addAll(added);
+        if (members.isEmpty()) {
+            index.remove(key);
+        } else {
+            index.put(key, new Bucket(members));
+        }
+    }
+
+    private Bucket bucket(ConcurrentMap<String, Bucket> index, String value) {
+        ensureBuilt();
+        Bucket bucket = index.get(normalize(value));
+        return bucket != null ? bucket : Bucket.EMPTY;
+    }
+
+    // Smallest bucket among the location filters given, or null when none is given
+    private Bucket narrowestBucket(HotelSearchCriteria criteria) {
+        Bucket narrowest = narrower(null, byCity, criteria.getCity());
+        narrowest = narrower(narrowest, byState, criteria.getState());
+        return narrower(narrowest, byCountry, criteria.getCountry());
+    }
+
+    private Bucket narrower(Bucket current, ConcurrentMap<String, Bucket> index, String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return current;
+        }
+        Bucket bucket = index.getOrDefault(normalize(value), Bucket.EMPTY);
+        return current == null || bucket.members.length < current.members.length ? bucket : current;
+    }
+
+    private static boolean matches(HotelSummary summary, HotelSearchCriteria criteria, RoomType roomType,
+                                   String nameNeedle) {
+        if (!sameKey(criteria.getCity(), summary.getCity())
+                || !sameKey(criteria.getState(), summary.getState())
+                || !sameKey(criteria.getCountry(), summary.getCountry())) {
+            return false;
+        }
+        if (nameNeedle != null && (summary.getHotelName() == null
+                || !summary.getHotelName().toLowerCase(Locale.ROOT).contains(nameNeedle))) {
+            return false;
+        }
+        if (roomType == RoomType.AC && !hasRooms(summary.getTotalAcRooms())
+                || roomType == RoomType.NON_AC && !hasRooms(summary.getTotalNonAcRooms())) {
+            return false;
+        }
+        if (criteria.getMinRating() != null && (summary.getAvgRatingByCustomers() == null
+                || summary.getAvgRatingByCustomers() < criteria.getMinRating())) {
+            return false;
+        }
+        if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) {
+            Double price = price(summary, roomType);
+            return price != null
+                    && (criteria.getMinPrice() == null || price >= criteria.getMinPrice())
+                    && (criteria.getMaxPrice() == null || price <= criteria.getMaxPrice());
+        }
+        return true;
+    }
+
+    private static boolean hasLocation(HotelSummary summary) {
+        return summary.getLatitude() != null && summary.getLongitude() != null;
+    }
+
+    private static boolean sameKey(String filter, String value) {
+        return filter == null || filter.trim().isEmpty() || normalize(filter).equals(normalize(value));
+    }
+
+    private static boolean hasRooms(Integer totalRooms) {
+        return totalRooms != null && totalRooms > 0;
+    }
+
+    // Cost of the requested room type, or the cheaper of the two when no room type is given
+    private static Double price(HotelSummary summary, RoomType roomType) {
+        if (roomType == RoomType.AC) {
+            return summary.getAcRoomCost();
+        }
+        if (roomType == RoomType.NON_AC) {
+            return summary.getNonAcRoomCost();
+        }
+        if (summary.getAcRoomCost() == null) {
+            return summary.getNonAcRoomCost();
+        }
+        if (summary.getNonAcRoomCost() == null) {
+            return summary.getAcRoomCost();
+        }
+        return Math.min(summary.getAcRoomCost(), summary.getNonAcRoomCost());
+    }
+
+    // Searches that arrive before the ready event build the index themselves
+    private void ensureBuilt() {
+        if (!built) {
+            synchronized (this) {
+                if (!built) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Joins and leaves per normalized key of one index, applied with one rebuild per key
+    private static final class BucketChanges {
+
+        private final Map<String, List<HotelSummary>> added = new HashMap<>();
+        private final Map<String, Set<Long>> removed = new HashMap<>();
+
+        void join(String value, HotelSummary summary) {
+            added.computeIfAbsent(normalize(value), k -> new ArrayList<>()).add(summary);
+        }
+
+        void leave(String value, Long hotelId) {
+            removed.computeIfAbsent(normalize(value), k -> new HashSet<>()).add(hotelId);
+        }
+
+        void applyTo(ConcurrentMap<String, Bucket> index) {
+            Set<String> keys = new HashSet<>(added.keySet());
+            keys.addAll(removed.keySet());
+            for (String key : keys) {
+                rebuildBucket(index, key, added.getOrDefault(key, Collections.emptyList()),
+                        removed.getOrDefault(key, Collections.emptySet()));
+            }
+        }
+    }
+
+    /**
+     * Hotels sharing one key. ids is sorted by id; the cost arrays are sorted ascending with the
+     * hotel ids in matching positions.
+     */
+    private static final class Bucket {
+
+        static final Bucket EMPTY = new Bucket(new ArrayList<>());
+
+        private final HotelSummary[] members;
+        private final long[] ids;
+        private final double[] acCosts;
+        private final long[] idsByAcCost;
+        private final double[] nonAcCosts;
+        private final long[] idsByNonAcCost;
+
+        Bucket(Collection<HotelSummary> summaries) {
+            members = summaries.toArray(new HotelSummary[0]);
+            Arrays.sort(members, Comparator.comparing(HotelSummary::getHotelId));
+            ids = new long[members.length];
+            for (int i = 0; i < members.length; i++) {
+                ids[i] = members[i].getHotelId();
+            }
+
+            HotelSummary[] byAc = sortedByCost(members, HotelSummary::getAcRoomCost);
+            acCosts = costs(byAc, HotelSummary::getAcRoomCost);
+            idsByAcCost = idsOf(byAc);
+            HotelSummary[] byNonAc = sortedByCost(members, HotelSummary::getNonAcRoomCost);
+            nonAcCosts = costs(byNonAc, HotelSummary::getNonAcRoomCost);
+            idsByNonAcCost = idsOf(byNonAc);
+        }
+
+        List<Long> ids() {
+            return toList(ids, ids.length);
+        }
+
+        List<Long> acCostAtMost(Double maxCost) {
+            return toList(idsByAcCost, upperBound(acCosts, maxCost));
+        }
+
+        List<Long> nonAcCostAtMost(Double maxCost) {
+            return toList(idsByNonAcCost, upperBound(nonAcCosts, maxCost));
+        }
+
+        // Number of leading ids <= hotelId
+        static int upperBound(long[] ids, long hotelId) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ids[mid] <= hotelId) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Number of leading costs <= maxCost
+        private static int upperBound(double[] costs, Double maxCost) {
+            if (maxCost == null) {
+                return 0;
+            }
+            int low = 0;
+            int high = costs.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (costs[mid] <= maxCost) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Hotels without a cost sort last as +Infinity and never pass a cutoff
+        private static HotelSummary[] sortedByCost(HotelSummary[] members,
+                                                   Function<HotelSummary, Double> cost) {
+            HotelSummary[] sorted = members.clone();
+            Arrays.sort(sorted, Comparator.comparingDouble((HotelSummary s) -> costOrInfinity(cost.apply(s)))
+                    .thenComparing(HotelSummary::getHotelId));
+            return sorted;
+        }
+
+        private static double[] costs(HotelSummary[] sorted, Function<HotelSummary, Double> cost) {
+            double[] costs = new double[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                costs[i] = costOrInfinity(cost.apply(sorted[i]));
+            }
+            return costs;
+        }
+
+        private static long[] idsOf(HotelSummary[] sorted) {
+            long[] ids = new long[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                ids[i] = sorted[i].getHotelId();
+            }
+            return ids;
+        }
+
+        private static double costOrInfinity(Double cost) {
+            return cost != null ? cost : Double.POSITIVE_INFINITY;
+        }
+
+        private static List<Long> toList(long[] ids, int length) {
+            List<Long> list = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                list.add(ids[i]);
+            }
+            return list;
+        }
+    }
+
+    /**
+     * Where a hotel falls in a search order: the sort key first, with hotels lacking one last in
+     * either direction, then the hotel id. Cursors are this position, Base64-encoded.
+     */
+    private static final class Position implements Comparable<Position> {
+
+        private final HotelSearchSort sort;
+        private final Comparable<Object> key;
+        private final long hotelId;
+        private final HotelSummary summary;
+
+        @SuppressWarnings("unchecked")
+        private Position(HotelSearchSort sort, Comparable<?> key, long hotelId, HotelSummary summary) {
+            this.sort = sort;
+            this.key = (Comparable<Object>) key;
+            this.hotelId = hotelId;
+            this.summary = summary;
+        }
+
+        static Position of(HotelSummary summary, HotelSearchSort sort, RoomType roomType) {
+            Comparable<?> key;
+            switch (sort) {
+                case PRICE_ASC:
+                case PRICE_DESC:
+                    key = price(summary, roomType);
+                    break;
+                case RATING_DESC:
+                    key = summary.getAvgRatingByCustomers();
+                    break;
+                case NAME_ASC:
+                    key = normalize(summary.getHotelName());
+                    break;
+                default:
+                    key = null;
+            }
+            return new Position(sort, key, summary.getHotelId(), summary);
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            if (key != null && other.key != null) {
+                int byKey = key.compareTo(other.key);
+                if (byKey != 0) {
+                    return sort == HotelSearchSort.PRICE_DESC || sort == HotelSearchSort.RATING_DESC ? -byKey : byKey;
+                }
+            } else if (key != null || other.key != null) {
+                return key == null ? 1 : -1;
+            }
+            return Long.compare(hotelId, other.hotelId);
+        }
+
+        String encode() {
+            String encodedKey = key == null ? "" : (sort == HotelSearchSort.NAME_ASC ? "s" : "d") + key;
+            String cursor = sort.name() + "|" + hotelId + "|" + encodedKey;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Position decode(String cursor, HotelSearchSort sort) {
+            String[] parts;
+            try {
+                parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new RuntimeException("Cursor does not belong to sort order " + sort);
+            }
+            try {
+                Comparable<?> key = null;
+                if (parts[2].startsWith("s") && sort == HotelSearchSort.NAME_ASC) {
+                    key = parts[2].substring(1);
+                } else if (parts[2].startsWith("d") && sort != HotelSearchSort.NAME_ASC) {
+                    key = Double.valueOf(parts[2].substring(1));
+                } else if (!parts[2].isEmpty()) {
+                    throw new RuntimeException("Invalid cursor");
+                }
+                return new Position(sort, key, Long.parseLong(parts[1]), null);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.FacetCount;
+import com.cognizant.hotelservice.model.HistogramBucket;
+import com.cognizant.hotelservice.model.HotelFacets;
+import com.cognizant.hotelservice.model.HotelSearchCriteria;
+import com.cognizant.hotelservice.model.HotelSummary;
+import com.cognizant.hotelservice.model.RoomType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar snapshot of the catalog for facet counts. Every hotel has a slot; costs and rating are
+ * kept in primitive arrays by slot, and city, state and country are dictionary-encoded with one
+ * bitset of slots per value. Filters on location and room type are bitset intersections; only the
+ * hotels left are scanned, once, to count every facet at the same time.
+ *
+ * A facet ignores its own filter, so each scanned hotel records which filters it fails and counts
+ * towards a facet only when that facet's filter is the sole failure. Hotels failing two location
+ * filters cannot count anywhere and are never scanned.
+ *
+ * Slots of removed hotels are reused. Dictionary values are never removed; values no hotel has any
+ * more simply count zero and are left out.
+ */
+final class FacetIndex {
+
+    private static final int RATING_BUCKETS = 5;
+
+    // Filters a hotel can fail, as bits
+    private static final int CITY = 1;
+    private static final int STATE = 2;
+    private static final int COUNTRY = 4;
+    private static final int PRICE = 8;
+    private static final int RATING = 16;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsByHotel = new HashMap<>();
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+    private int slotCount;
+
+    private double[] acCosts = new double[1024];
+    private double[] nonAcCosts = new double[1024];
+    private double[] ratings = new double[1024];
+    private final BitSet live = new BitSet();
+    private final BitSet hasAcRooms = new BitSet();
+    private final BitSet hasNonAcRooms = new BitSet();
+    private final Dimension cities = new Dimension();
+    private final Dimension states = new Dimension();
+    private final Dimension countries = new Dimension();
+
+    void add(HotelSummary summary) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByHotel.get(summary.getHotelId());
+            if (slot == null) {
+                slot = allocate();
+                slotsByHotel.put(summary.getHotelId(), slot);
+            } else {
+                clear(slot);
+            }
+            acCosts[slot] = valueOrNaN(summary.getAcRoomCost());
+            nonAcCosts[slot] = valueOrNaN(summary.getNonAcRoomCost());
+            ratings[slot] = valueOrNaN(summary.getAvgRatingByCustomers());
+            hasAcRooms.set(slot, summary.getTotalAcRooms() != null && summary.getTotalAcRooms() > 0);
+            hasNonAcRooms.set(slot, summary.getTotalNonAcRooms() != null && summary.getTotalNonAcRooms() > 0);
+            cities.set(slot, summary.getCity());
+            states.set(slot, summary.getState());
+            countries.set(slot, summary.getCountry());
+            live.set(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long hotelId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByHotel.remove(hotelId);
+            if (slot != null) {
+                clear(slot);
+                if (freeCount == freeSlots.length) {
+                    freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+                }
+                freeSlots[freeCount++] = slot;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts for the hotels matching criteria. nameMatches, when not null, are the ids of the hotels
+     * whose name matches; the name and room type filters apply to every facet.
+     */
+    HotelFacets facets(HotelSearchCriteria criteria, RoomType roomType, List<Long> nameMatches, int bins, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet base = (BitSet) live.clone();
+            if (roomType == RoomType.AC) {
+                base.and(hasAcRooms);
+            } else if (roomType == RoomType.NON_AC) {
+                base.and(hasNonAcRooms);
+            }
+            if (nameMatches != null) {
+                BitSet named = new BitSet(slotCount);
+                for (Long hotelId : nameMatches) {
+                    Integer slot = slotsByHotel.get(hotelId);
+                    if (slot != null) {
+                        named.set(slot);
+                    }
+                }
+                base.and(named);
+            }
+
+            int cityCode = cities.filterCode(criteria.getCity());
+            int stateCode = states.filterCode(criteria.getState());
+            int countryCode = countries.filterCode(criteria.getCountry());
+            BitSet domain = failingAtMostOne(base, cities.slotsFor(cityCode), states.slotsFor(stateCode),
+                    countries.slotsFor(countryCode));
+
+            long total = 0;
+            int[] cityCodes = cities.codes;
+            int[] stateCodes = states.codes;
+            int[] countryCodes = countries.codes;
+            long[] cityCounts = new long[cities.size()];
+            long[] stateCounts = new long[states.size()];
+            long[] countryCounts = new long[countries.size()];
+            long[] ratingCounts = new long[RATING_BUCKETS];
+            boolean priceFilter = criteria.getMinPrice() != null || criteria.getMaxPrice() != null;
+            double minPrice = criteria.getMinPrice() != null ? criteria.getMinPrice() : Double.NEGATIVE_INFINITY;
+            double maxPrice = criteria.getMaxPrice() != null ? criteria.getMaxPrice() : Double.POSITIVE_INFINITY;
+            boolean ratingFilter = criteria.getMinRating() != null;
+            double minRating = ratingFilter ? criteria.getMinRating() : 0;
+            // Hotels in the price histograms, with the range of each cost among them
+            long[] priced = new long[(slotCount + 63) >>> 6];
+            double[] acRange = {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+            double[] nonAcRange = {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+            long[] words = domain.toLongArray();
+            for (int w = 0; w < words.length; w++) {
+                for (long word = words[w]; word != 0; word &= word - 1) {
+                    int slot = (w << 6) + Long.numberOfTrailingZeros(word);
+                    int failed = 0;
+                    if (cityCode != Dimension.ANY && cityCodes[slot] != cityCode) {
+                        failed |= CITY;
+                    }
+                    if (stateCode != Dimension.ANY && stateCodes[slot] != stateCode) {
+                        failed |= STATE;
+                    }
+                    if (countryCode != Dimension.ANY && countryCodes[slot] != countryCode) {
+                        failed |= COUNTRY;
+                    }
+                    if (priceFilter) {
+                        double price = price(slot, roomType);
+                        // A missing price is NaN, which fails every comparison
+                        if (!(price >= minPrice && price <= maxPrice)) {
+                            failed |= PRICE;
+                        }
+                    }
+                    if (ratingFilter && !(ratings[slot] >= minRating)) {
+                        failed |= RATING;
+                    }
+
+                    if (failed == 0) {
+                        total++;
+                    }
+                    if ((failed & ~CITY) == 0) {
+                        cityCounts[cityCodes[slot]]++;
+                    }
+                    if ((failed & ~STATE) == 0) {
+                        stateCounts[stateCodes[slot]]++;
+                    }
+                    if ((failed & ~COUNTRY) == 0) {
+                        countryCounts[countryCodes[slot]]++;
+                    }
+                    if ((failed & ~RATING) == 0 && !Double.isNaN(ratings[slot])) {
+                        ratingCounts[Math.min(RATING_BUCKETS - 1, Math.max(0, (int) ratings[slot]))]++;
+                    }
+                    if ((failed & ~PRICE) == 0) {
+                        priced[w] |= 1L << slot;
+                        widen(acRange, acCosts[slot]);
+                        widen(nonAcRange, nonAcCosts[slot]);
+                    }
+                }
+            }
+
+            HotelFacets facets = new HotelFacets();
+            facets.setTotal(total);
+            facets.setCities(cities.top(cityCounts, limit));
+            facets.setStates(states.top(stateCounts, limit));
+            facets.setCountries(countries.top(countryCounts, limit));
+            List<HistogramBucket> ratingBuckets = new ArrayList<>();
+            for (int i = 0; i < RATING_BUCKETS; i++) {
+                ratingBuckets.add(new HistogramBucket(i, i + 1, ratingCounts[i]));
+            }
+            facets.setRatings(ratingBuckets);
+            facets.setAcRoomCost(histogram(acCosts, acRange, priced, bins));
+            facets.setNonAcRoomCost(histogram(nonAcCosts, nonAcRange, priced, bins));
+            return facets;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * The base slots that fail at most one of the given location filters (null when not given):
+     * the union, over each filter, of the slots matching all the others.
+     */
+    private static BitSet failingAtMostOne(BitSet base, BitSet... filters) {
+        List<BitSet> given = new ArrayList<>();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                given.add(filter);
+            }
+        }
+        if (given.size() < 2) {
+            return base;
+        }
+        BitSet union = new BitSet();
+        for (int skip = 0; skip < given.size(); skip++) {
+            BitSet others = (BitSet) base.clone();
+            for (int i = 0; i < given.size(); i++) {
+                if (i != skip) {
+                    others.and(given.get(i));
+                }
+            }
+            union.or(others);
+        }
+        return union;
+    }
+
+    // Equal-width buckets over range (smallest and largest value) for the slots set in slots
+    private static List<HistogramBucket> histogram(double[] column, double[] range, long[] slots, int bins) {
+        List<HistogramBucket> buckets = new ArrayList<>();
+        double min = range[0];
+        double max = range[1];
+        if (min > max) {
+            return buckets;
+        }
+        int count = max > min ? bins : 1;
+        double width = (max - min) / count;
+        long[] counts = new long[count];
+        for (int w = 0; w < slots.length; w++) {
+            for (long word = slots[w]; word != 0; word &= word - 1) {
+                double value = column[(w << 6) + Long.numberOfTrailingZeros(word)];
+                if (!Double.isNaN(value)) {
+                    counts[width > 0 ? Math.min(count - 1, (int) ((value - min) / width)) : 0]++;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            buckets.add(new HistogramBucket(min + i * width, i == count - 1 ? max : min + (i + 1) * width, counts[i]));
+        }
+        return buckets;
+    }
+
+    private static void widen(double[] range, double value) {
+        if (!Double.isNaN(value)) {
+            range[0] = Math.min(range[0], value);
+            range[1] = Math.max(range[1], value);
+        }
+    }
+
+    // Same rule as search: the requested room type's cost, else the cheaper of the two
+    private double price(int slot, RoomType roomType) {
+        if (roomType == RoomType.AC) {
+            return acCosts[slot];
+        }
+        if (roomType == RoomType.NON_AC) {
+            return nonAcCosts[slot];
+        }
+        if (Double.isNaN(acCosts[slot])) {
+            return nonAcCosts[slot];
+        }
+        if (Double.isNaN(nonAcCosts[slot])) {
+            return acCosts[slot];
+        }
+        return Math.min(acCosts[slot], nonAcCosts[slot]);
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        int slot = slotCount++;
+        if (slotCount > acCosts.length) {
+            int capacity = acCosts.length * 2;
+            acCosts = Arrays.copyOf(acCosts, capacity);
+            nonAcCosts = Arrays.copyOf(nonAcCosts, capacity);
+            ratings = Arrays.copyOf(ratings, capacity);
+        }
+        return slot;
+    }
+
+    private void clear(int slot) {
+        live.clear(slot);
+        hasAcRooms.clear(slot);
+        hasNonAcRooms.clear(slot);
+        cities.clear(slot);
+        states.clear(slot);
+        countries.clear(slot);
+    }
+
+    private static double valueOrNaN(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    // One dictionary-encoded column, with the slots holding each value
+    private static final class Dimension {
+
+        // Filter codes that are not dictionary codes
+        static final int ANY = -1;
+        static final int UNKNOWN = -2;
+
+        private final Map<String, Integer> codesByKey = new HashMap<>();
+        private final List<String> labels = new ArrayList<>();
+        private final List<BitSet> slots = new ArrayList<>();
+        private int[] codes = new int[1024];
+
+        void set(int slot, String value) {
+            String key = CatalogIndex.normalize(value);
+            Integer code = codesByKey.get(key);
+            if (code == null) {
+                code = labels.size();
+                codesByKey.put(key, code);
+                // The first spelling seen is the one shown
+                labels.add(value == null ? "" : value.trim());
+                slots.add(new BitSet());
+            }
+            if (slot >= codes.length) {
+                codes = Arrays.copyOf(codes, Math.max(slot + 1, codes.length * 2));
+            }
+            codes[slot] = code;
+            slots.get(code).set(slot);
+        }
+
+        // Only called for live slots
+        void clear(int slot) {
+            slots.get(codes[slot]).clear(slot);
+        }
+
+        int size() {
+            return labels.size();
+        }
+
+        int filterCode(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return ANY;
+            }
+            Integer code = codesByKey.get(CatalogIndex.normalize(value));
+            return code != null ? code : UNKNOWN;
+        }
+
+        // Slots passing the filter, or null when there is no filter
+        BitSet slotsFor(int filterCode) {
+            if (filterCode == ANY) {
+                return null;
+            }
+            return filterCode == UNKNOWN ? new BitSet() : slots.get(filterCode);
+        }
+
+        // Values with a count, largest first
+        List<FacetCount> top(long[] counts, int limit) {
+            List<Integer> present = new ArrayList<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    present.add(code);
+                }
+            }
+            present.sort((a, b) -> counts[a] != counts[b]
+                    ? Long.compare(counts[b], counts[a]) : labels.get(a).compareTo(labels.get(b)));
+            List<FacetCount> top = new ArrayList<>();
+            for (int i = 0; i < Math.min(limit, present.size()); i++) {
+                int code = present.get(i);
+                top.add(new FacetCount(labels.get(code), counts[code]));
+            }
+            return top;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.cognizant.hotelservice.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Nearest-neighbour index over hotel coordinates. Each position is stored as a point on the unit
+ * sphere, so straight-line (chord) distance orders points exactly like great-circle distance and
+ * nothing special happens at the antimeridian or the poles.
+ *
+ * The points live in an implicit k-d tree: one array sorted so that the middle of every range is
+ * the median of that range along its widest axis. A query descends to the nearest leaf first and
+ * skips every subtree whose splitting plane is farther away than the radius or the current k-th
+ * best match, which keeps dense city centres and sparse countryside equally cheap.
+ *
+ * The tree is immutable. Hotels added, moved or removed since it was built are kept in small maps
+ * that every query also checks, and the tree is rebuilt once they reach a fraction of its size.
+ */
+final class GeoIndex {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    // Changes kept beside the tree before it is rebuilt: at least this many, or 1/64 of the tree
+    private static final int MIN_PENDING = 1024;
+    // Bulk adds may leave up to 1/8 of the tree pending, so a long import rebuilds it far less often
+    private static final int BULK_PENDING_DIVISOR = 8;
+    private static final int LEAF_SIZE = 8;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] treeIds = new long[0];
+    private double[] treeCoords = new double[0]; // x, y, z per point
+    private byte[] splitDims = new byte[0];
+
+    // Hotels whose tree entry, if any, is out of date, and the current point of those that have one
+    private final Set<Long> changed = new HashSet<>();
+    private final Map<Long, double[]> pending = new HashMap<>();
+
+    GeoIndex() {}
+
+    // Bulk load, building the tree once
+    GeoIndex(long[] hotelIds, double[] latitudes, double[] longitudes, int count) {
+        treeIds = Arrays.copyOf(hotelIds, count);
+        treeCoords = new double[count * 3];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(toPoint(latitudes[i], longitudes[i]), 0, treeCoords, i * 3, 3);
+        }
+        splitDims = new byte[count];
+        build(treeIds, treeCoords, splitDims, 0, count);
+    }
+
+    void add(Long hotelId, double latitude, double longitude) {
+        lock.writeLock().lock();
+        try {
+            changed.add(hotelId);
+            pending.put(hotelId, toPoint(latitude, longitude));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Many adds at once; the tree is rebuilt at most once for all of them
+    void addAll(long[] hotelIds, double[] latitudes, double[] longitudes, int count) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                changed.add(hotelIds[i]);
+                pending.put(hotelIds[i], toPoint(latitudes[i], longitudes[i]));
+            }
+            if (changed.size() > Math.max(MIN_PENDING, treeIds.length / BULK_PENDING_DIVISOR)) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long hotelId) {
+        lock.writeLock().lock();
+        try {
+            changed.add(hotelId);
+            pending.remove(hotelId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Folds every pending change into a new tree
+    void compact() {
+        lock.writeLock().lock();
+        try {
+            int live = 0;
+            for (long id : treeIds) {
+                if (!changed.contains(id)) {
+                    live++;
+                }
+            }
+            int count = live + pending.size();
+            long[] ids = new long[count];
+            double[] coords = new double[count * 3];
+            int n = 0;
+            for (int i = 0; i < treeIds.length; i++) {
+                if (!changed.contains(treeIds[i])) {
+                    ids[n] = treeIds[i];
+                    System.arraycopy(treeCoords, i * 3, coords, n * 3, 3);
+                    n++;
+                }
+            }
+            for (Map.Entry<Long, double[]> entry : pending.entrySet()) {
+                ids[n] = entry.getKey();
+                System.arraycopy(entry.getValue(), 0, coords, n * 3, 3);
+                n++;
+            }
+            byte[] dims = new byte[count];
+            build(ids, coords, dims, 0, count);
+            treeIds = ids;
+            treeCoords = coords;
+            splitDims = dims;
+            changed.clear();
+            pending.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit hotels within radiusKm of the position, nearest first, among those accept allows.
+     * accept is only asked about hotels close enough to make the result at that moment.
+     */
+    List<Match> nearest(double latitude, double longitude, double radiusKm, int limit, LongPredicate accept) {
+        List<Match> matches = new ArrayList<>();
+        if (limit < 1 || radiusKm < 0) {
+            return matches;
+        }
+        double maxChord = 2 * Math.sin(Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI) / 2);
+        Search search = new Search(toPoint(latitude, longitude), maxChord * maxChord, limit, accept);
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Long, double[]> entry : pending.entrySet()) {
+                double[] point = entry.getValue();
+                search.offer(entry.getKey(), point[0], point[1], point[2]);
+            }
+            search.descend(0, treeIds.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Candidate> found = new ArrayList<>(search.best);
+        found.sort((a, b) -> Double.compare(a.squaredChord, b.squaredChord));
+        for (Candidate candidate : found) {
+            matches.add(new Match(candidate.hotelId, distanceKm(candidate.squaredChord)));
+        }
+        return matches;
+    }
+
+    private void compactIfNeeded() {
+        if (changed.size() > Math.max(MIN_PENDING, treeIds.length / 64)) {
+            compact();
+        }
+    }
+
+    /*
+     * Arranges [from, to) so its middle element is the median along the widest axis, with smaller
+     * values before it and larger after, then does the same for both halves. Small ranges are
+     * leaves and are scanned whole.
+     */
+    private static void build(long[] ids, double[] coords, byte[] dims, int from, int to) {
+        if (to - from <= LEAF_SIZE) {
+            return;
+        }
+        int dim = widestDim(coords, from, to);
+        int mid = (from + to) >>> 1;
+        select(ids, coords, dim, from, to - 1, mid);
+        dims[mid] = (byte) dim;
+        build(ids, coords, dims, from, mid);
+        build(ids, coords, dims, mid + 1, to);
+    }
+
+    private static int widestDim(double[] coords, int from, int to) {
+        double[] min = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+        double[] max = {-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (int i = from; i < to; i++) {
+            for (int d = 0; d < 3; d++) {
+                double value = coords[i * 3 + d];
+                min[d] = Math.min(min[d], value);
+                max[d] = Math.max(max[d], value);
+            }
+        }
+        int widest = 0;
+        for (int d = 1; d < 3; d++) {
+            if (max[d] - min[d] > max[widest] - min[widest]) {
+                widest = d;
+            }
+        }
+        return widest;
+    }
+
+    // Quickselect: puts the k-th smallest of [left, right] along dim at k
+    private static void select(long[] ids, double[] coords, int dim, int left, int right, int k) {
+        while (left < right) {
+            int middle = (left + right) >>> 1;
+            // Median of three as pivot, so sorted input does not go quadratic
+            if (coords[middle * 3 + dim] < coords[left * 3 + dim]) swap(ids, coords, middle, left);
+            if (coords[right * 3 + dim] < coords[left * 3 + dim]) swap(ids, coords, right, left);
+            if (coords[right * 3 + dim] < coords[middle * 3 + dim]) swap(ids, coords, right, middle);
+            double pivot = coords[middle * 3 + dim];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (coords[i * 3 + dim] < pivot) i++;
+                while (coords[j * 3 + dim] > pivot) j--;
+                if (i <= j) {
+                    swap(ids, coords, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void swap(long[] ids, double[] coords, int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        for (int d = 0; d < 3; d++) {
+            double value = coords[a * 3 + d];
+            coords[a * 3 + d] = coords[b * 3 + d];
+            coords[b * 3 + d] = value;
+        }
+    }
+
+    static double[] toPoint(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[] {cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    // Great-circle distance for a squared chord between unit vectors
+    static double distanceKm(double squaredChord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(squaredChord) / 2));
+    }
+
+    // State of one query; runs under the read lock
+    private final class Search {
+
+        private final double[] query;
+        private final double maxSquaredChord;
+        private final int limit;
+        private final LongPredicate accept;
+        // Farthest kept match on top
+        private final PriorityQueue<Candidate> best;
+
+        Search(double[] query, double maxSquaredChord, int limit, LongPredicate accept) {
+            this.query = query;
+            this.maxSquaredChord = maxSquaredChord;
+            this.limit = limit;
+            this.accept = accept;
+            this.best = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(b.squaredChord, a.squaredChord));
+        }
+
+        // Squared distance a point must not exceed to make the result
+        double bound() {
+            return best.size() < limit ? maxSquaredChord : Math.min(maxSquaredChord, best.peek().squaredChord);
+        }
+
+        void descend(int from, int to) {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    visit(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            int dim = splitDims[mid];
+            double diff = query[dim] - treeCoords[mid * 3 + dim];
+            if (diff < 0) {
+                descend(from, mid);
+                visit(mid);
+                if (diff * diff <= bound()) {
+                    descend(mid + 1, to);
+                }
+            } else {
+                descend(mid + 1, to);
+                visit(mid);
+                if (diff * diff <= bound()) {
+                    descend(from, mid);
+                }
+            }
+        }
+
+        private void visit(int i) {
+            long hotelId = treeIds[i];
+            if (!changed.isEmpty() && changed.contains(hotelId)) {
+                return;
+            }
+            offer(hotelId, treeCoords[i * 3], treeCoords[i * 3 + 1], treeCoords[i * 3 + 2]);
+        }
+
+        void offer(long hotelId, double x, double y, double z) {
+            double dx = query[0] - x;
+            double dy = query[1] - y;
+            double dz = query[2] - z;
+            double squaredChord = dx * dx + dy * dy + dz * dz;
+            if (squaredChord > bound() || !accept.test(hotelId)) {
+                return;
+            }
+            best.offer(new Candidate(hotelId, squaredChord));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+    }
+
+    private static final class Candidate {
+
+        final long hotelId;
+        final double squaredChord;
+
+        Candidate(long hotelId, double squaredChord) {
+            this.hotelId = hotelId;
+            this.squaredChord = squaredChord;
+        }
+    }
+
+    static final class Match {
+
+        final long hotelId;
+        final double distanceKm;
+
+        Match(long hotelId, double distanceKm) {
+            this.hotelId = hotelId;
+            this.distanceKm = distanceKm;
+        }
+    }
+}
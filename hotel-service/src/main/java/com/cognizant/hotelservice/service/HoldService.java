@@ -0,0 +1,23 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.HoldReleaseRequest;
+import com.cognizant.hotelservice.model.HoldReleaseResult;
+import com.cognizant.hotelservice.model.HoldRequest;
+import com.cognizant.hotelservice.model.InventoryHold;
+
+import java.util.Optional;
+
+public interface HoldService {
+    
+    // Atomically checks and takes inventory; empty when the rooms are not available
+    Optional<InventoryHold> createHold(Long hotelId, HoldRequest request);
+    
+    Optional<InventoryHold> getHold(Long hotelId, String holdToken);
+    
+    InventoryHold commitHold(Long hotelId, String holdToken);
+    
+    InventoryHold releaseHold(Long hotelId, String holdToken);
+    
+    // Releases many holds of one room type with a single inventory update; idempotent per hold and per room release
+    HoldReleaseResult releaseHolds(Long hotelId, HoldReleaseRequest request);
+}
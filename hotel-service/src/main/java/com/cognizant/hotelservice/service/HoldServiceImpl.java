@@ -0,0 +1,183 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.HoldReleaseRequest;
+import com.cognizant.hotelservice.model.HoldReleaseResult;
+import com.cognizant.hotelservice.model.HoldRequest;
+import com.cognizant.hotelservice.model.HoldStatus;
+import com.cognizant.hotelservice.model.InventoryHold;
+import com.cognizant.hotelservice.model.InventoryResult;
+import com.cognizant.hotelservice.model.RoomRelease;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.InventoryHoldRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class HoldServiceImpl implements HoldService {
+    
+    private static final int MAX_TRANSITION_ATTEMPTS = 3;
+    
+    @Autowired
+    private InventoryHoldRepository inventoryHoldRepository;
+    
+    @Autowired
+    private InventoryService inventoryService;
+    
+    @Override
+    @Transactional
+    public Optional<InventoryHold> createHold(Long hotelId, HoldRequest request) {
+        RoomType roomType = RoomType.fromString(request.getRoomType());
+        if (roomType == null) {
+            throw new RuntimeException("Invalid room type: " + request.getRoomType());
+        }
+        boolean dated = request.getCheckInDate() != null && request.getCheckOutDate() != null;
+        
+        InventoryResult result = dated
+                ? inventoryService.reserveRooms(hotelId, roomType.name(), request.getNumberOfRooms(),
+                                                request.getCheckInDate(), request.getCheckOutDate())
+                : inventoryService.reserveRooms(hotelId, roomType.name(), request.getNumberOfRooms());
+        if (!result.isSuccess()) {
+            return Optional.empty();
+        }
+        
+        InventoryHold hold = new InventoryHold(UUID.randomUUID().toString(), hotelId, roomType.name(),
+                request.getNumberOfRooms(),
+                dated ? request.getCheckInDate() : null,
+                dated ? request.getCheckOutDate() : null);
+        return Optional.of(inventoryHoldRepository.save(hold));
+    }
+    
+    @Override
+    public Optional<InventoryHold> getHold(Long hotelId, String holdToken) {
+        return inventoryHoldRepository.findByHoldTokenAndHotelId(holdToken, hotelId);
+    }
+    
+    @Override
+    @Transactional
+    public InventoryHold commitHold(Long hotelId, String holdToken) {
+        requireHold(hotelId, holdToken);
+        inventoryHoldRepository.transition(holdToken, HoldStatus.HELD, HoldStatus.COMMITTED);
+        InventoryHold hold = requireHold(hotelId, holdToken);
+        if (hold.getStatus() == HoldStatus.RELEASED) {
+            throw new RuntimeException("Hold has already been released: " + holdToken);
+        }
+        return hold;
+    }
+    
+    @Override
+    @Transactional
+    public InventoryHold releaseHold(Long hotelId, String holdToken) {
+        // Only the caller that wins the status transition gives the rooms back, so releases are idempotent
+        for (int attempt = 0; attempt < MAX_TRANSITION_ATTEMPTS; attempt++) {
+            InventoryHold hold = requireHold(hotelId, holdToken);
+            if (hold.getStatus() == HoldStatus.RELEASED) {
+                return hold;
+            }
+            if (inventoryHoldRepository.transition(holdToken, hold.getStatus(), HoldStatus.RELEASED) == 1) {
+                if (hold.isDated()) {
+                    inventoryService.releaseRooms(hotelId, hold.getRoomType(), hold.getNumberOfRooms(),
+                            hold.getCheckInDate(), hold.getCheckOutDate());
+                } else {
+                    inventoryService.releaseRooms(hotelId, hold.getRoomType(), hold.getNumberOfRooms());
+                }
+                return requireHold(hotelId, holdToken);
+            }
+        }
+        throw new RuntimeException("Hold is being modified concurrently: " + holdToken);
+    }
+    
+    @Override
+    @Transactional
+    public HoldReleaseResult releaseHolds(Long hotelId, HoldReleaseRequest request) {
+        RoomType roomType = RoomType.fromString(request.getRoomType());
+        if (roomType == null) {
+            throw new RuntimeException("Invalid room type: " + request.getRoomType());
+        }
+        List<String> holdTokens = request.getHoldTokens() != null ? request.getHoldTokens() : List.of();
+        List<RoomRelease> roomReleases = request.getRoomReleases() != null ? request.getRoomReleases() : List.of();
+        if (holdTokens.isEmpty() && roomReleases.isEmpty()) {
+            throw new RuntimeException("At least one hold token or room release is required");
+        }
+        Set<String> tokens = new LinkedHashSet<>(holdTokens);
+        Map<String, RoomRelease> unheld = new LinkedHashMap<>();
+        for (RoomRelease release : roomReleases) {
+            unheld.putIfAbsent(release.getReleaseId(), release);
+        }
+        Set<String> ids = new LinkedHashSet<>(tokens);
+        ids.addAll(unheld.keySet());
+        
+        List<InventoryHold> releasing = new ArrayList<>();
+        List<String> releasingTokens = new ArrayList<>();
+        int alreadyReleased = 0;
+        int rooms = 0;
+        for (InventoryHold hold : inventoryHoldRepository.lockHolds(hotelId, roomType.name(), ids)) {
+            tokens.remove(hold.getHoldToken());
+            RoomRelease release = unheld.remove(hold.getHoldToken());
+            if (release != null && !matches(release, hold)) {
+                throw new RuntimeException("Release id does not match its hold: " + release.getReleaseId());
+            }
+            if (hold.getStatus() == HoldStatus.RELEASED) {
+                alreadyReleased++;
+            } else {
+                releasing.add(hold);
+                releasingTokens.add(hold.getHoldToken());
+                rooms += hold.getNumberOfRooms();
+            }
+        }
+        if (!releasingTokens.isEmpty()) {
+            inventoryHoldRepository.transitionAll(releasingTokens, HoldStatus.RELEASED);
+        }
+        // An id already held by another hotel or room type is not a release this call can give back
+        List<InventoryHold> taken = unheld.isEmpty() ? List.of() : inventoryHoldRepository.findAllById(unheld.keySet());
+        if (!taken.isEmpty()) {
+            throw new RuntimeException("Release id belongs to another hold: " + taken.get(0).getHoldToken());
+        }
+        // Rooms released for the first time without a hold leave a released hold behind as the receipt
+        List<InventoryHold> receipts = new ArrayList<>(unheld.size());
+        for (RoomRelease release : unheld.values()) {
+            boolean dated = release.getCheckInDate() != null && release.getCheckOutDate() != null;
+            InventoryHold receipt = new InventoryHold(release.getReleaseId(), hotelId, roomType.name(),
+                    release.getNumberOfRooms(),
+                    dated ? release.getCheckInDate() : null,
+                    dated ? release.getCheckOutDate() : null);
+            receipt.setStatus(HoldStatus.RELEASED);
+            receipts.add(receipt);
+            rooms += release.getNumberOfRooms();
+        }
+        // Inserted rather than saved, so a receipt racing in under the same id fails instead of merging
+        for (InventoryHold receipt : receipts) {
+            inventoryHoldRepository.insertReleased(receipt.getHoldToken(), hotelId, roomType.name(),
+                    receipt.getNumberOfRooms(), receipt.getCheckInDate(), receipt.getCheckOutDate());
+        }
+        releasing.addAll(receipts);
+        if (!releasing.isEmpty()) {
+            inventoryService.releaseHolds(hotelId, roomType.name(), releasing);
+        }
+        return new HoldReleaseResult(hotelId, roomType.name(), releasing.size(), rooms, alreadyReleased,
+                new ArrayList<>(tokens));
+    }
+    
+    // A redelivered release names the same rooms and nights as the receipt it left behind
+    private static boolean matches(RoomRelease release, InventoryHold hold) {
+        boolean dated = release.getCheckInDate() != null && release.getCheckOutDate() != null;
+        return release.getNumberOfRooms().equals(hold.getNumberOfRooms())
+                && Objects.equals(dated ? release.getCheckInDate() : null, hold.getCheckInDate())
+                && Objects.equals(dated ? release.getCheckOutDate() : null, hold.getCheckOutDate());
+    }
+    
+    private InventoryHold requireHold(Long hotelId, String holdToken) {
+        return inventoryHoldRepository.findByHoldTokenAndHotelId(holdToken, hotelId)
+                .orElseThrow(() -> new RuntimeException("Hold not found: " + holdToken));
+    }
+}
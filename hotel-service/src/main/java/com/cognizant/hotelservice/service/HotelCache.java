@@ -0,0 +1,90 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.CacheStats;
+import com.cognizant.hotelservice.model.Hotel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Near-cache for hotel entities by id. Search results come from the catalog index as ids and are
+ * resolved here, so only the entities themselves are cached. Callers always get copies.
+ *
+ * An entry is dropped when a HotelChangedEvent for its hotel is published, after the surrounding
+ * transaction commits.
+ */
+@Component
+public class HotelCache {
+
+    private final BoundedCache<Long, Hotel> hotels;
+
+    public HotelCache(@Value("${hotel.cache.max-hotels:10000}") int maxHotels,
+                      @Value("${hotel.cache.hotel-ttl-seconds:300}") long hotelTtlSeconds) {
+        this.hotels = new BoundedCache<>("hotels", maxHotels, hotelTtlSeconds);
+    }
+
+    public Optional<Hotel> getHotel(Long hotelId, Function<Long, Optional<Hotel>> loader) {
+        Hotel cached = hotels.get(hotelId);
+        if (cached != null) {
+            return Optional.of(cached.copy());
+        }
+        long generation = hotels.generation();
+        Optional<Hotel> loaded = loader.apply(hotelId);
+        loaded.ifPresent(hotel -> hotels.put(hotelId, hotel.copy(), generation));
+        return loaded;
+    }
+
+    /**
+     * Resolves ids in order, loading all misses with one bulk call. Ids whose hotel no longer
+     * exists are skipped.
+     */
+    public List<Hotel> getHotels(List<Long> hotelIds, Function<List<Long>, List<Hotel>> bulkLoader) {
+        Hotel[] resolved = new Hotel[hotelIds.size()];
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < resolved.length; i++) {
+            Hotel cached = hotels.get(hotelIds.get(i));
+            if (cached != null) {
+                resolved[i] = cached.copy();
+            } else {
+                missing.add(hotelIds.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            long generation = hotels.generation();
+            Map<Long, Hotel> loaded = new HashMap<>();
+            for (Hotel hotel : bulkLoader.apply(missing)) {
+                loaded.put(hotel.getHotelId(), hotel);
+                hotels.put(hotel.getHotelId(), hotel.copy(), generation);
+            }
+            for (int i = 0; i < resolved.length; i++) {
+                if (resolved[i] == null) {
+                    resolved[i] = loaded.get(hotelIds.get(i));
+                }
+            }
+        }
+        List<Hotel> results = new ArrayList<>(resolved.length);
+        for (Hotel hotel : resolved) {
+            if (hotel != null) {
+                results.add(hotel);
+            }
+        }
+        return results;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        hotels.invalidate(event.getHotelId());
+    }
+
+    public List<CacheStats> getStats() {
+        return Arrays.asList(hotels.stats());
+    }
+}
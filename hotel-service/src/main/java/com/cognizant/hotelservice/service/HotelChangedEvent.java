@@ -0,0 +1,38 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+
+/**
+ * Published when a hotel row changes. after is a detached copy of the saved row when searchable
+ * fields may have changed; it is null for changes that only touch room counts.
+ */
+public class HotelChangedEvent {
+    
+    private final Long hotelId;
+    private final Hotel after;
+    private final boolean deleted;
+    
+    public HotelChangedEvent(Long hotelId, Hotel after) {
+        this(hotelId, after, false);
+    }
+    
+    private HotelChangedEvent(Long hotelId, Hotel after, boolean deleted) {
+        this.hotelId = hotelId;
+        this.after = after;
+        this.deleted = deleted;
+    }
+    
+    public static HotelChangedEvent entityChanged(Long hotelId) {
+        return new HotelChangedEvent(hotelId, null, false);
+    }
+    
+    public static HotelChangedEvent deleted(Long hotelId) {
+        return new HotelChangedEvent(hotelId, null, true);
+    }
+    
+    public Long getHotelId() { return hotelId; }
+    
+    public Hotel getAfter() { return after; }
+    
+    public boolean isDeleted() { return deleted; }
+}
@@ -0,0 +1,72 @@
+package com.cognizant.hotelservice.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out blocks of hotel ids from the "hotels" row of id_generators, the same row Hibernate's
+ * table generator uses for Hotel. The row holds the next unused id; a block of n is taken by
+ * locking the row, reading it and adding n, in a transaction of its own so the lock is held only
+ * for that moment. Hibernate's pooled-lo optimizer follows the same rule, so ids from either side
+ * never collide.
+ *
+ * Hotels created before ids came from this table got them from AUTO_INCREMENT, so on startup the
+ * row is raised past the largest id already in the hotels table.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class HotelIdAllocator {
+
+    static final String GENERATOR = "hotels";
+
+    private static final String SELECT_FOR_UPDATE_SQL =
+            "SELECT next_val FROM id_generators WHERE name = ? FOR UPDATE";
+    private static final String UPDATE_SQL =
+            "UPDATE id_generators SET next_val = ? WHERE name = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate ownTransaction;
+
+    @PostConstruct
+    public void init() {
+        ownTransaction = new TransactionTemplate(transactionManager);
+        ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        advancePast(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(hotel_id), 0) FROM hotels", Long.class));
+    }
+
+    // Keeps ids up to maxId from ever being handed out, for rows written with explicit ids
+    public void advancePast(long maxId) {
+        long next = maxId + 1;
+        try {
+            jdbcTemplate.update("INSERT INTO id_generators (name, next_val) VALUES (?, ?)", GENERATOR, next);
+        } catch (DuplicateKeyException e) {
+            jdbcTemplate.update("UPDATE id_generators SET next_val = ? WHERE name = ? AND next_val < ?",
+                    next, GENERATOR, next);
+        }
+    }
+
+    // First id of a block of count consecutive ids reserved for the caller
+    public long reserve(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        return ownTransaction.execute(status -> {
+            long first = jdbcTemplate.queryForObject(SELECT_FOR_UPDATE_SQL, Long.class, GENERATOR);
+            jdbcTemplate.update(UPDATE_SQL, first + count, GENERATOR);
+            return first;
+        });
+    }
+}
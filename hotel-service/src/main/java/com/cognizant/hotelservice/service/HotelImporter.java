@@ -0,0 +1,219 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.BulkImportError;
+import com.cognizant.hotelservice.model.BulkImportResult;
+import com.cognizant.hotelservice.model.Hotel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.TraversableResolver;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.ElementType;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Bulk hotel import behind POST /hotels/bulk. Records are read and validated one at a time as the
+ * body streams in; valid ones are collected into batches of hotel.import.batch-size and each batch
+ * is written with one JDBC batch insert in its own transaction. Ids for a batch are reserved in one
+ * step from HotelIdAllocator, so no row needs a round trip to learn its id.
+ *
+ * A record that fails to parse or validate is reported with its line and skipped. If a batch is
+ * rejected by the database, its rows are retried one at a time so only the offending rows fail.
+ * Batches already written stay written when a later one fails.
+ *
+ * Imported hotels join the catalog index together when the import ends, which rebuilds each
+ * touched bucket once instead of once per batch. They are new, so the hotel cache has nothing to
+ * drop.
+ */
+@Component
+public class HotelImporter {
+
+    private static final String INSERT_SQL = "INSERT INTO hotels (hotel_id, hotel_name, address, city, state, "
+            + "country, description, ac_room_cost, non_ac_room_cost, total_ac_rooms, available_ac_rooms, "
+            + "total_non_ac_rooms, available_non_ac_rooms, latitude, longitude) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Value("${hotel.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${hotel.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HotelIdAllocator idAllocator;
+
+    @Autowired
+    private ValidatorFactory validatorFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Validator validator;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Hotel is an entity, so the default resolver asks JPA whether each field is loaded before
+        // checking it; records parsed from the body are plain objects and that costs more than the checks
+        validator = validatorFactory.usingContext().traversableResolver(new EverythingReachable()).getValidator();
+    }
+
+    public BulkImportResult importHotels(InputStream content, String contentType) throws IOException {
+        HotelRecordReader.Format format = HotelRecordReader.Format.fromContentType(contentType);
+        if (format == null) {
+            throw new RuntimeException("Unsupported content type: " + contentType
+                    + " (use text/csv or application/x-ndjson)");
+        }
+        long started = System.nanoTime();
+        BulkImportResult result = new BulkImportResult();
+        List<HotelRecordReader.Record> batch = new ArrayList<>(batchSize);
+        List<Hotel> imported = new ArrayList<>();
+        try (HotelRecordReader reader = new HotelRecordReader(content, format, objectMapper)) {
+            HotelRecordReader.Record record;
+            while ((record = reader.next()) != null) {
+                result.setReceived(result.getReceived() + 1);
+                String error = record.error != null ? record.error : validate(record.hotel);
+                if (error != null) {
+                    fail(result, record.line, error);
+                    continue;
+                }
+                batch.add(record);
+                if (batch.size() == batchSize) {
+                    imported.addAll(insert(batch, result));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                imported.addAll(insert(batch, result));
+            }
+        } finally {
+            // Also when the body breaks off: the batches written so far are in the table
+            catalogIndex.upsertAll(imported);
+        }
+        result.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        System.out.println("Bulk import: " + result.getImported() + " of " + result.getReceived()
+                + " hotels imported in " + result.getElapsedMillis() + " ms");
+        return result;
+    }
+
+    // Writes one batch and returns the hotels that made it into the table
+    private List<Hotel> insert(List<HotelRecordReader.Record> batch, BulkImportResult result) {
+        long firstId = idAllocator.reserve(batch.size());
+        List<Hotel> hotels = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Hotel hotel = batch.get(i).hotel;
+            hotel.setHotelId(firstId + i);
+            hotels.add(hotel);
+        }
+
+        List<Hotel> inserted;
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, hotels, hotels.size(), HotelImporter::bind));
+            inserted = hotels;
+        } catch (DataAccessException e) {
+            // Some row broke the batch; find out which by inserting them one at a time
+            inserted = new ArrayList<>();
+            for (HotelRecordReader.Record record : batch) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, record.hotel));
+                    inserted.add(record.hotel);
+                } catch (DataAccessException rowError) {
+                    fail(result, record.line, "Insert failed: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        result.setImported(result.getImported() + inserted.size());
+        return inserted;
+    }
+
+    // null when the hotel is valid, else its violations, sorted so the message is stable
+    private String validate(Hotel hotel) {
+        Set<ConstraintViolation<Hotel>> violations = validator.validate(hotel);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        Set<String> messages = new TreeSet<>();
+        for (ConstraintViolation<Hotel> violation : violations) {
+            messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return String.join("; ", messages);
+    }
+
+    private void fail(BulkImportResult result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new BulkImportError(line, message));
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Hotel hotel) throws SQLException {
+        ps.setLong(1, hotel.getHotelId());
+        ps.setString(2, hotel.getHotelName());
+        ps.setString(3, hotel.getAddress());
+        ps.setString(4, hotel.getCity());
+        ps.setString(5, hotel.getState());
+        ps.setString(6, hotel.getCountry());
+        ps.setString(7, hotel.getDescription());
+        setDouble(ps, 8, hotel.getAcRoomCost());
+        setDouble(ps, 9, hotel.getNonAcRoomCost());
+        ps.setInt(10, hotel.getTotalAcRooms());
+        ps.setInt(11, hotel.getAvailableAcRooms());
+        ps.setInt(12, hotel.getTotalNonAcRooms());
+        ps.setInt(13, hotel.getAvailableNonAcRooms());
+        setDouble(ps, 14, hotel.getLatitude());
+        setDouble(ps, 15, hotel.getLongitude());
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+
+    private static final class EverythingReachable implements TraversableResolver {
+
+        @Override
+        public boolean isReachable(Object bean, Path.Node property, Class<?> rootBeanType, Path pathToProperty,
+                                   ElementType elementType) {
+            return true;
+        }
+
+        @Override
+        public boolean isCascadable(Object bean, Path.Node property, Class<?> rootBeanType, Path pathToProperty,
+                                    ElementType elementType) {
+            return true;
+        }
+    }
+}
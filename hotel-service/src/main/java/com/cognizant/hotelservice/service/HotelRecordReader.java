@@ -0,0 +1,326 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads hotels one record at a time from a CSV or NDJSON stream, so an import never holds more
+ * than one record of the body in memory.
+ *
+ * CSV starts with a header naming the columns (Hotel field names, any order, case-insensitive);
+ * fields may be quoted, with "" for a quote and line breaks allowed inside quotes. NDJSON is one
+ * JSON object per line. Both accept the same fields. Ids and images cannot be imported; available
+ * room counts default to the totals.
+ *
+ * A record that cannot be turned into a hotel comes back with an error instead, and reading goes
+ * on with the next one. Only a CSV header with unknown columns fails the whole stream.
+ */
+final class HotelRecordReader implements Closeable {
+
+    enum Format {
+        CSV, NDJSON;
+
+        // null for content types that are neither
+        static Format fromContentType(String contentType) {
+            if (contentType == null) {
+                return null;
+            }
+            String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            switch (type) {
+                case "text/csv":
+                    return CSV;
+                case "application/x-ndjson":
+                case "application/jsonl":
+                    return NDJSON;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    static final Set<String> FIELDS = new LinkedHashSet<>(Arrays.asList(
+            "hotelName", "address", "city", "state", "country", "description", "avgRatingByCustomers",
+            "acRoomCost", "nonAcRoomCost", "totalAcRooms", "availableAcRooms", "totalNonAcRooms",
+            "availableNonAcRooms", "latitude", "longitude"));
+
+    private static final Map<String, String> FIELDS_BY_LOWER_CASE = new HashMap<>();
+
+    static {
+        for (String field : FIELDS) {
+            FIELDS_BY_LOWER_CASE.put(field.toLowerCase(Locale.ROOT), field);
+        }
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private String[] columns;
+    // Lines consumed so far
+    private long line;
+
+    HotelRecordReader(InputStream content, Format format, ObjectMapper objectMapper) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8), 1 << 16);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == Format.CSV) {
+            readHeader();
+        }
+    }
+
+    // The next record, or null at the end of the stream
+    Record next() throws IOException {
+        return format == Format.CSV ? nextCsv() : nextJson();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header;
+        do {
+            header = readCsvRow();
+        } while (header != null && isBlank(header));
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header is missing");
+        }
+        columns = new String[header.size()];
+        Set<String> seen = new LinkedHashSet<>();
+        for (int i = 0; i < columns.length; i++) {
+            String field = FIELDS_BY_LOWER_CASE.get(header.get(i).trim().toLowerCase(Locale.ROOT));
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown CSV column: " + header.get(i).trim());
+            }
+            if (!seen.add(field)) {
+                throw new IllegalArgumentException("Duplicate CSV column: " + field);
+            }
+            columns[i] = field;
+        }
+    }
+
+    private Record nextCsv() throws IOException {
+        while (true) {
+            long start = line + 1;
+            List<String> row = readCsvRow();
+            if (row == null) {
+                return null;
+            }
+            if (isBlank(row)) {
+                continue;
+            }
+            if (row.size() != columns.length) {
+                return Record.failed(start, "Expected " + columns.length + " fields but found " + row.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < columns.length; i++) {
+                fields.put(columns[i], row.get(i));
+            }
+            return toRecord(start, fields);
+        }
+    }
+
+    private Record nextJson() throws IOException {
+        while (true) {
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+            if (text.trim().isEmpty()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                return Record.failed(line, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (node == null || !node.isObject()) {
+                return Record.failed(line, "Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> entries = node.fields();
+            while (entries.hasNext()) {
+                Map.Entry<String, JsonNode> entry = entries.next();
+                if (!FIELDS.contains(entry.getKey())) {
+                    return Record.failed(line, "Unknown field: " + entry.getKey());
+                }
+                JsonNode value = entry.getValue();
+                if (value.isContainerNode() || value.isBoolean()) {
+                    return Record.failed(line, entry.getKey() + ": expected a string or a number");
+                }
+                fields.put(entry.getKey(), value.isNull() ? null : value.asText());
+            }
+            return toRecord(line, fields);
+        }
+    }
+
+    /*
+     * One CSV row as its fields, or null at the end of the stream. A quoted field may span lines;
+     * line counts every line the row used.
+     */
+    private List<String> readCsvRow() throws IOException {
+        String text = reader.readLine();
+        if (text == null) {
+            return null;
+        }
+        line++;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                String more = reader.readLine();
+                if (more == null) {
+                    // Quote still open at the end of the stream: what was read is the last field
+                    fields.add(field.toString());
+                    return fields;
+                }
+                line++;
+                field.append('\n');
+                text = more;
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < text.length() && text.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    private static boolean isBlank(List<String> row) {
+        return row.size() == 1 && row.get(0).trim().isEmpty();
+    }
+
+    private static Record toRecord(long line, Map<String, String> fields) {
+        try {
+            return new Record(line, toHotel(fields), null);
+        } catch (IllegalArgumentException e) {
+            return Record.failed(line, e.getMessage());
+        }
+    }
+
+    // Empty values count as absent; constraint checks are left to the validator. A rating field is
+    // ignored, since ratings only come from reviews
+    static Hotel toHotel(Map<String, String> fields) {
+        Hotel hotel = new Hotel();
+        hotel.setHotelName(text(fields, "hotelName"));
+        hotel.setAddress(text(fields, "address"));
+        hotel.setCity(text(fields, "city"));
+        hotel.setState(text(fields, "state"));
+        hotel.setCountry(text(fields, "country"));
+        hotel.setDescription(text(fields, "description"));
+        hotel.setAcRoomCost(decimal(fields, "acRoomCost"));
+        hotel.setNonAcRoomCost(decimal(fields, "nonAcRoomCost"));
+        hotel.setLatitude(decimal(fields, "latitude"));
+        hotel.setLongitude(decimal(fields, "longitude"));
+
+        Integer totalAc = integer(fields, "totalAcRooms");
+        Integer totalNonAc = integer(fields, "totalNonAcRooms");
+        Integer availableAc = integer(fields, "availableAcRooms");
+        Integer availableNonAc = integer(fields, "availableNonAcRooms");
+        hotel.setTotalAcRooms(totalAc != null ? totalAc : 0);
+        hotel.setTotalNonAcRooms(totalNonAc != null ? totalNonAc : 0);
+        hotel.setAvailableAcRooms(availableAc != null ? availableAc : hotel.getTotalAcRooms());
+        hotel.setAvailableNonAcRooms(availableNonAc != null ? availableNonAc : hotel.getTotalNonAcRooms());
+        if (hotel.getAvailableAcRooms() > hotel.getTotalAcRooms()) {
+            throw new IllegalArgumentException("availableAcRooms must not exceed totalAcRooms");
+        }
+        if (hotel.getAvailableNonAcRooms() > hotel.getTotalNonAcRooms()) {
+            throw new IllegalArgumentException("availableNonAcRooms must not exceed totalNonAcRooms");
+        }
+        return hotel;
+    }
+
+    private static String text(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private static Double decimal(Map<String, String> fields, String name) {
+        String value = text(fields, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            double parsed = Double.parseDouble(value);
+            if (Double.isNaN(parsed) || Double.isInfinite(parsed)) {
+                throw new NumberFormatException();
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + ": not a number: " + value);
+        }
+    }
+
+    private static Integer integer(Map<String, String> fields, String name) {
+        String value = text(fields, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + ": not a whole number: " + value);
+        }
+    }
+
+    /**
+     * One record: the hotel read, or why there is none. line is where the record starts, 1-based.
+     */
+    static final class Record {
+
+        final long line;
+        final Hotel hotel;
+        final String error;
+
+        Record(long line, Hotel hotel, String error) {
+            this.line = line;
+            this.hotel = hotel;
+            this.error = error;
+        }
+
+        static Record failed(long line, String error) {
+            return new Record(line, null, error);
+        }
+    }
+}
@@ -1,7 +1,19 @@
 package com.cognizant.hotelservice.service;
 
+import com.cognizant.hotelservice.model.BulkImportResult;
+import com.cognizant.hotelservice.model.CacheStats;
 import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.HotelFacets;
+import com.cognizant.hotelservice.model.HotelSearchCriteria;
+import com.cognizant.hotelservice.model.HotelSearchPage;
+import com.cognizant.hotelservice.model.HotelSuggestion;
+import com.cognizant.hotelservice.model.ImageFile;
+import com.cognizant.hotelservice.model.ImageVariantMetrics;
+import com.cognizant.hotelservice.model.NearbyHotel;
 import org.springframework.web.multipart.MultipartFile;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +21,9 @@ public interface HotelService {
     
     Hotel addHotel(Hotel hotel);
     
+    // Streams CSV (text/csv) or NDJSON (application/x-ndjson); bad records are reported, not fatal
+    BulkImportResult importHotels(InputStream content, String contentType) throws IOException;
+    
     Optional<Hotel> getHotelById(Long hotelId);
     
     List<Hotel> getAllHotels();
@@ -25,6 +40,16 @@ public interface HotelService {
     
     List<Hotel> searchHotelsByCityAndMaxNonAcCost(String city, Double maxCost);
     
+    HotelSearchPage searchHotels(HotelSearchCriteria criteria);
+    
+    List<HotelSuggestion> suggestHotels(String query, int limit);
+    
+    HotelFacets getHotelFacets(HotelSearchCriteria criteria, int bins, int limit);
+    
+    // availableOnly: only hotels with a free room now, of roomType when one is given
+    List<NearbyHotel> findNearbyHotels(Double latitude, Double longitude, Double radiusKm, int limit,
+                                       boolean availableOnly, String roomType);
+    
     Hotel updateHotel(Long hotelId, Hotel hotel);
     
     void deleteHotel(Long hotelId);
@@ -34,8 +59,21 @@ public interface HotelService {
     
     boolean checkRoomAvailability(Long hotelId, String roomType, Integer numberOfRooms);
     
+    boolean updateRoomAvailability(Long hotelId, String roomType, Integer numberOfRooms, boolean isReservation,
+                                   LocalDate checkInDate, LocalDate checkOutDate);
+    
+    boolean checkRoomAvailability(Long hotelId, String roomType, Integer numberOfRooms,
+                                  LocalDate checkInDate, LocalDate checkOutDate);
+    
     // Image management methods
     String uploadHotelImage(Long hotelId, MultipartFile image);
     
-    byte[] getHotelImage(Long hotelId);
+    // width: display width in pixels to pick a variant for, or null for the original
+    ImageFile getHotelImage(Long hotelId, Integer width);
+    
+    ImageFile getImage(String fileName, Integer width);
+    
+    ImageVariantMetrics getImageVariantMetrics();
+    
+    List<CacheStats> getCacheStats();
 }
@@ -1,38 +1,85 @@
 package com.cognizant.hotelservice.service;
 
+import com.cognizant.hotelservice.model.BulkImportResult;
+import com.cognizant.hotelservice.model.CacheStats;
 import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.HotelFacets;
+import com.cognizant.hotelservice.model.HotelSearchCriteria;
+import com.cognizant.hotelservice.model.HotelSearchPage;
+import com.cognizant.hotelservice.model.HotelSearchSort;
+import com.cognizant.hotelservice.model.HotelSuggestion;
+import com.cognizant.hotelservice.model.HotelSummary;
+import com.cognizant.hotelservice.model.ImageFile;
+import com.cognizant.hotelservice.model.ImageVariantMetrics;
+import com.cognizant.hotelservice.model.InventoryResult;
+import com.cognizant.hotelservice.model.NearbyHotel;
+import com.cognizant.hotelservice.model.RoomType;
 import com.cognizant.hotelservice.repository.HotelRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 public class HotelServiceImpl implements HotelService {
     
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    
     @Autowired
     private HotelRepository hotelRepository;
     
-    @Value("${file.upload-dir:uploads}")
-    private String uploadDir;
+    @Autowired
+    private InventoryService inventoryService;
+    
+    @Autowired
+    private HotelCache hotelCache;
+    
+    @Autowired
+    private CatalogIndex catalogIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private ImageVariantGenerator imageVariantGenerator;
+    
+    @Autowired
+    private ImageStore imageStore;
+    
+    @Autowired
+    private HotelImporter hotelImporter;
     
     @Override
     public Hotel addHotel(Hotel hotel) {
-        return hotelRepository.save(hotel);
+        if (hotel.getImagePath() != null && !imageStore.retain(hotel.getImagePath())) {
+            throw new RuntimeException("Image not found: " + hotel.getImagePath());
+        }
+        // The rating columns are not inserted, so the returned and cached copies must not claim one either
+        hotel.setAvgRatingByCustomers(0.0);
+        hotel.setReviewCount(0);
+        hotel.setRatingSum(0L);
+        Hotel savedHotel = hotelRepository.save(hotel);
+        eventPublisher.publishEvent(new HotelChangedEvent(savedHotel.getHotelId(), savedHotel.copy()));
+        return savedHotel;
+    }
+    
+    @Override
+    public BulkImportResult importHotels(InputStream content, String contentType) throws IOException {
+        return hotelImporter.importHotels(content, contentType);
     }
     
     @Override
     public Optional<Hotel> getHotelById(Long hotelId) {
-        return hotelRepository.findById(hotelId);
+        return hotelCache.getHotel(hotelId, hotelRepository::findById);
     }
     
     @Override
@@ -42,32 +89,126 @@ public class HotelServiceImpl implements HotelService {
     
     @Override
     public List<Hotel> searchHotelsByCity(String city) {
-        return hotelRepository.findByCityIgnoreCase(city);
+        return resolve(catalogIndex.findByCity(city));
     }
     
     @Override
     public List<Hotel> searchHotelsByState(String state) {
-        return hotelRepository.findByStateIgnoreCase(state);
+        return resolve(catalogIndex.findByState(state));
     }
     
     @Override
     public List<Hotel> searchHotelsByCountry(String country) {
-        return hotelRepository.findByCountryIgnoreCase(country);
+        return resolve(catalogIndex.findByCountry(country));
     }
     
     @Override
     public List<Hotel> searchHotelsByName(String hotelName) {
-        return hotelRepository.findByHotelNameContainingIgnoreCase(hotelName);
+        return resolve(catalogIndex.findByNameContaining(hotelName));
     }
     
     @Override
     public List<Hotel> searchHotelsByCityAndMaxAcCost(String city, Double maxCost) {
-        return hotelRepository.findByCityAndMaxAcCost(city, maxCost);
+        return resolve(catalogIndex.findByCityAndMaxAcCost(city, maxCost));
     }
     
     @Override
     public List<Hotel> searchHotelsByCityAndMaxNonAcCost(String city, Double maxCost) {
-        return hotelRepository.findByCityAndMaxNonAcCost(city, maxCost);
+        return resolve(catalogIndex.findByCityAndMaxNonAcCost(city, maxCost));
+    }
+    
+    @Override
+    public HotelSearchPage searchHotels(HotelSearchCriteria criteria) {
+        HotelSearchSort sort = isBlank(criteria.getSort()) ? HotelSearchSort.ID : HotelSearchSort.fromString(criteria.getSort());
+        if (sort == null) {
+            throw new RuntimeException("Invalid sort order: " + criteria.getSort());
+        }
+        RoomType roomType = null;
+        if (!isBlank(criteria.getRoomType())) {
+            roomType = RoomType.fromString(criteria.getRoomType());
+            if (roomType == null) {
+                throw new RuntimeException("Invalid room type: " + criteria.getRoomType());
+            }
+        }
+        int size = criteria.getSize() != null ? criteria.getSize() : DEFAULT_SEARCH_PAGE_SIZE;
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        return catalogIndex.search(criteria, sort, roomType, size);
+    }
+    
+    @Override
+    public HotelFacets getHotelFacets(HotelSearchCriteria criteria, int bins, int limit) {
+        RoomType roomType = null;
+        if (!isBlank(criteria.getRoomType())) {
+            roomType = RoomType.fromString(criteria.getRoomType());
+            if (roomType == null) {
+                throw new RuntimeException("Invalid room type: " + criteria.getRoomType());
+            }
+        }
+        return catalogIndex.facets(criteria, roomType, bins, limit);
+    }
+    
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+    
+    @Override
+    public List<HotelSuggestion> suggestHotels(String query, int limit) {
+        return catalogIndex.suggest(query, limit);
+    }
+    
+    @Override
+    public List<NearbyHotel> findNearbyHotels(Double latitude, Double longitude, Double radiusKm, int limit,
+                                              boolean availableOnly, String roomType) {
+        if (latitude == null || latitude < -90 || latitude > 90) {
+            throw new RuntimeException("Latitude must be between -90 and 90");
+        }
+        if (longitude == null || longitude < -180 || longitude > 180) {
+            throw new RuntimeException("Longitude must be between -180 and 180");
+        }
+        if (radiusKm == null || !(radiusKm > 0)) {
+            throw new RuntimeException("Radius must be greater than 0");
+        }
+        RoomType type = null;
+        if (!isBlank(roomType)) {
+            type = RoomType.fromString(roomType);
+            if (type == null) {
+                throw new RuntimeException("Invalid room type: " + roomType);
+            }
+        }
+        RoomType requiredType = type;
+        return catalogIndex.nearby(latitude, longitude, radiusKm, limit, summary -> {
+            if (requiredType != null && !hasRooms(summary, requiredType)) {
+                return false;
+            }
+            if (!availableOnly) {
+                return true;
+            }
+            return requiredType != null
+                    ? hasFreeRooms(summary.getHotelId(), requiredType)
+                    : hasFreeRooms(summary.getHotelId(), RoomType.AC) || hasFreeRooms(summary.getHotelId(), RoomType.NON_AC);
+        });
+    }
+    
+    private static boolean hasRooms(HotelSummary summary, RoomType roomType) {
+        Integer total = roomType == RoomType.AC ? summary.getTotalAcRooms() : summary.getTotalNonAcRooms();
+        return total != null && total > 0;
+    }
+    
+    // Live counters, asked only for hotels close enough to make the result
+    private boolean hasFreeRooms(Long hotelId, RoomType roomType) {
+        try {
+            Integer available = inventoryService.getAvailableRooms(hotelId, roomType.name());
+            return available != null && available > 0;
+        } catch (RuntimeException e) {
+            return false; // Hotel deleted meanwhile
+        }
+    }
+    
+    // Search hits come from the catalog index as ids; the entities come from the near-cache
+    private List<Hotel> resolve(List<Long> hotelIds) {
+        return hotelCache.getHotels(hotelIds, hotelRepository::findAllById);
     }
     
     @Override
@@ -75,13 +216,17 @@ public class HotelServiceImpl implements HotelService {
         Optional<Hotel> existingHotel = hotelRepository.findById(hotelId);
         if (existingHotel.isPresent()) {
             Hotel hotelToUpdate = existingHotel.get();
+            String previousImage = hotelToUpdate.getImagePath();
+            boolean imageChanged = hotel.getImagePath() != null && !hotel.getImagePath().equals(previousImage);
+            if (imageChanged && !imageStore.retain(hotel.getImagePath())) {
+                throw new RuntimeException("Image not found: " + hotel.getImagePath());
+            }
             hotelToUpdate.setHotelName(hotel.getHotelName());
             hotelToUpdate.setAddress(hotel.getAddress());
             hotelToUpdate.setCity(hotel.getCity());
             hotelToUpdate.setState(hotel.getState());
             hotelToUpdate.setCountry(hotel.getCountry());
             hotelToUpdate.setDescription(hotel.getDescription());
-            hotelToUpdate.setAvgRatingByCustomers(hotel.getAvgRatingByCustomers());
             hotelToUpdate.setAcRoomCost(hotel.getAcRoomCost());
             hotelToUpdate.setNonAcRoomCost(hotel.getNonAcRoomCost());
             // Update room inventory
@@ -89,11 +234,20 @@ public class HotelServiceImpl implements HotelService {
             hotelToUpdate.setAvailableAcRooms(hotel.getAvailableAcRooms());
             hotelToUpdate.setTotalNonAcRooms(hotel.getTotalNonAcRooms());
             hotelToUpdate.setAvailableNonAcRooms(hotel.getAvailableNonAcRooms());
+            hotelToUpdate.setLatitude(hotel.getLatitude());
+            hotelToUpdate.setLongitude(hotel.getLongitude());
             // Update image path if provided
             if (hotel.getImagePath() != null) {
                 hotelToUpdate.setImagePath(hotel.getImagePath());
+                hotelToUpdate.setImageContentType(hotel.getImageContentType());
+            }
+            Hotel savedHotel = hotelRepository.save(hotelToUpdate);
+            inventoryService.refreshHotel(hotelId);
+            eventPublisher.publishEvent(new HotelChangedEvent(hotelId, savedHotel.copy()));
+            if (imageChanged) {
+                releaseImage(previousImage);
             }
-            return hotelRepository.save(hotelToUpdate);
+            return savedHotel;
         } else {
             throw new RuntimeException("Hotel not found with id: " + hotelId);
         }
@@ -101,8 +255,12 @@ public class HotelServiceImpl implements HotelService {
     
     @Override
     public void deleteHotel(Long hotelId) {
-        if (hotelRepository.existsById(hotelId)) {
+        Optional<Hotel> existingHotel = hotelRepository.findById(hotelId);
+        if (existingHotel.isPresent()) {
+            inventoryService.removeHotel(hotelId);
             hotelRepository.deleteById(hotelId);
+            eventPublisher.publishEvent(HotelChangedEvent.deleted(hotelId));
+            releaseImage(existingHotel.get().getImagePath());
         } else {
             throw new RuntimeException("Hotel not found with id: " + hotelId);
         }
@@ -110,69 +268,59 @@ public class HotelServiceImpl implements HotelService {
     
     @Override
     public boolean updateRoomAvailability(Long hotelId, String roomType, Integer numberOfRooms, boolean isReservation) {
-        Optional<Hotel> hotelOptional = hotelRepository.findById(hotelId);
-        if (hotelOptional.isPresent()) {
-            Hotel hotel = hotelOptional.get();
-            
-            if ("AC".equalsIgnoreCase(roomType)) {
-                int currentAvailable = hotel.getAvailableAcRooms();
-                if (isReservation) {
-                    // Making a reservation - decrease available rooms
-                    if (currentAvailable >= numberOfRooms) {
-                        hotel.setAvailableAcRooms(currentAvailable - numberOfRooms);
-                    } else {
-                        return false; // Not enough rooms available
-                    }
-                } else {
-                    // Canceling a reservation - increase available rooms
-                    int newAvailable = currentAvailable + numberOfRooms;
-                    if (newAvailable <= hotel.getTotalAcRooms()) {
-                        hotel.setAvailableAcRooms(newAvailable);
-                    } else {
-                        hotel.setAvailableAcRooms(hotel.getTotalAcRooms());
-                    }
-                }
-            } else if ("NON_AC".equalsIgnoreCase(roomType)) {
-                int currentAvailable = hotel.getAvailableNonAcRooms();
-                if (isReservation) {
-                    // Making a reservation - decrease available rooms
-                    if (currentAvailable >= numberOfRooms) {
-                        hotel.setAvailableNonAcRooms(currentAvailable - numberOfRooms);
-                    } else {
-                        return false; // Not enough rooms available
-                    }
-                } else {
-                    // Canceling a reservation - increase available rooms
-                    int newAvailable = currentAvailable + numberOfRooms;
-                    if (newAvailable <= hotel.getTotalNonAcRooms()) {
-                        hotel.setAvailableNonAcRooms(newAvailable);
-                    } else {
-                        hotel.setAvailableNonAcRooms(hotel.getTotalNonAcRooms());
-                    }
-                }
-            } else {
-                return false; // Invalid room type
-            }
-            
-            hotelRepository.save(hotel);
-            return true;
+        if (RoomType.fromString(roomType) == null || numberOfRooms == null || numberOfRooms < 1) {
+            return false; // Invalid room type or room count
+        }
+        try {
+            InventoryResult result = isReservation
+                    ? inventoryService.reserveRooms(hotelId, roomType, numberOfRooms)
+                    : inventoryService.releaseRooms(hotelId, roomType, numberOfRooms);
+            return result.isSuccess();
+        } catch (RuntimeException e) {
+            return false; // Hotel not found
         }
-        return false; // Hotel not found
     }
     
     @Override
     public boolean checkRoomAvailability(Long hotelId, String roomType, Integer numberOfRooms) {
-        Optional<Hotel> hotelOptional = hotelRepository.findById(hotelId);
-        if (hotelOptional.isPresent()) {
-            Hotel hotel = hotelOptional.get();
-            
-            if ("AC".equalsIgnoreCase(roomType)) {
-                return hotel.getAvailableAcRooms() >= numberOfRooms;
-            } else if ("NON_AC".equalsIgnoreCase(roomType)) {
-                return hotel.getAvailableNonAcRooms() >= numberOfRooms;
-            }
+        if (RoomType.fromString(roomType) == null || numberOfRooms == null) {
+            return false;
+        }
+        try {
+            // Goes through the inventory service so in-memory counters are seen before they are flushed
+            return inventoryService.getAvailableRooms(hotelId, roomType) >= numberOfRooms;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+    
+    @Override
+    public boolean updateRoomAvailability(Long hotelId, String roomType, Integer numberOfRooms, boolean isReservation,
+                                          LocalDate checkInDate, LocalDate checkOutDate) {
+        if (RoomType.fromString(roomType) == null || numberOfRooms == null || numberOfRooms < 1) {
+            return false; // Invalid room type or room count
+        }
+        try {
+            InventoryResult result = isReservation
+                    ? inventoryService.reserveRooms(hotelId, roomType, numberOfRooms, checkInDate, checkOutDate)
+                    : inventoryService.releaseRooms(hotelId, roomType, numberOfRooms, checkInDate, checkOutDate);
+            return result.isSuccess();
+        } catch (RuntimeException e) {
+            return false; // Hotel not found or invalid stay dates
+        }
+    }
+    
+    @Override
+    public boolean checkRoomAvailability(Long hotelId, String roomType, Integer numberOfRooms,
+                                         LocalDate checkInDate, LocalDate checkOutDate) {
+        if (RoomType.fromString(roomType) == null || numberOfRooms == null) {
+            return false;
+        }
+        try {
+            return inventoryService.getAvailableRooms(hotelId, roomType, checkInDate, checkOutDate) >= numberOfRooms;
+        } catch (RuntimeException e) {
+            return false;
         }
-        return false;
     }
     
     @Override
@@ -195,30 +343,38 @@ public class HotelServiceImpl implements HotelService {
                 throw new RuntimeException("Only image files are allowed");
             }
             
-            // Create upload directory if it doesn't exist
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            // Trust the file's leading bytes over the declared type
+            String detectedType;
+            try (InputStream header = image.getInputStream()) {
+                detectedType = ImageContentTypes.detect(header);
             }
             
-            // Generate unique filename
-            String originalFilename = image.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
+            // Stored once per distinct content and named by its hash
+            String storedType = detectedType != null ? detectedType : contentType;
+            String imageName;
+            try (InputStream content = image.getInputStream()) {
+                imageName = imageStore.store(content, storedType);
             }
-            String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
-            
-            // Save file
-            Path filePath = uploadPath.resolve(uniqueFilename);
-            Files.copy(image.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
             
             // Update hotel with image path
             Hotel hotel = hotelOptional.get();
-            hotel.setImagePath(uniqueFilename);
-            hotelRepository.save(hotel);
+            String previousImage = hotel.getImagePath();
+            hotel.setImagePath(imageName);
+            hotel.setImageContentType(storedType);
+            try {
+                hotelRepository.save(hotel);
+            } catch (RuntimeException e) {
+                releaseImage(imageName);
+                throw e;
+            }
+            eventPublisher.publishEvent(new HotelChangedEvent(hotelId, hotel.copy()));
+            // Also right when the same bytes are uploaded again: store() took a second reference
+            releaseImage(previousImage);
+            
+            // Resized variants are made in the background; the upload does not wait for them
+            imageVariantGenerator.submit(imageName);
             
-            return uniqueFilename;
+            return imageName;
             
         } catch (IOException e) {
             throw new RuntimeException("Failed to store file: " + e.getMessage());
@@ -226,29 +382,66 @@ public class HotelServiceImpl implements HotelService {
     }
     
     @Override
-    public byte[] getHotelImage(Long hotelId) {
+    public ImageFile getHotelImage(Long hotelId, Integer width) {
+        Optional<Hotel> hotelOptional = hotelCache.getHotel(hotelId, hotelRepository::findById);
+        if (!hotelOptional.isPresent()) {
+            throw new RuntimeException("Hotel not found with id: " + hotelId);
+        }
+        
+        Hotel hotel = hotelOptional.get();
+        String imagePath = hotel.getImagePath();
+        
+        if (imagePath == null || imagePath.isEmpty()) {
+            throw new RuntimeException("No image found for hotel with id: " + hotelId);
+        }
+        
+        return imageFile(imagePath, hotel.getImageContentType(), width);
+    }
+    
+    @Override
+    public ImageFile getImage(String fileName, Integer width) {
+        // Only plain names of files some hotel uses, never a path out of the upload directory
+        if (!fileName.matches("[A-Za-z0-9_-][A-Za-z0-9._-]*")) {
+            throw new RuntimeException("Invalid image name: " + fileName);
+        }
+        Hotel hotel = hotelRepository.findFirstByImagePath(fileName)
+                .orElseThrow(() -> new RuntimeException("Image not found: " + fileName));
+        return imageFile(fileName, hotel.getImageContentType(), width);
+    }
+    
+    private ImageFile imageFile(String imagePath, String contentType, Integer width) {
         try {
-            Optional<Hotel> hotelOptional = hotelRepository.findById(hotelId);
-            if (!hotelOptional.isPresent()) {
-                throw new RuntimeException("Hotel not found with id: " + hotelId);
-            }
-            
-            Hotel hotel = hotelOptional.get();
-            String imagePath = hotel.getImagePath();
-            
-            if (imagePath == null || imagePath.isEmpty()) {
-                throw new RuntimeException("No image found for hotel with id: " + hotelId);
-            }
-            
-            Path filePath = Paths.get(uploadDir).resolve(imagePath);
-            if (!Files.exists(filePath)) {
+            Path filePath = imageStore.resolve(imagePath);
+            if (!Files.isRegularFile(filePath)) {
                 throw new RuntimeException("Image file not found: " + imagePath);
             }
-            
-            return Files.readAllBytes(filePath);
+            if (contentType == null) {
+                // Uploaded before content types were recorded
+                String detected = ImageContentTypes.detect(filePath);
+                contentType = detected != null ? detected : ImageContentTypes.FALLBACK;
+            }
+            ImageFile original = new ImageFile(filePath, imagePath, contentType, Files.size(filePath));
+            return width != null ? imageVariantGenerator.select(original, width) : original;
             
         } catch (IOException e) {
             throw new RuntimeException("Failed to read image file: " + e.getMessage());
         }
     }
+    
+    // Drops a hotel's reference to an image, cleaning up its variants if nothing else uses it
+    private void releaseImage(String imagePath) {
+        if (imagePath != null && imageStore.release(imagePath)) {
+            imageVariantGenerator.deleteVariants(imagePath);
+        }
+    }
+    
+    @Override
+    public ImageVariantMetrics getImageVariantMetrics() {
+        return imageVariantGenerator.getMetrics();
+    }
+    
+    @Override
+    public List<CacheStats> getCacheStats() {
+        return hotelCache.getStats();
+    }
 }
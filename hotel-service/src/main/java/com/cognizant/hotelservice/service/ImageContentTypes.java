@@ -0,0 +1,61 @@
+package com.cognizant.hotelservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Recognizes common image formats by their leading bytes, so the stored content type does not
+ * depend on what the client claimed.
+ */
+final class ImageContentTypes {
+
+    static final String FALLBACK = "application/octet-stream";
+
+    private static final int HEADER_BYTES = 12;
+
+    private ImageContentTypes() {}
+
+    // Null when the bytes are not a recognized image format
+    static String detect(InputStream in) throws IOException {
+        return detect(in.readNBytes(HEADER_BYTES));
+    }
+
+    static String detect(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return detect(in);
+        }
+    }
+
+    static String detect(byte[] header) {
+        if (startsWith(header, 0, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(header, 0, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(header, 0, 'R', 'I', 'F', 'F') && startsWith(header, 8, 'W', 'E', 'B', 'P')) {
+            return "image/webp";
+        }
+        if (startsWith(header, 0, 'B', 'M')) {
+            return "image/bmp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int offset, int... signature) {
+        if (header.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((header[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,178 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.StoredImage;
+import com.cognizant.hotelservice.repository.StoredImageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Content-addressed image storage. An upload is hashed with SHA-256 while it is written to a temp
+ * file and is then stored once, as uploads/ab/cd/&lt;hash&gt;, however many hotels use it. The hash
+ * is the image name kept in Hotel.imagePath. Two levels of two hex digits keep every directory
+ * small enough to list.
+ *
+ * Each stored image has a row in stored_images counting the hotels that reference it; when the
+ * count drops to zero the row and the file are deleted. Moving a file into place and changing its
+ * count happen under a per-hash lock, so a concurrent upload of the same bytes cannot lose its file
+ * to the collector. The lock is local to this instance.
+ *
+ * Images uploaded before the store existed keep their flat UUID names; they still resolve but are
+ * not counted or collected.
+ */
+@Component
+public class ImageStore {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int HASH_LENGTH = 64;
+
+    @Value("${file.upload-dir:uploads}")
+    private String uploadDir;
+
+    @Autowired
+    private StoredImageRepository storedImageRepository;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+
+    public ImageStore() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Stores the stream's bytes, or finds the copy already stored, and takes one reference to it.
+     * Returns the image name (the hex SHA-256).
+     */
+    public String store(InputStream content, String contentType) throws IOException {
+        Path tempDir = Paths.get(uploadDir).resolve("tmp");
+        Files.createDirectories(tempDir);
+        Path temp = tempDir.resolve(UUID.randomUUID() + ".upload");
+        try {
+            MessageDigest digest = sha256();
+            try (DigestInputStream in = new DigestInputStream(content, digest)) {
+                Files.copy(in, temp);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            long size = Files.size(temp);
+
+            ReentrantLock lock = lock(hash);
+            lock.lock();
+            try {
+                Path target = resolve(hash);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                if (storedImageRepository.incrementRefCount(hash) == 0) {
+                    storedImageRepository.save(new StoredImage(hash, size, contentType, 1));
+                }
+            } finally {
+                lock.unlock();
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Takes another reference to a stored image, for a hotel pointed at an existing image. Returns
+     * false if the store has no such image. Legacy names are not counted and always succeed.
+     */
+    public boolean retain(String name) {
+        if (!isContentAddressed(name)) {
+            return true;
+        }
+        ReentrantLock lock = lock(name);
+        lock.lock();
+        try {
+            return storedImageRepository.incrementRefCount(name) == 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops one reference, deleting the file when it was the last. Returns true if the image was
+     * deleted, so the caller can remove anything derived from it.
+     */
+    public boolean release(String name) {
+        if (name == null || !isContentAddressed(name)) {
+            return false;
+        }
+        ReentrantLock lock = lock(name);
+        lock.lock();
+        try {
+            storedImageRepository.decrementRefCount(name);
+            if (storedImageRepository.deleteIfUnreferenced(name) == 0) {
+                return false;
+            }
+            Files.deleteIfExists(resolve(name));
+            return true;
+        } catch (IOException e) {
+            // The row is gone, so the file is unreachable; it is only wasted space
+            System.err.println("Failed to delete image " + name + ": " + e.getMessage());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path resolve(String name) {
+        return Paths.get(uploadDir).resolve(relativePath(name));
+    }
+
+    /**
+     * Where a file named after an image lives relative to its root directory: names that start with
+     * a hash are sharded by its first four hex digits, anything else (legacy uploads) is flat.
+     */
+    static String relativePath(String name) {
+        if (!startsWithHash(name)) {
+            return name;
+        }
+        return name.substring(0, 2) + "/" + name.substring(2, 4) + "/" + name;
+    }
+
+    static boolean isContentAddressed(String name) {
+        return name.length() == HASH_LENGTH && startsWithHash(name);
+    }
+
+    private static boolean startsWithHash(String name) {
+        if (name.length() < HASH_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            char c = name.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private ReentrantLock lock(String hash) {
+        return stripes[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+}
@@ -0,0 +1,253 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.ImageFile;
+import com.cognizant.hotelservice.model.ImageVariantMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Creates downscaled JPEG variants of uploaded images (by default 320, 800 and 1600 pixels wide) on
+ * a small thread pool with a bounded queue. Uploads only enqueue work. When the queue is full the
+ * job is dropped and counted instead of slowing the upload down; the original is served until a
+ * later request for a variant enqueues it again.
+ *
+ * Variants live in a variants directory under the upload directory as name-width.jpg, sharded
+ * like the originals they were made from, and are written to a temp file first, so a variant either exists complete or not at all. Images that
+ * cannot be decoded get a .novariants marker and are always served as uploaded.
+ */
+@Component
+public class ImageVariantGenerator {
+
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+    private static final String NO_VARIANTS_SUFFIX = ".novariants";
+
+    @Value("${file.upload-dir:uploads}")
+    private String uploadDir;
+
+    @Value("${image.variants.widths:320,800,1600}")
+    private int[] widths;
+
+    @Value("${image.variants.threads:2}")
+    private int threads;
+
+    @Value("${image.variants.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${image.variants.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    private ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        widths = widths.clone();
+        Arrays.sort(widths);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues variant generation for a stored image without waiting. Returns false if the image is
+     * already queued or the queue is full.
+     */
+    public boolean submit(String fileName) {
+        if (!inFlight.add(fileName)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(fileName);
+                } finally {
+                    inFlight.remove(fileName);
+                }
+            });
+            submitted.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(fileName);
+            rejected.increment();
+            return false;
+        }
+    }
+
+    /**
+     * The variant to send for a requested display width: the smallest at least that wide, or the
+     * widest when the request is wider than all of them. Returns the original when no width is
+     * requested or the image has no variants. A missing variant is queued and the original is
+     * returned, marked pending.
+     */
+    public ImageFile select(ImageFile original, Integer width) {
+        if (width == null || width < 1) {
+            return original;
+        }
+        Path variantsDir = Paths.get(uploadDir).resolve("variants");
+        if (Files.exists(variantsDir.resolve(ImageStore.relativePath(original.getFileName() + NO_VARIANTS_SUFFIX)))) {
+            return original;
+        }
+        int chosen = widths[widths.length - 1];
+        for (int candidate : widths) {
+            if (candidate >= width) {
+                chosen = candidate;
+                break;
+            }
+        }
+        String variantName = variantName(original.getFileName(), chosen);
+        Path variant = variantsDir.resolve(ImageStore.relativePath(variantName));
+        try {
+            return new ImageFile(variant, variantName, VARIANT_CONTENT_TYPE, Files.size(variant));
+        } catch (IOException e) {
+            submit(original.getFileName());
+            return new ImageFile(original.getPath(), original.getFileName(), original.getContentType(),
+                    original.getLength(), true);
+        }
+    }
+
+    // Runs on the pool; public so tests and backfills can generate synchronously
+    public void generate(String fileName) {
+        Path source = Paths.get(uploadDir).resolve(ImageStore.relativePath(fileName));
+        Path variantsDir = Paths.get(uploadDir).resolve("variants");
+        try {
+            Files.createDirectories(variantsDir.resolve(ImageStore.relativePath(fileName)).getParent());
+            BufferedImage image = ImageIO.read(source.toFile());
+            if (image == null) {
+                // No ImageIO reader for this format
+                Files.write(variantsDir.resolve(ImageStore.relativePath(fileName + NO_VARIANTS_SUFFIX)), new byte[0]);
+                failed.increment();
+                return;
+            }
+            // Widest first, so each smaller variant is scaled from the closest larger one
+            BufferedImage current = image;
+            for (int i = widths.length - 1; i >= 0; i--) {
+                current = scaleToWidth(current, Math.min(widths[i], image.getWidth()));
+                Path target = variantsDir.resolve(ImageStore.relativePath(variantName(fileName, widths[i])));
+                Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+                Files.deleteIfExists(temp);
+                writeJpeg(current, temp);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            completed.increment();
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            System.err.println("Failed to create variants for " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    // Called once the original has been deleted from the store
+    public void deleteVariants(String fileName) {
+        Path variantsDir = Paths.get(uploadDir).resolve("variants");
+        try {
+            Files.deleteIfExists(variantsDir.resolve(ImageStore.relativePath(fileName + NO_VARIANTS_SUFFIX)));
+            for (int width : widths) {
+                Files.deleteIfExists(variantsDir.resolve(ImageStore.relativePath(variantName(fileName, width))));
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to delete variants of " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    public ImageVariantMetrics getMetrics() {
+        ImageVariantMetrics metrics = new ImageVariantMetrics();
+        metrics.setQueueDepth(executor.getQueue().size());
+        metrics.setQueueCapacity(queueCapacity);
+        metrics.setActiveWorkers(executor.getActiveCount());
+        metrics.setSubmitted(submitted.sum());
+        metrics.setRejected(rejected.sum());
+        metrics.setCompleted(completed.sum());
+        metrics.setFailed(failed.sum());
+        return metrics;
+    }
+
+    static String variantName(String fileName, int width) {
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return base + "-" + width + ".jpg";
+    }
+
+    /*
+     * Halves with bilinear filtering until within a factor of two of the target, then does one last
+     * bilinear step; a single large bilinear step would skip most source pixels and alias. Always
+     * returns an opaque RGB image, flattening transparency onto white for JPEG.
+     */
+    private static BufferedImage scaleToWidth(BufferedImage source, int targetWidth) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            int nextWidth = Math.max(targetWidth, width / 2);
+            if (nextWidth == width && current.getType() == BufferedImage.TYPE_INT_RGB) {
+                break;
+            }
+            int nextHeight = Math.max(1, (int) Math.round((double) height * nextWidth / width));
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, nextWidth, nextHeight);
+            graphics.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            graphics.dispose();
+            current = next;
+            width = nextWidth;
+            height = nextHeight;
+        } while (width > targetWidth);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        // Progressive JPEGs are smaller and render coarse-to-fine while loading
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
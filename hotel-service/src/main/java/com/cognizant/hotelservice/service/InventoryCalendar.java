@@ -0,0 +1,448 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.InventoryHold;
+import com.cognizant.hotelservice.model.RoomNightInventory;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import com.cognizant.hotelservice.repository.RoomNightInventoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-night room inventory for each (hotel, room type). Booked counts live in a compact int[] indexed
+ * by day offset, so range checks and updates touch only the nights of the stay. The room_night_inventory
+ * table is the durable copy and is only read when a ledger is first loaded.
+ *
+ * Changes are written to the table as deltas after the ledger lock is released, so a transaction that
+ * rolls back takes only its own rooms out of the table, and a writer waiting on a row lock never holds
+ * up readers of the ledger. The delta upsert (RoomNightInventoryRepository.addBookedRooms) is MySQL's
+ * INSERT ... ON DUPLICATE KEY UPDATE; tests run it on H2 in MySQL mode only.
+ *
+ * evictHotel only marks a ledger stale. Its nights may include bookings whose transactions have not
+ * committed yet, which a reload from the table would miss, so the next access waits for those
+ * transactions to finish (up to RELOAD_WAIT_MILLIS) before the ledger is reloaded, and no new
+ * booking is taken on the stale ledger meanwhile.
+ */
+@Component
+public class InventoryCalendar {
+
+    static final int MAX_NIGHTS = 365;
+
+    static final long RELOAD_WAIT_MILLIS = 10_000;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomNightInventoryRepository roomNightInventoryRepository;
+
+    private final ConcurrentMap<String, NightLedger> ledgers = new ConcurrentHashMap<>();
+
+    public int getAvailableRooms(Long hotelId, RoomType roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+        validateStay(checkInDate, checkOutDate);
+        NightLedger ledger = ledger(hotelId, roomType);
+        synchronized (ledger) {
+            return ledger.minAvailable(checkInDate, checkOutDate);
+        }
+    }
+
+    /**
+     * Books rooms for every night in [checkInDate, checkOutDate). Must run inside a transaction; the
+     * in-memory change is rolled back with it. Returns the remaining availability, or -1 if any night
+     * did not have enough rooms.
+     */
+    public int reserve(Long hotelId, RoomType roomType, int rooms, LocalDate checkInDate, LocalDate checkOutDate) {
+        validateStay(checkInDate, checkOutDate);
+        int[] applied;
+        int remaining;
+        for (;;) {
+            NightLedger ledger = ledger(hotelId, roomType);
+            synchronized (ledger) {
+                if (ledger.retired) {
+                    continue;
+                }
+                if (ledger.minAvailable(checkInDate, checkOutDate) < rooms) {
+                    return -1;
+                }
+                applied = ledger.adjust(checkInDate, checkOutDate, rooms);
+                revertOnRollback(ledger, checkInDate, applied);
+                remaining = ledger.minAvailable(checkInDate, checkOutDate);
+                break;
+            }
+        }
+        persist(hotelId, roomType, checkInDate, applied);
+        return remaining;
+    }
+
+    public int release(Long hotelId, RoomType roomType, int rooms, LocalDate checkInDate, LocalDate checkOutDate) {
+        validateStay(checkInDate, checkOutDate);
+        int[] applied;
+        int remaining;
+        for (;;) {
+            NightLedger ledger = ledger(hotelId, roomType);
+            synchronized (ledger) {
+                if (ledger.retired) {
+                    continue;
+                }
+                applied = ledger.adjust(checkInDate, checkOutDate, -rooms);
+                revertOnRollback(ledger, checkInDate, applied);
+                remaining = ledger.minAvailable(checkInDate, checkOutDate);
+                break;
+            }
+        }
+        persist(hotelId, roomType, checkInDate, applied);
+        return remaining;
+    }
+
+    /**
+     * Releases the rooms of many dated holds on one hotel and room type under a single ledger lock,
+     * writing each affected night once however many holds cover it. Must run inside a transaction,
+     * like reserve.
+     */
+    public void releaseAll(Long hotelId, RoomType roomType, List<InventoryHold> holds) {
+        for (InventoryHold hold : holds) {
+            validateStay(hold.getCheckInDate(), hold.getCheckOutDate());
+        }
+        SortedMap<LocalDate, Integer> deltas = new TreeMap<>();
+        for (;;) {
+            NightLedger ledger = ledger(hotelId, roomType);
+            synchronized (ledger) {
+                if (ledger.retired) {
+                    continue;
+                }
+                for (InventoryHold hold : holds) {
+                    int[] applied = ledger.adjust(hold.getCheckInDate(), hold.getCheckOutDate(), -hold.getNumberOfRooms());
+                    revertOnRollback(ledger, hold.getCheckInDate(), applied);
+                    for (int i = 0; i < applied.length; i++) {
+                        deltas.merge(hold.getCheckInDate().plusDays(i), applied[i], Integer::sum);
+                    }
+                }
+                break;
+            }
+        }
+        for (Map.Entry<LocalDate, Integer> delta : deltas.entrySet()) {
+            persistNight(hotelId, roomType, delta.getKey(), delta.getValue());
+        }
+    }
+
+    // Booked rooms for each night of [from, from + nights), read together with the ledger's id and version
+    NightOccupancy occupancy(Long hotelId, RoomType roomType, LocalDate from, int nights) {
+        NightLedger ledger = ledger(hotelId, roomType);
+        synchronized (ledger) {
+            int[] booked = new int[nights];
+            for (int i = 0; i < nights; i++) {
+                booked[i] = ledger.booked(from.plusDays(i));
+            }
+            return new NightOccupancy(ledger.totalRooms, booked, ledger.id, ledger.version);
+        }
+    }
+
+    /**
+     * The nights of [from, from + nights) whose bookings changed after the given version of the given
+     * ledger, with their booked rooms now, so readers caching derived data can patch just those nights.
+     * Returns null when the ledger was reloaded since, or it changed too often for its log to tell.
+     */
+    NightChanges changesSince(Long hotelId, RoomType roomType, long ledgerId, long version, LocalDate from, int nights) {
+        NightLedger ledger = ledger(hotelId, roomType);
+        synchronized (ledger) {
+            if (ledger.id != ledgerId) {
+                return null;
+            }
+            int[] range = ledger.changedSince(version, from, nights);
+            if (range == null) {
+                return null;
+            }
+            int[] booked = new int[Math.max(range[1] - range[0], 0)];
+            for (int i = 0; i < booked.length; i++) {
+                booked[i] = ledger.booked(from.plusDays(range[0] + i));
+            }
+            return new NightChanges(range[0], booked, ledger.version);
+        }
+    }
+
+    // Marks cached ledgers stale so the next access reloads totals and bookings for the hotel
+    public void evictHotel(Long hotelId) {
+        for (RoomType roomType : RoomType.values()) {
+            NightLedger ledger = ledgers.get(key(hotelId, roomType));
+            if (ledger != null) {
+                ledger.stale = true;
+            }
+        }
+    }
+
+    public void removeHotel(Long hotelId) {
+        evictHotel(hotelId);
+        roomNightInventoryRepository.deleteByHotelId(hotelId);
+    }
+
+    private NightLedger ledger(Long hotelId, RoomType roomType) {
+        String key = key(hotelId, roomType);
+        for (;;) {
+            NightLedger ledger = ledgers.computeIfAbsent(key, k -> load(hotelId, roomType));
+            // A transaction that already booked on the stale ledger finishes on it rather than wait for itself
+            if (!ledger.stale || TransactionSynchronizationManager.hasResource(ledger)) {
+                return ledger;
+            }
+            retire(hotelId, ledger);
+            ledgers.remove(key, ledger);
+        }
+    }
+
+    // Waits for the stale ledger's open transactions, whose nights a reload could not see yet
+    private void retire(Long hotelId, NightLedger ledger) {
+        long deadline = System.currentTimeMillis() + RELOAD_WAIT_MILLIS;
+        synchronized (ledger) {
+            while (ledger.pending > 0) {
+                long wait = deadline - System.currentTimeMillis();
+                if (wait <= 0) {
+                    throw new RuntimeException("Inventory of hotel " + hotelId + " is being reloaded, please retry");
+                }
+                try {
+                    ledger.wait(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while inventory of hotel " + hotelId + " was reloaded");
+                }
+            }
+            ledger.retired = true;
+        }
+    }
+
+    private NightLedger load(Long hotelId, RoomType roomType) {
+        Hotel hotel = hotelRepository.findById(hotelId)
+                .orElseThrow(() -> new RuntimeException("Hotel not found with id: " + hotelId));
+        int totalRooms = roomType == RoomType.AC ? hotel.getTotalAcRooms() : hotel.getTotalNonAcRooms();
+
+        LocalDate today = LocalDate.now();
+        NightLedger ledger = new NightLedger(totalRooms, today);
+        List<RoomNightInventory> nights = roomNightInventoryRepository
+                .findByHotelIdAndRoomTypeAndStayDateGreaterThanEqual(hotelId, roomType.name(), today);
+        for (RoomNightInventory night : nights) {
+            ledger.adjust(night.getStayDate(), night.getStayDate().plusDays(1), night.getBookedRooms());
+        }
+        return ledger;
+    }
+
+    // Nights are written in date order, so two stays sharing nights lock their rows in the same order
+    private void persist(Long hotelId, RoomType roomType, LocalDate from, int[] applied) {
+        for (int i = 0; i < applied.length; i++) {
+            persistNight(hotelId, roomType, from.plusDays(i), applied[i]);
+        }
+    }
+
+    private void persistNight(Long hotelId, RoomType roomType, LocalDate night, int delta) {
+        if (delta != 0) {
+            roomNightInventoryRepository.addBookedRooms(hotelId, roomType.name(), night, delta);
+        }
+    }
+
+    private void revertOnRollback(NightLedger ledger, LocalDate from, int[] applied) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    synchronized (ledger) {
+                        ledger.revert(from, applied);
+                    }
+                }
+            }
+        });
+        trackPending(ledger);
+    }
+
+    // Counts the transaction against the ledger until it completes, once however many changes it makes
+    private void trackPending(NightLedger ledger) {
+        if (TransactionSynchronizationManager.hasResource(ledger)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(ledger, Boolean.TRUE);
+        ledger.pending++;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ledger);
+                synchronized (ledger) {
+                    ledger.pending--;
+                    ledger.notifyAll();
+                }
+            }
+        });
+    }
+
+    private void validateStay(LocalDate checkInDate, LocalDate checkOutDate) {
+        if (checkInDate == null || checkOutDate == null || !checkOutDate.isAfter(checkInDate)) {
+            throw new RuntimeException("Check-out date must be after check-in date");
+        }
+        if (ChronoUnit.DAYS.between(checkInDate, checkOutDate) > MAX_NIGHTS) {
+            throw new RuntimeException("Stays longer than " + MAX_NIGHTS + " nights are not supported");
+        }
+    }
+
+    private static String key(Long hotelId, RoomType roomType) {
+        return hotelId + ":" + roomType.name();
+    }
+
+    /**
+     * Booked room counts for consecutive nights starting at baseDate. Not thread-safe; callers
+     * synchronize on the ledger.
+     */
+    static final class NightLedger {
+
+        private static final AtomicLong VERSIONS = new AtomicLong();
+
+        // The stays of the last CHANGE_LOG_SIZE changes, so readers can tell which nights moved
+        private static final int CHANGE_LOG_SIZE = 64;
+
+        private final int totalRooms;
+        // Set by evictHotel; the ledger is retired, and dropped for a reload, once pending reaches zero
+        private volatile boolean stale;
+        private boolean retired;
+        // Open transactions with changes on this ledger that the table does not show yet
+        private int pending;
+        private LocalDate baseDate;
+        private int[] booked;
+        // Unique across ledgers, so a reloaded ledger never matches a version read before the reload
+        private long version = VERSIONS.incrementAndGet();
+        private final long id = version;
+
+        private final long[] changeVersions = new long[CHANGE_LOG_SIZE];
+        private final LocalDate[] changeFrom = new LocalDate[CHANGE_LOG_SIZE];
+        private final LocalDate[] changeTo = new LocalDate[CHANGE_LOG_SIZE];
+        private int changes;
+        // Changes up to this version have left the log
+        private long forgottenVersion = version;
+
+        NightLedger(int totalRooms, LocalDate baseDate) {
+            this.totalRooms = totalRooms;
+            this.baseDate = baseDate;
+            this.booked = new int[32];
+        }
+
+        int booked(LocalDate night) {
+            int index = (int) ChronoUnit.DAYS.between(baseDate, night);
+            return index >= 0 && index < booked.length ? booked[index] : 0;
+        }
+
+        int minAvailable(LocalDate from, LocalDate to) {
+            int start = (int) ChronoUnit.DAYS.between(baseDate, from);
+            int end = (int) ChronoUnit.DAYS.between(baseDate, to);
+            int maxBooked = 0;
+            for (int i = Math.max(start, 0); i < Math.min(end, booked.length); i++) {
+                maxBooked = Math.max(maxBooked, booked[i]);
+            }
+            return Math.max(totalRooms - maxBooked, 0);
+        }
+
+        // Adds delta to every night in [from, to), never going below zero; returns what was applied
+        int[] adjust(LocalDate from, LocalDate to, int delta) {
+            ensureCapacity(from, to);
+            int start = (int) ChronoUnit.DAYS.between(baseDate, from);
+            int nights = (int) ChronoUnit.DAYS.between(from, to);
+            int[] applied = new int[nights];
+            logChange(from, to);
+            for (int i = 0; i < nights; i++) {
+                int before = booked[start + i];
+                booked[start + i] = Math.max(before + delta, 0);
+                applied[i] = booked[start + i] - before;
+            }
+            return applied;
+        }
+
+        void revert(LocalDate from, int[] applied) {
+            ensureCapacity(from, from.plusDays(applied.length));
+            int start = (int) ChronoUnit.DAYS.between(baseDate, from);
+            logChange(from, from.plusDays(applied.length));
+            for (int i = 0; i < applied.length; i++) {
+                booked[start + i] = Math.max(booked[start + i] - applied[i], 0);
+            }
+        }
+
+        // Offsets [start, end) from 'from', clipped to nights, covering every change after since; null if forgotten
+        int[] changedSince(long since, LocalDate from, int nights) {
+            if (since < forgottenVersion) {
+                return null;
+            }
+            int start = nights;
+            int end = 0;
+            for (int i = Math.max(changes - CHANGE_LOG_SIZE, 0); i < changes; i++) {
+                int slot = i % CHANGE_LOG_SIZE;
+                long first = Math.max(ChronoUnit.DAYS.between(from, changeFrom[slot]), 0);
+                long last = Math.min(ChronoUnit.DAYS.between(from, changeTo[slot]), nights);
+                if (changeVersions[slot] > since && first < last) {
+                    start = Math.min(start, (int) first);
+                    end = Math.max(end, (int) last);
+                }
+            }
+            return start < end ? new int[] {start, end} : new int[] {0, 0};
+        }
+
+        private void logChange(LocalDate from, LocalDate to) {
+            version = VERSIONS.incrementAndGet();
+            int slot = changes % CHANGE_LOG_SIZE;
+            if (changes >= CHANGE_LOG_SIZE) {
+                forgottenVersion = changeVersions[slot];
+            }
+            changeVersions[slot] = version;
+            changeFrom[slot] = from;
+            changeTo[slot] = to;
+            changes++;
+        }
+
+        private void ensureCapacity(LocalDate from, LocalDate to) {
+            int shift = (int) Math.max(ChronoUnit.DAYS.between(from, baseDate), 0);
+            int required = (int) ChronoUnit.DAYS.between(baseDate, to) + shift;
+            if (shift == 0 && required <= booked.length) {
+                return;
+            }
+            int[] grown = new int[Math.max(Math.max(required, booked.length + shift), booked.length * 2)];
+            System.arraycopy(booked, 0, grown, shift, booked.length);
+            booked = grown;
+            baseDate = baseDate.minusDays(shift);
+        }
+    }
+
+    static final class NightOccupancy {
+
+        final int totalRooms;
+        final int[] booked;
+        final long ledgerId;
+        final long version;
+
+        NightOccupancy(int totalRooms, int[] booked, long ledgerId, long version) {
+            this.totalRooms = totalRooms;
+            this.booked = booked;
+            this.ledgerId = ledgerId;
+            this.version = version;
+        }
+    }
+
+    // booked[i] is the night start + i; empty when nothing changed
+    static final class NightChanges {
+
+        final int start;
+        final int[] booked;
+        final long version;
+
+        NightChanges(int start, int[] booked, long version) {
+            this.start = start;
+            this.booked = booked;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.InventoryMetrics;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process room counters for undated inventory, used when inventory.mode=memory. Reservations and
+ * releases are a compare-and-set on an AtomicInteger per (hotel, room type), so bookings for different
+ * hotels never touch the same memory or lock. Counters are loaded without holding a lock and published
+ * with putIfAbsent; evicting goes through a small array of striped locks. Changed counters are written
+ * back to the hotels table in JDBC batches by flush(), as the change since the last flush rather than
+ * the value, so an admin edit committed between the read and the write is kept.
+ *
+ * A change made inside a transaction is undone in memory if that transaction rolls back.
+ *
+ * With the write-ahead log enabled, each change is applied under the counter's monitor and logged
+ * before the caller is answered, so a restart can replay changes that were never flushed.
+ *
+ * Only one hotel-service instance may run in this mode, since the counters are the source of truth
+ * between flushes.
+ */
+@Component
+public class InventoryManager {
+
+    static final int LOCK_STRIPES = 64;
+
+    private static final String SELECT_AC_SQL =
+            "SELECT available_ac_rooms FROM hotels WHERE hotel_id = ?";
+    private static final String SELECT_NON_AC_SQL =
+            "SELECT available_non_ac_rooms FROM hotels WHERE hotel_id = ?";
+    private static final String REPLAY_AC_SQL =
+            "UPDATE hotels SET available_ac_rooms = ? WHERE hotel_id = ? AND available_ac_rooms = ?";
+    private static final String REPLAY_NON_AC_SQL =
+            "UPDATE hotels SET available_non_ac_rooms = ? WHERE hotel_id = ? AND available_non_ac_rooms = ?";
+    private static final String ADD_AC_SQL =
+            "UPDATE hotels SET available_ac_rooms = available_ac_rooms + ? WHERE hotel_id = ?";
+    private static final String ADD_NON_AC_SQL =
+            "UPDATE hotels SET available_non_ac_rooms = available_non_ac_rooms + ? WHERE hotel_id = ?";
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InventoryWriteAheadLog writeAheadLog;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentMap<Long, RoomCounter> counters = new ConcurrentHashMap<>();
+    // Counters rather than keys, so changes that land on a counter just after it was evicted still get written
+    private final Set<RoomCounter> dirtyCounters = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+    // Bumped by every eviction; a counter loaded across one is thrown away and loaded again
+    private final AtomicLong evictions = new AtomicLong();
+    // One flush at a time, so a caller that flushes returns only once earlier changes are written
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder fastPathOperations = new LongAdder();
+    private final LongAdder casRetries = new LongAdder();
+    private final LongAdder lockWaits = new LongAdder();
+    private final LongAdder flushBatches = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+
+    public InventoryManager() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Takes rooms off the counter. Returns the remaining availability, or -1 if there were not enough
+     * rooms, in which case nothing changes. Inside a transaction the rooms are put back if it rolls back.
+     */
+    public int reserve(Long hotelId, RoomType roomType, int rooms) {
+        RoomCounter counter = counter(hotelId, roomType);
+        if (writeAheadLog.isEnabled()) {
+            return reserveLogged(counter, rooms);
+        }
+        while (true) {
+            int available = counter.available.get();
+            if (available < rooms) {
+                fastPathOperations.increment();
+                return -1;
+            }
+            if (counter.available.compareAndSet(available, available - rooms)) {
+                fastPathOperations.increment();
+                dirtyCounters.add(counter);
+                undoOnRollback(counter, rooms);
+                return available - rooms;
+            }
+            casRetries.increment();
+        }
+    }
+
+    // Puts rooms back, capped at the hotel's total for the room type
+    public int release(Long hotelId, RoomType roomType, int rooms) {
+        RoomCounter counter = counter(hotelId, roomType);
+        if (writeAheadLog.isEnabled()) {
+            return releaseLogged(counter, rooms);
+        }
+        while (true) {
+            int available = counter.available.get();
+            int released = Math.min(available + rooms, counter.totalRooms);
+            if (counter.available.compareAndSet(available, released)) {
+                fastPathOperations.increment();
+                dirtyCounters.add(counter);
+                undoOnRollback(counter, available - released);
+                return released;
+            }
+            casRetries.increment();
+        }
+    }
+
+    /*
+     * Logged variants hold the counter's monitor while changing the value and appending, so the log
+     * order matches the order of values for each counter and replay can keep the last record. The
+     * fsync wait happens outside the monitor and is shared with other callers.
+     */
+    private int reserveLogged(RoomCounter counter, int rooms) {
+        int remaining;
+        long lsn;
+        synchronized (counter) {
+            int available = counter.available.get();
+            if (available < rooms) {
+                fastPathOperations.increment();
+                return -1;
+            }
+            remaining = available - rooms;
+            lsn = applyLogged(counter, available, remaining);
+        }
+        writeAheadLog.sync(lsn);
+        undoOnRollback(counter, rooms);
+        return remaining;
+    }
+
+    private int releaseLogged(RoomCounter counter, int rooms) {
+        int available;
+        int released;
+        long lsn;
+        synchronized (counter) {
+            available = counter.available.get();
+            released = Math.min(available + rooms, counter.totalRooms);
+            lsn = applyLogged(counter, available, released);
+        }
+        writeAheadLog.sync(lsn);
+        undoOnRollback(counter, available - released);
+        return released;
+    }
+
+    // Marks the counter dirty before logging, so a flush that sees this LSN also writes the value
+    private long applyLogged(RoomCounter counter, int previous, int updated) {
+        counter.available.set(updated);
+        dirtyCounters.add(counter);
+        try {
+            long lsn = writeAheadLog.append(counter.hotelId, counter.roomType, previous, updated);
+            fastPathOperations.increment();
+            return lsn;
+        } catch (RuntimeException e) {
+            counter.available.set(previous);
+            throw e;
+        }
+    }
+
+    /*
+     * Compensates a change when the surrounding transaction rolls back, by adding delta to the counter
+     * that is current then; an eviction in between has already written the change to the table, so the
+     * reloaded counter contains it. Never takes a counter below zero.
+     */
+    private void undoOnRollback(RoomCounter counter, int delta) {
+        if (delta == 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    adjust(counter(counter.hotelId, counter.roomType), delta);
+                } catch (RuntimeException e) {
+                    System.err.println("Failed to undo inventory change for Hotel ID " + counter.hotelId + ": "
+                            + e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void adjust(RoomCounter counter, int delta) {
+        if (writeAheadLog.isEnabled()) {
+            long lsn;
+            synchronized (counter) {
+                int available = counter.available.get();
+                lsn = applyLogged(counter, available, Math.max(available + delta, 0));
+            }
+            writeAheadLog.sync(lsn);
+            return;
+        }
+        counter.available.getAndUpdate(available -> Math.max(available + delta, 0));
+        dirtyCounters.add(counter);
+    }
+
+    public int getAvailableRooms(Long hotelId, RoomType roomType) {
+        return counter(hotelId, roomType).available.get();
+    }
+
+    /**
+     * Writes the hotel's unflushed changes and drops its counters, so the next access reloads from the
+     * hotels table. Used after an admin update, where the saved row is authoritative.
+     */
+    public void evictHotel(Long hotelId) {
+        for (RoomType roomType : RoomType.values()) {
+            Long key = key(hotelId, roomType);
+            ReentrantLock lock = lock(key);
+            try {
+                evictions.incrementAndGet();
+                RoomCounter removed = counters.remove(key);
+                if (removed == null) {
+                    continue;
+                }
+                // Written before the stripe is released, so a reload published after this sees the change
+                flushLock.lock();
+                try {
+                    if (dirtyCounters.remove(removed) && !write(List.of(removed))) {
+                        dirtyCounters.add(removed);
+                    }
+                } finally {
+                    flushLock.unlock();
+                }
+                if (writeAheadLog.isEnabled()) {
+                    synchronized (removed) {
+                        writeAheadLog.append(hotelId, roomType, InventoryWriteAheadLog.EVICTED,
+                                InventoryWriteAheadLog.EVICTED);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes every changed counter back with one batched UPDATE per room type. Each row adds the
+     * counter's change since its last flush, so a counter that changes again mid-flush is simply
+     * written on the next run and a value edited in the table meanwhile is not overwritten.
+     */
+    @Scheduled(fixedDelayString = "${inventory.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (dirtyCounters.isEmpty()) {
+                return;
+            }
+            // Every change logged up to here is already on a dirty counter, so it is covered by this flush
+            long flushedLsn = writeAheadLog.isEnabled() ? writeAheadLog.getAppendedLsn() : 0;
+            List<RoomCounter> drained = new ArrayList<>();
+            for (Iterator<RoomCounter> it = dirtyCounters.iterator(); it.hasNext(); ) {
+                drained.add(it.next());
+                it.remove();
+            }
+            if (!write(drained)) {
+                // Keep the counters queued; the next run writes whatever they have changed by then
+                dirtyCounters.addAll(drained);
+                return;
+            }
+            if (writeAheadLog.isEnabled()) {
+                writeAheadLog.checkpoint(flushedLsn);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Adds each counter's unflushed change to the table; called with flushLock held
+    private boolean write(List<RoomCounter> drained) {
+        List<RoomCounter> written = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        List<Object[]> acRows = new ArrayList<>();
+        List<Object[]> nonAcRows = new ArrayList<>();
+        for (RoomCounter counter : drained) {
+            int value = flushableValue(counter);
+            int delta = value - counter.flushed;
+            if (delta == 0) {
+                continue;
+            }
+            written.add(counter);
+            values.add(value);
+            Object[] row = {delta, counter.hotelId};
+            if (counter.roomType == RoomType.AC) {
+                acRows.add(row);
+            } else {
+                nonAcRows.add(row);
+            }
+        }
+        try {
+            if (!acRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(ADD_AC_SQL, acRows);
+            }
+            if (!nonAcRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(ADD_NON_AC_SQL, nonAcRows);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to flush inventory counters: " + e.getMessage());
+            return false;
+        }
+        for (int i = 0; i < written.size(); i++) {
+            written.get(i).flushed = values.get(i);
+        }
+        flushBatches.increment();
+        flushedRows.add(acRows.size() + nonAcRows.size());
+        // Cached hotel rows only see new room counts once they reach the table
+        publishFlushed(acRows);
+        publishFlushed(nonAcRows);
+        return true;
+    }
+
+    /*
+     * With the log enabled the value is read under the counter's monitor, so it is always the value
+     * after a change that is in the log; recover() relies on the table holding such a value.
+     */
+    private int flushableValue(RoomCounter counter) {
+        if (!writeAheadLog.isEnabled()) {
+            return counter.available.get();
+        }
+        synchronized (counter) {
+            return counter.available.get();
+        }
+    }
+
+    /**
+     * Writes counter values that were logged but never flushed before the last shutdown or crash
+     * back to the hotels table, then checkpoints the log. A row is only replayed while it still holds
+     * a value the log accounts for; one edited since the last flush, by an admin update that crashed
+     * before its eviction or directly in the database, is left as it is.
+     */
+    @PostConstruct
+    public void recover() {
+        if (!writeAheadLog.isEnabled()) {
+            return;
+        }
+        List<InventoryWriteAheadLog.PendingCounter> pending = writeAheadLog.open();
+        int replayed = 0;
+        for (InventoryWriteAheadLog.PendingCounter counter : pending) {
+            boolean ac = counter.getRoomType() == RoomType.AC;
+            List<Integer> current = jdbcTemplate.queryForList(ac ? SELECT_AC_SQL : SELECT_NON_AC_SQL,
+                    Integer.class, counter.getHotelId());
+            if (current.isEmpty() || current.get(0) == null) {
+                continue;
+            }
+            int table = current.get(0);
+            if (!counter.getFlushedRooms().contains(table)) {
+                System.err.println("Not replaying inventory for Hotel ID " + counter.getHotelId() + " ("
+                        + counter.getRoomType() + "): the row was edited after the last flush");
+                continue;
+            }
+            if (table != counter.getAvailableRooms()) {
+                // Guarded on the value just read, so a concurrent edit still wins
+                jdbcTemplate.update(ac ? REPLAY_AC_SQL : REPLAY_NON_AC_SQL,
+                        counter.getAvailableRooms(), counter.getHotelId(), table);
+            }
+            replayed++;
+        }
+        writeAheadLog.checkpoint(writeAheadLog.getAppendedLsn());
+        System.out.println("Replayed " + replayed + " of " + pending.size()
+                + " inventory counters from the write-ahead log");
+    }
+
+    private void publishFlushed(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            eventPublisher.publishEvent(HotelChangedEvent.entityChanged((Long) row[1]));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public InventoryMetrics getMetrics() {
+        InventoryMetrics metrics = new InventoryMetrics();
+        metrics.setTrackedCounters(counters.size());
+        metrics.setFastPathOperations(fastPathOperations.sum());
+        metrics.setCasRetries(casRetries.sum());
+        metrics.setLockWaits(lockWaits.sum());
+        metrics.setPendingFlushQueueDepth(dirtyCounters.size());
+        metrics.setFlushBatches(flushBatches.sum());
+        metrics.setFlushedRows(flushedRows.sum());
+        metrics.setWalAppends(writeAheadLog.getAppendCount());
+        metrics.setWalSyncs(writeAheadLog.getSyncCount());
+        return metrics;
+    }
+
+    private RoomCounter counter(Long hotelId, RoomType roomType) {
+        Long key = key(hotelId, roomType);
+        while (true) {
+            RoomCounter counter = counters.get(key);
+            if (counter != null) {
+                return counter;
+            }
+            // Slow path: the query runs without a lock, and the first counter published wins
+            long seen = evictions.get();
+            Hotel hotel = hotelRepository.findById(hotelId)
+                    .orElseThrow(() -> new RuntimeException("Hotel not found with id: " + hotelId));
+            RoomCounter loaded = roomType == RoomType.AC
+                    ? new RoomCounter(hotelId, roomType, hotel.getTotalAcRooms(), hotel.getAvailableAcRooms())
+                    : new RoomCounter(hotelId, roomType, hotel.getTotalNonAcRooms(), hotel.getAvailableNonAcRooms());
+            ReentrantLock lock = lock(key);
+            try {
+                // A row read before an eviction may predate the evicted counter's last write
+                if (evictions.get() == seen) {
+                    RoomCounter existing = counters.putIfAbsent(key, loaded);
+                    return existing != null ? existing : loaded;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ReentrantLock lock(Long key) {
+        ReentrantLock lock = stripes[Math.floorMod(Long.hashCode(key), LOCK_STRIPES)];
+        if (!lock.tryLock()) {
+            lockWaits.increment();
+            lock.lock();
+        }
+        return lock;
+    }
+
+    private static Long key(Long hotelId, RoomType roomType) {
+        return hotelId * RoomType.values().length + roomType.ordinal();
+    }
+
+    private static final class RoomCounter {
+
+        private final Long hotelId;
+        private final RoomType roomType;
+        private final int totalRooms;
+        private final AtomicInteger available;
+        // Value last written to or read from the table; only touched under flushLock
+        private int flushed;
+
+        RoomCounter(Long hotelId, RoomType roomType, Integer totalRooms, Integer available) {
+            this.hotelId = hotelId;
+            this.roomType = roomType;
+            this.totalRooms = totalRooms != null ? totalRooms : 0;
+            this.available = new AtomicInteger(available != null ? available : 0);
+            this.flushed = this.available.get();
+        }
+    }
+}
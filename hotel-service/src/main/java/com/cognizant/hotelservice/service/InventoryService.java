@@ -0,0 +1,41 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.AvailabilityQuery;
+import com.cognizant.hotelservice.model.BatchAvailabilityResult;
+import com.cognizant.hotelservice.model.InventoryHold;
+import com.cognizant.hotelservice.model.InventoryMetrics;
+import com.cognizant.hotelservice.model.InventoryResult;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface InventoryService {
+    
+    InventoryResult reserveRooms(Long hotelId, String roomType, Integer numberOfRooms);
+    
+    InventoryResult releaseRooms(Long hotelId, String roomType, Integer numberOfRooms);
+    
+    Integer getAvailableRooms(Long hotelId, String roomType);
+    
+    // Date-ranged inventory: every night in [checkInDate, checkOutDate) must have the rooms
+    InventoryResult reserveRooms(Long hotelId, String roomType, Integer numberOfRooms,
+                                 LocalDate checkInDate, LocalDate checkOutDate);
+    
+    InventoryResult releaseRooms(Long hotelId, String roomType, Integer numberOfRooms,
+                                 LocalDate checkInDate, LocalDate checkOutDate);
+    
+    Integer getAvailableRooms(Long hotelId, String roomType, LocalDate checkInDate, LocalDate checkOutDate);
+    
+    // Gives back the rooms of many holds on one hotel and room type in one pass
+    void releaseHolds(Long hotelId, String roomType, List<InventoryHold> holds);
+    
+    // Answers many queries with one bulk hotel read; invalid queries get -1 instead of failing the batch
+    BatchAvailabilityResult checkAvailability(List<AvailabilityQuery> queries);
+    
+    // Called after hotel room totals change so cached inventory is rebuilt
+    void refreshHotel(Long hotelId);
+    
+    void removeHotel(Long hotelId);
+    
+    InventoryMetrics getMetrics();
+}
@@ -0,0 +1,256 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.AvailabilityQuery;
+import com.cognizant.hotelservice.model.BatchAvailabilityResult;
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.InventoryHold;
+import com.cognizant.hotelservice.model.InventoryMetrics;
+import com.cognizant.hotelservice.model.InventoryResult;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import com.cognizant.hotelservice.repository.InventoryHoldRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class InventoryServiceImpl implements InventoryService {
+    
+    @Autowired
+    private HotelRepository hotelRepository;
+    
+    @Autowired
+    private InventoryCalendar inventoryCalendar;
+    
+    @Autowired
+    private InventoryHoldRepository inventoryHoldRepository;
+    
+    @Autowired
+    private InventoryManager inventoryManager;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // "database" applies a guarded UPDATE per booking; "memory" uses the in-process counters
+    @Value("${inventory.mode:database}")
+    private String inventoryMode;
+    
+    @Override
+    @Transactional
+    public InventoryResult reserveRooms(Long hotelId, String roomType, Integer numberOfRooms) {
+        RoomType type = requireRoomType(roomType);
+        requirePositive(numberOfRooms);
+        
+        if (isMemoryMode()) {
+            int remaining = inventoryManager.reserve(hotelId, type, numberOfRooms);
+            boolean success = remaining >= 0;
+            int available = success ? remaining : inventoryManager.getAvailableRooms(hotelId, type);
+            return new InventoryResult(hotelId, type.name(), numberOfRooms, available, success);
+        }
+        
+        int updated = type == RoomType.AC
+                ? hotelRepository.decrementAvailableAcRooms(hotelId, numberOfRooms)
+                : hotelRepository.decrementAvailableNonAcRooms(hotelId, numberOfRooms);
+        
+        // The row lock taken by the UPDATE is held until commit, so this read sees exactly our result
+        Integer available = readAvailable(hotelId, type);
+        if (updated == 1) {
+            eventPublisher.publishEvent(HotelChangedEvent.entityChanged(hotelId));
+        }
+        return new InventoryResult(hotelId, type.name(), numberOfRooms, available, updated == 1);
+    }
+    
+    @Override
+    @Transactional
+    public InventoryResult releaseRooms(Long hotelId, String roomType, Integer numberOfRooms) {
+        RoomType type = requireRoomType(roomType);
+        requirePositive(numberOfRooms);
+        
+        if (isMemoryMode()) {
+            int available = inventoryManager.release(hotelId, type, numberOfRooms);
+            return new InventoryResult(hotelId, type.name(), numberOfRooms, available, true);
+        }
+        
+        int updated = type == RoomType.AC
+                ? hotelRepository.incrementAvailableAcRooms(hotelId, numberOfRooms)
+                : hotelRepository.incrementAvailableNonAcRooms(hotelId, numberOfRooms);
+        
+        if (updated == 0) {
+            throw new RuntimeException("Hotel not found with id: " + hotelId);
+        }
+        Integer available = readAvailable(hotelId, type);
+        eventPublisher.publishEvent(HotelChangedEvent.entityChanged(hotelId));
+        return new InventoryResult(hotelId, type.name(), numberOfRooms, available, true);
+    }
+    
+    @Override
+    public Integer getAvailableRooms(Long hotelId, String roomType) {
+        RoomType type = requireRoomType(roomType);
+        return isMemoryMode() ? inventoryManager.getAvailableRooms(hotelId, type) : readAvailable(hotelId, type);
+    }
+    
+    @Override
+    @Transactional
+    public InventoryResult reserveRooms(Long hotelId, String roomType, Integer numberOfRooms,
+                                        LocalDate checkInDate, LocalDate checkOutDate) {
+        RoomType type = requireRoomType(roomType);
+        requirePositive(numberOfRooms);
+        
+        int available = inventoryCalendar.reserve(hotelId, type, numberOfRooms, checkInDate, checkOutDate);
+        if (available < 0) {
+            available = inventoryCalendar.getAvailableRooms(hotelId, type, checkInDate, checkOutDate);
+            return new InventoryResult(hotelId, type.name(), numberOfRooms, available, false, checkInDate, checkOutDate);
+        }
+        return new InventoryResult(hotelId, type.name(), numberOfRooms, available, true, checkInDate, checkOutDate);
+    }
+    
+    @Override
+    @Transactional
+    public InventoryResult releaseRooms(Long hotelId, String roomType, Integer numberOfRooms,
+                                        LocalDate checkInDate, LocalDate checkOutDate) {
+        RoomType type = requireRoomType(roomType);
+        requirePositive(numberOfRooms);
+        
+        int available = inventoryCalendar.release(hotelId, type, numberOfRooms, checkInDate, checkOutDate);
+        return new InventoryResult(hotelId, type.name(), numberOfRooms, available, true, checkInDate, checkOutDate);
+    }
+    
+    @Override
+    @Transactional
+    public void releaseHolds(Long hotelId, String roomType, List<InventoryHold> holds) {
+        RoomType type = requireRoomType(roomType);
+        List<InventoryHold> dated = new ArrayList<>();
+        int undatedRooms = 0;
+        for (InventoryHold hold : holds) {
+            if (hold.isDated()) {
+                dated.add(hold);
+            } else {
+                undatedRooms += hold.getNumberOfRooms();
+            }
+        }
+        if (!dated.isEmpty()) {
+            inventoryCalendar.releaseAll(hotelId, type, dated);
+        }
+        // Holds taken before date-ranged inventory come back through the counters, summed
+        if (undatedRooms > 0) {
+            releaseRooms(hotelId, type.name(), undatedRooms);
+        }
+    }
+    
+    @Override
+    public Integer getAvailableRooms(Long hotelId, String roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+        return inventoryCalendar.getAvailableRooms(hotelId, requireRoomType(roomType), checkInDate, checkOutDate);
+    }
+    
+    @Override
+    public BatchAvailabilityResult checkAvailability(List<AvailabilityQuery> queries) {
+        // Undated queries in database mode are answered from one findAllById; the rest are in memory
+        Map<Long, Hotel> hotels = new HashMap<>();
+        if (!isMemoryMode()) {
+            Set<Long> hotelIds = new HashSet<>();
+            for (AvailabilityQuery query : queries) {
+                if (query.getHotelId() != null && !query.isDated()) {
+                    hotelIds.add(query.getHotelId());
+                }
+            }
+            if (!hotelIds.isEmpty()) {
+                for (Hotel hotel : hotelRepository.findAllById(hotelIds)) {
+                    hotels.put(hotel.getHotelId(), hotel);
+                }
+            }
+        }
+        
+        int[] availableRooms = new int[queries.size()];
+        boolean[] available = new boolean[queries.size()];
+        for (int i = 0; i < queries.size(); i++) {
+            AvailabilityQuery query = queries.get(i);
+            availableRooms[i] = answer(query, hotels);
+            int requested = query.getNumberOfRooms() != null ? query.getNumberOfRooms() : 1;
+            available[i] = availableRooms[i] >= requested && requested >= 1;
+        }
+        return new BatchAvailabilityResult(availableRooms, available);
+    }
+    
+    private int answer(AvailabilityQuery query, Map<Long, Hotel> hotels) {
+        RoomType type = RoomType.fromString(query.getRoomType());
+        if (type == null || query.getHotelId() == null) {
+            return -1;
+        }
+        try {
+            if (query.isDated()) {
+                return inventoryCalendar.getAvailableRooms(query.getHotelId(), type,
+                        query.getCheckInDate(), query.getCheckOutDate());
+            }
+            if (isMemoryMode()) {
+                return inventoryManager.getAvailableRooms(query.getHotelId(), type);
+            }
+            Hotel hotel = hotels.get(query.getHotelId());
+            if (hotel == null) {
+                return -1;
+            }
+            Integer available = type == RoomType.AC ? hotel.getAvailableAcRooms() : hotel.getAvailableNonAcRooms();
+            return available != null ? available : 0;
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+    
+    @Override
+    public void refreshHotel(Long hotelId) {
+        inventoryCalendar.evictHotel(hotelId);
+        inventoryManager.evictHotel(hotelId);
+    }
+    
+    @Override
+    @Transactional
+    public void removeHotel(Long hotelId) {
+        inventoryCalendar.removeHotel(hotelId);
+        inventoryManager.evictHotel(hotelId);
+        inventoryHoldRepository.deleteByHotelId(hotelId);
+    }
+    
+    @Override
+    public InventoryMetrics getMetrics() {
+        InventoryMetrics metrics = inventoryManager.getMetrics();
+        metrics.setMode(isMemoryMode() ? "memory" : "database");
+        return metrics;
+    }
+    
+    private boolean isMemoryMode() {
+        return "memory".equalsIgnoreCase(inventoryMode);
+    }
+    
+    private Integer readAvailable(Long hotelId, RoomType type) {
+        Integer available = type == RoomType.AC
+                ? hotelRepository.findAvailableAcRooms(hotelId)
+                : hotelRepository.findAvailableNonAcRooms(hotelId);
+        if (available == null) {
+            throw new RuntimeException("Hotel not found with id: " + hotelId);
+        }
+        return available;
+    }
+    
+    private RoomType requireRoomType(String roomType) {
+        RoomType type = RoomType.fromString(roomType);
+        if (type == null) {
+            throw new RuntimeException("Invalid room type: " + roomType);
+        }
+        return type;
+    }
+    
+    private void requirePositive(Integer numberOfRooms) {
+        if (numberOfRooms == null || numberOfRooms < 1) {
+            throw new RuntimeException("Number of rooms must be at least 1");
+        }
+    }
+}
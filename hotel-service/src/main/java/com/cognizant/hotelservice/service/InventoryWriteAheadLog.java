@@ -0,0 +1,363 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.RoomType;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of in-memory inventory counter values, used when inventory.wal.enabled=true.
+ * Each record holds the availability of one (hotel, room type) before and after a change. Callers
+ * wait for sync() before acknowledging a booking; concurrent callers share a single fsync.
+ *
+ * The log is split into segments named by their first LSN. After the counters are flushed to the
+ * hotels table, checkpoint() records the flushed LSN and deletes segments that are fully covered.
+ * On startup open() returns, per counter changed after the last checkpoint, its latest value and
+ * the values the hotels table may hold if only flushes have written the row since.
+ */
+@Component
+public class InventoryWriteAheadLog {
+
+    static final int RECORD_BYTES = 32;
+
+    // Availability value marking a counter that was evicted; replay leaves the table value alone
+    static final int EVICTED = -1;
+
+    private static final String SEGMENT_PREFIX = "inventory-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    @Value("${inventory.wal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.wal.directory:data/inventory-wal}")
+    private String directory;
+
+    @Value("${inventory.wal.segment-bytes:16777216}")
+    private long segmentBytes;
+
+    // Lock order is syncLock, then appendLock
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES);
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private long nextLsn = 1;
+    private volatile long appendedLsn;
+    private volatile long durableLsn;
+    private volatile long checkpointLsn;
+
+    private final LongAdder appends = new LongAdder();
+    private final LongAdder syncs = new LongAdder();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Opens the log, returning each counter changed after the last checkpoint and not evicted since.
+     * A torn or corrupt record ends the segment it is in. Appends always go to a fresh segment.
+     */
+    public List<PendingCounter> open() {
+        synchronized (syncLock) {
+            synchronized (appendLock) {
+                try {
+                    Path dir = Paths.get(directory);
+                    Files.createDirectories(dir);
+                    checkpointLsn = readCheckpoint(dir);
+
+                    long lastLsn = checkpointLsn;
+                    Map<String, PendingCounter> latest = new LinkedHashMap<>();
+                    for (Path segment : listSegments(dir)) {
+                        for (LogRecord record : readSegment(segment)) {
+                            lastLsn = Math.max(lastLsn, record.getLsn());
+                            if (record.getLsn() <= checkpointLsn) {
+                                continue;
+                            }
+                            String key = record.getHotelId() + ":" + record.getRoomType().name();
+                            PendingCounter counter = latest.get(key);
+                            // An eviction wrote the counter out, so later records start from the table again
+                            if (counter == null || counter.availableRooms == EVICTED) {
+                                counter = new PendingCounter(record.getHotelId(), record.getRoomType());
+                                counter.flushedRooms.add(record.getPreviousRooms());
+                                latest.put(key, counter);
+                            }
+                            counter.availableRooms = record.getAvailableRooms();
+                            counter.flushedRooms.add(record.getAvailableRooms());
+                        }
+                    }
+
+                    nextLsn = lastLsn + 1;
+                    appendedLsn = lastLsn;
+                    durableLsn = lastLsn;
+                    channel = openSegment(dir, nextLsn);
+
+                    List<PendingCounter> pending = new ArrayList<>();
+                    for (PendingCounter counter : latest.values()) {
+                        if (counter.availableRooms != EVICTED) {
+                            pending.add(counter);
+                        }
+                    }
+                    return pending;
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to open inventory write-ahead log: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a record without waiting for it to reach disk. Callers that need durability pass the
+     * returned LSN to sync().
+     */
+    public long append(Long hotelId, RoomType roomType, int previousRooms, int availableRooms) {
+        synchronized (appendLock) {
+            long lsn = nextLsn;
+            buffer.clear();
+            buffer.putLong(lsn).putLong(hotelId).putInt(roomType.ordinal()).putInt(previousRooms)
+                    .putInt(availableRooms);
+            crc.reset();
+            crc.update(buffer.array(), 0, RECORD_BYTES - 4);
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to write inventory write-ahead log: " + e.getMessage());
+            }
+            nextLsn++;
+            appendedLsn = lsn;
+            appends.increment();
+            return lsn;
+        }
+    }
+
+    /**
+     * Blocks until the record with the given LSN is on disk. The thread that gets the sync lock
+     * fsyncs everything appended so far, so callers queued behind it usually return without one.
+     */
+    public void sync(long lsn) {
+        if (durableLsn >= lsn) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durableLsn >= lsn) {
+                return;
+            }
+            long target;
+            FileChannel current;
+            synchronized (appendLock) {
+                target = appendedLsn;
+                current = channel;
+            }
+            try {
+                current.force(false);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to sync inventory write-ahead log: " + e.getMessage());
+            }
+            durableLsn = target;
+            syncs.increment();
+        }
+    }
+
+    public long getAppendedLsn() {
+        return appendedLsn;
+    }
+
+    /**
+     * Records that every change up to lsn is in the hotels table, then rolls the current segment if
+     * it is full and deletes segments that hold nothing newer than the checkpoint.
+     */
+    public void checkpoint(long lsn) {
+        if (lsn <= checkpointLsn) {
+            return;
+        }
+        synchronized (syncLock) {
+            try {
+                Path dir = Paths.get(directory);
+                Path temp = dir.resolve(CHECKPOINT_FILE + ".tmp");
+                Files.write(temp, Long.toString(lsn).getBytes(StandardCharsets.US_ASCII));
+                Files.move(temp, dir.resolve(CHECKPOINT_FILE),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                checkpointLsn = lsn;
+
+                synchronized (appendLock) {
+                    if (channel.size() >= segmentBytes) {
+                        channel.force(false);
+                        durableLsn = appendedLsn;
+                        channel.close();
+                        channel = openSegment(dir, nextLsn);
+                    }
+                }
+                deleteCoveredSegments(dir);
+            } catch (IOException e) {
+                System.err.println("Failed to checkpoint inventory write-ahead log: " + e.getMessage());
+            }
+        }
+    }
+
+    public long getAppendCount() {
+        return appends.sum();
+    }
+
+    public long getSyncCount() {
+        return syncs.sum();
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (syncLock) {
+            synchronized (appendLock) {
+                if (channel == null) {
+                    return;
+                }
+                try {
+                    channel.force(false);
+                    channel.close();
+                } catch (IOException e) {
+                    System.err.println("Failed to close inventory write-ahead log: " + e.getMessage());
+                }
+                channel = null;
+            }
+        }
+    }
+
+    private void deleteCoveredSegments(Path dir) throws IOException {
+        List<Path> segments = listSegments(dir);
+        // A segment is covered when the next one starts at or below checkpoint + 1
+        for (int i = 0; i < segments.size() - 1; i++) {
+            if (firstLsn(segments.get(i + 1)) - 1 <= checkpointLsn) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+    }
+
+    private List<LogRecord> readSegment(Path segment) throws IOException {
+        List<LogRecord> records = new ArrayList<>();
+        byte[] bytes = Files.readAllBytes(segment);
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        CRC32 check = new CRC32();
+        while (in.remaining() >= RECORD_BYTES) {
+            int start = in.position();
+            check.reset();
+            check.update(bytes, start, RECORD_BYTES - 4);
+            long lsn = in.getLong();
+            long hotelId = in.getLong();
+            int roomType = in.getInt();
+            int previous = in.getInt();
+            int available = in.getInt();
+            if (in.getInt() != (int) check.getValue() || roomType < 0 || roomType >= RoomType.values().length) {
+                System.err.println("Stopping inventory log replay at corrupt record in " + segment.getFileName());
+                break;
+            }
+            records.add(new LogRecord(lsn, hotelId, RoomType.values()[roomType], previous, available));
+        }
+        return records;
+    }
+
+    private long readCheckpoint(Path dir) throws IOException {
+        Path file = dir.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        return Long.parseLong(new String(Files.readAllBytes(file), StandardCharsets.US_ASCII).trim());
+    }
+
+    private List<Path> listSegments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(firstLsn(a), firstLsn(b)))
+                    .toList();
+        }
+    }
+
+    // An existing file with this name can only hold a torn first record, so it is truncated
+    private static FileChannel openSegment(Path dir, long firstLsn) throws IOException {
+        return FileChannel.open(dir.resolve(SEGMENT_PREFIX + firstLsn + SEGMENT_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static long firstLsn(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    public static final class LogRecord {
+
+        private final long lsn;
+        private final Long hotelId;
+        private final RoomType roomType;
+        private final int previousRooms;
+        private final int availableRooms;
+
+        LogRecord(long lsn, Long hotelId, RoomType roomType, int previousRooms, int availableRooms) {
+            this.lsn = lsn;
+            this.hotelId = hotelId;
+            this.roomType = roomType;
+            this.previousRooms = previousRooms;
+            this.availableRooms = availableRooms;
+        }
+
+        public long getLsn() { return lsn; }
+
+        public Long getHotelId() { return hotelId; }
+
+        public RoomType getRoomType() { return roomType; }
+
+        public int getPreviousRooms() { return previousRooms; }
+
+        public int getAvailableRooms() { return availableRooms; }
+    }
+
+    /**
+     * A counter with unflushed changes. A flush writes the counter's value at the time, which is the
+     * value after one of its logged changes, so the hotels table holds one of flushedRooms unless
+     * something else has written the row since.
+     */
+    public static final class PendingCounter {
+
+        private final Long hotelId;
+        private final RoomType roomType;
+        private int availableRooms;
+        private final Set<Integer> flushedRooms = new HashSet<>();
+
+        PendingCounter(Long hotelId, RoomType roomType) {
+            this.hotelId = hotelId;
+            this.roomType = roomType;
+        }
+
+        public Long getHotelId() { return hotelId; }
+
+        public RoomType getRoomType() { return roomType; }
+
+        public int getAvailableRooms() { return availableRooms; }
+
+        public Set<Integer> getFlushedRooms() { return flushedRooms; }
+    }
+}
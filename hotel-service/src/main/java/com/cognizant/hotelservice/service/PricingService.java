@@ -0,0 +1,11 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.PriceQuote;
+
+import java.time.LocalDate;
+
+public interface PricingService {
+    
+    // Sum of the nightly prices for [checkInDate, checkOutDate), times numberOfRooms
+    PriceQuote quote(Long hotelId, String roomType, Integer numberOfRooms, LocalDate checkInDate, LocalDate checkOutDate);
+}
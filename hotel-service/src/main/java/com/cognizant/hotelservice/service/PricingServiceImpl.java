@@ -0,0 +1,223 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.PriceQuote;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Nightly price = base rate (acRoomCost or nonAcRoomCost) x day-of-week multiplier x multiplier of
+ * the occupancy band the night falls in, rounded to cents. Prices for the next horizon-days nights
+ * are kept per (hotel, room type) as prefix sums, so any stay is quoted with one subtraction.
+ *
+ * When bookings change, the next quote asks the InventoryCalendar ledger which nights moved since
+ * the table was built and reprices only those, shifting the prefix sums after them. A table is
+ * rebuilt from scratch after the hotel changes, when the ledger is reloaded or has changed too often
+ * to say which nights moved, or when the day rolls over. At most max-tables are kept, least recently
+ * quoted dropped first.
+ */
+@Service
+public class PricingServiceImpl implements PricingService {
+    
+    @Value("${pricing.horizon-days:365}")
+    private int horizonDays;
+    
+    // Monday first
+    @Value("${pricing.day-of-week-multipliers:1.0,1.0,1.0,1.0,1.1,1.2,1.1}")
+    private String dayOfWeekMultipliers;
+    
+    // occupancy:multiplier pairs; a night uses the last band whose occupancy it reaches
+    @Value("${pricing.occupancy-bands:0.0:1.0,0.5:1.1,0.75:1.25,0.9:1.5}")
+    private String occupancyBands;
+    
+    @Value("${pricing.max-tables:20000}")
+    private int maxTables;
+    
+    @Value("${pricing.table-ttl-seconds:3600}")
+    private long tableTtlSeconds;
+    
+    @Autowired
+    private HotelRepository hotelRepository;
+    
+    @Autowired
+    private InventoryCalendar inventoryCalendar;
+    
+    private BoundedCache<String, PriceTable> tables;
+    
+    private double[] dayMultipliers;
+    private double[] bandThresholds;
+    private double[] bandMultipliers;
+    
+    @PostConstruct
+    public void init() {
+        tables = new BoundedCache<>("price-tables", maxTables, tableTtlSeconds);
+        String[] days = dayOfWeekMultipliers.split(",");
+        if (days.length != 7) {
+            throw new IllegalArgumentException("pricing.day-of-week-multipliers needs 7 values, Monday first");
+        }
+        dayMultipliers = new double[7];
+        for (int i = 0; i < 7; i++) {
+            dayMultipliers[i] = Double.parseDouble(days[i].trim());
+        }
+        String[] bands = occupancyBands.split(",");
+        bandThresholds = new double[bands.length];
+        bandMultipliers = new double[bands.length];
+        for (int i = 0; i < bands.length; i++) {
+            String[] band = bands[i].trim().split(":");
+            if (band.length != 2) {
+                throw new IllegalArgumentException("pricing.occupancy-bands entries must be occupancy:multiplier");
+            }
+            bandThresholds[i] = Double.parseDouble(band[0]);
+            bandMultipliers[i] = Double.parseDouble(band[1]);
+            if (i > 0 && bandThresholds[i] <= bandThresholds[i - 1]) {
+                throw new IllegalArgumentException("pricing.occupancy-bands must be in increasing occupancy order");
+            }
+        }
+    }
+    
+    @Override
+    public PriceQuote quote(Long hotelId, String roomType, Integer numberOfRooms, LocalDate checkInDate,
+                            LocalDate checkOutDate) {
+        RoomType type = RoomType.fromString(roomType);
+        if (type == null) {
+            throw new RuntimeException("Invalid room type: " + roomType);
+        }
+        if (numberOfRooms == null || numberOfRooms < 1) {
+            throw new RuntimeException("Number of rooms must be at least 1");
+        }
+        if (checkInDate == null || checkOutDate == null || !checkOutDate.isAfter(checkInDate)) {
+            throw new RuntimeException("Check-out date must be after check-in date");
+        }
+        LocalDate today = LocalDate.now();
+        if (checkInDate.isBefore(today)) {
+            throw new RuntimeException("Check-in date must not be in the past");
+        }
+        if (ChronoUnit.DAYS.between(today, checkOutDate) > horizonDays) {
+            throw new RuntimeException("Prices are only available for stays ending within " + horizonDays + " days");
+        }
+        
+        PriceTable table = table(hotelId, type, today);
+        int start = (int) ChronoUnit.DAYS.between(today, checkInDate);
+        int end = (int) ChronoUnit.DAYS.between(today, checkOutDate);
+        long roomCents = table.sum(start, end);
+        return new PriceQuote(hotelId, type.name(), checkInDate, checkOutDate, end - start, numberOfRooms,
+                roomCents / 100.0, roomCents * numberOfRooms / 100.0);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        for (RoomType roomType : RoomType.values()) {
+            tables.invalidate(key(event.getHotelId(), roomType));
+        }
+    }
+    
+    private PriceTable table(Long hotelId, RoomType roomType, LocalDate today) {
+        String key = key(hotelId, roomType);
+        // A table built from a hotel read before a change commits is not kept
+        long generation = tables.generation();
+        PriceTable table = tables.get(key);
+        if (table != null && table.baseDate.equals(today)) {
+            InventoryCalendar.NightChanges changes = inventoryCalendar.changesSince(hotelId, roomType, table.ledgerId,
+                    table.version, today, table.nights());
+            if (changes != null) {
+                if (changes.version == table.version) {
+                    return table;
+                }
+                table = reprice(table, changes);
+                tables.put(key, table, generation);
+                return table;
+            }
+        }
+        table = build(hotelId, roomType, today);
+        tables.put(key, table, generation);
+        return table;
+    }
+    
+    private PriceTable build(Long hotelId, RoomType roomType, LocalDate today) {
+        Hotel hotel = hotelRepository.findById(hotelId)
+                .orElseThrow(() -> new RuntimeException("Hotel not found with id: " + hotelId));
+        double baseRate = roomType == RoomType.AC ? hotel.getAcRoomCost() : hotel.getNonAcRoomCost();
+        InventoryCalendar.NightOccupancy occupancy = inventoryCalendar.occupancy(hotelId, roomType, today, horizonDays);
+        
+        long[] prefix = new long[horizonDays + 1];
+        int dayOfWeek = today.getDayOfWeek().getValue() - 1;
+        for (int night = 0; night < horizonDays; night++) {
+            prefix[night + 1] = prefix[night]
+                    + nightCents(baseRate, dayOfWeek + night, occupancy.booked[night], occupancy.totalRooms);
+        }
+        return new PriceTable(today, baseRate, occupancy.totalRooms, occupancy.ledgerId, occupancy.version, prefix);
+    }
+    
+    // A copy of the table with the changed nights repriced and every later prefix shifted by the difference
+    private PriceTable reprice(PriceTable table, InventoryCalendar.NightChanges changes) {
+        long[] prefix = table.prefix.clone();
+        int dayOfWeek = table.baseDate.getDayOfWeek().getValue() - 1;
+        int end = changes.start + changes.booked.length;
+        long shift = 0;
+        for (int night = changes.start; night < table.nights(); night++) {
+            if (night < end) {
+                long cents = nightCents(table.baseRate, dayOfWeek + night, changes.booked[night - changes.start],
+                        table.totalRooms);
+                shift += cents - table.sum(night, night + 1);
+            }
+            prefix[night + 1] += shift;
+        }
+        return new PriceTable(table.baseDate, table.baseRate, table.totalRooms, table.ledgerId, changes.version, prefix);
+    }
+    
+    private long nightCents(double baseRate, int dayOfWeek, int booked, int totalRooms) {
+        return Math.round(baseRate * dayMultipliers[dayOfWeek % 7] * bandMultiplier(booked, totalRooms) * 100);
+    }
+    
+    private double bandMultiplier(int booked, int totalRooms) {
+        double occupancy = totalRooms > 0 ? (double) booked / totalRooms : 0.0;
+        double multiplier = 1.0;
+        for (int i = 0; i < bandThresholds.length && occupancy >= bandThresholds[i]; i++) {
+            multiplier = bandMultipliers[i];
+        }
+        return multiplier;
+    }
+    
+    private static String key(Long hotelId, RoomType roomType) {
+        return hotelId + ":" + roomType.name();
+    }
+    
+    /**
+     * prefix[i] is the price in cents of the first i nights from baseDate, so nights [start, end)
+     * cost prefix[end] - prefix[start].
+     */
+    static final class PriceTable {
+        
+        final LocalDate baseDate;
+        final double baseRate;
+        final int totalRooms;
+        final long ledgerId;
+        final long version;
+        private final long[] prefix;
+        
+        PriceTable(LocalDate baseDate, double baseRate, int totalRooms, long ledgerId, long version, long[] prefix) {
+            this.baseDate = baseDate;
+            this.baseRate = baseRate;
+            this.totalRooms = totalRooms;
+            this.ledgerId = ledgerId;
+            this.version = version;
+            this.prefix = prefix;
+        }
+        
+        int nights() {
+            return prefix.length - 1;
+        }
+        
+        long sum(int start, int end) {
+            return prefix[end] - prefix[start];
+        }
+    }
+}
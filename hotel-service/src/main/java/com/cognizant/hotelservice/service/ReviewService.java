@@ -0,0 +1,14 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Review;
+import com.cognizant.hotelservice.model.ReviewPage;
+import com.cognizant.hotelservice.model.ReviewRequest;
+
+public interface ReviewService {
+    
+    // Stores the review and folds it into the hotel's rating in the same transaction
+    Review submitReview(Long hotelId, ReviewRequest request);
+    
+    // Newest first; cursor is the nextCursor of the previous page, or null for the first
+    ReviewPage getReviews(Long hotelId, Long cursor, int size);
+}
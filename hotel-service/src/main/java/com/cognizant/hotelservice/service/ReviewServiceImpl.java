@@ -0,0 +1,83 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Review;
+import com.cognizant.hotelservice.model.ReviewPage;
+import com.cognizant.hotelservice.model.ReviewRequest;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import com.cognizant.hotelservice.repository.ReviewRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reviews update the hotel's rating as they arrive: one UPDATE adds the rating to the stored count
+ * and sum and sets avgRatingByCustomers to
+ *
+ *     (priorWeight * priorMean + sum) / (priorWeight + count)
+ *
+ * so a hotel with a handful of reviews sits near priorMean instead of at the extremes, and
+ * rating-sorted search reads the stored value like any other field.
+ */
+@Service
+public class ReviewServiceImpl implements ReviewService {
+    
+    @Value("${hotel.reviews.prior-mean:3.5}")
+    private double priorMean;
+    
+    @Value("${hotel.reviews.prior-weight:10}")
+    private double priorWeight;
+    
+    @Autowired
+    private ReviewRepository reviewRepository;
+    
+    @Autowired
+    private HotelRepository hotelRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Override
+    @Transactional
+    public Review submitReview(Long hotelId, ReviewRequest request) {
+        // The UPDATE locks the hotel row until commit, so a second review by the same user waits
+        // here and then sees the first one; the unique key backs this up
+        if (hotelRepository.addRating(hotelId, request.getRating(), priorMean, priorWeight) == 0) {
+            throw new RuntimeException("Hotel not found with id: " + hotelId);
+        }
+        if (reviewRepository.existsByHotelIdAndUserId(hotelId, request.getUserId())) {
+            throw new RuntimeException("User " + request.getUserId() + " has already reviewed hotel " + hotelId);
+        }
+        Review review = reviewRepository.save(
+                new Review(hotelId, request.getUserId(), request.getRating(), request.getComment()));
+        // Search index and near-cache pick up the new rating after commit
+        hotelRepository.findById(hotelId).ifPresent(
+                hotel -> eventPublisher.publishEvent(new HotelChangedEvent(hotelId, hotel.copy())));
+        return review;
+    }
+    
+    @Override
+    public ReviewPage getReviews(Long hotelId, Long cursor, int size) {
+        // One row more than asked tells whether another page follows
+        List<Review> reviews = reviewRepository.findPageBefore(hotelId, cursor != null ? cursor : Long.MAX_VALUE,
+                PageRequest.of(0, size + 1));
+        if (reviews.size() <= size) {
+            return new ReviewPage(reviews, null);
+        }
+        List<Review> page = new ArrayList<>(reviews.subList(0, size));
+        return new ReviewPage(page, page.get(size - 1).getReviewId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (event.isDeleted()) {
+            reviewRepository.deleteByHotelId(event.getHotelId());
+        }
+    }
+}
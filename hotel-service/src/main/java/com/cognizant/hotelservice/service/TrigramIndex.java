@@ -0,0 +1,351 @@
+package com.cognizant.hotelservice.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Trigram inverted index over hotel names. Each name is normalized to lower-case words separated by
+ * single spaces and padded with one space on each side, so " grand plaza " yields " gr", "gra", ...,
+ * "d p", " pl", ..., "za ". Every indexed name gets a slot number; each trigram maps to the sorted
+ * slots whose name contains it.
+ *
+ * Posting lists are split by the number of distinct trigrams in the name. A name containing every
+ * trigram of a query has similarity |query| / |name|, so walking the splits from the fewest
+ * trigrams up yields matches best first and a typeahead lookup stops as soon as it has enough.
+ * Within a split, lists are intersected by walking the shortest and galloping through the others.
+ *
+ * Slots are append-only: a renamed or removed hotel leaves a dead slot that is dropped from every
+ * posting list and reclaimed on the next rebuild of the catalog.
+ */
+final class TrigramIndex {
+
+    // Names with more trigrams share the last split and are ordered by similarity afterwards
+    private static final int MAX_SPLIT = 255;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotsByHotel = new HashMap<>();
+    private final int[] splitSizes = new int[MAX_SPLIT + 1];
+
+    private long[] hotelIds = new long[1024];
+    private String[] lowerNames = new String[1024];
+    private String[] normalizedNames = new String[1024];
+    private int[] trigramCounts = new int[1024];
+    private int slotCount;
+
+    void add(Long hotelId, String hotelName) {
+        String lowerName = hotelName == null ? "" : hotelName.toLowerCase(Locale.ROOT);
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotsByHotel.get(hotelId);
+            if (existing != null) {
+                if (lowerName.equals(lowerNames[existing])) {
+                    return;
+                }
+                removeSlot(existing);
+            }
+            int slot = slotCount++;
+            ensureCapacity(slotCount);
+            String normalized = normalize(lowerName);
+            long[] trigrams = trigrams(" " + normalized + " ");
+            hotelIds[slot] = hotelId;
+            lowerNames[slot] = lowerName;
+            normalizedNames[slot] = normalized;
+            trigramCounts[slot] = trigrams.length;
+            int split = split(trigrams.length);
+            for (long trigram : trigrams) {
+                postings.computeIfAbsent(key(split, trigram), k -> new Postings()).append(slot);
+            }
+            splitSizes[split]++;
+            slotsByHotel.put(hotelId, slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long hotelId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByHotel.remove(hotelId);
+            if (slot != null) {
+                removeSlot(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByHotel.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hotels whose name contains the fragment, ignoring case, like SQL LIKE '%fragment%', in no
+     * particular order. Fragments too short to have a trigram fall back to scanning the names.
+     */
+    List<Long> findContaining(String fragment) {
+        String needle = fragment == null ? "" : fragment.trim().toLowerCase(Locale.ROOT);
+        long[] trigrams = trigrams(normalize(needle));
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (trigrams.length == 0) {
+                for (int slot = 0; slot < slotCount; slot++) {
+                    if (lowerNames[slot] != null && lowerNames[slot].contains(needle)) {
+                        ids.add(hotelIds[slot]);
+                    }
+                }
+                return ids;
+            }
+            for (int split = trigrams.length; split <= MAX_SPLIT; split++) {
+                intersect(split, trigrams, Integer.MAX_VALUE, slot -> {
+                    if (lowerNames[slot].contains(needle)) {
+                        ids.add(hotelIds[slot]);
+                        return true;
+                    }
+                    return false;
+                });
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Top matches for a typeahead query, best first. Every query word must start a word in the name;
+     * matches are ranked by trigram similarity, then by the order the hotels were indexed.
+     */
+    List<Match> suggest(String query, int limit) {
+        String normalized = normalize(query);
+        List<Match> matches = new ArrayList<>();
+        if (normalized.isEmpty() || limit < 1) {
+            return matches;
+        }
+        // No trailing pad: the last word may still be incomplete
+        long[] trigrams = trigrams(" " + normalized);
+        String[] words = normalized.split(" ");
+        lock.readLock().lock();
+        try {
+            if (trigrams.length == 0) {
+                // A single letter has no trigram; take the first names with a word starting with it
+                for (int slot = 0; slot < slotCount && matches.size() < limit; slot++) {
+                    if (normalizedNames[slot] != null && startsWords(normalizedNames[slot], words)) {
+                        matches.add(new Match(hotelIds[slot], 0.0));
+                    }
+                }
+                return matches;
+            }
+            for (int split = trigrams.length; split <= MAX_SPLIT && matches.size() < limit; split++) {
+                intersect(split, trigrams, limit - matches.size(), slot -> {
+                    if (startsWords(normalizedNames[slot], words)) {
+                        matches.add(new Match(hotelIds[slot], (double) trigrams.length / trigramCounts[slot]));
+                        return true;
+                    }
+                    return false;
+                });
+            }
+            // Only the last split can hold names of different lengths
+            matches.sort((a, b) -> Double.compare(b.similarity, a.similarity));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Offers every slot of the split present in all posting lists to accept, in slot order, until
+     * accept has returned true cap times.
+     */
+    private void intersect(int split, long[] trigrams, int cap, IntPredicate accept) {
+        if (splitSizes[split] == 0) {
+            return;
+        }
+        Postings[] lists = new Postings[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            lists[i] = postings.get(key(split, trigrams[i]));
+            if (lists[i] == null) {
+                return;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        int[] cursors = new int[lists.length];
+        int accepted = 0;
+        outer:
+        for (int i = 0; i < lists[0].size && accepted < cap; i++) {
+            int slot = lists[0].slots[i];
+            for (int k = 1; k < lists.length; k++) {
+                cursors[k] = lists[k].seek(slot, cursors[k]);
+                if (cursors[k] >= lists[k].size) {
+                    return;
+                }
+                if (lists[k].slots[cursors[k]] != slot) {
+                    continue outer;
+                }
+            }
+            if (accept.test(slot)) {
+                accepted++;
+            }
+        }
+    }
+
+    // True if each word starts some word of the name
+    private static boolean startsWords(String normalizedName, String[] words) {
+        for (String word : words) {
+            int from = normalizedName.indexOf(word);
+            while (from > 0 && normalizedName.charAt(from - 1) != ' ') {
+                from = normalizedName.indexOf(word, from + 1);
+            }
+            if (from < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeSlot(int slot) {
+        int split = split(trigramCounts[slot]);
+        for (long trigram : trigrams(" " + normalizedNames[slot] + " ")) {
+            long key = key(split, trigram);
+            Postings list = postings.get(key);
+            if (list != null) {
+                list.remove(slot);
+                if (list.size == 0) {
+                    postings.remove(key);
+                }
+            }
+        }
+        splitSizes[split]--;
+        lowerNames[slot] = null;
+        normalizedNames[slot] = null;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= hotelIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, hotelIds.length * 2);
+        hotelIds = Arrays.copyOf(hotelIds, capacity);
+        lowerNames = Arrays.copyOf(lowerNames, capacity);
+        normalizedNames = Arrays.copyOf(normalizedNames, capacity);
+        trigramCounts = Arrays.copyOf(trigramCounts, capacity);
+    }
+
+    private static int split(int trigramCount) {
+        return Math.min(trigramCount, MAX_SPLIT);
+    }
+
+    // A trigram takes the low 48 bits, the split the 8 above them
+    private static long key(int split, long trigram) {
+        return ((long) split << 48) | trigram;
+    }
+
+    // Lower case, letters and digits only, words separated by single spaces
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = Character.toLowerCase(value.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    // Distinct trigrams, each packed as three 16-bit chars
+    static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        Set<Long> distinct = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            distinct.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        long[] trigrams = new long[distinct.size()];
+        int i = 0;
+        for (Long trigram : distinct) {
+            trigrams[i++] = trigram;
+        }
+        return trigrams;
+    }
+
+    // Sorted, growable slot list for one trigram in one split
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        // Slots are handed out in increasing order, so appending keeps the list sorted
+        void append(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index >= 0) {
+                System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+                size--;
+            }
+        }
+
+        // First index at or after from whose slot is >= target
+        int seek(int target, int from) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && slots[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (slots[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    static final class Match {
+
+        final long hotelId;
+        final double similarity;
+
+        Match(long hotelId, double similarity) {
+            this.hotelId = hotelId;
+            this.similarity = similarity;
+        }
+    }
+}
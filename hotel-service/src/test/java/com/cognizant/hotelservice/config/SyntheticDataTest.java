@@ -0,0 +1,68 @@
+package com.cognizant.hotelservice.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataTest {
+
+    private final SyntheticData data = new SyntheticData(42, 100_000, 500, 1.0);
+
+    @Test
+    void hotel_IsAFunctionOfSeedAndId() {
+        // Given
+        SyntheticData again = new SyntheticData(42, 100_000, 500, 1.0);
+        SyntheticData otherSeed = new SyntheticData(7, 100_000, 500, 1.0);
+
+        // When
+        SyntheticData.Hotel hotel = data.hotel(12_345);
+
+        // Then - same settings give the same rows, whichever order they are asked for in
+        assertEquals(hotel.hotelName, again.hotel(12_345).hotelName);
+        assertEquals(hotel.latitude, again.hotel(12_345).latitude);
+        assertNotEquals(hotel.acRoomCost, otherSeed.hotel(12_345).acRoomCost);
+    }
+
+    @Test
+    void hotel_PricesMatchWhatReservationServiceRecomputes() {
+        // The same values are pinned in reservation-service's and payment-service's SyntheticDataTest
+        assertEquals(7450.0, data.hotel(12_345).acRoomCost);
+        assertEquals(4550.0, data.hotel(12_345).nonAcRoomCost);
+        assertEquals(11400.0, data.hotel(280).acRoomCost);
+        assertEquals(8100.0, data.hotel(280).nonAcRoomCost);
+    }
+
+    @Test
+    void cityRanges_CoverEveryHotelWithZipfSizes() {
+        // When
+        long[] start = SyntheticData.cityRanges(100_000, 500, 1.0);
+
+        // Then
+        assertEquals(0, start[0]);
+        assertEquals(100_000, start[500]);
+        for (int c = 0; c < 500; c++) {
+            assertTrue(start[c + 1] > start[c], "city " + c + " has no hotels");
+        }
+        long first = start[1] - start[0];
+        long second = start[2] - start[1];
+        assertEquals(2.0, (double) first / second, 0.01);
+        assertEquals(0, data.cityOf(1));
+        assertEquals(499, data.cityOf(100_000));
+        assertEquals("Mumbai", data.hotel(1).city);
+    }
+
+    @Test
+    void hotel_RowsAreWithinBounds() {
+        for (long id = 1; id <= 2_000; id++) {
+            // When
+            SyntheticData.Hotel hotel = data.hotel(id);
+
+            // Then
+            assertTrue(hotel.totalAcRooms >= 5 && hotel.totalAcRooms <= 300);
+            assertTrue(hotel.nonAcRoomCost <= hotel.acRoomCost);
+            assertTrue(hotel.avgRatingByCustomers >= 2.5 && hotel.avgRatingByCustomers <= 5.0);
+            assertTrue(hotel.latitude >= -90 && hotel.latitude <= 90);
+            assertTrue(hotel.longitude >= -180 && hotel.longitude <= 180);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.cognizant.hotelservice.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares one batch availability call with N single room-availability calls through the
+ * api-gateway. Needs the running stack (gateway, eureka and hotel-service with some hotels):
+ *
+ *   mvn test -Dtest=BatchAvailabilityBenchmarkTest -Dbenchmark.gateway-url=http://localhost:8080/api
+ */
+@EnabledIfSystemProperty(named = "benchmark.gateway-url", matches = ".+")
+class BatchAvailabilityBenchmarkTest {
+
+    private static final int RESULT_PAGE_SIZE = 50;
+    private static final int ROUNDS = 20;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void batchVersusSingleCalls() throws Exception {
+        String baseUrl = System.getProperty("benchmark.gateway-url");
+        List<Long> hotelIds = loadHotelIds(baseUrl);
+        assertFalse(hotelIds.isEmpty(), "No hotels found behind " + baseUrl);
+
+        ArrayNode batch = objectMapper.createArrayNode();
+        for (Long hotelId : hotelIds) {
+            batch.addObject().put("hotelId", hotelId).put("roomType", "AC").put("numberOfRooms", 1);
+        }
+        HttpRequest batchRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/hotels/availability/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(batch)))
+                .build();
+
+        // Warm up both paths before timing
+        send(batchRequest);
+        runSingleCalls(baseUrl, hotelIds);
+
+        long singleNanos = 0;
+        long batchNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            runSingleCalls(baseUrl, hotelIds);
+            singleNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            JsonNode result = objectMapper.readTree(send(batchRequest));
+            batchNanos += System.nanoTime() - start;
+            assertEquals(hotelIds.size(), result.get("availableRooms").size());
+        }
+
+        System.out.printf("%d hotels per page: %d single calls %.1f ms/page, 1 batch call %.1f ms/page%n",
+                hotelIds.size(), hotelIds.size(),
+                singleNanos / 1_000_000.0 / ROUNDS, batchNanos / 1_000_000.0 / ROUNDS);
+    }
+
+    private void runSingleCalls(String baseUrl, List<Long> hotelIds) throws Exception {
+        for (Long hotelId : hotelIds) {
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/hotels/" + hotelId
+                    + "/room-availability?roomType=AC&numberOfRooms=1")).GET().build());
+        }
+    }
+
+    private List<Long> loadHotelIds(String baseUrl) throws Exception {
+        JsonNode hotels = objectMapper.readTree(send(HttpRequest.newBuilder(URI.create(baseUrl + "/hotels")).GET().build()));
+        List<Long> hotelIds = new ArrayList<>();
+        for (JsonNode hotel : hotels) {
+            if (hotelIds.size() == RESULT_PAGE_SIZE) {
+                break;
+            }
+            hotelIds.add(hotel.get("hotelId").asLong());
+        }
+        return hotelIds;
+    }
+
+    private String send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return response.body();
+    }
+}
@@ -0,0 +1,88 @@
+package com.cognizant.hotelservice.controller;
+
+import com.cognizant.hotelservice.model.ImageFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageResponsesTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private ImageFile image;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = Files.write(uploadDir.resolve("photo.png"), "0123456789".getBytes());
+        image = new ImageFile(file, "photo.png", "image/png", 10);
+    }
+
+    @Test
+    void write_FullBodyWithValidators() throws Exception {
+        // When
+        MockHttpServletResponse response = send(new MockHttpServletRequest("GET", "/hotels/1/image"));
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("image/png", response.getContentType());
+        assertEquals("\"photo.png\"", response.getHeader("ETag"));
+        assertEquals("no-cache", response.getHeader("Cache-Control"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void write_NotModifiedWhenEtagMatches() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels/1/image");
+        request.addHeader("If-None-Match", "\"other\", W/\"photo.png\"");
+
+        // When
+        MockHttpServletResponse response = send(request);
+
+        // Then
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void write_ServesSingleRanges() throws Exception {
+        // When & Then
+        MockHttpServletResponse partial = send(withRange("bytes=2-4"));
+        assertEquals(206, partial.getStatus());
+        assertEquals("bytes 2-4/10", partial.getHeader("Content-Range"));
+        assertEquals("234", partial.getContentAsString());
+
+        assertEquals("789", send(withRange("bytes=-3")).getContentAsString());
+        assertEquals("89", send(withRange("bytes=8-")).getContentAsString());
+
+        MockHttpServletResponse unsatisfiable = send(withRange("bytes=10-"));
+        assertEquals(416, unsatisfiable.getStatus());
+        assertEquals("bytes */10", unsatisfiable.getHeader("Content-Range"));
+
+        // A range for an older version of the image gets the whole current one
+        MockHttpServletRequest stale = withRange("bytes=2-4");
+        stale.addHeader("If-Range", "\"old.png\"");
+        assertEquals(200, send(stale).getStatus());
+    }
+
+    private MockHttpServletRequest withRange(String range) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels/1/image");
+        request.addHeader("Range", range);
+        return request;
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ImageResponses.write(image, "no-cache", request, response);
+        return response;
+    }
+}
@@ -0,0 +1,225 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.HotelFacets;
+import com.cognizant.hotelservice.model.HotelSearchCriteria;
+import com.cognizant.hotelservice.model.HotelSearchPage;
+import com.cognizant.hotelservice.model.HotelSearchSort;
+import com.cognizant.hotelservice.model.HotelSuggestion;
+import com.cognizant.hotelservice.model.HotelSummary;
+import com.cognizant.hotelservice.model.NearbyHotel;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogIndexTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @InjectMocks
+    private CatalogIndex catalogIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(hotelRepository.findAll()).thenReturn(Arrays.asList(
+            hotel(1L, "Grand Plaza", "Mumbai", "Maharashtra", 5000.0, 3000.0),
+            hotel(2L, "Sea Breeze", "MUMBAI ", "Maharashtra", 2500.0, 1800.0),
+            hotel(3L, "Hill Top", "Pune", "Maharashtra", 3000.0, 2000.0)));
+        catalogIndex.rebuild();
+    }
+
+    @Test
+    void findByCity_NormalizesKeys() {
+        // When
+        List<Long> result = catalogIndex.findByCity("mumbai");
+
+        // Then
+        assertEquals(Arrays.asList(1L, 2L), result);
+        assertEquals(Arrays.asList(1L, 2L, 3L), catalogIndex.findByState("MAHARASHTRA"));
+        assertEquals(Collections.emptyList(), catalogIndex.findByCountry("Nepal"));
+    }
+
+    @Test
+    void findByCityAndMaxAcCost_CheapestFirstUpToCutoff() {
+        // When & Then
+        assertEquals(Arrays.asList(2L, 1L), catalogIndex.findByCityAndMaxAcCost("Mumbai", 5000.0));
+        assertEquals(Arrays.asList(2L), catalogIndex.findByCityAndMaxAcCost("Mumbai", 4999.99));
+        assertEquals(Collections.emptyList(), catalogIndex.findByCityAndMaxNonAcCost("Mumbai", 1000.0));
+    }
+
+    @Test
+    void upsertAndRemove_UpdateOnlyAffectedBuckets() {
+        // When - hotel 2 moves to Pune and gets cheaper, hotel 3 is deleted
+        catalogIndex.upsert(hotel(2L, "Sea Breeze", "Pune", "Maharashtra", 1500.0, 1000.0));
+        catalogIndex.remove(3L);
+
+        // Then
+        assertEquals(Arrays.asList(1L), catalogIndex.findByCity("Mumbai"));
+        assertEquals(Arrays.asList(2L), catalogIndex.findByCityAndMaxAcCost("pune", 2000.0));
+        assertEquals(Arrays.asList(1L, 2L), catalogIndex.findByState("Maharashtra"));
+        assertEquals(2, catalogIndex.size());
+        verify(hotelRepository, times(1)).findAll();
+    }
+
+    @Test
+    void upsertAll_AddsNewHotelsAndMovesExistingOnes() {
+        // Given - two new hotels and hotel 1 moving from Mumbai to Pune
+        Hotel moved = hotel(1L, "Grand Plaza", "Pune", "Maharashtra", 5000.0, 3000.0);
+        Hotel added = hotel(4L, "Lake View", "Pune", "Maharashtra", 2000.0, 1200.0);
+        Hotel located = hotel(5L, "Harbour Inn", "Mumbai", "Maharashtra", 3500.0, 2200.0);
+        located.setLatitude(18.94);
+        located.setLongitude(72.83);
+
+        // When
+        catalogIndex.upsertAll(Arrays.asList(moved, added, located));
+
+        // Then
+        assertEquals(Arrays.asList(2L, 5L), catalogIndex.findByCity("Mumbai"));
+        assertEquals(Arrays.asList(1L, 3L, 4L), catalogIndex.findByCity("Pune"));
+        assertEquals(Arrays.asList(4L, 3L), catalogIndex.findByCityAndMaxAcCost("Pune", 3000.0));
+        assertEquals(Arrays.asList(4L), catalogIndex.findByNameContaining("lake"));
+        assertEquals(5L, catalogIndex.nearby(18.94, 72.83, 1.0, 5, summary -> true).get(0).getHotel().getHotelId());
+        assertEquals(5, catalogIndex.size());
+    }
+
+    @Test
+    void suggest_FollowsRenames() {
+        // When - hotel 3 is renamed
+        catalogIndex.upsert(hotel(3L, "Sea View Residency", "Pune", "Maharashtra", 3000.0, 2000.0));
+        List<HotelSuggestion> suggestions = catalogIndex.suggest("sea", 5);
+
+        // Then
+        assertEquals(2, suggestions.size());
+        assertEquals(2L, suggestions.get(0).getHotelId());
+        assertEquals("MUMBAI ", suggestions.get(0).getCity());
+        assertEquals(3L, suggestions.get(1).getHotelId());
+        assertEquals(Arrays.asList(3L), catalogIndex.findByNameContaining("view"));
+        assertEquals(Collections.emptyList(), catalogIndex.findByNameContaining("hill"));
+    }
+
+    @Test
+    void search_PagesByPriceWithCursor() {
+        // Given - hotel 4 has the same AC price as hotel 3, so the id breaks the tie
+        catalogIndex.upsert(hotel(4L, "Lake View", "Pune", "Maharashtra", 3000.0, 2200.0));
+        HotelSearchCriteria criteria = new HotelSearchCriteria();
+        criteria.setState("maharashtra");
+        criteria.setMaxPrice(4000.0);
+
+        // When
+        HotelSearchPage first = catalogIndex.search(criteria, HotelSearchSort.PRICE_ASC, RoomType.AC, 2);
+        criteria.setCursor(first.getNextCursor());
+        HotelSearchPage second = catalogIndex.search(criteria, HotelSearchSort.PRICE_ASC, RoomType.AC, 2);
+
+        // Then - hotel 1 costs 5000 and is filtered out
+        assertEquals(Arrays.asList(2L, 3L), idsOf(first));
+        assertEquals(Arrays.asList(4L), idsOf(second));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void search_CombinesFiltersAndWalksBucketById() {
+        // Given
+        HotelSearchCriteria criteria = new HotelSearchCriteria();
+        criteria.setCity("Mumbai");
+        criteria.setMinRating(4.0);
+
+        // When
+        HotelSearchPage first = catalogIndex.search(criteria, HotelSearchSort.ID, null, 1);
+        criteria.setCursor(first.getNextCursor());
+        HotelSearchPage second = catalogIndex.search(criteria, HotelSearchSort.ID, null, 1);
+
+        // Then - a cursor only continues the sort order it came from
+        assertEquals(Arrays.asList(1L), idsOf(first));
+        assertEquals(Arrays.asList(2L), idsOf(second));
+        assertNull(second.getNextCursor());
+        assertThrows(RuntimeException.class,
+                () -> catalogIndex.search(criteria, HotelSearchSort.PRICE_DESC, null, 10));
+        criteria.setCursor(null);
+        criteria.setName("breeze");
+        assertEquals(Arrays.asList(2L), idsOf(catalogIndex.search(criteria, HotelSearchSort.NAME_ASC, null, 10)));
+    }
+
+    @Test
+    void nearby_FollowsMovesAndSkipsUnlocatedHotels() {
+        // Given - hotels 1 and 2 on Marine Drive, 3 has no coordinates
+        catalogIndex.upsert(located(hotel(1L, "Grand Plaza", "Mumbai", "Maharashtra", 5000.0, 3000.0), 18.944, 72.823));
+        catalogIndex.upsert(located(hotel(2L, "Sea Breeze", "Mumbai", "Maharashtra", 2500.0, 1800.0), 18.932, 72.824));
+
+        // When
+        List<NearbyHotel> before = catalogIndex.nearby(18.940, 72.823, 5, 10, summary -> true);
+        catalogIndex.upsert(located(hotel(1L, "Grand Plaza", "Pune", "Maharashtra", 5000.0, 3000.0), 18.520, 73.856));
+        List<NearbyHotel> after = catalogIndex.nearby(18.940, 72.823, 5, 10, summary -> true);
+
+        // Then
+        assertEquals(Arrays.asList(1L, 2L), nearbyIds(before));
+        assertEquals(0.44, before.get(0).getDistanceKm(), 0.01);
+        assertEquals(Arrays.asList(2L), nearbyIds(after));
+        assertEquals(Arrays.asList(1L), nearbyIds(catalogIndex.nearby(18.5, 73.8, 10, 10, summary -> true)));
+        assertEquals(Collections.emptyList(),
+                nearbyIds(catalogIndex.nearby(18.940, 72.823, 5, 10, summary -> summary.getAcRoomCost() < 2000)));
+    }
+
+    @Test
+    void facets_RefreshOnUpsertAndRemove() {
+        // Given
+        HotelSearchCriteria criteria = new HotelSearchCriteria();
+        criteria.setName("a");
+
+        // When - hotel 3 moves to Mumbai, then hotel 1 is deleted
+        catalogIndex.upsert(hotel(3L, "Hill Top", "Mumbai", "Maharashtra", 3000.0, 2000.0));
+        HotelFacets moved = catalogIndex.facets(criteria, null, 10, 10);
+        catalogIndex.remove(1L);
+        HotelFacets removed = catalogIndex.facets(criteria, null, 10, 10);
+
+        // Then - "Hill Top" has no "a"
+        assertEquals(2, moved.getTotal());
+        assertEquals(1, moved.getCities().size());
+        assertEquals("Mumbai", moved.getCities().get(0).getValue());
+        assertEquals(2, moved.getCities().get(0).getCount());
+        assertEquals(1, removed.getTotal());
+        assertEquals(1, removed.getCountries().get(0).getCount());
+    }
+
+    private List<Long> nearbyIds(List<NearbyHotel> hotels) {
+        List<Long> ids = new ArrayList<>();
+        for (NearbyHotel nearby : hotels) {
+            ids.add(nearby.getHotel().getHotelId());
+        }
+        return ids;
+    }
+
+    private Hotel located(Hotel hotel, double latitude, double longitude) {
+        hotel.setLatitude(latitude);
+        hotel.setLongitude(longitude);
+        return hotel;
+    }
+
+    private List<Long> idsOf(HotelSearchPage page) {
+        List<Long> ids = new ArrayList<>();
+        for (HotelSummary summary : page.getHotels()) {
+            ids.add(summary.getHotelId());
+        }
+        return ids;
+    }
+
+    private Hotel hotel(Long hotelId, String name, String city, String state, Double acCost, Double nonAcCost) {
+        Hotel hotel = new Hotel(name, "1 Road", city, state, "India", "Test", 4.0, acCost, nonAcCost, 5, 5);
+        hotel.setHotelId(hotelId);
+        return hotel;
+    }
+}
@@ -0,0 +1,80 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.HotelSearchCriteria;
+import com.cognizant.hotelservice.model.HotelSummary;
+import com.cognizant.hotelservice.model.RoomType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads synthetic hotels spread over a few thousand cities into the facet snapshot and times facet
+ * requests, from unfiltered to narrowed by location and price:
+ *
+ *   mvn test -Dtest=FacetIndexBenchmarkTest -Dbenchmark.hotels=1000000 -DargLine=-Xmx2g
+ */
+@EnabledIfSystemProperty(named = "benchmark.hotels", matches = "\\d+")
+class FacetIndexBenchmarkTest {
+
+    private static final int COUNTRIES = 50;
+    private static final int STATES = 500;
+    private static final int CITIES = 5000;
+    private static final int QUERIES = 200;
+
+    @Test
+    void facetLatency() {
+        int hotels = Integer.parseInt(System.getProperty("benchmark.hotels"));
+        Random random = new Random(42);
+        FacetIndex index = new FacetIndex();
+        long start = System.nanoTime();
+        for (int i = 0; i < hotels; i++) {
+            // Skewed, so a few cities hold most hotels
+            int city = (int) (CITIES * Math.pow(random.nextDouble(), 2));
+            index.add(new HotelSummary((long) i + 1, "Hotel " + i, "City " + city, "State " + city % STATES,
+                    "Country " + city % COUNTRIES, Math.round(random.nextDouble() * 50) / 10.0,
+                    1000 + random.nextInt(9000) * 1.0, 500 + random.nextInt(6000) * 1.0, null,
+                    random.nextInt(20), random.nextInt(20), null, null));
+        }
+        System.out.printf("Loaded %d hotels in %d ms%n", hotels, (System.nanoTime() - start) / 1_000_000);
+
+        HotelSearchCriteria all = new HotelSearchCriteria();
+        HotelSearchCriteria country = new HotelSearchCriteria();
+        country.setCountry("Country 7");
+        country.setMinRating(3.5);
+        HotelSearchCriteria city = new HotelSearchCriteria();
+        city.setCity("City 3");
+        city.setState("State 3");
+        city.setMaxPrice(4000.0);
+
+        for (int i = 0; i < 20; i++) {
+            index.facets(all, null, null, 20, 20);
+        }
+        report("unfiltered", hotels, time(index, all, null));
+        report("country + rating", hotels, time(index, country, null));
+        report("city + state + max price, AC", hotels, time(index, city, RoomType.AC));
+    }
+
+    private static long[] time(FacetIndex index, HotelSearchCriteria criteria, RoomType roomType) {
+        long[] nanos = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long t0 = System.nanoTime();
+            assertTrue(index.facets(criteria, roomType, null, 20, 20).getTotal() > 0);
+            nanos[i] = System.nanoTime() - t0;
+        }
+        return nanos;
+    }
+
+    private static void report(String operation, int hotels, long[] nanos) {
+        Arrays.sort(nanos);
+        long total = 0;
+        for (long n : nanos) {
+            total += n;
+        }
+        System.out.printf("%s over %d hotels: mean %.2f ms, p50 %.2f ms, p99 %.2f ms%n", operation, hotels,
+                total / 1e6 / nanos.length, nanos[nanos.length / 2] / 1e6, nanos[(int) (nanos.length * 0.99)] / 1e6);
+    }
+}
@@ -0,0 +1,96 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.FacetCount;
+import com.cognizant.hotelservice.model.HistogramBucket;
+import com.cognizant.hotelservice.model.HotelFacets;
+import com.cognizant.hotelservice.model.HotelSearchCriteria;
+import com.cognizant.hotelservice.model.HotelSummary;
+import com.cognizant.hotelservice.model.RoomType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetIndexTest {
+
+    private final FacetIndex index = new FacetIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.add(summary(1L, "Mumbai", "Maharashtra", 4.5, 5000.0, 3000.0));
+        index.add(summary(2L, "MUMBAI ", "Maharashtra", 3.8, 2500.0, 1800.0));
+        index.add(summary(3L, "Pune", "Maharashtra", 4.1, 3000.0, 2000.0));
+        index.add(summary(4L, "Panaji", "Goa", 2.9, 4000.0, null));
+    }
+
+    @Test
+    void facets_EachFacetIgnoresItsOwnFilter() {
+        // Given
+        HotelSearchCriteria criteria = new HotelSearchCriteria();
+        criteria.setCity("mumbai");
+        criteria.setMinRating(4.0);
+
+        // When
+        HotelFacets facets = index.facets(criteria, null, null, 4, 10);
+
+        // Then - only hotel 1 matches both filters
+        assertEquals(1, facets.getTotal());
+        // Cities: every hotel rated 4 or more, whatever its city
+        assertEquals(Arrays.asList("Mumbai=1", "Pune=1"), values(facets.getCities()));
+        assertEquals(Arrays.asList("Maharashtra=1"), values(facets.getStates()));
+        // Ratings: every Mumbai hotel, whatever its rating
+        assertEquals(Arrays.asList(0L, 0L, 0L, 1L, 1L), counts(facets.getRatings()));
+        // Prices: hotels in Mumbai rated 4 or more
+        assertEquals(Arrays.asList(1L), counts(facets.getAcRoomCost()));
+        assertEquals(5000.0, facets.getAcRoomCost().get(0).getFrom());
+    }
+
+    @Test
+    void facets_FollowUpdatesAndBuildHistograms() {
+        // Given - hotel 3 moves to Goa and hotel 2 is deleted
+        index.add(summary(3L, "Panaji", "Goa", 4.1, 3000.0, 2000.0));
+        index.remove(2L);
+        index.add(summary(5L, "Margao", "goa", 4.8, 6000.0, 3500.0));
+        HotelSearchCriteria criteria = new HotelSearchCriteria();
+        criteria.setMaxPrice(3500.0);
+
+        // When
+        HotelFacets facets = index.facets(criteria, RoomType.NON_AC, null, 4, 10);
+
+        // Then - hotel 4 has no non-AC rooms; hotel 5 is over the price but still in the histogram
+        assertEquals(3, facets.getTotal());
+        assertEquals(Arrays.asList("Goa=2", "Maharashtra=1"), values(facets.getStates()));
+        assertEquals(Arrays.asList("Margao=1", "Mumbai=1", "Panaji=1"), values(facets.getCities()));
+        List<HistogramBucket> nonAc = facets.getNonAcRoomCost();
+        assertEquals(Arrays.asList(1L, 0L, 1L, 1L), counts(nonAc));
+        assertEquals(2000.0, nonAc.get(0).getFrom());
+        assertEquals(3500.0, nonAc.get(3).getTo());
+        assertEquals(0, index.facets(criteria, RoomType.NON_AC, Arrays.asList(4L), 4, 10).getTotal());
+    }
+
+    private List<String> values(List<FacetCount> facetCounts) {
+        List<String> values = new ArrayList<>();
+        for (FacetCount facetCount : facetCounts) {
+            values.add(facetCount.getValue() + "=" + facetCount.getCount());
+        }
+        return values;
+    }
+
+    private List<Long> counts(List<HistogramBucket> buckets) {
+        List<Long> counts = new ArrayList<>();
+        for (HistogramBucket bucket : buckets) {
+            counts.add(bucket.getCount());
+        }
+        return counts;
+    }
+
+    private HotelSummary summary(Long hotelId, String city, String state, Double rating, Double acCost,
+                                 Double nonAcCost) {
+        return new HotelSummary(hotelId, "Hotel " + hotelId, city, state, "India", rating, acCost, nonAcCost,
+                null, 5, nonAcCost != null ? 5 : 0, null, null);
+    }
+}
@@ -0,0 +1,100 @@
+package com.cognizant.hotelservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the location index over synthetic hotels, most of them clustered around a few hundred
+ * city centres, and times nearby queries against it:
+ *
+ *   mvn test -Dtest=GeoIndexBenchmarkTest -Dbenchmark.hotels=1000000
+ */
+@EnabledIfSystemProperty(named = "benchmark.hotels", matches = "\\d+")
+class GeoIndexBenchmarkTest {
+
+    private static final int CITIES = 300;
+    private static final int QUERIES = 20_000;
+
+    @Test
+    void nearbyLatency() {
+        int hotels = Integer.parseInt(System.getProperty("benchmark.hotels"));
+        Random random = new Random(42);
+        double[][] cities = new double[CITIES][];
+        for (int i = 0; i < CITIES; i++) {
+            cities[i] = new double[] {-40 + random.nextDouble() * 100, -180 + random.nextDouble() * 360};
+        }
+        long[] ids = new long[hotels];
+        double[] latitudes = new double[hotels];
+        double[] longitudes = new double[hotels];
+        for (int i = 0; i < hotels; i++) {
+            ids[i] = i + 1;
+            if (random.nextInt(10) < 8) {
+                // Within a few km of a city centre, a few cities far busier than the rest
+                double[] city = cities[(int) (CITIES * Math.pow(random.nextDouble(), 3))];
+                latitudes[i] = city[0] + random.nextGaussian() * 0.05;
+                longitudes[i] = city[1] + random.nextGaussian() * 0.05;
+            } else {
+                latitudes[i] = -60 + random.nextDouble() * 130;
+                longitudes[i] = -180 + random.nextDouble() * 360;
+            }
+        }
+
+        long start = System.nanoTime();
+        GeoIndex index = new GeoIndex(ids, latitudes, longitudes, hotels);
+        System.out.printf("Indexed %d hotels in %d ms%n", hotels, (System.nanoTime() - start) / 1_000_000);
+        // A batch of live updates waiting beside the tree, as between rebuilds
+        for (int i = 0; i < 1000; i++) {
+            int hotel = random.nextInt(hotels);
+            index.add(ids[hotel], latitudes[hotel] + 0.01, longitudes[hotel]);
+        }
+
+        double[][] queries = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            double[] city = cities[random.nextInt(CITIES)];
+            queries[i] = new double[] {city[0] + random.nextGaussian() * 0.05, city[1] + random.nextGaussian() * 0.05};
+        }
+        for (double[] query : queries) {
+            index.nearest(query[0], query[1], 5, 20, id -> true);
+        }
+
+        long[] nearNanos = new long[QUERIES];
+        long[] filteredNanos = new long[QUERIES];
+        long[] wideNanos = new long[QUERIES];
+        long found = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            double[] query = queries[i];
+            long t0 = System.nanoTime();
+            int matches = index.nearest(query[0], query[1], 5, 20, id -> true).size();
+            long t1 = System.nanoTime();
+            // Only one hotel in ten has a free room
+            index.nearest(query[0], query[1], 5, 20, id -> id % 10 == 0);
+            long t2 = System.nanoTime();
+            index.nearest(query[0], query[1], 500, 20, id -> id % 10 == 0);
+            wideNanos[i] = System.nanoTime() - t2;
+            assertTrue(matches <= 20);
+            found += matches;
+            filteredNanos[i] = t2 - t1;
+            nearNanos[i] = t1 - t0;
+        }
+        report("5 km, limit 20", hotels, nearNanos);
+        report("5 km, limit 20, 10% available", hotels, filteredNanos);
+        report("500 km, limit 20, 10% available", hotels, wideNanos);
+        System.out.printf("5 km queries returned %.1f hotels on average%n", (double) found / QUERIES);
+    }
+
+    private static void report(String operation, int hotels, long[] nanos) {
+        Arrays.sort(nanos);
+        long total = 0;
+        for (long n : nanos) {
+            total += n;
+        }
+        System.out.printf("%s over %d hotels: mean %.1f us, p50 %.1f us, p99 %.1f us%n", operation, hotels,
+                total / 1000.0 / nanos.length, nanos[nanos.length / 2] / 1000.0,
+                nanos[(int) (nanos.length * 0.99)] / 1000.0);
+    }
+}
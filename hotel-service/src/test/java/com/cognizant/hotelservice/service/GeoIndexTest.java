@@ -0,0 +1,112 @@
+package com.cognizant.hotelservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoIndexTest {
+
+    @Test
+    void nearest_MatchesBruteForceAcrossChangesAndCompaction() {
+        // Given - clustered points in the tree, then enough moves and deletes to force a rebuild
+        Random random = new Random(7);
+        int count = 5000;
+        long[] ids = new long[count];
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        Map<Long, double[]> positions = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+            latitudes[i] = 18.9 + random.nextGaussian() * 0.2;
+            longitudes[i] = 72.8 + random.nextGaussian() * 0.2;
+            positions.put(ids[i], new double[] {latitudes[i], longitudes[i]});
+        }
+        GeoIndex index = new GeoIndex(ids, latitudes, longitudes, count);
+
+        for (int step = 0; step < 3000; step++) {
+            long id = 1 + random.nextInt(count + 500);
+            if (random.nextInt(4) == 0) {
+                index.remove(id);
+                positions.remove(id);
+            } else {
+                double[] position = {18.9 + random.nextGaussian() * 0.2, 72.8 + random.nextGaussian() * 0.2};
+                index.add(id, position[0], position[1]);
+                positions.put(id, position);
+            }
+            if (step % 500 == 0) {
+                assertMatchesBruteForce(index, positions, random);
+            }
+        }
+        assertMatchesBruteForce(index, positions, random);
+    }
+
+    @Test
+    void nearest_WorksAcrossTheAntimeridianAndFilters() {
+        // Given - Fiji straddles 180 degrees; hotel 2 is 0.02 degrees of longitude away
+        GeoIndex index = new GeoIndex();
+        index.add(1L, -17.0, 179.99);
+        index.add(2L, -17.0, -179.99);
+        index.add(3L, -17.5, 179.0);
+
+        // When
+        List<GeoIndex.Match> matches = index.nearest(-17.0, 179.99, 5, 10, id -> true);
+        List<GeoIndex.Match> filtered = index.nearest(-17.0, 179.99, 200, 10, id -> id != 1L);
+
+        // Then - about 2.1 km apart, not 38,000
+        assertEquals(Arrays.asList(1L, 2L), idsOf(matches));
+        assertEquals(2.13, matches.get(1).distanceKm, 0.01);
+        assertEquals(Arrays.asList(2L, 3L), idsOf(filtered));
+    }
+
+    private void assertMatchesBruteForce(GeoIndex index, Map<Long, double[]> positions, Random random) {
+        for (int q = 0; q < 20; q++) {
+            double latitude = 18.9 + random.nextGaussian() * 0.3;
+            double longitude = 72.8 + random.nextGaussian() * 0.3;
+            double radiusKm = 1 + random.nextInt(20);
+            int limit = 1 + random.nextInt(30);
+
+            List<double[]> expected = new ArrayList<>();
+            for (Map.Entry<Long, double[]> entry : positions.entrySet()) {
+                if (entry.getKey() % 3 == 0) {
+                    continue;
+                }
+                double distance = distanceKm(latitude, longitude, entry.getValue()[0], entry.getValue()[1]);
+                if (distance <= radiusKm) {
+                    expected.add(new double[] {entry.getKey(), distance});
+                }
+            }
+            expected.sort(Comparator.comparingDouble((double[] e) -> e[1]));
+
+            List<GeoIndex.Match> actual = index.nearest(latitude, longitude, radiusKm, limit, id -> id % 3 != 0);
+            assertEquals(Math.min(limit, expected.size()), actual.size());
+            for (int i = 0; i < actual.size(); i++) {
+                assertEquals(expected.get(i)[1], actual.get(i).distanceKm, 1e-6);
+            }
+        }
+    }
+
+    // Haversine, as an independent check of the chord arithmetic
+    private static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * GeoIndex.EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    private List<Long> idsOf(List<GeoIndex.Match> matches) {
+        List<Long> ids = new ArrayList<>();
+        for (GeoIndex.Match match : matches) {
+            ids.add(match.hotelId);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,192 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.HoldReleaseRequest;
+import com.cognizant.hotelservice.model.HoldReleaseResult;
+import com.cognizant.hotelservice.model.HoldRequest;
+import com.cognizant.hotelservice.model.HoldStatus;
+import com.cognizant.hotelservice.model.InventoryHold;
+import com.cognizant.hotelservice.model.InventoryResult;
+import com.cognizant.hotelservice.model.RoomRelease;
+import com.cognizant.hotelservice.repository.InventoryHoldRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldServiceImplTest {
+
+    @Mock
+    private InventoryHoldRepository inventoryHoldRepository;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @InjectMocks
+    private HoldServiceImpl holdService;
+
+    private final LocalDate checkIn = LocalDate.now().plusDays(5);
+    private final LocalDate checkOut = LocalDate.now().plusDays(7);
+
+    @Test
+    void createHold_Success() {
+        // Given
+        when(inventoryService.reserveRooms(1L, "AC", 2, checkIn, checkOut))
+            .thenReturn(new InventoryResult(1L, "AC", 2, 3, true, checkIn, checkOut));
+        when(inventoryHoldRepository.save(any(InventoryHold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Optional<InventoryHold> result = holdService.createHold(1L, new HoldRequest("ac", 2, checkIn, checkOut));
+
+        // Then
+        assertTrue(result.isPresent());
+        assertNotNull(result.get().getHoldToken());
+        assertEquals("AC", result.get().getRoomType());
+        assertEquals(HoldStatus.HELD, result.get().getStatus());
+    }
+
+    @Test
+    void createHold_InsufficientRooms() {
+        // Given
+        when(inventoryService.reserveRooms(1L, "AC", 2, checkIn, checkOut))
+            .thenReturn(new InventoryResult(1L, "AC", 2, 1, false, checkIn, checkOut));
+
+        // When
+        Optional<InventoryHold> result = holdService.createHold(1L, new HoldRequest("AC", 2, checkIn, checkOut));
+
+        // Then
+        assertFalse(result.isPresent());
+        verify(inventoryHoldRepository, never()).save(any(InventoryHold.class));
+    }
+
+    @Test
+    void releaseHold_ReleasesInventoryOnce() {
+        // Given
+        InventoryHold held = new InventoryHold("hold-1", 1L, "AC", 2, checkIn, checkOut);
+        InventoryHold released = new InventoryHold("hold-1", 1L, "AC", 2, checkIn, checkOut);
+        released.setStatus(HoldStatus.RELEASED);
+        when(inventoryHoldRepository.findByHoldTokenAndHotelId("hold-1", 1L))
+            .thenReturn(Optional.of(held), Optional.of(released), Optional.of(released));
+        when(inventoryHoldRepository.transition("hold-1", HoldStatus.HELD, HoldStatus.RELEASED)).thenReturn(1);
+
+        // When
+        holdService.releaseHold(1L, "hold-1");
+        InventoryHold result = holdService.releaseHold(1L, "hold-1");
+
+        // Then
+        assertEquals(HoldStatus.RELEASED, result.getStatus());
+        verify(inventoryService, times(1)).releaseRooms(1L, "AC", 2, checkIn, checkOut);
+    }
+
+    @Test
+    void releaseHolds_ReleasesLiveHoldsInOneInventoryCall() {
+        // Given - one held, one committed, one already released, one unknown
+        InventoryHold held = new InventoryHold("hold-1", 1L, "AC", 2, checkIn, checkOut);
+        InventoryHold committed = new InventoryHold("hold-2", 1L, "AC", 1, checkIn, checkOut);
+        committed.setStatus(HoldStatus.COMMITTED);
+        InventoryHold released = new InventoryHold("hold-3", 1L, "AC", 1, checkIn, checkOut);
+        released.setStatus(HoldStatus.RELEASED);
+        when(inventoryHoldRepository.lockHolds(eq(1L), eq("AC"), anyCollection()))
+            .thenReturn(Arrays.asList(held, committed, released));
+
+        // When
+        HoldReleaseResult result = holdService.releaseHolds(1L,
+            new HoldReleaseRequest("ac", Arrays.asList("hold-1", "hold-2", "hold-3", "hold-4", "hold-1")));
+
+        // Then
+        assertEquals(2, result.getReleased());
+        assertEquals(3, result.getRoomsReleased());
+        assertEquals(1, result.getAlreadyReleased());
+        assertEquals(Collections.singletonList("hold-4"), result.getNotFound());
+        verify(inventoryHoldRepository).transitionAll(Arrays.asList("hold-1", "hold-2"), HoldStatus.RELEASED);
+        verify(inventoryService).releaseHolds(1L, "AC", Arrays.asList(held, committed));
+        verify(inventoryService, never()).releaseRooms(anyLong(), anyString(), anyInt(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void releaseHolds_RecordsRoomReleasesSoRedeliveriesAreSkipped() {
+        // Given - reservation-42 was delivered before, reservation-43 is new
+        InventoryHold delivered = new InventoryHold("reservation-42", 1L, "AC", 2, null, null);
+        delivered.setStatus(HoldStatus.RELEASED);
+        when(inventoryHoldRepository.lockHolds(eq(1L), eq("AC"), anyCollection()))
+            .thenReturn(Collections.singletonList(delivered));
+        HoldReleaseRequest request = new HoldReleaseRequest("AC", null);
+        request.setRoomReleases(Arrays.asList(
+            new RoomRelease("reservation-42", 2, null, null),
+            new RoomRelease("reservation-43", 3, checkIn, checkOut)));
+
+        // When
+        HoldReleaseResult result = holdService.releaseHolds(1L, request);
+
+        // Then - only the new release gives rooms back, and it is inserted as a released hold
+        assertEquals(1, result.getReleased());
+        assertEquals(3, result.getRoomsReleased());
+        assertEquals(1, result.getAlreadyReleased());
+        verify(inventoryHoldRepository).insertReleased("reservation-43", 1L, "AC", 3, checkIn, checkOut);
+        verify(inventoryHoldRepository, never()).saveAll(anyIterable());
+        ArgumentCaptor<List<InventoryHold>> receipts = ArgumentCaptor.forClass(List.class);
+        verify(inventoryService).releaseHolds(eq(1L), eq("AC"), receipts.capture());
+        InventoryHold receipt = receipts.getValue().get(0);
+        assertEquals("reservation-43", receipt.getHoldToken());
+        assertEquals(HoldStatus.RELEASED, receipt.getStatus());
+        verify(inventoryHoldRepository, never()).transitionAll(anyCollection(), any());
+    }
+
+    @Test
+    void releaseHolds_RejectsARoomReleaseWhoseIdIsAnotherHotelsHold() {
+        // Given - the id is not held here, but another hotel holds it
+        InventoryHold elsewhere = new InventoryHold("reservation-42", 2L, "AC", 2, checkIn, checkOut);
+        when(inventoryHoldRepository.lockHolds(eq(1L), eq("AC"), anyCollection())).thenReturn(Collections.emptyList());
+        when(inventoryHoldRepository.findAllById(anyIterable())).thenReturn(Collections.singletonList(elsewhere));
+        HoldReleaseRequest request = new HoldReleaseRequest("AC", null);
+        request.setRoomReleases(Collections.singletonList(new RoomRelease("reservation-42", 2, null, null)));
+
+        // When & Then - nothing is given back and the other hotel's hold is left alone
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> holdService.releaseHolds(1L, request));
+        assertEquals("Release id belongs to another hold: reservation-42", exception.getMessage());
+        verify(inventoryHoldRepository, never()).insertReleased(anyString(), anyLong(), anyString(), anyInt(), any(), any());
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void releaseHolds_RejectsARoomReleaseThatDoesNotMatchItsHold() {
+        // Given - the id is a live hold here, but for fewer rooms than the release claims
+        InventoryHold held = new InventoryHold("reservation-42", 1L, "AC", 1, checkIn, checkOut);
+        when(inventoryHoldRepository.lockHolds(eq(1L), eq("AC"), anyCollection()))
+            .thenReturn(Collections.singletonList(held));
+        HoldReleaseRequest request = new HoldReleaseRequest("AC", null);
+        request.setRoomReleases(Collections.singletonList(new RoomRelease("reservation-42", 3, checkIn, checkOut)));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> holdService.releaseHolds(1L, request));
+        assertEquals("Release id does not match its hold: reservation-42", exception.getMessage());
+        verify(inventoryHoldRepository, never()).transitionAll(anyCollection(), any());
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    void commitHold_AlreadyReleased() {
+        // Given
+        InventoryHold released = new InventoryHold("hold-1", 1L, "AC", 2, checkIn, checkOut);
+        released.setStatus(HoldStatus.RELEASED);
+        when(inventoryHoldRepository.findByHoldTokenAndHotelId("hold-1", 1L)).thenReturn(Optional.of(released));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> holdService.commitHold(1L, "hold-1"));
+        assertEquals("Hold has already been released: hold-1", exception.getMessage());
+    }
+}
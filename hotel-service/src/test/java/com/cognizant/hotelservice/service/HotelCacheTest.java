@@ -0,0 +1,105 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.CacheStats;
+import com.cognizant.hotelservice.model.Hotel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotelCacheTest {
+
+    private final HotelCache hotelCache = new HotelCache(2, 60);
+
+    @Test
+    void getHotel_EvictsLeastRecentlyUsed() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        for (long id = 1; id <= 3; id++) {
+            long hotelId = id;
+            hotelCache.getHotel(hotelId, key -> {
+                loads.incrementAndGet();
+                return Optional.of(hotel(hotelId, "Mumbai"));
+            });
+        }
+
+        // When - hotel 1 was evicted when hotel 3 arrived
+        hotelCache.getHotel(3L, key -> Optional.empty());
+        Optional<Hotel> reloaded = hotelCache.getHotel(1L, key -> {
+            loads.incrementAndGet();
+            return Optional.of(hotel(1L, "Mumbai"));
+        });
+
+        // Then
+        assertTrue(reloaded.isPresent());
+        assertEquals(4, loads.get());
+        CacheStats stats = hotelCache.getStats().get(0);
+        assertEquals(2, stats.getEvictions());
+        assertEquals(1, stats.getHits());
+    }
+
+    @Test
+    void getHotels_ReturnsCopiesAndReloadsAfterChange() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        hotelCache.getHotels(Arrays.asList(1L), ids -> {
+            loads.incrementAndGet();
+            return Arrays.asList(hotel(1L, "Mumbai"));
+        }).get(0).setCity("Changed by caller");
+
+        // When
+        List<Hotel> cached = hotelCache.getHotels(Arrays.asList(1L, 2L), ids -> List.of());
+        hotelCache.onHotelChanged(HotelChangedEvent.entityChanged(1L));
+        List<Hotel> reloaded = hotelCache.getHotels(Arrays.asList(1L), ids -> {
+            loads.incrementAndGet();
+            return Arrays.asList(hotel(1L, "Pune"));
+        });
+
+        // Then - hotel 2 does not exist and is skipped
+        assertEquals(1, cached.size());
+        assertEquals("Mumbai", cached.get(0).getCity());
+        assertEquals("Pune", reloaded.get(0).getCity());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getHotel_OnlyAChangeToTheSameHotelDuringALoadSkipsCaching() {
+        // Given - hotel 2 changes while hotel 1 loads, and hotel 3 changes while hotel 3 loads
+        AtomicInteger loads = new AtomicInteger();
+        hotelCache.getHotel(1L, key -> {
+            loads.incrementAndGet();
+            hotelCache.onHotelChanged(HotelChangedEvent.entityChanged(2L));
+            return Optional.of(hotel(1L, "Mumbai"));
+        });
+        hotelCache.getHotel(3L, key -> {
+            loads.incrementAndGet();
+            hotelCache.onHotelChanged(HotelChangedEvent.entityChanged(3L));
+            return Optional.of(hotel(3L, "Stale"));
+        });
+
+        // When
+        hotelCache.getHotel(1L, key -> {
+            loads.incrementAndGet();
+            return Optional.of(hotel(1L, "Mumbai"));
+        });
+        Optional<Hotel> reloaded = hotelCache.getHotel(3L, key -> {
+            loads.incrementAndGet();
+            return Optional.of(hotel(3L, "Pune"));
+        });
+
+        // Then - hotel 1 came from the cache, the stale hotel 3 was never cached
+        assertEquals("Pune", reloaded.get().getCity());
+        assertEquals(3, loads.get());
+        assertEquals(1, hotelCache.getStats().get(0).getHits());
+    }
+
+    private Hotel hotel(Long hotelId, String city) {
+        Hotel hotel = new Hotel("Hotel " + hotelId, "1 Road", city, "State", "India", "Test", 4.0, 2000.0, 1500.0, 5, 5);
+        hotel.setHotelId(hotelId);
+        return hotel;
+    }
+}
@@ -0,0 +1,145 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.BulkImportResult;
+import com.cognizant.hotelservice.model.Hotel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotelImporterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private HotelIdAllocator idAllocator;
+
+    @Mock
+    private CatalogIndex catalogIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private HotelImporter hotelImporter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(hotelImporter, "batchSize", 2);
+        ReflectionTestUtils.setField(hotelImporter, "maxErrors", 10);
+        ReflectionTestUtils.setField(hotelImporter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(hotelImporter, "validatorFactory", Validation.buildDefaultValidatorFactory());
+        hotelImporter.init();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importHotels_CsvBatchesValidRowsAndReportsTheRest() throws Exception {
+        // Given - a quoted address spanning two lines, a bad number and a missing city
+        String csv = "hotelName,address,city,state,country,acRoomCost,nonAcRoomCost,totalAcRooms,totalNonAcRooms\n"
+                + "Sea Breeze,\"1 Beach Road,\nNorth Goa\",Goa,Goa,India,4000,2500,10,5\n"
+                + "Hill Top,2 Mall Road,Shimla,HP,India,abc,2000,4,4\n"
+                + "No City,3 Main Street,,Kerala,India,3000,1500,2,2\n"
+                + "\n"
+                + "Lake View,4 Lake Road,Udaipur,Rajasthan,India,3500,1800,6,0\n"
+                + "Palm Court,5 Palm Avenue,Kochi,Kerala,India,2800,1400,3,3\n";
+        when(idAllocator.reserve(2)).thenReturn(100L);
+        when(idAllocator.reserve(1)).thenReturn(200L);
+        List<List<Hotel>> batches = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    batches.add(new ArrayList<>((Collection<Hotel>) invocation.getArgument(1)));
+                    return new int[0][];
+                });
+
+        // When
+        BulkImportResult result = hotelImporter.importHotels(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "text/csv; charset=UTF-8");
+
+        // Then
+        assertEquals(5, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(4, result.getErrors().get(0).getLine());
+        assertEquals("acRoomCost: not a number: abc", result.getErrors().get(0).getMessage());
+        assertEquals(5, result.getErrors().get(1).getLine());
+        assertEquals("city: City is required", result.getErrors().get(1).getMessage());
+
+        assertEquals(2, batches.size());
+        Hotel seaBreeze = batches.get(0).get(0);
+        assertEquals(100L, seaBreeze.getHotelId());
+        assertEquals("1 Beach Road,\nNorth Goa", seaBreeze.getAddress());
+        assertEquals(10, seaBreeze.getAvailableAcRooms());
+        assertEquals(101L, batches.get(0).get(1).getHotelId());
+        assertEquals(200L, batches.get(1).get(0).getHotelId());
+
+        ArgumentCaptor<Collection<Hotel>> indexed = ArgumentCaptor.forClass(Collection.class);
+        verify(catalogIndex).upsertAll(indexed.capture());
+        assertEquals(3, indexed.getValue().size());
+    }
+
+    @Test
+    void importHotels_NdjsonRetriesRejectedBatchRowByRow() throws Exception {
+        // Given - the database rejects the batch because of the second row
+        String ndjson = "{\"hotelName\":\"First\",\"address\":\"1 Road\",\"city\":\"Pune\",\"state\":\"MH\","
+                + "\"country\":\"India\",\"acRoomCost\":3000,\"nonAcRoomCost\":2000,\"totalAcRooms\":2}\n"
+                + "{\"hotelName\":\"Second\",\"address\":\"2 Road\",\"city\":\"Pune\",\"state\":\"MH\","
+                + "\"country\":\"India\",\"acRoomCost\":3100,\"nonAcRoomCost\":2100}\n"
+                + "{\"hotelName\":\"Third\",\"stars\":5}\n";
+        when(idAllocator.reserve(2)).thenReturn(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("batch rejected"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        // When
+        BulkImportResult result = hotelImporter.importHotels(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), "application/x-ndjson");
+
+        // Then
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertEquals("Insert failed: Duplicate entry", result.getErrors().get(0).getMessage());
+        assertEquals(3, result.getErrors().get(1).getLine());
+        assertEquals("Unknown field: stars", result.getErrors().get(1).getMessage());
+        verify(jdbcTemplate, times(2)).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    void importHotels_RejectsUnknownCsvColumnAndContentType() {
+        // When / Then
+        RuntimeException column = assertThrows(RuntimeException.class, () -> hotelImporter.importHotels(
+                new ByteArrayInputStream("hotelName,stars\n".getBytes(StandardCharsets.UTF_8)), "text/csv"));
+        assertEquals("Unknown CSV column: stars", column.getMessage());
+        RuntimeException type = assertThrows(RuntimeException.class, () -> hotelImporter.importHotels(
+                new ByteArrayInputStream(new byte[0]), "application/json"));
+        assertTrue(type.getMessage().startsWith("Unsupported content type"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
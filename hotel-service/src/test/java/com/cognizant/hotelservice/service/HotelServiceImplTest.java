@@ -1,16 +1,26 @@
 package com.cognizant.hotelservice.service;
 
 import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.HotelSearchCriteria;
+import com.cognizant.hotelservice.model.ImageFile;
+import com.cognizant.hotelservice.model.InventoryResult;
+import com.cognizant.hotelservice.model.NearbyHotel;
 import com.cognizant.hotelservice.repository.HotelRepository;
+import com.cognizant.hotelservice.repository.StoredImageRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -26,6 +36,27 @@ class HotelServiceImplTest {
     @Mock
     private HotelRepository hotelRepository;
 
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ImageVariantGenerator imageVariantGenerator;
+
+    @Mock
+    private StoredImageRepository storedImageRepository;
+
+    @Spy
+    private ImageStore imageStore = new ImageStore();
+
+    @Spy
+    private HotelCache hotelCache = new HotelCache(100, 60);
+
+    @Spy
+    private CatalogIndex catalogIndex = new CatalogIndex();
+
     @InjectMocks
     private HotelServiceImpl hotelService;
 
@@ -48,7 +79,10 @@ class HotelServiceImplTest {
         testHotel.setAvailableNonAcRooms(12);
         
         // Set upload directory for testing
-        ReflectionTestUtils.setField(hotelService, "uploadDir", "test-uploads");
+        ReflectionTestUtils.setField(imageStore, "uploadDir", "test-uploads");
+        ReflectionTestUtils.setField(imageStore, "storedImageRepository", storedImageRepository);
+        // Tests index the hotels they search for instead of loading from the repository
+        ReflectionTestUtils.setField(catalogIndex, "built", true);
     }
 
     @Test
@@ -66,6 +100,22 @@ class HotelServiceImplTest {
         verify(hotelRepository).save(testHotel);
     }
 
+    @Test
+    void addHotel_StartsUnratedWhateverTheRequestSays() {
+        // Given
+        testHotel.setAvgRatingByCustomers(4.9);
+        testHotel.setReviewCount(120);
+        when(hotelRepository.save(any(Hotel.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Hotel result = hotelService.addHotel(testHotel);
+
+        // Then
+        assertEquals(0.0, result.getAvgRatingByCustomers());
+        assertEquals(0, result.getReviewCount());
+        assertEquals(0L, result.getRatingSum());
+    }
+
     @Test
     void getHotelById_Success() {
         // Given
@@ -80,6 +130,20 @@ class HotelServiceImplTest {
         verify(hotelRepository).findById(1L);
     }
 
+    @Test
+    void getHotelById_ServedFromCacheAsCopy() {
+        // Given
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        hotelService.getHotelById(1L).get().setHotelName("Changed by caller");
+
+        // When
+        Optional<Hotel> result = hotelService.getHotelById(1L);
+
+        // Then
+        assertEquals("Test Hotel", result.get().getHotelName());
+        verify(hotelRepository, times(1)).findById(1L);
+    }
+
     @Test
     void getHotelById_NotFound() {
         // Given
@@ -111,23 +175,23 @@ class HotelServiceImplTest {
     @Test
     void searchHotelsByCity_Success() {
         // Given
-        List<Hotel> hotels = Arrays.asList(testHotel);
-        when(hotelRepository.findByCityIgnoreCase("Mumbai")).thenReturn(hotels);
+        catalogIndex.upsert(testHotel);
+        when(hotelRepository.findAllById(Arrays.asList(1L))).thenReturn(Arrays.asList(testHotel));
 
         // When
-        List<Hotel> result = hotelService.searchHotelsByCity("Mumbai");
+        List<Hotel> result = hotelService.searchHotelsByCity(" mumbai");
 
         // Then
         assertEquals(1, result.size());
         assertEquals("Mumbai", result.get(0).getCity());
-        verify(hotelRepository).findByCityIgnoreCase("Mumbai");
+        verify(hotelRepository).findAllById(Arrays.asList(1L));
     }
 
     @Test
     void searchHotelsByName_Success() {
         // Given
-        List<Hotel> hotels = Arrays.asList(testHotel);
-        when(hotelRepository.findByHotelNameContainingIgnoreCase("Test")).thenReturn(hotels);
+        catalogIndex.upsert(testHotel);
+        when(hotelRepository.findAllById(Arrays.asList(1L))).thenReturn(Arrays.asList(testHotel));
 
         // When
         List<Hotel> result = hotelService.searchHotelsByName("Test");
@@ -135,7 +199,60 @@ class HotelServiceImplTest {
         // Then
         assertEquals(1, result.size());
         assertEquals("Test Hotel", result.get(0).getHotelName());
-        verify(hotelRepository).findByHotelNameContainingIgnoreCase("Test");
+        verify(hotelRepository).findAllById(Arrays.asList(1L));
+    }
+
+    @Test
+    void findNearbyHotels_OnlyAvailableSkipsFullHotels() {
+        // Given - the nearest hotel is full
+        testHotel.setLatitude(19.076);
+        testHotel.setLongitude(72.877);
+        Hotel fartherHotel = testHotel.copy();
+        fartherHotel.setHotelId(2L);
+        fartherHotel.setLatitude(19.090);
+        catalogIndex.upsert(testHotel);
+        catalogIndex.upsert(fartherHotel);
+        when(inventoryService.getAvailableRooms(1L, "AC")).thenReturn(0);
+        when(inventoryService.getAvailableRooms(2L, "AC")).thenReturn(3);
+
+        // When
+        List<NearbyHotel> all = hotelService.findNearbyHotels(19.076, 72.877, 5.0, 10, false, null);
+        List<NearbyHotel> available = hotelService.findNearbyHotels(19.076, 72.877, 5.0, 10, true, "ac");
+
+        // Then
+        assertEquals(2, all.size());
+        assertEquals(1L, all.get(0).getHotel().getHotelId());
+        assertEquals(1, available.size());
+        assertEquals(2L, available.get(0).getHotel().getHotelId());
+        assertThrows(RuntimeException.class, () -> hotelService.findNearbyHotels(91.0, 0.0, 5.0, 10, false, null));
+        assertThrows(RuntimeException.class, () -> hotelService.findNearbyHotels(0.0, 0.0, 0.0, 10, false, null));
+    }
+
+    @Test
+    void searchHotelsByCityAndMaxAcCost_UsesPriceCutoff() {
+        // Given
+        catalogIndex.upsert(testHotel);
+
+        // When
+        List<Hotel> result = hotelService.searchHotelsByCityAndMaxAcCost("Mumbai", 1999.0);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(hotelRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void searchHotels_RejectsUnknownSortAndOversizedPage() {
+        // Given
+        HotelSearchCriteria criteria = new HotelSearchCriteria();
+        criteria.setSort("popularity");
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> hotelService.searchHotels(criteria));
+        assertEquals("Invalid sort order: popularity", exception.getMessage());
+        criteria.setSort("price_asc");
+        criteria.setSize(500);
+        assertThrows(RuntimeException.class, () -> hotelService.searchHotels(criteria));
     }
 
     @Test
@@ -182,111 +299,121 @@ class HotelServiceImplTest {
     @Test
     void deleteHotel_Success() {
         // Given
-        when(hotelRepository.existsById(1L)).thenReturn(true);
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
 
         // When
         hotelService.deleteHotel(1L);
 
         // Then
-        verify(hotelRepository).existsById(1L);
+        verify(hotelRepository).findById(1L);
         verify(hotelRepository).deleteById(1L);
     }
 
     @Test
     void deleteHotel_NotFound() {
         // Given
-        when(hotelRepository.existsById(1L)).thenReturn(false);
+        when(hotelRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> hotelService.deleteHotel(1L));
         assertEquals("Hotel not found with id: 1", exception.getMessage());
-        verify(hotelRepository).existsById(1L);
+        verify(hotelRepository).findById(1L);
         verify(hotelRepository, never()).deleteById(anyLong());
     }
 
     @Test
     void updateRoomAvailability_ACRoom_Reservation_Success() {
         // Given
-        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
-        when(hotelRepository.save(any(Hotel.class))).thenReturn(testHotel);
+        when(inventoryService.reserveRooms(1L, "AC", 2))
+            .thenReturn(new InventoryResult(1L, "AC", 2, 6, true));
 
         // When
         boolean result = hotelService.updateRoomAvailability(1L, "AC", 2, true);
 
         // Then
         assertTrue(result);
-        verify(hotelRepository).findById(1L);
-        verify(hotelRepository).save(any(Hotel.class));
+        verify(inventoryService).reserveRooms(1L, "AC", 2);
+        verify(hotelRepository, never()).save(any(Hotel.class));
     }
 
     @Test
     void updateRoomAvailability_ACRoom_InsufficientRooms() {
         // Given
-        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(inventoryService.reserveRooms(1L, "AC", 10))
+            .thenReturn(new InventoryResult(1L, "AC", 10, 8, false));
 
         // When
         boolean result = hotelService.updateRoomAvailability(1L, "AC", 10, true);
 
         // Then
         assertFalse(result);
-        verify(hotelRepository).findById(1L);
+        verify(inventoryService).reserveRooms(1L, "AC", 10);
         verify(hotelRepository, never()).save(any(Hotel.class));
     }
 
     @Test
     void updateRoomAvailability_NonACRoom_Cancellation_Success() {
         // Given
-        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
-        when(hotelRepository.save(any(Hotel.class))).thenReturn(testHotel);
+        when(inventoryService.releaseRooms(1L, "NON_AC", 2))
+            .thenReturn(new InventoryResult(1L, "NON_AC", 2, 14, true));
 
         // When
         boolean result = hotelService.updateRoomAvailability(1L, "NON_AC", 2, false);
 
         // Then
         assertTrue(result);
-        verify(hotelRepository).findById(1L);
-        verify(hotelRepository).save(any(Hotel.class));
+        verify(inventoryService).releaseRooms(1L, "NON_AC", 2);
     }
 
     @Test
-    void updateRoomAvailability_InvalidRoomType() {
+    void updateRoomAvailability_HotelNotFound() {
         // Given
-        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(inventoryService.reserveRooms(1L, "AC", 2))
+            .thenThrow(new RuntimeException("Hotel not found with id: 1"));
 
+        // When
+        boolean result = hotelService.updateRoomAvailability(1L, "AC", 2, true);
+
+        // Then
+        assertFalse(result);
+    }
+
+    @Test
+    void updateRoomAvailability_InvalidRoomType() {
         // When
         boolean result = hotelService.updateRoomAvailability(1L, "INVALID", 2, true);
 
         // Then
         assertFalse(result);
-        verify(hotelRepository).findById(1L);
+        verifyNoInteractions(inventoryService);
         verify(hotelRepository, never()).save(any(Hotel.class));
     }
 
     @Test
     void checkRoomAvailability_ACRoom_Available() {
         // Given
-        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(inventoryService.getAvailableRooms(1L, "AC")).thenReturn(8);
 
         // When
         boolean result = hotelService.checkRoomAvailability(1L, "AC", 5);
 
         // Then
         assertTrue(result);
-        verify(hotelRepository).findById(1L);
+        verify(inventoryService).getAvailableRooms(1L, "AC");
     }
 
     @Test
     void checkRoomAvailability_NonACRoom_NotAvailable() {
         // Given
-        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(inventoryService.getAvailableRooms(1L, "NON_AC")).thenReturn(12);
 
         // When
         boolean result = hotelService.checkRoomAvailability(1L, "NON_AC", 15);
 
         // Then
         assertFalse(result);
-        verify(hotelRepository).findById(1L);
+        verify(inventoryService).getAvailableRooms(1L, "NON_AC");
     }
 
     @Test
@@ -335,7 +462,7 @@ class HotelServiceImplTest {
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, 
-            () -> hotelService.getHotelImage(1L));
+            () -> hotelService.getHotelImage(1L, null));
         assertEquals("Hotel not found with id: 1", exception.getMessage());
         verify(hotelRepository).findById(1L);
     }
@@ -348,8 +475,114 @@ class HotelServiceImplTest {
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, 
-            () -> hotelService.getHotelImage(1L));
+            () -> hotelService.getHotelImage(1L, null));
         assertEquals("No image found for hotel with id: 1", exception.getMessage());
         verify(hotelRepository).findById(1L);
     }
+
+    @Test
+    void uploadHotelImage_RecordsDetectedContentType(@TempDir Path uploadDir) {
+        // Given - PNG bytes declared as JPEG
+        ReflectionTestUtils.setField(imageStore, "uploadDir", uploadDir.toString());
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+        MockMultipartFile file = new MockMultipartFile("image", "photo.jpg", "image/jpeg", png);
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(hotelRepository.save(any(Hotel.class))).thenReturn(testHotel);
+
+        // When
+        String fileName = hotelService.uploadHotelImage(1L, file);
+        ImageFile image = hotelService.getHotelImage(1L, null);
+
+        // Then
+        assertEquals("image/png", testHotel.getImageContentType());
+        assertEquals(fileName, image.getFileName());
+        assertEquals("image/png", image.getContentType());
+        assertEquals(png.length, image.getLength());
+        assertEquals("\"" + fileName + "\"", image.getEtag());
+        verify(imageVariantGenerator).submit(fileName);
+    }
+
+    @Test
+    void uploadHotelImage_StoresIdenticalContentOnce(@TempDir Path uploadDir) throws Exception {
+        // Given - two hotels upload the same bytes under different names
+        ReflectionTestUtils.setField(imageStore, "uploadDir", uploadDir.toString());
+        Hotel otherHotel = new Hotel();
+        otherHotel.setHotelId(2L);
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 1, 2, 3};
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(hotelRepository.findById(2L)).thenReturn(Optional.of(otherHotel));
+        when(storedImageRepository.incrementRefCount(any())).thenReturn(0, 1);
+
+        // When
+        String first = hotelService.uploadHotelImage(1L, new MockMultipartFile("image", "a.png", "image/png", png));
+        String second = hotelService.uploadHotelImage(2L, new MockMultipartFile("image", "b.png", "image/png", png));
+
+        // Then - one file, named by its SHA-256 and sharded by the first four hex digits
+        assertEquals(first, second);
+        assertTrue(first.matches("[0-9a-f]{64}"));
+        Path stored = uploadDir.resolve(first.substring(0, 2)).resolve(first.substring(2, 4)).resolve(first);
+        assertArrayEquals(png, Files.readAllBytes(stored));
+        verify(storedImageRepository, times(1)).save(any());
+        try (var files = Files.list(uploadDir.resolve("tmp"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void deleteHotel_CollectsImageNothingReferences(@TempDir Path uploadDir) throws Exception {
+        // Given - the hotel holds the last reference to its image
+        ReflectionTestUtils.setField(imageStore, "uploadDir", uploadDir.toString());
+        String hash = "ab".repeat(32);
+        Path stored = uploadDir.resolve("ab/ab/" + hash);
+        Files.createDirectories(stored.getParent());
+        Files.write(stored, new byte[] {1, 2, 3});
+        testHotel.setImagePath(hash);
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(storedImageRepository.deleteIfUnreferenced(hash)).thenReturn(1);
+
+        // When
+        hotelService.deleteHotel(1L);
+
+        // Then
+        assertFalse(Files.exists(stored));
+        verify(storedImageRepository).decrementRefCount(hash);
+        verify(imageVariantGenerator).deleteVariants(hash);
+    }
+
+    @Test
+    void updateHotel_KeepsImageOtherHotelsStillUse(@TempDir Path uploadDir) throws Exception {
+        // Given - the old image is shared, the new one is already stored
+        ReflectionTestUtils.setField(imageStore, "uploadDir", uploadDir.toString());
+        String oldHash = "ab".repeat(32);
+        String newHash = "cd".repeat(32);
+        Path stored = uploadDir.resolve("ab/ab/" + oldHash);
+        Files.createDirectories(stored.getParent());
+        Files.write(stored, new byte[] {1, 2, 3});
+        testHotel.setImagePath(oldHash);
+        Hotel update = new Hotel();
+        update.setImagePath(newHash);
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(hotelRepository.save(any(Hotel.class))).thenReturn(testHotel);
+        when(storedImageRepository.incrementRefCount(newHash)).thenReturn(1);
+        when(storedImageRepository.deleteIfUnreferenced(oldHash)).thenReturn(0);
+
+        // When
+        hotelService.updateHotel(1L, update);
+
+        // Then
+        assertEquals(newHash, testHotel.getImagePath());
+        assertTrue(Files.exists(stored));
+        verify(storedImageRepository).decrementRefCount(oldHash);
+        verify(imageVariantGenerator, never()).deleteVariants(any());
+    }
+
+    @Test
+    void getImage_RejectsPathsOutsideUploadDirectory() {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> hotelService.getImage("..%2F..%2Fetc%2Fpasswd", null));
+        assertEquals("Invalid image name: ..%2F..%2Fetc%2Fpasswd", exception.getMessage());
+        assertThrows(RuntimeException.class, () -> hotelService.getImage("..", null));
+        verify(hotelRepository, never()).findFirstByImagePath(any());
+    }
 }
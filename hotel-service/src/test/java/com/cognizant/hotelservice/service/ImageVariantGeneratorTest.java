@@ -0,0 +1,91 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.ImageFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageVariantGeneratorTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final ImageVariantGenerator generator = new ImageVariantGenerator();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(generator, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(generator, "widths", new int[] {800, 320});
+        ReflectionTestUtils.setField(generator, "threads", 1);
+        ReflectionTestUtils.setField(generator, "queueCapacity", 1);
+        ReflectionTestUtils.setField(generator, "jpegQuality", 0.8f);
+        generator.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        generator.shutdown();
+    }
+
+    @Test
+    void generate_WritesScaledJpegVariants() throws Exception {
+        // Given
+        Path original = uploadDir.resolve("photo.png");
+        ImageIO.write(new BufferedImage(1200, 600, BufferedImage.TYPE_INT_ARGB), "png", original.toFile());
+        ImageFile originalFile = new ImageFile(original, "photo.png", "image/png", Files.size(original));
+
+        // When
+        generator.generate("photo.png");
+
+        // Then
+        BufferedImage small = ImageIO.read(uploadDir.resolve("variants/photo-320.jpg").toFile());
+        assertEquals(320, small.getWidth());
+        assertEquals(160, small.getHeight());
+        assertEquals(800, ImageIO.read(uploadDir.resolve("variants/photo-800.jpg").toFile()).getWidth());
+
+        ImageFile selected = generator.select(originalFile, 400);
+        assertEquals("photo-800.jpg", selected.getFileName());
+        assertEquals("image/jpeg", selected.getContentType());
+        assertFalse(selected.isPending());
+        assertEquals("photo-800.jpg", generator.select(originalFile, 2000).getFileName());
+        assertSame(originalFile, generator.select(originalFile, null));
+    }
+
+    @Test
+    void submit_DropsWorkWhenQueueIsFull() throws Exception {
+        // Given - the only worker is busy and the one queue slot is taken
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(generator, "executor");
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(generator.submit("a.png"));
+
+        // When
+        boolean accepted = generator.submit("b.png");
+        ImageFile fallback = generator.select(new ImageFile(uploadDir.resolve("c.png"), "c.png", "image/png", 10), 320);
+        release.countDown();
+
+        // Then - the caller never blocks; it gets the original, marked pending
+        assertFalse(accepted);
+        assertEquals("c.png", fallback.getFileName());
+        assertTrue(fallback.isPending());
+        assertEquals(2, generator.getMetrics().getRejected());
+        assertEquals(1, generator.getMetrics().getSubmitted());
+    }
+}
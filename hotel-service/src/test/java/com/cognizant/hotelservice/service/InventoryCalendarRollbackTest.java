@@ -0,0 +1,157 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.RoomNightInventory;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import com.cognizant.hotelservice.repository.RoomNightInventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Interleaves two bookings on the same nights, with the first one rolled back or the ledger reloaded
+ * while it is still open, and checks that the table agrees with the ledger afterwards.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:inventory-rollback;MODE=MySQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(InventoryCalendar.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryCalendarRollbackTest {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomNightInventoryRepository roomNightInventoryRepository;
+
+    @Autowired
+    private InventoryCalendar inventoryCalendar;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void reserve_RollbackInterleavedWithAnotherBooking_TableMatchesLedger() throws Exception {
+        // Given - 4 AC rooms, one already booked for both nights so the rows exist
+        Hotel hotel = hotelRepository.save(new Hotel("Rollback Hotel", "1 Test Road", "Pune", "Maharashtra", "India",
+                "Rollback test hotel", 4.0, 2000.0, 1500.0, 4, 0));
+        Long hotelId = hotel.getHotelId();
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        LocalDate checkOut = checkIn.plusDays(2);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status ->
+                inventoryCalendar.reserve(hotelId, RoomType.AC, 1, checkIn, checkOut));
+
+        CountDownLatch firstReserved = new CountDownLatch(1);
+        CountDownLatch rollBackFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When - T1 books 2 and holds its row locks, T2 books 1 and waits on them, then T1 rolls back
+            Future<Integer> first = executor.submit(() -> transactionTemplate.execute(status -> {
+                int remaining = inventoryCalendar.reserve(hotelId, RoomType.AC, 2, checkIn, checkOut);
+                firstReserved.countDown();
+                try {
+                    rollBackFirst.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                status.setRollbackOnly();
+                return remaining;
+            }));
+            assertTrue(firstReserved.await(10, TimeUnit.SECONDS));
+            Future<Integer> second = executor.submit(() -> transactionTemplate.execute(status ->
+                    inventoryCalendar.reserve(hotelId, RoomType.AC, 1, checkIn, checkOut)));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (inventoryCalendar.getAvailableRooms(hotelId, RoomType.AC, checkIn, checkOut) > 0
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            rollBackFirst.countDown();
+
+            // Then
+            assertEquals(1, first.get(10, TimeUnit.SECONDS));
+            assertEquals(0, second.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, inventoryCalendar.getAvailableRooms(hotelId, RoomType.AC, checkIn, checkOut));
+        List<RoomNightInventory> nights = roomNightInventoryRepository
+                .findByHotelIdAndRoomTypeAndStayDateGreaterThanEqual(hotelId, "AC", checkIn);
+        assertEquals(2, nights.size());
+        for (RoomNightInventory night : nights) {
+            assertEquals(2, night.getBookedRooms());
+        }
+        inventoryCalendar.evictHotel(hotelId);
+        assertEquals(2, inventoryCalendar.getAvailableRooms(hotelId, RoomType.AC, checkIn, checkOut));
+    }
+
+    @Test
+    void reserve_LedgerReloadedWhileABookingIsOpen_WaitsForItToCommit() throws Exception {
+        // Given - 4 AC rooms
+        Hotel hotel = hotelRepository.save(new Hotel("Reload Hotel", "2 Test Road", "Pune", "Maharashtra", "India",
+                "Reload test hotel", 4.0, 2000.0, 1500.0, 4, 0));
+        Long hotelId = hotel.getHotelId();
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        LocalDate checkOut = checkIn.plusDays(2);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        CountDownLatch firstReserved = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When - T1 books 3 and stays open, an admin edit evicts the ledger, then T2 asks for 2
+            Future<Integer> first = executor.submit(() -> transactionTemplate.execute(status -> {
+                int remaining = inventoryCalendar.reserve(hotelId, RoomType.AC, 3, checkIn, checkOut);
+                firstReserved.countDown();
+                try {
+                    commitFirst.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return remaining;
+            }));
+            assertTrue(firstReserved.await(10, TimeUnit.SECONDS));
+            inventoryCalendar.evictHotel(hotelId);
+            Future<Integer> second = executor.submit(() -> transactionTemplate.execute(status ->
+                    inventoryCalendar.reserve(hotelId, RoomType.AC, 2, checkIn, checkOut)));
+            Thread.sleep(200);
+            assertFalse(second.isDone());
+            commitFirst.countDown();
+
+            // Then - the reload waited for T1, so T2 sees its rooms and is turned away
+            assertEquals(1, first.get(10, TimeUnit.SECONDS));
+            assertEquals(-1, second.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, inventoryCalendar.getAvailableRooms(hotelId, RoomType.AC, checkIn, checkOut));
+        for (RoomNightInventory night : roomNightInventoryRepository
+                .findByHotelIdAndRoomTypeAndStayDateGreaterThanEqual(hotelId, "AC", checkIn)) {
+            assertEquals(3, night.getBookedRooms());
+        }
+    }
+}
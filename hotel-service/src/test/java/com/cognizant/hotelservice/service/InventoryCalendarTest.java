@@ -0,0 +1,167 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.InventoryHold;
+import com.cognizant.hotelservice.model.RoomNightInventory;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import com.cognizant.hotelservice.repository.RoomNightInventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryCalendarTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private RoomNightInventoryRepository roomNightInventoryRepository;
+
+    @InjectMocks
+    private InventoryCalendar inventoryCalendar;
+
+    private final LocalDate day10 = LocalDate.now().plusDays(10);
+
+    @BeforeEach
+    void setUp() {
+        Hotel hotel = new Hotel("Test Hotel", "1 Road", "Mumbai", "Maharashtra", "India",
+                "Test", 4.0, 2000.0, 1500.0, 3, 2);
+        hotel.setHotelId(1L);
+        lenient().when(hotelRepository.findById(1L)).thenReturn(Optional.of(hotel));
+    }
+
+    @Test
+    void reserve_OverlappingStays_LimitedByBusiestNight() {
+        // Given
+        when(roomNightInventoryRepository.findByHotelIdAndRoomTypeAndStayDateGreaterThanEqual(eq(1L), eq("AC"), any()))
+            .thenReturn(Collections.emptyList());
+
+        // When - two rooms on the 12th..14th, then ask for the 10th..14th
+        int remaining = inventoryCalendar.reserve(1L, RoomType.AC, 2, day10.plusDays(2), day10.plusDays(4));
+
+        // Then
+        assertEquals(1, remaining);
+        assertEquals(3, inventoryCalendar.getAvailableRooms(1L, RoomType.AC, day10, day10.plusDays(2)));
+        assertEquals(1, inventoryCalendar.getAvailableRooms(1L, RoomType.AC, day10, day10.plusDays(4)));
+        assertEquals(-1, inventoryCalendar.reserve(1L, RoomType.AC, 2, day10, day10.plusDays(4)));
+        verify(roomNightInventoryRepository).addBookedRooms(1L, "AC", day10.plusDays(2), 2);
+        verify(roomNightInventoryRepository).addBookedRooms(1L, "AC", day10.plusDays(3), 2);
+        verify(roomNightInventoryRepository, times(2)).addBookedRooms(eq(1L), eq("AC"), any(), anyInt());
+    }
+
+    @Test
+    void reserve_LoadsPersistedNights() {
+        // Given
+        when(roomNightInventoryRepository.findByHotelIdAndRoomTypeAndStayDateGreaterThanEqual(eq(1L), eq("NON_AC"), any()))
+            .thenReturn(Arrays.asList(new RoomNightInventory(1L, "NON_AC", day10.plusDays(1), 2)));
+
+        // When & Then
+        assertEquals(2, inventoryCalendar.getAvailableRooms(1L, RoomType.NON_AC, day10, day10.plusDays(1)));
+        assertEquals(0, inventoryCalendar.getAvailableRooms(1L, RoomType.NON_AC, day10, day10.plusDays(3)));
+        assertEquals(-1, inventoryCalendar.reserve(1L, RoomType.NON_AC, 1, day10, day10.plusDays(3)));
+    }
+
+    @Test
+    void release_NeverGoesBelowZeroBooked() {
+        // Given
+        when(roomNightInventoryRepository.findByHotelIdAndRoomTypeAndStayDateGreaterThanEqual(eq(1L), eq("AC"), any()))
+            .thenReturn(Collections.emptyList());
+        inventoryCalendar.reserve(1L, RoomType.AC, 1, day10, day10.plusDays(2));
+
+        // When
+        int remaining = inventoryCalendar.release(1L, RoomType.AC, 5, day10, day10.plusDays(2));
+
+        // Then - only the one booked room comes off each night
+        assertEquals(3, remaining);
+        verify(roomNightInventoryRepository).addBookedRooms(1L, "AC", day10, -1);
+        verify(roomNightInventoryRepository).addBookedRooms(1L, "AC", day10.plusDays(1), -1);
+    }
+
+    @Test
+    void releaseAll_WritesEachNightOnce() {
+        // Given - three holds, two of them sharing the 11th
+        when(roomNightInventoryRepository.findByHotelIdAndRoomTypeAndStayDateGreaterThanEqual(eq(1L), eq("AC"), any()))
+            .thenReturn(Collections.emptyList());
+        inventoryCalendar.reserve(1L, RoomType.AC, 3, day10, day10.plusDays(3));
+        clearInvocations(roomNightInventoryRepository);
+
+        // When
+        inventoryCalendar.releaseAll(1L, RoomType.AC, Arrays.asList(
+                new InventoryHold("a", 1L, "AC", 1, day10, day10.plusDays(2)),
+                new InventoryHold("b", 1L, "AC", 1, day10.plusDays(1), day10.plusDays(3)),
+                new InventoryHold("c", 1L, "AC", 1, day10.plusDays(1), day10.plusDays(2))));
+
+        // Then - 3 booked each night, minus 1, 3 and 1
+        assertEquals(3, inventoryCalendar.getAvailableRooms(1L, RoomType.AC, day10.plusDays(1), day10.plusDays(2)));
+        assertEquals(1, inventoryCalendar.getAvailableRooms(1L, RoomType.AC, day10, day10.plusDays(3)));
+        verify(roomNightInventoryRepository).addBookedRooms(1L, "AC", day10, -1);
+        verify(roomNightInventoryRepository).addBookedRooms(1L, "AC", day10.plusDays(1), -3);
+        verify(roomNightInventoryRepository).addBookedRooms(1L, "AC", day10.plusDays(2), -1);
+        verify(roomNightInventoryRepository, times(3)).addBookedRooms(eq(1L), eq("AC"), any(), anyInt());
+    }
+
+    @Test
+    void changesSince_NamesTheNightsBookedAfterAnOccupancyRead() {
+        // Given
+        when(roomNightInventoryRepository.findByHotelIdAndRoomTypeAndStayDateGreaterThanEqual(eq(1L), eq("AC"), any()))
+            .thenReturn(Collections.emptyList());
+        LocalDate today = LocalDate.now();
+        InventoryCalendar.NightOccupancy read = inventoryCalendar.occupancy(1L, RoomType.AC, today, 30);
+
+        // When - a booking on the 12th..14th and another past the 30 nights read
+        inventoryCalendar.reserve(1L, RoomType.AC, 2, day10.plusDays(2), day10.plusDays(4));
+        inventoryCalendar.reserve(1L, RoomType.AC, 1, today.plusDays(40), today.plusDays(41));
+        InventoryCalendar.NightChanges changes = inventoryCalendar.changesSince(1L, RoomType.AC, read.ledgerId,
+                read.version, today, 30);
+
+        // Then
+        assertEquals(12, changes.start);
+        assertArrayEquals(new int[] {2, 2}, changes.booked);
+        assertNotEquals(read.version, changes.version);
+        assertEquals(0, inventoryCalendar.changesSince(1L, RoomType.AC, read.ledgerId, changes.version, today, 30)
+                .booked.length);
+    }
+
+    @Test
+    void changesSince_UnknownAfterReloadOrTooManyChanges() {
+        // Given
+        when(roomNightInventoryRepository.findByHotelIdAndRoomTypeAndStayDateGreaterThanEqual(eq(1L), eq("AC"), any()))
+            .thenReturn(Collections.emptyList());
+        LocalDate today = LocalDate.now();
+        InventoryCalendar.NightOccupancy read = inventoryCalendar.occupancy(1L, RoomType.AC, today, 30);
+
+        // When - more changes than the ledger remembers
+        for (int i = 0; i < 40; i++) {
+            inventoryCalendar.reserve(1L, RoomType.AC, 1, day10, day10.plusDays(1));
+            inventoryCalendar.release(1L, RoomType.AC, 1, day10, day10.plusDays(1));
+        }
+
+        // Then - the caller has to read the occupancy again, as it must after the ledger is reloaded
+        assertNull(inventoryCalendar.changesSince(1L, RoomType.AC, read.ledgerId, read.version, today, 30));
+        InventoryCalendar.NightOccupancy reread = inventoryCalendar.occupancy(1L, RoomType.AC, today, 30);
+        inventoryCalendar.evictHotel(1L);
+        assertNull(inventoryCalendar.changesSince(1L, RoomType.AC, reread.ledgerId, reread.version, today, 30));
+    }
+
+    @Test
+    void reserve_InvalidDates() {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> inventoryCalendar.reserve(1L, RoomType.AC, 1, day10, day10));
+        assertEquals("Check-out date must be after check-in date", exception.getMessage());
+    }
+}
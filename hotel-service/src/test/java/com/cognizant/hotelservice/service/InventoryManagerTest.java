@@ -0,0 +1,150 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:inventory-manager;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({InventoryManager.class, InventoryWriteAheadLog.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryManagerTest {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private InventoryManager inventoryManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void reserve_TransactionRollsBack_RoomsPutBack() {
+        // Given
+        Long hotelId = saveHotel(10).getHotelId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            assertEquals(7, inventoryManager.reserve(hotelId, RoomType.AC, 3));
+            status.setRollbackOnly();
+        });
+        inventoryManager.flush();
+
+        // Then
+        assertEquals(10, inventoryManager.getAvailableRooms(hotelId, RoomType.AC));
+        assertEquals(10, hotelRepository.findById(hotelId).get().getAvailableAcRooms());
+    }
+
+    @Test
+    void release_TransactionRollsBack_RoomsTakenAgain() {
+        // Given
+        Long hotelId = saveHotel(10).getHotelId();
+        inventoryManager.reserve(hotelId, RoomType.AC, 4);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            assertEquals(8, inventoryManager.release(hotelId, RoomType.AC, 2));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals(6, inventoryManager.getAvailableRooms(hotelId, RoomType.AC));
+    }
+
+    @Test
+    void evictHotel_WritesUnflushedChangesFirst() {
+        // Given
+        Long hotelId = saveHotel(10).getHotelId();
+        inventoryManager.flush();
+        inventoryManager.reserve(hotelId, RoomType.AC, 3);
+
+        // When
+        inventoryManager.evictHotel(hotelId);
+
+        // Then
+        assertEquals(7, hotelRepository.findById(hotelId).get().getAvailableAcRooms());
+        assertEquals(7, inventoryManager.getAvailableRooms(hotelId, RoomType.AC));
+        assertEquals(0, inventoryManager.getMetrics().getPendingFlushQueueDepth());
+    }
+
+    @Test
+    void flush_AddsChangeOnTopOfAnAdminEdit() {
+        // Given - the counter is loaded and changed, then an admin edits the row directly
+        Long hotelId = saveHotel(10).getHotelId();
+        inventoryManager.reserve(hotelId, RoomType.AC, 2);
+        jdbcTemplate.update("UPDATE hotels SET available_ac_rooms = 50 WHERE hotel_id = ?", hotelId);
+
+        // When
+        inventoryManager.flush();
+
+        // Then - the booking is applied to the edited value instead of replacing it
+        assertEquals(48, hotelRepository.findById(hotelId).get().getAvailableAcRooms());
+    }
+
+    @Test
+    void recover_ReplaysUnflushedChangesButKeepsAnAdminEdit(@TempDir Path logDir) {
+        // Given - both hotels were flushed at 8 and then booked down to 7 before a crash; hotel B's
+        // row was edited afterwards by an admin update whose eviction never ran
+        Long hotelA = saveHotel(8).getHotelId();
+        Long hotelB = saveHotel(8).getHotelId();
+        InventoryWriteAheadLog log = writeAheadLog(logDir);
+        log.open();
+        for (Long hotelId : new Long[]{hotelA, hotelB}) {
+            log.append(hotelId, RoomType.AC, 10, 8);
+            log.append(hotelId, RoomType.AC, 8, 7);
+        }
+        log.close();
+        jdbcTemplate.update("UPDATE hotels SET available_ac_rooms = 50 WHERE hotel_id = ?", hotelB);
+        InventoryManager restarted = new InventoryManager();
+        ReflectionTestUtils.setField(restarted, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(restarted, "writeAheadLog", writeAheadLog(logDir));
+
+        // When
+        restarted.recover();
+
+        // Then
+        assertEquals(7, hotelRepository.findById(hotelA).get().getAvailableAcRooms());
+        assertEquals(50, hotelRepository.findById(hotelB).get().getAvailableAcRooms());
+    }
+
+    private InventoryWriteAheadLog writeAheadLog(Path logDir) {
+        InventoryWriteAheadLog log = new InventoryWriteAheadLog();
+        ReflectionTestUtils.setField(log, "enabled", true);
+        ReflectionTestUtils.setField(log, "directory", logDir.toString());
+        ReflectionTestUtils.setField(log, "segmentBytes", 1024L);
+        return log;
+    }
+
+    private Hotel saveHotel(int acRooms) {
+        Hotel hotel = new Hotel("Counter Hotel", "1 Test Road", "Chennai", "Tamil Nadu", "India",
+                "Counter test hotel", 4.0, 2000.0, 1500.0, acRooms, 0);
+        return hotelRepository.save(hotel);
+    }
+}
@@ -0,0 +1,180 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.InventoryMetrics;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single hotel row from many threads and checks that the guarded UPDATE and the
+ * in-memory counters never overbook. The legacy findById/save path is run against the same
+ * load for comparison.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:inventory-stress;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({InventoryServiceImpl.class, InventoryCalendar.class, InventoryManager.class, InventoryWriteAheadLog.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryServiceImplStressTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+    private static final int ROOMS = 200;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+    
+    @Autowired
+    private InventoryManager inventoryManager;
+
+    @Test
+    void reserveRooms_ConcurrentBookings_NeverOverbook() throws Exception {
+        // Given
+        Long hotelId = saveHotel(ROOMS).getHotelId();
+
+        // When
+        long start = System.nanoTime();
+        int successes = runConcurrently(() -> inventoryService.reserveRooms(hotelId, "AC", 1).isSuccess());
+        long elapsedNanos = System.nanoTime() - start;
+
+        // Then
+        assertEquals(ROOMS, successes);
+        int remaining = hotelRepository.findById(hotelId).get().getAvailableAcRooms();
+        assertEquals(0, remaining);
+        report("guarded UPDATE", successes, ROOMS - remaining, elapsedNanos);
+    }
+
+    @Test
+    void reserveRooms_LegacyReadModifyWrite_ForComparison() throws Exception {
+        // Given
+        Long hotelId = saveHotel(ROOMS).getHotelId();
+
+        // When - the pre-existing findById/check/save sequence
+        long start = System.nanoTime();
+        int successes = runConcurrently(() -> {
+            Hotel hotel = hotelRepository.findById(hotelId).get();
+            if (hotel.getAvailableAcRooms() < 1) {
+                return false;
+            }
+            hotel.setAvailableAcRooms(hotel.getAvailableAcRooms() - 1);
+            hotelRepository.save(hotel);
+            return true;
+        });
+        long elapsedNanos = System.nanoTime() - start;
+
+        // Then - every success beyond what the counter reflects is an overbooked or lost update
+        int remaining = hotelRepository.findById(hotelId).get().getAvailableAcRooms();
+        report("read-modify-write", successes, ROOMS - remaining, elapsedNanos);
+        assertTrue(successes >= ROOMS - remaining);
+    }
+
+    @Test
+    void inventoryManager_ConcurrentBookings_NeverOverbookAndFlush() throws Exception {
+        // Given
+        Long hotelId = saveHotel(ROOMS).getHotelId();
+        Long otherHotelId = saveHotel(ROOMS).getHotelId();
+
+        // When - one hot hotel, plus a single booking elsewhere that must not be affected
+        long start = System.nanoTime();
+        int successes = runConcurrently(() -> inventoryManager.reserve(hotelId, RoomType.AC, 1) >= 0);
+        long elapsedNanos = System.nanoTime() - start;
+        inventoryManager.reserve(otherHotelId, RoomType.AC, 1);
+        InventoryMetrics beforeFlush = inventoryManager.getMetrics();
+        inventoryManager.flush();
+
+        // Then
+        assertEquals(ROOMS, successes);
+        assertEquals(0, inventoryManager.getAvailableRooms(hotelId, RoomType.AC));
+        assertEquals(0, hotelRepository.findById(hotelId).get().getAvailableAcRooms());
+        assertEquals(ROOMS - 1, hotelRepository.findById(otherHotelId).get().getAvailableAcRooms());
+        assertEquals(0, inventoryManager.getMetrics().getPendingFlushQueueDepth());
+        assertTrue(beforeFlush.getPendingFlushQueueDepth() >= 2);
+        report("in-memory counters", successes, ROOMS, elapsedNanos);
+        System.out.printf("in-memory counters: %d CAS retries, %d lock waits%n",
+                beforeFlush.getCasRetries(), beforeFlush.getLockWaits());
+    }
+
+    @Test
+    void releaseRooms_NeverExceedsTotal() {
+        // Given
+        Long hotelId = saveHotel(5).getHotelId();
+        inventoryService.reserveRooms(hotelId, "AC", 2);
+
+        // When
+        int available = inventoryService.releaseRooms(hotelId, "AC", 10).getAvailableRooms();
+
+        // Then
+        assertEquals(5, available);
+    }
+
+    private Hotel saveHotel(int acRooms) {
+        Hotel hotel = new Hotel("Stress Hotel", "1 Test Road", "Mumbai", "Maharashtra", "India",
+                "Concurrency test hotel", 4.0, 2000.0, 1500.0, acRooms, 0);
+        return hotelRepository.save(hotel);
+    }
+
+    private int runConcurrently(BookingAttempt attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    if (attempt.book()) {
+                        successes.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        startGate.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        return successes.get();
+    }
+
+    // "Recorded" bookings are the ones the counter actually reflects; the rest were lost updates
+    private void report(String path, int successes, int recorded, long elapsedNanos) {
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%s: %d/%d bookings accepted for %d rooms, %d recorded, %d lost, "
+                        + "%.0f attempts/s, %.0f recorded bookings/s%n",
+                path, successes, attempts, ROOMS, recorded, successes - recorded,
+                attempts / seconds, recorded / seconds);
+    }
+
+    @FunctionalInterface
+    private interface BookingAttempt {
+        boolean book() throws Exception;
+    }
+}
@@ -0,0 +1,91 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.AvailabilityQuery;
+import com.cognizant.hotelservice.model.BatchAvailabilityResult;
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceImplTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private InventoryCalendar inventoryCalendar;
+
+    @Mock
+    private InventoryManager inventoryManager;
+
+    @InjectMocks
+    private InventoryServiceImpl inventoryService;
+
+    private final LocalDate checkIn = LocalDate.now().plusDays(3);
+    private final LocalDate checkOut = LocalDate.now().plusDays(5);
+
+    @Test
+    void checkAvailability_BatchUsesOneBulkRead() {
+        // Given
+        ReflectionTestUtils.setField(inventoryService, "inventoryMode", "database");
+        when(hotelRepository.findAllById(Set.of(1L, 2L, 99L)))
+            .thenReturn(Arrays.asList(hotel(1L, 4, 0), hotel(2L, 1, 6)));
+        when(inventoryCalendar.getAvailableRooms(3L, RoomType.AC, checkIn, checkOut)).thenReturn(2);
+        List<AvailabilityQuery> queries = Arrays.asList(
+            new AvailabilityQuery(1L, "AC", 2, null, null),
+            new AvailabilityQuery(2L, "AC", 2, null, null),
+            new AvailabilityQuery(2L, "non_ac", 3, null, null),
+            new AvailabilityQuery(99L, "AC", 1, null, null),
+            new AvailabilityQuery(1L, "SUITE", 1, null, null),
+            new AvailabilityQuery(3L, "AC", 2, checkIn, checkOut));
+
+        // When
+        BatchAvailabilityResult result = inventoryService.checkAvailability(queries);
+
+        // Then
+        assertArrayEquals(new int[]{4, 1, 6, -1, -1, 2}, result.getAvailableRooms());
+        assertArrayEquals(new boolean[]{true, false, true, false, false, true}, result.getAvailable());
+        verify(hotelRepository, times(1)).findAllById(any());
+        verify(hotelRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void checkAvailability_MemoryModeReadsCounters() {
+        // Given
+        ReflectionTestUtils.setField(inventoryService, "inventoryMode", "memory");
+        when(inventoryManager.getAvailableRooms(1L, RoomType.NON_AC)).thenReturn(5);
+
+        // When
+        BatchAvailabilityResult result = inventoryService.checkAvailability(
+            Arrays.asList(new AvailabilityQuery(1L, "NON_AC", 5, null, null)));
+
+        // Then
+        assertArrayEquals(new int[]{5}, result.getAvailableRooms());
+        assertTrue(result.getAvailable()[0]);
+        verifyNoInteractions(hotelRepository);
+    }
+
+    private Hotel hotel(Long hotelId, int availableAc, int availableNonAc) {
+        Hotel hotel = new Hotel("Hotel " + hotelId, "1 Road", "Mumbai", "Maharashtra", "India",
+                "Test", 4.0, 2000.0, 1500.0, 10, 10);
+        hotel.setHotelId(hotelId);
+        hotel.setAvailableAcRooms(availableAc);
+        hotel.setAvailableNonAcRooms(availableNonAc);
+        return hotel;
+    }
+}
@@ -0,0 +1,83 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.RoomType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryWriteAheadLogTest {
+
+    @TempDir
+    Path logDir;
+
+    @Test
+    void open_ReplaysLatestValueAfterCheckpoint() {
+        // Given
+        InventoryWriteAheadLog log = newLog();
+        log.open();
+        log.append(1L, RoomType.AC, 10, 9);
+        long flushed = log.append(2L, RoomType.NON_AC, 5, 4);
+        log.checkpoint(flushed);
+        log.append(1L, RoomType.AC, 9, 8);
+        long last = log.append(1L, RoomType.AC, 8, 7);
+        log.sync(last);
+        log.close();
+
+        // When
+        List<InventoryWriteAheadLog.PendingCounter> pending = newLog().open();
+
+        // Then - only hotel 1 changed after the checkpoint, its last value wins, and a flush since
+        // the checkpoint can have left the table at any value from before its first change on
+        assertEquals(1, pending.size());
+        assertEquals(1L, pending.get(0).getHotelId());
+        assertEquals(RoomType.AC, pending.get(0).getRoomType());
+        assertEquals(7, pending.get(0).getAvailableRooms());
+        assertEquals(Set.of(9, 8, 7), pending.get(0).getFlushedRooms());
+    }
+
+    @Test
+    void open_IgnoresTornTailAndEvictedCounters() throws Exception {
+        // Given
+        InventoryWriteAheadLog log = newLog();
+        log.open();
+        log.append(1L, RoomType.AC, 6, 5);
+        log.append(2L, RoomType.AC, 4, 3);
+        log.append(3L, RoomType.AC, 4, 3);
+        log.append(3L, RoomType.AC, InventoryWriteAheadLog.EVICTED, InventoryWriteAheadLog.EVICTED);
+        log.append(3L, RoomType.AC, 20, 19);
+        log.sync(log.append(2L, RoomType.AC, InventoryWriteAheadLog.EVICTED, InventoryWriteAheadLog.EVICTED));
+        log.close();
+        try (var files = Files.list(logDir)) {
+            Path segment = files.filter(path -> path.toString().endsWith(".wal")).findFirst().get();
+            Files.write(segment, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+        }
+
+        // When
+        InventoryWriteAheadLog reopened = newLog();
+        List<InventoryWriteAheadLog.PendingCounter> pending = reopened.open();
+
+        // Then - hotel 3 was reloaded after its eviction, so only the later change counts
+        assertEquals(2, pending.size());
+        assertEquals(5, pending.get(0).getAvailableRooms());
+        assertEquals(3L, pending.get(1).getHotelId());
+        assertEquals(19, pending.get(1).getAvailableRooms());
+        assertEquals(Set.of(20, 19), pending.get(1).getFlushedRooms());
+        assertEquals(7, reopened.append(4L, RoomType.AC, 2, 1));
+    }
+
+    private InventoryWriteAheadLog newLog() {
+        InventoryWriteAheadLog log = new InventoryWriteAheadLog();
+        ReflectionTestUtils.setField(log, "enabled", true);
+        ReflectionTestUtils.setField(log, "directory", logDir.toString());
+        ReflectionTestUtils.setField(log, "segmentBytes", 1024L);
+        return log;
+    }
+}
@@ -0,0 +1,154 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.PriceQuote;
+import com.cognizant.hotelservice.model.RoomType;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PricingServiceImplTest {
+
+    private static final int HORIZON = 30;
+
+    private static final long LEDGER = 7L;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private InventoryCalendar inventoryCalendar;
+
+    @InjectMocks
+    private PricingServiceImpl pricingService;
+
+    private final LocalDate today = LocalDate.now();
+
+    private int[] booked;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pricingService, "horizonDays", HORIZON);
+        ReflectionTestUtils.setField(pricingService, "dayOfWeekMultipliers", "1.0,1.0,1.0,1.0,1.1,1.2,1.1");
+        ReflectionTestUtils.setField(pricingService, "occupancyBands", "0.0:1.0,0.5:1.1,0.75:1.25,0.9:1.5");
+        ReflectionTestUtils.setField(pricingService, "maxTables", 100);
+        ReflectionTestUtils.setField(pricingService, "tableTtlSeconds", 3600L);
+        pricingService.init();
+        booked = new int[HORIZON];
+    }
+
+    @Test
+    void quote_WeekAtBaseOccupancyFollowsDayOfWeek() {
+        // Given
+        stubLedger(1L);
+
+        // When - any seven nights cover each weekday once
+        PriceQuote quote = pricingService.quote(1L, "AC", 2, today.plusDays(3), today.plusDays(10));
+
+        // Then - 1000 x (4 x 1.0 + 1.1 + 1.2 + 1.1)
+        assertEquals(7, quote.getNights());
+        assertEquals(7400.0, quote.getRoomCost(), 0.001);
+        assertEquals(14800.0, quote.getTotalCost(), 0.001);
+    }
+
+    @Test
+    void quote_BusyNightsMoveUpOccupancyBands() {
+        // Given - 9 of 10 rooms booked on the first night, 5 on the second
+        ReflectionTestUtils.setField(pricingService, "dayOfWeekMultipliers", "1,1,1,1,1,1,1");
+        pricingService.init();
+        booked[1] = 9;
+        booked[2] = 5;
+        stubLedger(1L);
+
+        // When
+        PriceQuote quote = pricingService.quote(1L, "ac", 1, today.plusDays(1), today.plusDays(4));
+
+        // Then - 1000 x 1.5 + 1000 x 1.1 + 1000
+        assertEquals(3600.0, quote.getRoomCost(), 0.001);
+        assertEquals("AC", quote.getRoomType());
+    }
+
+    @Test
+    void quote_ReusesTableUntilBookingsOrHotelChange() {
+        // Given
+        stubLedger(1L);
+        pricingService.quote(1L, "AC", 1, today.plusDays(1), today.plusDays(2));
+        pricingService.quote(1L, "AC", 1, today.plusDays(5), today.plusDays(9));
+        verify(hotelRepository, times(1)).findById(1L);
+
+        // When - the ledger is reloaded, then the hotel is edited
+        when(inventoryCalendar.changesSince(1L, RoomType.AC, LEDGER, 1L, today, HORIZON)).thenReturn(null);
+        pricingService.quote(1L, "AC", 1, today.plusDays(1), today.plusDays(2));
+        pricingService.onHotelChanged(HotelChangedEvent.entityChanged(1L));
+        pricingService.quote(1L, "AC", 1, today.plusDays(1), today.plusDays(2));
+
+        // Then
+        verify(hotelRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    void quote_RepricesOnlyTheNightsABookingChanged() {
+        // Given
+        stubLedger(1L);
+        pricingService.quote(1L, "AC", 1, today.plusDays(1), today.plusDays(2));
+
+        // When - a booking fills the 2nd and 3rd nights
+        booked[2] = 10;
+        booked[3] = 8;
+        when(inventoryCalendar.changesSince(1L, RoomType.AC, LEDGER, 1L, today, HORIZON))
+                .thenReturn(new InventoryCalendar.NightChanges(2, new int[] {10, 8}, 2L));
+        when(inventoryCalendar.changesSince(1L, RoomType.AC, LEDGER, 2L, today, HORIZON))
+                .thenReturn(new InventoryCalendar.NightChanges(0, new int[0], 2L));
+        PriceQuote patched = pricingService.quote(1L, "AC", 1, today.plusDays(1), today.plusDays(HORIZON));
+        PriceQuote again = pricingService.quote(1L, "AC", 1, today.plusDays(1), today.plusDays(HORIZON));
+
+        // Then - no hotel read or full occupancy read, and the same prices as a table built from scratch
+        verify(hotelRepository, times(1)).findById(1L);
+        verify(inventoryCalendar, times(1)).occupancy(eq(1L), eq(RoomType.AC), any(LocalDate.class), eq(HORIZON));
+        pricingService.onHotelChanged(HotelChangedEvent.entityChanged(1L));
+        stubLedger(2L);
+        PriceQuote rebuilt = pricingService.quote(1L, "AC", 1, today.plusDays(1), today.plusDays(HORIZON));
+        assertEquals(rebuilt.getRoomCost(), patched.getRoomCost(), 0.001);
+        assertEquals(rebuilt.getRoomCost(), again.getRoomCost(), 0.001);
+        assertTrue(patched.getRoomCost() > pricingService.quote(1L, "AC", 1, today.plusDays(4),
+                today.plusDays(HORIZON)).getRoomCost() + 2000.0);
+    }
+
+    @Test
+    void quote_RejectsInvalidStays() {
+        // When & Then
+        assertEquals("Invalid room type: SUITE", assertThrows(RuntimeException.class,
+                () -> pricingService.quote(1L, "SUITE", 1, today.plusDays(1), today.plusDays(2))).getMessage());
+        assertEquals("Check-in date must not be in the past", assertThrows(RuntimeException.class,
+                () -> pricingService.quote(1L, "AC", 1, today.minusDays(1), today.plusDays(2))).getMessage());
+        assertEquals("Prices are only available for stays ending within 30 days", assertThrows(RuntimeException.class,
+                () -> pricingService.quote(1L, "AC", 1, today.plusDays(20), today.plusDays(31))).getMessage());
+        assertThrows(RuntimeException.class, () -> pricingService.quote(1L, "AC", 0, today, today.plusDays(1)));
+        verifyNoInteractions(inventoryCalendar);
+    }
+
+    // AC rooms at 1000 a night; booked holds the ledger's counts from today on
+    private void stubLedger(long version) {
+        Hotel hotel = new Hotel("Sea Breeze", "1 Beach Road", "Goa", "Goa", "India", null, 4.0, 1000.0, 600.0, 10, 10);
+        hotel.setHotelId(1L);
+        lenient().when(hotelRepository.findById(1L)).thenReturn(Optional.of(hotel));
+        lenient().when(inventoryCalendar.changesSince(1L, RoomType.AC, LEDGER, version, today, HORIZON))
+                .thenReturn(new InventoryCalendar.NightChanges(0, new int[0], version));
+        when(inventoryCalendar.occupancy(eq(1L), eq(RoomType.AC), any(LocalDate.class), eq(HORIZON)))
+                .thenReturn(new InventoryCalendar.NightOccupancy(10, booked.clone(), LEDGER, version));
+    }
+}
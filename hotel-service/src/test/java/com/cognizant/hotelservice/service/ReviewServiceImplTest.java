@@ -0,0 +1,127 @@
+package com.cognizant.hotelservice.service;
+
+import com.cognizant.hotelservice.model.Hotel;
+import com.cognizant.hotelservice.model.Review;
+import com.cognizant.hotelservice.model.ReviewPage;
+import com.cognizant.hotelservice.model.ReviewRequest;
+import com.cognizant.hotelservice.repository.HotelRepository;
+import com.cognizant.hotelservice.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceImplTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReviewServiceImpl reviewService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reviewService, "priorMean", 3.5);
+        ReflectionTestUtils.setField(reviewService, "priorWeight", 10.0);
+    }
+
+    @Test
+    void submitReview_FoldsRatingIntoHotelAndRefreshesIndex() {
+        // Given
+        Hotel rated = new Hotel();
+        rated.setHotelId(1L);
+        rated.setReviewCount(1);
+        rated.setRatingSum(5L);
+        rated.setAvgRatingByCustomers(40.0 / 11);
+        when(hotelRepository.addRating(1L, 5, 3.5, 10.0)).thenReturn(1);
+        when(reviewRepository.existsByHotelIdAndUserId(1L, 7L)).thenReturn(false);
+        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(rated));
+
+        // When
+        Review review = reviewService.submitReview(1L, new ReviewRequest(7L, 5, "Lovely stay"));
+
+        // Then
+        assertEquals(1L, review.getHotelId());
+        assertEquals(7L, review.getUserId());
+        ArgumentCaptor<HotelChangedEvent> event = ArgumentCaptor.forClass(HotelChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(40.0 / 11, event.getValue().getAfter().getAvgRatingByCustomers(), 1e-9);
+        assertNotSame(rated, event.getValue().getAfter());
+    }
+
+    @Test
+    void submitReview_RejectsMissingHotelAndSecondReview() {
+        // Given
+        when(hotelRepository.addRating(2L, 4, 3.5, 10.0)).thenReturn(0);
+        when(hotelRepository.addRating(1L, 4, 3.5, 10.0)).thenReturn(1);
+        when(reviewRepository.existsByHotelIdAndUserId(1L, 7L)).thenReturn(true);
+
+        // When & Then - both throw, rolling the rating update back
+        RuntimeException missing = assertThrows(RuntimeException.class,
+                () -> reviewService.submitReview(2L, new ReviewRequest(7L, 4, null)));
+        assertEquals("Hotel not found with id: 2", missing.getMessage());
+        RuntimeException repeated = assertThrows(RuntimeException.class,
+                () -> reviewService.submitReview(1L, new ReviewRequest(7L, 4, null)));
+        assertEquals("User 7 has already reviewed hotel 1", repeated.getMessage());
+        verify(reviewRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void getReviews_PagesByKeyset() {
+        // Given - the repository returns one row more than the page size when more follow
+        when(reviewRepository.findPageBefore(1L, Long.MAX_VALUE, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(review(9L), review(8L), review(5L)));
+        when(reviewRepository.findPageBefore(1L, 8L, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(review(5L)));
+
+        // When
+        ReviewPage first = reviewService.getReviews(1L, null, 2);
+        ReviewPage second = reviewService.getReviews(1L, first.getNextCursor(), 2);
+
+        // Then
+        assertEquals(2, first.getReviews().size());
+        assertEquals(8L, first.getNextCursor());
+        assertEquals(1, second.getReviews().size());
+        assertEquals(5L, second.getReviews().get(0).getReviewId());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void onHotelChanged_DeletesReviewsOfDeletedHotel() {
+        // When
+        reviewService.onHotelChanged(HotelChangedEvent.deleted(3L));
+        reviewService.onHotelChanged(HotelChangedEvent.entityChanged(4L));
+
+        // Then
+        verify(reviewRepository).deleteByHotelId(3L);
+        verifyNoMoreInteractions(reviewRepository);
+    }
+
+    private Review review(Long reviewId) {
+        Review review = new Review(1L, reviewId, 4, null);
+        review.setReviewId(reviewId);
+        return review;
+    }
+}
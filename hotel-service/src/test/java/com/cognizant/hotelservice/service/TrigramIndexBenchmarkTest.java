@@ -0,0 +1,98 @@
+package com.cognizant.hotelservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the name index over synthetic hotel names and times typeahead and substring lookups.
+ * Needs a heap of about 2 GB for one million names:
+ *
+ *   mvn test -Dtest=TrigramIndexBenchmarkTest -Dbenchmark.hotels=1000000 -DargLine=-Xmx2g
+ */
+@EnabledIfSystemProperty(named = "benchmark.hotels", matches = "\\d+")
+class TrigramIndexBenchmarkTest {
+
+    private static final String[] PREFIXES = {"Grand", "Royal", "The", "Hotel", "Park", "Golden", "Silver",
+            "Blue", "Green", "Sunset", "Ocean", "Mountain", "City", "Comfort", "Heritage", "Palm"};
+    private static final String[] CORES = {"Plaza", "Palace", "Residency", "Inn", "Suites", "Lodge", "Retreat",
+            "Resort", "Towers", "Gardens", "Court", "Manor", "Villa", "Regency", "Haven", "Harbour"};
+    private static final String[] SYLLABLES = {"ka", "ri", "mo", "ta", "shi", "ven", "dra", "lo", "pur", "na",
+            "bel", "zor", "qui", "an", "tel", "mar", "go", "sa", "vik", "ul"};
+    private static final int QUERIES = 20_000;
+
+    @Test
+    void lookupLatency() {
+        int hotels = Integer.parseInt(System.getProperty("benchmark.hotels"));
+        Random random = new Random(42);
+        String[] names = new String[hotels];
+        for (int i = 0; i < hotels; i++) {
+            names[i] = PREFIXES[random.nextInt(PREFIXES.length)] + " " + word(random) + " "
+                    + CORES[random.nextInt(CORES.length)];
+        }
+
+        TrigramIndex index = new TrigramIndex();
+        long start = System.nanoTime();
+        for (int i = 0; i < hotels; i++) {
+            index.add((long) i + 1, names[i]);
+        }
+        System.out.printf("Indexed %d names in %d ms%n", hotels, (System.nanoTime() - start) / 1_000_000);
+
+        // Typeahead queries are 2 to 8 character prefixes of the distinctive word of a real name
+        String[] suggestQueries = new String[QUERIES];
+        String[] containsQueries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String word = names[random.nextInt(hotels)].split(" ")[1];
+            suggestQueries[i] = word.substring(0, Math.min(word.length(), 2 + random.nextInt(7)));
+            containsQueries[i] = word.substring(1);
+        }
+
+        for (int i = 0; i < QUERIES; i++) {
+            index.suggest(suggestQueries[i], 10);
+            index.findContaining(containsQueries[i]);
+        }
+
+        long[] suggestNanos = new long[QUERIES];
+        long[] containsNanos = new long[QUERIES];
+        long containsMatches = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            long t0 = System.nanoTime();
+            assertFalse(index.suggest(suggestQueries[i], 10).isEmpty());
+            long t1 = System.nanoTime();
+            int matches = index.findContaining(containsQueries[i]).size();
+            containsNanos[i] = System.nanoTime() - t1;
+            assertTrue(matches > 0);
+            containsMatches += matches;
+            suggestNanos[i] = t1 - t0;
+        }
+        report("suggest", hotels, suggestNanos);
+        report("contains", hotels, containsNanos);
+        // Substring search returns every match, so its cost follows the result size
+        System.out.printf("contains returned %d matches on average%n", containsMatches / QUERIES);
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+
+    private static void report(String operation, int hotels, long[] nanos) {
+        Arrays.sort(nanos);
+        long total = 0;
+        for (long n : nanos) {
+            total += n;
+        }
+        System.out.printf("%s over %d names: mean %.1f us, p50 %.1f us, p99 %.1f us%n", operation, hotels,
+                total / 1000.0 / nanos.length, nanos[nanos.length / 2] / 1000.0,
+                nanos[(int) (nanos.length * 0.99)] / 1000.0);
+    }
+}
@@ -0,0 +1,77 @@
+package com.cognizant.hotelservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.add(1L, "Grand Plaza Hotel");
+        index.add(2L, "Plaza Inn");
+        index.add(3L, "The Grand Palace");
+        index.add(4L, "O'Brien's Lodge");
+    }
+
+    @Test
+    void findContaining_MatchesSubstringsIgnoringCase() {
+        // When & Then
+        assertEquals(Arrays.asList(1L, 2L), sorted(index.findContaining("PLAZA")));
+        assertEquals(Arrays.asList(1L, 3L), sorted(index.findContaining("and p")));
+        assertEquals(Arrays.asList(4L), index.findContaining("o'bri"));
+        // Shares every trigram with "Grand Plaza Hotel" but is not a substring of it
+        assertEquals(Collections.emptyList(), index.findContaining("grand hotel"));
+        // Too short for a trigram, answered by a scan
+        assertEquals(Arrays.asList(1L, 2L), sorted(index.findContaining("za")));
+    }
+
+    @Test
+    void suggest_RanksClosestNamesFirst() {
+        // When
+        List<TrigramIndex.Match> matches = index.suggest("plaz", 10);
+
+        // Then - the shorter name shares a larger fraction of its trigrams with the query
+        assertEquals(2, matches.size());
+        assertEquals(2L, matches.get(0).hotelId);
+        assertEquals(1L, matches.get(1).hotelId);
+        assertTrue(matches.get(0).similarity > matches.get(1).similarity);
+        assertEquals(Arrays.asList(3L), idsOf(index.suggest("grand pal", 10)));
+        assertEquals(1, index.suggest("g", 1).size());
+        assertEquals(Collections.emptyList(), index.suggest("palace inn", 10));
+    }
+
+    @Test
+    void addAndRemove_KeepPostingsCurrent() {
+        // When - hotel 2 is renamed and hotel 1 is deleted
+        index.add(2L, "Harbour View");
+        index.remove(1L);
+
+        // Then
+        assertEquals(Collections.emptyList(), index.findContaining("plaza"));
+        assertEquals(Arrays.asList(2L), idsOf(index.suggest("harb", 10)));
+        assertEquals(3, index.size());
+    }
+
+    private List<Long> sorted(List<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        Collections.sort(copy);
+        return copy;
+    }
+
+    private List<Long> idsOf(List<TrigramIndex.Match> matches) {
+        List<Long> ids = new ArrayList<>();
+        for (TrigramIndex.Match match : matches) {
+            ids.add(match.hotelId);
+        }
+        return ids;
+    }
+}
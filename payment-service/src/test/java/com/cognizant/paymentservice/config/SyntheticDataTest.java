@@ -0,0 +1,61 @@
+package com.cognizant.paymentservice.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataTest {
+
+    private final SyntheticData data = new SyntheticData(42, 100_000, 50_000, 500, 1.0, LocalDate.of(2025, 1, 1), 730);
+
+    @Test
+    void payment_MatchesTheReservationServiceRow() {
+        // The same values are pinned in hotel-service's and reservation-service's SyntheticDataTest
+        assertEquals(7450.0, data.roomCost(12_345, "AC"));
+
+        // When
+        SyntheticData.Payment payment = data.payment(987_654);
+
+        // Then
+        assertEquals(987_654, payment.paymentId);
+        assertEquals(987_654, payment.reservationId);
+        assertEquals(15_054, payment.userId);
+        assertEquals(11400.0, payment.amount);
+        assertEquals("SUCCESS", payment.status);
+    }
+
+    @Test
+    void payment_ExistsForEveryReservation() {
+        for (long id = 1; id <= 2_000; id++) {
+            // Given
+            SyntheticData.Reservation reservation = data.reservation(id);
+
+            // When
+            SyntheticData.Payment payment = data.payment(id);
+
+            // Then
+            assertNotNull(payment);
+            assertEquals(reservation.totalCost, payment.amount);
+            assertEquals(reservation.userId, payment.userId);
+            assertEquals("CANCELLED".equals(reservation.status) ? "REFUNDED" : "SUCCESS", payment.status);
+            assertTrue(payment.createdAt.isAfter(reservation.createdAt));
+        }
+    }
+
+    @Test
+    void payment_HasTheDetailsOfItsMethod() {
+        for (long id = 1; id <= 2_000; id++) {
+            // When
+            SyntheticData.Payment payment = data.payment(id);
+
+            // Then
+            switch (payment.paymentMethod) {
+                case "CREDIT_CARD", "DEBIT_CARD" -> assertNotNull(payment.cardNumber);
+                case "UPI" -> assertEquals("user" + payment.userId + "@upi", payment.upiId);
+                default -> assertNotNull(payment.bankName);
+            }
+        }
+    }
+}
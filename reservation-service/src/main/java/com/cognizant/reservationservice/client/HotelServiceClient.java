@@ -1,11 +1,17 @@
 package com.cognizant.reservationservice.client;
 
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @FeignClient(name = "hotel-service", url = "http://localhost:8082")
 public interface HotelServiceClient {
     
@@ -18,13 +24,41 @@ public interface HotelServiceClient {
     @GetMapping("/hotels/{hotelId}/room-availability")
     boolean checkRoomAvailability(@PathVariable("hotelId") Long hotelId, 
                                  @RequestParam("roomType") String roomType, 
-                                 @RequestParam("numberOfRooms") Integer numberOfRooms);
+                                 @RequestParam("numberOfRooms") Integer numberOfRooms,
+                                 @RequestParam("checkInDate") LocalDate checkInDate,
+                                 @RequestParam("checkOutDate") LocalDate checkOutDate);
     
     @PostMapping("/hotels/{hotelId}/update-room-availability")
     boolean updateRoomAvailability(@PathVariable("hotelId") Long hotelId,
                                   @RequestParam("roomType") String roomType,
                                   @RequestParam("numberOfRooms") Integer numberOfRooms,
-                                  @RequestParam("isReservation") boolean isReservation);
+                                  @RequestParam("isReservation") boolean isReservation,
+                                  @RequestParam("checkInDate") LocalDate checkInDate,
+                                  @RequestParam("checkOutDate") LocalDate checkOutDate);
+    
+    // Price of the stay from hotel-service's nightly rates; responds 400 for invalid stays. The options
+    // carry the validation deadline, which the hold and release calls must not inherit
+    @GetMapping("/hotels/{hotelId}/quote")
+    PriceQuoteDto getQuote(@PathVariable("hotelId") Long hotelId,
+                           @RequestParam("roomType") String roomType,
+                           @RequestParam("numberOfRooms") Integer numberOfRooms,
+                           @RequestParam("checkInDate") LocalDate checkInDate,
+                           @RequestParam("checkOutDate") LocalDate checkOutDate,
+                           Request.Options options);
+    
+    // Atomically checks and takes inventory in one round trip; responds 409 when rooms are unavailable
+    @PostMapping("/hotels/{hotelId}/holds")
+    HoldDto createHold(@PathVariable("hotelId") Long hotelId, @RequestBody HoldRequestDto request);
+    
+    @PostMapping("/hotels/{hotelId}/holds/{holdToken}/commit")
+    HoldDto commitHold(@PathVariable("hotelId") Long hotelId, @PathVariable("holdToken") String holdToken);
+    
+    @DeleteMapping("/hotels/{hotelId}/holds/{holdToken}")
+    HoldDto releaseHold(@PathVariable("hotelId") Long hotelId, @PathVariable("holdToken") String holdToken);
+    
+    // Releases many holds of one room type with one inventory update; already released holds and room releases are skipped
+    @PostMapping("/hotels/{hotelId}/holds/release")
+    HoldReleaseResultDto releaseHolds(@PathVariable("hotelId") Long hotelId, @RequestBody HoldReleaseRequestDto request);
     
     // DTO class for Hotel data transfer
     class HotelDto {
@@ -88,4 +122,225 @@ public interface HotelServiceClient {
         public Double getNonAcRoomCost() { return nonAcRoomCost; }
         public void setNonAcRoomCost(Double nonAcRoomCost) { this.nonAcRoomCost = nonAcRoomCost; }
     }
+    
+    // DTO class for hold requests
+    class HoldRequestDto {
+        private String roomType;
+        private Integer numberOfRooms;
+        private LocalDate checkInDate;
+        private LocalDate checkOutDate;
+        
+        // Constructors
+        public HoldRequestDto() {}
+        
+        public HoldRequestDto(String roomType, Integer numberOfRooms, LocalDate checkInDate, LocalDate checkOutDate) {
+            this.roomType = roomType;
+            this.numberOfRooms = numberOfRooms;
+            this.checkInDate = checkInDate;
+            this.checkOutDate = checkOutDate;
+        }
+        
+        // Getters and Setters
+        public String getRoomType() { return roomType; }
+        public void setRoomType(String roomType) { this.roomType = roomType; }
+        
+        public Integer getNumberOfRooms() { return numberOfRooms; }
+        public void setNumberOfRooms(Integer numberOfRooms) { this.numberOfRooms = numberOfRooms; }
+        
+        public LocalDate getCheckInDate() { return checkInDate; }
+        public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+        
+        public LocalDate getCheckOutDate() { return checkOutDate; }
+        public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+    }
+    
+    // DTO class for inventory holds
+    class HoldDto {
+        private String holdToken;
+        private Long hotelId;
+        private String roomType;
+        private Integer numberOfRooms;
+        private LocalDate checkInDate;
+        private LocalDate checkOutDate;
+        private String status;
+        
+        // Constructors
+        public HoldDto() {}
+        
+        public HoldDto(String holdToken, Long hotelId, String roomType, Integer numberOfRooms, String status) {
+            this.holdToken = holdToken;
+            this.hotelId = hotelId;
+            this.roomType = roomType;
+            this.numberOfRooms = numberOfRooms;
+            this.status = status;
+        }
+        
+        // Getters and Setters
+        public String getHoldToken() { return holdToken; }
+        public void setHoldToken(String holdToken) { this.holdToken = holdToken; }
+        
+        public Long getHotelId() { return hotelId; }
+        public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+        
+        public String getRoomType() { return roomType; }
+        public void setRoomType(String roomType) { this.roomType = roomType; }
+        
+        public Integer getNumberOfRooms() { return numberOfRooms; }
+        public void setNumberOfRooms(Integer numberOfRooms) { this.numberOfRooms = numberOfRooms; }
+        
+        public LocalDate getCheckInDate() { return checkInDate; }
+        public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+        
+        public LocalDate getCheckOutDate() { return checkOutDate; }
+        public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+        
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+    }
+    
+    // DTO class for batch hold releases
+    class HoldReleaseRequestDto {
+        private String roomType;
+        private List<String> holdTokens;
+        private List<RoomReleaseDto> roomReleases;
+        
+        // Constructors
+        public HoldReleaseRequestDto() {}
+        
+        public HoldReleaseRequestDto(String roomType, List<String> holdTokens) {
+            this.roomType = roomType;
+            this.holdTokens = holdTokens;
+        }
+        
+        public HoldReleaseRequestDto(String roomType, List<String> holdTokens, List<RoomReleaseDto> roomReleases) {
+            this.roomType = roomType;
+            this.holdTokens = holdTokens;
+            this.roomReleases = roomReleases;
+        }
+        
+        // Getters and Setters
+        public String getRoomType() { return roomType; }
+        public void setRoomType(String roomType) { this.roomType = roomType; }
+        
+        public List<String> getHoldTokens() { return holdTokens; }
+        public void setHoldTokens(List<String> holdTokens) { this.holdTokens = holdTokens; }
+        
+        public List<RoomReleaseDto> getRoomReleases() { return roomReleases; }
+        public void setRoomReleases(List<RoomReleaseDto> roomReleases) { this.roomReleases = roomReleases; }
+    }
+    
+    // DTO class for rooms taken without a hold; hotel-service releases each releaseId once
+    class RoomReleaseDto {
+        private String releaseId;
+        private Integer numberOfRooms;
+        private LocalDate checkInDate;
+        private LocalDate checkOutDate;
+        
+        // Constructors
+        public RoomReleaseDto() {}
+        
+        public RoomReleaseDto(String releaseId, Integer numberOfRooms, LocalDate checkInDate, LocalDate checkOutDate) {
+            this.releaseId = releaseId;
+            this.numberOfRooms = numberOfRooms;
+            this.checkInDate = checkInDate;
+            this.checkOutDate = checkOutDate;
+        }
+        
+        // Getters and Setters
+        public String getReleaseId() { return releaseId; }
+        public void setReleaseId(String releaseId) { this.releaseId = releaseId; }
+        
+        public Integer getNumberOfRooms() { return numberOfRooms; }
+        public void setNumberOfRooms(Integer numberOfRooms) { this.numberOfRooms = numberOfRooms; }
+        
+        public LocalDate getCheckInDate() { return checkInDate; }
+        public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+        
+        public LocalDate getCheckOutDate() { return checkOutDate; }
+        public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+    }
+    
+    // DTO class for batch hold release results
+    class HoldReleaseResultDto {
+        private Long hotelId;
+        private String roomType;
+        private int released;
+        private int roomsReleased;
+        private int alreadyReleased;
+        private List<String> notFound;
+        
+        // Constructors
+        public HoldReleaseResultDto() {}
+        
+        public HoldReleaseResultDto(Long hotelId, String roomType, int released, int roomsReleased,
+                                    int alreadyReleased, List<String> notFound) {
+            this.hotelId = hotelId;
+            this.roomType = roomType;
+            this.released = released;
+            this.roomsReleased = roomsReleased;
+            this.alreadyReleased = alreadyReleased;
+            this.notFound = notFound;
+        }
+        
+        // Getters and Setters
+        public Long getHotelId() { return hotelId; }
+        public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+        
+        public String getRoomType() { return roomType; }
+        public void setRoomType(String roomType) { this.roomType = roomType; }
+        
+        public int getReleased() { return released; }
+        public void setReleased(int released) { this.released = released; }
+        
+        public int getRoomsReleased() { return roomsReleased; }
+        public void setRoomsReleased(int roomsReleased) { this.roomsReleased = roomsReleased; }
+        
+        public int getAlreadyReleased() { return alreadyReleased; }
+        public void setAlreadyReleased(int alreadyReleased) { this.alreadyReleased = alreadyReleased; }
+        
+        public List<String> getNotFound() { return notFound; }
+        public void setNotFound(List<String> notFound) { this.notFound = notFound; }
+    }
+    
+    // DTO class for price quotes
+    class PriceQuoteDto {
+        private Long hotelId;
+        private String roomType;
+        private Integer nights;
+        private Integer numberOfRooms;
+        private Double roomCost;
+        private Double totalCost;
+        
+        // Constructors
+        public PriceQuoteDto() {}
+        
+        public PriceQuoteDto(Long hotelId, String roomType, Integer nights, Integer numberOfRooms,
+                             Double roomCost, Double totalCost) {
+            this.hotelId = hotelId;
+            this.roomType = roomType;
+            this.nights = nights;
+            this.numberOfRooms = numberOfRooms;
+            this.roomCost = roomCost;
+            this.totalCost = totalCost;
+        }
+        
+        // Getters and Setters
+        public Long getHotelId() { return hotelId; }
+        public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+        
+        public String getRoomType() { return roomType; }
+        public void setRoomType(String roomType) { this.roomType = roomType; }
+        
+        public Integer getNights() { return nights; }
+        public void setNights(Integer nights) { this.nights = nights; }
+        
+        public Integer getNumberOfRooms() { return numberOfRooms; }
+        public void setNumberOfRooms(Integer numberOfRooms) { this.numberOfRooms = numberOfRooms; }
+        
+        public Double getRoomCost() { return roomCost; }
+        public void setRoomCost(Double roomCost) { this.roomCost = roomCost; }
+        
+        public Double getTotalCost() { return totalCost; }
+        public void setTotalCost(Double totalCost) { this.totalCost = totalCost; }
+    }
 }
@@ -4,10 +4,10 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
-@FeignClient(name = "user-service")
+@FeignClient(name = "user-service", url = "http://localhost:8081")
 public interface UserServiceClient {
     
-    @GetMapping("/api/users/{userId}")
+    @GetMapping("/users/{userId}")
     UserDto getUserById(@PathVariable("userId") Long userId);
     
     @GetMapping("/api/users/validate/{username}")
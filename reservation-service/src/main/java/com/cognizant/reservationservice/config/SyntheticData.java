@@ -0,0 +1,288 @@
+package com.cognizant.reservationservice.config;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * The synthetic reservations, as pure functions of the seed, the scale and a reservation id. Every
+ * row draws from its own random stream, so any worker can produce any range of ids in any order
+ * and a run with the same settings always writes the same rows. Generated ids start at 1.
+ *
+ * Hotels and users are generated by hotel-service and user-service with the same synthetic-data
+ * settings. Only what a reservation needs from them is recomputed here: the city id ranges and
+ * each hotel's room cost. The helpers that do so (random, mix, acCost, roundTo50, cityRanges) are
+ * copies of hotel-service's com.cognizant.hotelservice.config.SyntheticData, which is canonical;
+ * change them there first. The values pinned in SyntheticDataTest are the same in both.
+ *
+ * This class is in turn the canonical source of the reservation part (Zipf, seasonalCdf and
+ * reservation()), which payment-service copies to recompute what each payment was for.
+ *
+ * Skew: bookings per city follow a Zipf law over city rank, and within a city a few hotels take
+ * most bookings. Check-ins peak in summer and around the new year, more on Fridays and Saturdays.
+ */
+final class SyntheticData {
+
+    static final String[] ROOM_TYPES = {"AC", "NON_AC"};
+
+    // Separate streams per table, so adding a draw to one kind of row does not shift the others
+    private static final long HOTEL_STREAM = 0x1L;
+    private static final long RESERVATION_STREAM = 0x4L;
+
+    private final long seed;
+    private final int cities;
+    private final LocalDate startDate;
+    private final int days;
+    private final LocalDate referenceDate;
+
+    // Hotels of city c (0 = most popular) have ids cityStart[c] + 1 .. cityStart[c + 1]
+    private final long[] cityStart;
+    private final Zipf citySampler;
+    private final Zipf userSampler;
+    private final Zipf[] hotelSamplers;
+    // Cumulative check-in weight per day of the window
+    private final double[] dayCdf;
+
+    SyntheticData(long seed, int hotels, int users, int cities, double zipfExponent, LocalDate startDate, int days) {
+        if (hotels < 1 || users < 1 || cities < 1 || days < 1) {
+            throw new IllegalArgumentException("hotels, users, cities and days must be positive");
+        }
+        this.seed = seed;
+        this.cities = Math.min(cities, hotels);
+        this.startDate = startDate;
+        this.days = days;
+        this.referenceDate = startDate.plusDays(days / 2);
+        this.cityStart = cityRanges(hotels, this.cities, zipfExponent);
+        this.citySampler = new Zipf(this.cities, zipfExponent);
+        // Frequent travellers exist, but bookings are spread far wider over users than over cities
+        this.userSampler = new Zipf(users, zipfExponent / 2);
+        this.hotelSamplers = new Zipf[this.cities];
+        for (int c = 0; c < this.cities; c++) {
+            hotelSamplers[c] = new Zipf((int) (cityStart[c + 1] - cityStart[c]), zipfExponent);
+        }
+        this.dayCdf = seasonalCdf(startDate, days);
+    }
+
+    // ---- Hotel prices ----
+
+    // Per-night cost of one room of the type, exactly as hotel-service generates it
+    double roomCost(long hotelId, String roomType) {
+        SplittableRandom random = random(HOTEL_STREAM, hotelId);
+        double acCost = acCost(random, cityOf(hotelId));
+        if ("AC".equals(roomType)) {
+            return acCost;
+        }
+        return roundTo50(acCost * (0.55 + 0.2 * random.nextDouble()));
+    }
+
+    // 0-based popularity rank of the hotel's city
+    int cityOf(long hotelId) {
+        int low = 0;
+        int high = cities - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (cityStart[mid] < hotelId) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // ---- Reservations ----
+
+    Reservation reservation(long reservationId) {
+        SplittableRandom random = random(RESERVATION_STREAM, reservationId);
+        int city = citySampler.sample(random) - 1;
+        long hotelId = cityStart[city] + hotelSamplers[city].sample(random);
+        Reservation reservation = new Reservation();
+        reservation.reservationId = reservationId;
+        reservation.hotelId = hotelId;
+        reservation.userId = userSampler.sample(random);
+        reservation.roomType = random.nextInt(100) < 65 ? ROOM_TYPES[0] : ROOM_TYPES[1];
+        reservation.checkInDate = startDate.plusDays(checkInDay(random));
+        // Mostly short stays: 1 night plus a geometric tail, at most 14
+        int nights = 1;
+        while (nights < 14 && random.nextDouble() < 0.45) {
+            nights++;
+        }
+        reservation.checkOutDate = reservation.checkInDate.plusDays(nights);
+        int roll = random.nextInt(100);
+        reservation.numberOfRooms = roll < 80 ? 1 : roll < 95 ? 2 : 3;
+        reservation.numberOfGuests = reservation.numberOfRooms + random.nextInt(reservation.numberOfRooms + 1);
+        reservation.totalCost = nights * reservation.numberOfRooms * roomCost(hotelId, reservation.roomType);
+        reservation.status = status(random, reservation.checkOutDate);
+        reservation.refundedAmount = "CANCELLED".equals(reservation.status) ? reservation.totalCost * 0.75 : 0.0;
+        // Booked up to four months ahead, a few days ahead most often
+        long leadDays = Math.min(120, (long) (-Math.log(1 - random.nextDouble()) * 21));
+        reservation.createdAt = reservation.checkInDate.minusDays(leadDays)
+                .atTime(random.nextInt(24), random.nextInt(60));
+        return reservation;
+    }
+
+    private String status(SplittableRandom random, LocalDate checkOut) {
+        int roll = random.nextInt(100);
+        if (roll < 12) {
+            return "CANCELLED";
+        }
+        if (checkOut.isBefore(referenceDate)) {
+            return "COMPLETED";
+        }
+        return "CONFIRMED";
+    }
+
+    private int checkInDay(SplittableRandom random) {
+        double target = random.nextDouble() * dayCdf[days - 1];
+        int low = 0;
+        int high = days - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dayCdf[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // ---- Helpers (random, mix, acCost, roundTo50 and cityRanges copy hotel-service's) ----
+
+    private SplittableRandom random(long stream, long id) {
+        return new SplittableRandom(mix(seed ^ (stream * 0x9E3779B97F4A7C15L)) + id);
+    }
+
+    // Popular cities are dearer
+    private static double acCost(SplittableRandom random, int city) {
+        double base = 1500 + 6000 / Math.sqrt(city + 1);
+        return roundTo50(base * Math.exp(random.nextGaussian() * 0.35));
+    }
+
+    private static double roundTo50(double cost) {
+        return Math.max(50, Math.round(cost / 50) * 50);
+    }
+
+    // Splits hotels into contiguous id ranges with Zipf-distributed sizes, at least one per city
+    static long[] cityRanges(int hotels, int cities, double exponent) {
+        double total = 0;
+        for (int c = 1; c <= cities; c++) {
+            total += Math.pow(c, -exponent);
+        }
+        long[] start = new long[cities + 1];
+        int spare = hotels - cities;
+        long assigned = 0;
+        for (int c = 0; c < cities; c++) {
+            start[c] = assigned;
+            long share = c == cities - 1 ? hotels - assigned
+                    : 1 + (long) Math.floor(spare * Math.pow(c + 1, -exponent) / total);
+            assigned += share;
+        }
+        start[cities] = hotels;
+        return start;
+    }
+
+    // Summer and year-end peaks on a base load, Fridays and Saturdays a third busier
+    static double[] seasonalCdf(LocalDate startDate, int days) {
+        double[] cdf = new double[days];
+        double sum = 0;
+        for (int d = 0; d < days; d++) {
+            LocalDate date = startDate.plusDays(d);
+            double yearAngle = 2 * Math.PI * (date.getDayOfYear() - 1) / 365.0;
+            double weight = 1.0
+                    + 0.6 * Math.max(0, Math.cos(yearAngle - 2 * Math.PI * 170 / 365.0))
+                    + 0.4 * Math.max(0, Math.cos(yearAngle));
+            int dayOfWeek = date.getDayOfWeek().getValue();
+            if (dayOfWeek == 5 || dayOfWeek == 6) {
+                weight *= 1.33;
+            }
+            sum += weight;
+            cdf[d] = sum;
+        }
+        return cdf;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+     * Zipf sampler over 1..n by rejection-inversion (Hörmann and Derflinger), constant time and
+     * memory for any n.
+     */
+    static final class Zipf {
+
+        private final int n;
+        private final double exponent;
+        private final double hIntegralX1;
+        private final double hIntegralN;
+        private final double s;
+
+        Zipf(int n, double exponent) {
+            this.n = n;
+            this.exponent = exponent;
+            this.hIntegralX1 = hIntegral(1.5) - 1;
+            this.hIntegralN = hIntegral(n + 0.5);
+            this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+        }
+
+        int sample(SplittableRandom random) {
+            while (true) {
+                double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                int k = (int) (x + 0.5);
+                if (k < 1) {
+                    k = 1;
+                } else if (k > n) {
+                    k = n;
+                }
+                if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                    return k;
+                }
+            }
+        }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1 - exponent) * logX) * logX;
+        }
+
+        private double h(double x) {
+            return Math.exp(-exponent * Math.log(x));
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = Math.max(-1, x * (1 - exponent));
+            return Math.exp(helper1(t) * x);
+        }
+
+        // log(1 + x) / x, stable near 0
+        private static double helper1(double x) {
+            return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+        }
+
+        // (exp(x) - 1) / x, stable near 0
+        private static double helper2(double x) {
+            return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+        }
+    }
+
+    // A plain row of the reservations table
+
+    static final class Reservation {
+        long reservationId;
+        long userId;
+        long hotelId;
+        String roomType;
+        LocalDate checkInDate;
+        LocalDate checkOutDate;
+        int numberOfGuests;
+        int numberOfRooms;
+        double totalCost;
+        double refundedAmount;
+        String status;
+        LocalDateTime createdAt;
+    }
+}
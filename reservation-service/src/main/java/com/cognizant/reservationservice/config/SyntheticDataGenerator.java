@@ -0,0 +1,143 @@
+package com.cognizant.reservationservice.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills an empty reservations table with synthetic-data.reservations generated bookings (see
+ * SyntheticData) when synthetic-data.enabled is set. Hotel and user ids point at the rows
+ * hotel-service and user-service generate with the same settings, and totals use those hotels'
+ * prices. Id ranges are split across synthetic-data.threads workers writing JDBC batches of
+ * synthetic-data.batch-size rows.
+ *
+ * Plain INSERTs only, so it works against MySQL and H2 alike.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "synthetic-data.enabled", havingValue = "true")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String INSERT_SQL = "INSERT INTO reservations (reservation_id, user_id, hotel_id, room_type, "
+            + "check_in_date, check_out_date, number_of_guests, number_of_rooms, total_cost, refunded_amount, "
+            + "status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Ids per task handed to a worker
+    private static final int CHUNK = 20_000;
+
+    @Value("${synthetic-data.seed:42}")
+    private long seed;
+
+    @Value("${synthetic-data.hotels:1000000}")
+    private int hotels;
+
+    @Value("${synthetic-data.users:1000000}")
+    private int users;
+
+    @Value("${synthetic-data.reservations:50000000}")
+    private long reservations;
+
+    @Value("${synthetic-data.cities:2000}")
+    private int cities;
+
+    @Value("${synthetic-data.zipf-exponent:1.0}")
+    private double zipfExponent;
+
+    @Value("${synthetic-data.start-date:2025-01-01}")
+    private String startDate;
+
+    @Value("${synthetic-data.days:730}")
+    private int days;
+
+    @Value("${synthetic-data.threads:4}")
+    private int threads;
+
+    @Value("${synthetic-data.batch-size:1000}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations", Long.class);
+        if (existing != null && existing > 0) {
+            System.out.println("Synthetic data skipped: reservations table already has " + existing + " rows");
+            return;
+        }
+        SyntheticData data = new SyntheticData(seed, hotels, users, cities, zipfExponent,
+                LocalDate.parse(startDate), days);
+        long started = System.nanoTime();
+        writeInParallel(data, reservations);
+        restartIdentityAfter("reservations", "reservation_id", reservations);
+        report("reservations", reservations, started);
+    }
+
+    private void writeInParallel(SyntheticData data, long count) throws InterruptedException, ExecutionException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (long from = 1; from <= count; from += CHUNK) {
+                long first = from;
+                long last = Math.min(count, from + CHUNK - 1);
+                tasks.add(workers.submit(() -> writeRange(data, first, last)));
+            }
+            // get() rethrows the first failure
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void writeRange(SyntheticData data, long first, long last) {
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (long id = first; id <= last; id++) {
+            SyntheticData.Reservation reservation = data.reservation(id);
+            rows.add(new Object[] {reservation.reservationId, reservation.userId, reservation.hotelId,
+                    reservation.roomType, reservation.checkInDate, reservation.checkOutDate,
+                    reservation.numberOfGuests, reservation.numberOfRooms, reservation.totalCost,
+                    reservation.refundedAmount, reservation.status, reservation.createdAt, reservation.createdAt});
+            if (rows.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    /*
+     * Rows were written with explicit ids. MySQL moves AUTO_INCREMENT past them by itself; H2 keeps
+     * counting from 1 unless told.
+     */
+    private void restartIdentityAfter(String table, String column, long maxId) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(database)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + (maxId + 1));
+        }
+    }
+
+    private static void report(String what, long rows, long started) {
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        System.out.println("Synthetic data: " + rows + " " + what + " written in " + millis + " ms ("
+                + (rows * 1000L / millis) + " rows/s)");
+    }
+}
@@ -1,14 +1,22 @@
 package com.cognizant.reservationservice.controller;
 
+import com.cognizant.reservationservice.model.HoldMetrics;
+import com.cognizant.reservationservice.model.OccupancyPeak;
+import com.cognizant.reservationservice.model.OutboxMetrics;
 import com.cognizant.reservationservice.model.Reservation;
 import com.cognizant.reservationservice.model.ReservationStatus;
+import com.cognizant.reservationservice.model.TeardownProgress;
+import com.cognizant.reservationservice.model.ValidationMetrics;
 import com.cognizant.reservationservice.service.ReservationService;
+import com.cognizant.reservationservice.service.ValidationUnavailableException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,15 +29,33 @@ public class ReservationController {
     private ReservationService reservationService;
     
     @PostMapping
-    public ResponseEntity<?> createReservation(@Valid @RequestBody Reservation reservation) {
+    public ResponseEntity<?> createReservation(@Valid @RequestBody Reservation reservation,
+                                               @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            Reservation createdReservation = reservationService.createReservation(reservation);
+            Reservation createdReservation = reservationService.createReservation(reservation, idempotencyKey);
             return new ResponseEntity<>(createdReservation, HttpStatus.CREATED);
+        } catch (ValidationUnavailableException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
     
+    @GetMapping("/holds/metrics")
+    public ResponseEntity<HoldMetrics> getHoldMetrics() {
+        return new ResponseEntity<>(reservationService.getHoldMetrics(), HttpStatus.OK);
+    }
+    
+    @GetMapping("/outbox/metrics")
+    public ResponseEntity<OutboxMetrics> getOutboxMetrics() {
+        return new ResponseEntity<>(reservationService.getOutboxMetrics(), HttpStatus.OK);
+    }
+    
+    @GetMapping("/validation/metrics")
+    public ResponseEntity<ValidationMetrics> getValidationMetrics() {
+        return new ResponseEntity<>(reservationService.getValidationMetrics(), HttpStatus.OK);
+    }
+    
     @GetMapping("/{reservationId}")
     public ResponseEntity<?> getReservationById(@PathVariable Long reservationId) {
         Optional<Reservation> reservation = reservationService.getReservationById(reservationId);
@@ -57,6 +83,32 @@ public class ReservationController {
         return new ResponseEntity<>(reservations, HttpStatus.OK);
     }
     
+    @GetMapping("/hotel/{hotelId}/overlapping")
+    public ResponseEntity<?> getOverlappingReservations(@PathVariable Long hotelId,
+                                                        @RequestParam String roomType,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate) {
+        try {
+            List<Reservation> reservations = reservationService.getOverlappingReservations(hotelId, roomType, checkInDate, checkOutDate);
+            return new ResponseEntity<>(reservations, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    @GetMapping("/hotel/{hotelId}/peak-occupancy")
+    public ResponseEntity<?> getPeakOccupancy(@PathVariable Long hotelId,
+                                              @RequestParam String roomType,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate) {
+        try {
+            OccupancyPeak peak = reservationService.getPeakOccupancy(hotelId, roomType, checkInDate, checkOutDate);
+            return new ResponseEntity<>(peak, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+    
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Reservation>> getReservationsByStatus(@PathVariable ReservationStatus status) {
         List<Reservation> reservations = reservationService.getReservationsByStatus(status);
@@ -108,10 +160,19 @@ public class ReservationController {
     @DeleteMapping("/hotel/{hotelId}")
     public ResponseEntity<?> deleteReservationsByHotelId(@PathVariable Long hotelId) {
         try {
-            reservationService.deleteReservationsByHotelId(hotelId);
-            return new ResponseEntity<>("All reservations for Hotel ID " + hotelId + " deleted successfully", HttpStatus.OK);
+            TeardownProgress progress = reservationService.deleteReservationsByHotelId(hotelId);
+            return new ResponseEntity<>(progress, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>("Error deleting reservations: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+    
+    @GetMapping("/hotel/{hotelId}/teardown")
+    public ResponseEntity<?> getHotelTeardown(@PathVariable Long hotelId) {
+        Optional<TeardownProgress> progress = reservationService.getHotelTeardown(hotelId);
+        if (progress.isPresent()) {
+            return new ResponseEntity<>(progress.get(), HttpStatus.OK);
+        }
+        return new ResponseEntity<>("Teardown not found", HttpStatus.NOT_FOUND);
+    }
 }
@@ -0,0 +1,45 @@
+package com.cognizant.reservationservice.model;
+
+/**
+ * Churn of the room holds behind PENDING reservations since startup: how many were tracked and how
+ * each one ended (confirmed by payment, cancelled or deleted, or expired unpaid).
+ */
+public class HoldMetrics {
+    
+    private long ttlSeconds;
+    private int activeHolds;
+    private long holdsTracked;
+    private long holdsConfirmed;
+    private long holdsCancelled;
+    private long holdsExpired;
+    private long expiryBatches;
+    private double averageSecondsToConfirm;
+    
+    // Default constructor
+    public HoldMetrics() {}
+    
+    // Getters and Setters
+    public long getTtlSeconds() { return ttlSeconds; }
+    public void setTtlSeconds(long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+    
+    public int getActiveHolds() { return activeHolds; }
+    public void setActiveHolds(int activeHolds) { this.activeHolds = activeHolds; }
+    
+    public long getHoldsTracked() { return holdsTracked; }
+    public void setHoldsTracked(long holdsTracked) { this.holdsTracked = holdsTracked; }
+    
+    public long getHoldsConfirmed() { return holdsConfirmed; }
+    public void setHoldsConfirmed(long holdsConfirmed) { this.holdsConfirmed = holdsConfirmed; }
+    
+    public long getHoldsCancelled() { return holdsCancelled; }
+    public void setHoldsCancelled(long holdsCancelled) { this.holdsCancelled = holdsCancelled; }
+    
+    public long getHoldsExpired() { return holdsExpired; }
+    public void setHoldsExpired(long holdsExpired) { this.holdsExpired = holdsExpired; }
+    
+    public long getExpiryBatches() { return expiryBatches; }
+    public void setExpiryBatches(long expiryBatches) { this.expiryBatches = expiryBatches; }
+    
+    public double getAverageSecondsToConfirm() { return averageSecondsToConfirm; }
+    public void setAverageSecondsToConfirm(double averageSecondsToConfirm) { this.averageSecondsToConfirm = averageSecondsToConfirm; }
+}
@@ -0,0 +1,114 @@
+package com.cognizant.reservationservice.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Rooms a reservation change owes back to hotel-service, written in the same transaction as the
+ * change and deleted once InventoryOutbox has delivered them. Rows it gives up on are parked
+ * with their last error for an operator to look at.
+ */
+@Entity
+@Table(name = "inventory_outbox", indexes = @Index(name = "idx_outbox_next_attempt", columnList = "nextAttemptAt"))
+public class InventoryOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long outboxId;
+
+    // Null for rooms HotelTeardown summed over several deleted reservations
+    private Long reservationId;
+
+    @Column(nullable = false)
+    private Long hotelId;
+
+    @Column(nullable = false, length = 50)
+    private String roomType;
+
+    // Null for reservations made before holds existed; those rooms are released by count instead
+    @Column(length = 36)
+    private String holdToken;
+
+    @Column(nullable = false)
+    private Integer numberOfRooms;
+
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    // Set once hotel-service rejects the rows or they run out of attempts; the relay then leaves them alone
+    @Column(nullable = false)
+    private boolean parked;
+
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public InventoryOutboxEntry() {}
+
+    public InventoryOutboxEntry(Reservation reservation) {
+        this.reservationId = reservation.getReservationId();
+        this.hotelId = reservation.getHotelId();
+        this.roomType = reservation.getRoomType();
+        this.holdToken = reservation.getHoldToken();
+        this.numberOfRooms = reservation.getNumberOfRooms();
+        this.checkInDate = reservation.getCheckInDate();
+        this.checkOutDate = reservation.getCheckOutDate();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    // Getters and Setters
+    public Long getOutboxId() { return outboxId; }
+    public void setOutboxId(Long outboxId) { this.outboxId = outboxId; }
+
+    public Long getReservationId() { return reservationId; }
+    public void setReservationId(Long reservationId) { this.reservationId = reservationId; }
+
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+
+    public String getHoldToken() { return holdToken; }
+    public void setHoldToken(String holdToken) { this.holdToken = holdToken; }
+
+    public Integer getNumberOfRooms() { return numberOfRooms; }
+    public void setNumberOfRooms(Integer numberOfRooms) { this.numberOfRooms = numberOfRooms; }
+
+    public LocalDate getCheckInDate() { return checkInDate; }
+    public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+
+    public LocalDate getCheckOutDate() { return checkOutDate; }
+    public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public boolean isParked() { return parked; }
+    public void setParked(boolean parked) { this.parked = parked; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,61 @@
+package com.cognizant.reservationservice.model;
+
+import java.time.LocalDate;
+
+/**
+ * Most rooms of one type held on any single night from checkInDate up to checkOutDate, counting
+ * pending and confirmed reservations. peakDate is the first night reaching peakRooms, or null when
+ * no reservation overlaps the window.
+ */
+public class OccupancyPeak {
+
+    private Long hotelId;
+
+    private String roomType;
+
+    private LocalDate checkInDate;
+
+    private LocalDate checkOutDate;
+
+    private Integer peakRooms;
+
+    private LocalDate peakDate;
+
+    private Integer overlappingReservations;
+
+    // Default constructor
+    public OccupancyPeak() {}
+
+    public OccupancyPeak(Long hotelId, String roomType, LocalDate checkInDate, LocalDate checkOutDate,
+                         Integer peakRooms, LocalDate peakDate, Integer overlappingReservations) {
+        this.hotelId = hotelId;
+        this.roomType = roomType;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.peakRooms = peakRooms;
+        this.peakDate = peakDate;
+        this.overlappingReservations = overlappingReservations;
+    }
+
+    // Getters and Setters
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+
+    public LocalDate getCheckInDate() { return checkInDate; }
+    public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+
+    public LocalDate getCheckOutDate() { return checkOutDate; }
+    public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+
+    public Integer getPeakRooms() { return peakRooms; }
+    public void setPeakRooms(Integer peakRooms) { this.peakRooms = peakRooms; }
+
+    public LocalDate getPeakDate() { return peakDate; }
+    public void setPeakDate(LocalDate peakDate) { this.peakDate = peakDate; }
+
+    public Integer getOverlappingReservations() { return overlappingReservations; }
+    public void setOverlappingReservations(Integer overlappingReservations) { this.overlappingReservations = overlappingReservations; }
+}
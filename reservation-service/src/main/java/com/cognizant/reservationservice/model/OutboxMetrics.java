@@ -0,0 +1,46 @@
+package com.cognizant.reservationservice.model;
+
+/**
+ * Delivery of the inventory outbox to hotel-service since startup. Entries still waiting are
+ * counted from the table, so they include ones left by an earlier run; parked entries are not
+ * waiting and are counted apart.
+ */
+public class OutboxMetrics {
+
+    private long pendingEntries;
+    private long oldestPendingSeconds;
+    private long parkedEntries;
+    private long entriesDelivered;
+    private long duplicatesSkipped;
+    private long deliveryCalls;
+    private long deliveryFailures;
+    private double averageDelaySeconds;
+
+    // Default constructor
+    public OutboxMetrics() {}
+
+    // Getters and Setters
+    public long getPendingEntries() { return pendingEntries; }
+    public void setPendingEntries(long pendingEntries) { this.pendingEntries = pendingEntries; }
+
+    public long getOldestPendingSeconds() { return oldestPendingSeconds; }
+    public void setOldestPendingSeconds(long oldestPendingSeconds) { this.oldestPendingSeconds = oldestPendingSeconds; }
+
+    public long getParkedEntries() { return parkedEntries; }
+    public void setParkedEntries(long parkedEntries) { this.parkedEntries = parkedEntries; }
+
+    public long getEntriesDelivered() { return entriesDelivered; }
+    public void setEntriesDelivered(long entriesDelivered) { this.entriesDelivered = entriesDelivered; }
+
+    public long getDuplicatesSkipped() { return duplicatesSkipped; }
+    public void setDuplicatesSkipped(long duplicatesSkipped) { this.duplicatesSkipped = duplicatesSkipped; }
+
+    public long getDeliveryCalls() { return deliveryCalls; }
+    public void setDeliveryCalls(long deliveryCalls) { this.deliveryCalls = deliveryCalls; }
+
+    public long getDeliveryFailures() { return deliveryFailures; }
+    public void setDeliveryFailures(long deliveryFailures) { this.deliveryFailures = deliveryFailures; }
+
+    public double getAverageDelaySeconds() { return averageDelaySeconds; }
+    public void setAverageDelaySeconds(double averageDelaySeconds) { this.averageDelaySeconds = averageDelaySeconds; }
+}
@@ -6,7 +6,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = @Index(name = "idx_reservation_hotel", columnList = "hotelId, reservationId"))
 public class Reservation {
     
     @Id
@@ -37,7 +37,7 @@ public class Reservation {
     @Min(value = 1, message = "Number of rooms must be at least 1")
     private Integer numberOfRooms = 1;
     
-    @NotNull(message = "Total cost is required")
+    // Set from hotel-service's price quote on creation; a value sent by the client is ignored
     @DecimalMin(value = "0.01", message = "Total cost must be greater than 0")
     private Double totalCost;
     
@@ -46,6 +46,10 @@ public class Reservation {
     @Enumerated(EnumType.STRING)
     private ReservationStatus status = ReservationStatus.PENDING;
     
+    // Token of the hotel-service inventory hold backing this reservation
+    @Column(length = 36)
+    private String holdToken;
+    
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -159,6 +163,14 @@ public class Reservation {
         this.status = status;
     }
     
+    public String getHoldToken() {
+        return holdToken;
+    }
+    
+    public void setHoldToken(String holdToken) {
+        this.holdToken = holdToken;
+    }
+    
     public Double getRefundedAmount() {
         return refundedAmount;
     }
@@ -197,6 +209,7 @@ public class Reservation {
                 ", totalCost=" + totalCost +
                 ", refundedAmount=" + refundedAmount +
                 ", status=" + status +
+                ", holdToken='" + holdToken + '\'' +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 '}';
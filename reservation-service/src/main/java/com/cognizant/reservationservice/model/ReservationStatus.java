@@ -1,5 +1,5 @@
 package com.cognizant.reservationservice.model;
 
 public enum ReservationStatus {
-    PENDING, CONFIRMED, CANCELLED, COMPLETED
+    PENDING, CONFIRMED, CANCELLED, COMPLETED, EXPIRED
 }
@@ -0,0 +1,82 @@
+package com.cognizant.reservationservice.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of deleting every reservation of a hotel, saved with each chunk HotelTeardown
+ * deletes. A teardown that is RUNNING or FAILED picks up after lastReservationId the next time
+ * the hotel's reservations are deleted.
+ */
+@Entity
+@Table(name = "hotel_teardowns")
+public class TeardownProgress {
+
+    @Id
+    private Long hotelId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TeardownStatus status = TeardownStatus.RUNNING;
+
+    // Deleted so far plus what was left when the teardown last (re)started
+    private long reservationsTotal;
+
+    private long reservationsDeleted;
+
+    // Outbox rows written; reservations without a hold are summed per room type and stay
+    private long releasesQueued;
+
+    private int chunksCompleted;
+
+    private Long lastReservationId;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    // Default constructor
+    public TeardownProgress() {}
+
+    public TeardownProgress(Long hotelId) {
+        this.hotelId = hotelId;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getHotelId() { return hotelId; }
+    public void setHotelId(Long hotelId) { this.hotelId = hotelId; }
+
+    public TeardownStatus getStatus() { return status; }
+    public void setStatus(TeardownStatus status) { this.status = status; }
+
+    public long getReservationsTotal() { return reservationsTotal; }
+    public void setReservationsTotal(long reservationsTotal) { this.reservationsTotal = reservationsTotal; }
+
+    public long getReservationsDeleted() { return reservationsDeleted; }
+    public void setReservationsDeleted(long reservationsDeleted) { this.reservationsDeleted = reservationsDeleted; }
+
+    public long getReleasesQueued() { return releasesQueued; }
+    public void setReleasesQueued(long releasesQueued) { this.releasesQueued = releasesQueued; }
+
+    public int getChunksCompleted() { return chunksCompleted; }
+    public void setChunksCompleted(int chunksCompleted) { this.chunksCompleted = chunksCompleted; }
+
+    public Long getLastReservationId() { return lastReservationId; }
+    public void setLastReservationId(Long lastReservationId) { this.lastReservationId = lastReservationId; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
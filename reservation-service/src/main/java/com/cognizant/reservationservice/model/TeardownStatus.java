@@ -0,0 +1,5 @@
+package com.cognizant.reservationservice.model;
+
+public enum TeardownStatus {
+    RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,47 @@
+package com.cognizant.reservationservice.model;
+
+/**
+ * The checks run against user-service and hotel-service before a reservation takes rooms, since
+ * startup. The stage average tracks the slower of the two calls, not their sum, while both are
+ * answered within their deadlines. Saturations are reservations refused because the check pool
+ * was full.
+ */
+public class ValidationMetrics {
+    
+    private long validations;
+    private long rejections;
+    private long timeouts;
+    private long saturations;
+    private int queuedCalls;
+    private double averageUserMillis;
+    private double averageQuoteMillis;
+    private double averageStageMillis;
+    
+    // Default constructor
+    public ValidationMetrics() {}
+    
+    // Getters and Setters
+    public long getValidations() { return validations; }
+    public void setValidations(long validations) { this.validations = validations; }
+    
+    public long getRejections() { return rejections; }
+    public void setRejections(long rejections) { this.rejections = rejections; }
+    
+    public long getTimeouts() { return timeouts; }
+    public void setTimeouts(long timeouts) { this.timeouts = timeouts; }
+    
+    public long getSaturations() { return saturations; }
+    public void setSaturations(long saturations) { this.saturations = saturations; }
+    
+    public int getQueuedCalls() { return queuedCalls; }
+    public void setQueuedCalls(int queuedCalls) { this.queuedCalls = queuedCalls; }
+    
+    public double getAverageUserMillis() { return averageUserMillis; }
+    public void setAverageUserMillis(double averageUserMillis) { this.averageUserMillis = averageUserMillis; }
+    
+    public double getAverageQuoteMillis() { return averageQuoteMillis; }
+    public void setAverageQuoteMillis(double averageQuoteMillis) { this.averageQuoteMillis = averageQuoteMillis; }
+    
+    public double getAverageStageMillis() { return averageStageMillis; }
+    public void setAverageStageMillis(double averageStageMillis) { this.averageStageMillis = averageStageMillis; }
+}
@@ -0,0 +1,35 @@
+package com.cognizant.reservationservice.repository;
+
+import com.cognizant.reservationservice.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // A plain insert rather than save(), so a key stored concurrently fails instead of being overwritten
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, reservation_id, created_at, expires_at) " +
+                   "VALUES (:idempotencyKey, :requestHash, :reservationId, :createdAt, :expiresAt)", nativeQuery = true)
+    void insert(@Param("idempotencyKey") String idempotencyKey,
+                @Param("requestHash") String requestHash,
+                @Param("reservationId") Long reservationId,
+                @Param("createdAt") LocalDateTime createdAt,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.idempotencyKey = :idempotencyKey AND k.expiresAt <= :now")
+    int deleteIfExpired(@Param("idempotencyKey") String idempotencyKey, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
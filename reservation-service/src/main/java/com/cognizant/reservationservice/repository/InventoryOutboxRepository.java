@@ -0,0 +1,46 @@
+package com.cognizant.reservationservice.repository;
+
+import com.cognizant.reservationservice.model.InventoryOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InventoryOutboxRepository extends JpaRepository<InventoryOutboxEntry, Long> {
+
+    @Query("SELECT e FROM InventoryOutboxEntry e WHERE e.parked = false AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.outboxId")
+    List<InventoryOutboxEntry> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM InventoryOutboxEntry e WHERE e.outboxId IN :outboxIds")
+    int deleteDelivered(@Param("outboxIds") Collection<Long> outboxIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE InventoryOutboxEntry e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, " +
+           "e.lastError = :lastError WHERE e.outboxId IN :outboxIds")
+    int scheduleRetry(@Param("outboxIds") Collection<Long> outboxIds,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("lastError") String lastError);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE InventoryOutboxEntry e SET e.attempts = e.attempts + 1, e.parked = true, " +
+           "e.lastError = :lastError WHERE e.outboxId IN :outboxIds")
+    int park(@Param("outboxIds") Collection<Long> outboxIds, @Param("lastError") String lastError);
+
+    long countByParked(boolean parked);
+
+    @Query("SELECT MIN(e.createdAt) FROM InventoryOutboxEntry e WHERE e.parked = false")
+    LocalDateTime findOldestCreatedAt();
+}
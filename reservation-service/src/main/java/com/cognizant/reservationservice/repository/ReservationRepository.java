@@ -2,12 +2,18 @@ package com.cognizant.reservationservice.repository;
 
 import com.cognizant.reservationservice.model.Reservation;
 import com.cognizant.reservationservice.model.ReservationStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -28,6 +34,30 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
                                                  @Param("checkOutDate") LocalDate checkOutDate,
                                                  @Param("status") ReservationStatus status);
     
+    // Status changes that race with each other (confirm vs. expiry) only succeed from the expected status
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :newStatus, r.updatedAt = :updatedAt " +
+           "WHERE r.reservationId = :reservationId AND r.status = :expectedStatus")
+    int transition(@Param("reservationId") Long reservationId,
+                   @Param("expectedStatus") ReservationStatus expectedStatus,
+                   @Param("newStatus") ReservationStatus newStatus,
+                   @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Row locks keep confirmations of these reservations waiting until the caller's transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.reservationId IN :reservationIds AND r.status = :status")
+    List<Reservation> lockByIdsAndStatus(@Param("reservationIds") Collection<Long> reservationIds,
+                                         @Param("status") ReservationStatus status);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.status = :newStatus, r.updatedAt = :updatedAt " +
+           "WHERE r.reservationId IN :reservationIds AND r.status = :expectedStatus")
+    int transitionAll(@Param("reservationIds") Collection<Long> reservationIds,
+                      @Param("expectedStatus") ReservationStatus expectedStatus,
+                      @Param("newStatus") ReservationStatus newStatus,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+    
     @Query("SELECT r FROM Reservation r WHERE r.checkInDate >= :startDate AND r.checkInDate <= :endDate")
     List<Reservation> findReservationsByDateRange(@Param("startDate") LocalDate startDate, 
                                                   @Param("endDate") LocalDate endDate);
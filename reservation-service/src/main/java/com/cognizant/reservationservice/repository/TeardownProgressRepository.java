@@ -0,0 +1,9 @@
+package com.cognizant.reservationservice.repository;
+
+import com.cognizant.reservationservice.model.TeardownProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TeardownProgressRepository extends JpaRepository<TeardownProgress, Long> {
+}
@@ -0,0 +1,222 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.model.HoldMetrics;
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.model.ReservationStatus;
+import com.cognizant.reservationservice.repository.ReservationRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Expires PENDING reservations that are not paid within reservation.holds.ttl-minutes of being
+ * created, giving their rooms back to hotel-service. Deadlines live in a HoldTimingWheel, filled
+ * from the PENDING rows once on startup and then kept current by ReservationServiceImpl, so
+ * nothing scans the table to find what is due.
+ *
+ * Every tick takes the reservations that fell due and expires them in batches of
+ * reservation.holds.release-batch-size. A batch locks its rows, moves the ones still PENDING to
+ * EXPIRED and queues their rooms in the InventoryOutbox in the same transaction, so a confirmation
+ * racing the expiry either finishes first or finds the reservation expired, and an expired
+ * reservation's rooms are always given back. A batch whose transaction fails is retried after
+ * reservation.holds.retry-seconds.
+ */
+@Component
+public class HoldExpiryScheduler {
+
+    private static final String LOAD_SQL = "SELECT reservation_id, created_at FROM reservations "
+            + "WHERE reservation_id > ? AND status = 'PENDING' ORDER BY reservation_id LIMIT ?";
+
+    @Value("${reservation.holds.ttl-minutes:15}")
+    private long ttlMinutes;
+
+    @Value("${reservation.holds.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${reservation.holds.release-batch-size:500}")
+    private int releaseBatchSize;
+
+    @Value("${reservation.holds.retry-seconds:30}")
+    private long retrySeconds;
+
+    @Value("${reservation.holds.load-batch-size:100000}")
+    private int loadBatchSize;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private InventoryOutbox inventoryOutbox;
+
+    @Autowired
+    private ReservationIntervalIndex intervalIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private HoldTimingWheel wheel;
+    private TransactionTemplate transactionTemplate;
+
+    private final LongAdder holdsTracked = new LongAdder();
+    private final LongAdder holdsConfirmed = new LongAdder();
+    private final LongAdder holdsCancelled = new LongAdder();
+    private final LongAdder holdsExpired = new LongAdder();
+    private final LongAdder expiryBatches = new LongAdder();
+    private final LongAdder confirmMillis = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        wheel = new HoldTimingWheel(tickMillis, System.currentTimeMillis());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        long[] lastId = {0};
+        int[] page = new int[1];
+        long total = 0;
+        do {
+            page[0] = 0;
+            jdbcTemplate.query(LOAD_SQL, (RowCallbackHandler) rs -> {
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                long created = createdAt != null ? createdAt.getTime() : System.currentTimeMillis();
+                lastId[0] = rs.getLong("reservation_id");
+                synchronized (this) {
+                    wheel.schedule(lastId[0], created + ttlMillis());
+                }
+                page[0]++;
+            }, lastId[0], loadBatchSize);
+            total += page[0];
+        } while (page[0] == loadBatchSize);
+        holdsTracked.add(total);
+        System.out.println("Hold expiry scheduler tracking " + total + " pending reservations");
+    }
+
+    // Starts the clock on a stored PENDING reservation; the deadline counts from its creation
+    public void track(Reservation reservation) {
+        if (reservation.getStatus() != ReservationStatus.PENDING) {
+            return;
+        }
+        LocalDateTime createdAt = reservation.getCreatedAt() != null ? reservation.getCreatedAt() : LocalDateTime.now();
+        long created = createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        synchronized (this) {
+            wheel.schedule(reservation.getReservationId(), created + ttlMillis());
+        }
+        holdsTracked.increment();
+    }
+
+    public void confirmed(Long reservationId) {
+        long deadline;
+        synchronized (this) {
+            deadline = wheel.cancel(reservationId);
+        }
+        if (deadline >= 0) {
+            holdsConfirmed.increment();
+            confirmMillis.add(Math.max(System.currentTimeMillis() - (deadline - ttlMillis()), 0));
+        }
+    }
+
+    // The reservation stopped being PENDING some other way: cancelled, deleted or edited
+    public void released(Long reservationId) {
+        long deadline;
+        synchronized (this) {
+            deadline = wheel.cancel(reservationId);
+        }
+        if (deadline >= 0) {
+            holdsCancelled.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.holds.tick-ms:1000}")
+    public void tick() {
+        expireDue(System.currentTimeMillis());
+    }
+
+    void expireDue(long nowMillis) {
+        List<Long> due;
+        synchronized (this) {
+            due = wheel.advance(nowMillis);
+        }
+        for (int from = 0; from < due.size(); from += releaseBatchSize) {
+            List<Long> batch = due.subList(from, Math.min(due.size(), from + releaseBatchSize));
+            try {
+                expireBatch(batch);
+            } catch (RuntimeException e) {
+                System.err.println("Failed to expire " + batch.size() + " reservations, retrying in "
+                        + retrySeconds + " s: " + e.getMessage());
+                long retryAt = nowMillis + retrySeconds * 1000;
+                synchronized (this) {
+                    for (Long reservationId : batch) {
+                        wheel.schedule(reservationId, retryAt);
+                    }
+                }
+            }
+        }
+    }
+
+    public HoldMetrics getMetrics() {
+        HoldMetrics metrics = new HoldMetrics();
+        metrics.setTtlSeconds(ttlMinutes * 60);
+        synchronized (this) {
+            metrics.setActiveHolds(wheel.size());
+        }
+        metrics.setHoldsTracked(holdsTracked.sum());
+        metrics.setHoldsConfirmed(holdsConfirmed.sum());
+        metrics.setHoldsCancelled(holdsCancelled.sum());
+        metrics.setHoldsExpired(holdsExpired.sum());
+        metrics.setExpiryBatches(expiryBatches.sum());
+        long confirmed = holdsConfirmed.sum();
+        metrics.setAverageSecondsToConfirm(confirmed == 0 ? 0.0 : confirmMillis.sum() / 1000.0 / confirmed);
+        return metrics;
+    }
+
+    private void expireBatch(List<Long> reservationIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Reservation> expiring = transactionTemplate.execute(status -> {
+            List<Reservation> pending = reservationRepository.lockByIdsAndStatus(reservationIds,
+                    ReservationStatus.PENDING);
+            if (pending.isEmpty()) {
+                return Collections.<Reservation>emptyList();
+            }
+            List<Long> ids = new ArrayList<>(pending.size());
+            for (Reservation reservation : pending) {
+                ids.add(reservation.getReservationId());
+            }
+            reservationRepository.transitionAll(ids, ReservationStatus.PENDING, ReservationStatus.EXPIRED, now);
+            inventoryOutbox.enqueueAll(pending);
+            return pending;
+        });
+        expiryBatches.increment();
+        if (expiring == null || expiring.isEmpty()) {
+            return;
+        }
+        holdsExpired.add(expiring.size());
+        for (Reservation reservation : expiring) {
+            intervalIndex.remove(reservation);
+        }
+        System.out.println("Expired " + expiring.size() + " unpaid reservations");
+    }
+
+    private long ttlMillis() {
+        return ttlMinutes * 60_000;
+    }
+}
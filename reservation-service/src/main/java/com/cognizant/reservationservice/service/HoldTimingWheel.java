@@ -0,0 +1,148 @@
+package com.cognizant.reservationservice.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel of reservation deadlines. Level 0 has one slot per tick; each level
+ * above has slots as wide as the whole level below it, so four levels of 64 slots cover 64^4 ticks
+ * (about 194 days at one-second ticks). A deadline goes into the lowest level whose span reaches
+ * it, in the slot picked by its own bits, and moves down a level each time the level below wraps
+ * around, landing in level 0 during its last 64 ticks. Scheduling and cancelling are O(1); each
+ * tick touches one level-0 slot plus, on wrap-around, one slot of the levels above.
+ *
+ * Deadlines past the top level's span wait in its furthest slot and are placed again when it comes
+ * around. Not thread-safe; HoldExpiryScheduler guards it.
+ */
+final class HoldTimingWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final Entry[][] slots = new Entry[LEVELS][SLOTS];
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private long currentTick;
+
+    HoldTimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // Schedules or reschedules a reservation; it comes out of advance once the deadline has passed
+    void schedule(long reservationId, long deadlineMillis) {
+        cancel(reservationId);
+        Entry entry = new Entry(reservationId, (deadlineMillis + tickMillis - 1) / tickMillis);
+        entries.put(reservationId, entry);
+        place(entry);
+    }
+
+    // Returns the cancelled deadline, rounded up to a tick, or -1 if the reservation was not scheduled
+    long cancel(long reservationId) {
+        Entry entry = entries.remove(reservationId);
+        if (entry == null) {
+            return -1;
+        }
+        unlink(entry);
+        return entry.deadlineTick * tickMillis;
+    }
+
+    // Moves the wheel up to nowMillis and returns the reservations whose deadlines have passed
+    List<Long> advance(long nowMillis) {
+        List<Long> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Entry entry = slots[0][(int) (currentTick & MASK)];
+            while (entry != null) {
+                Entry next = entry.next;
+                unlink(entry);
+                if (entry.deadlineTick <= currentTick) {
+                    entries.remove(entry.reservationId);
+                    expired.add(entry.reservationId);
+                } else {
+                    place(entry);
+                }
+                entry = next;
+            }
+        }
+        return expired;
+    }
+
+    // When a level wraps, the slot of the level above that now falls due is spread over the levels below
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if (((currentTick >>> (SLOT_BITS * level - SLOT_BITS)) & MASK) != 0) {
+                return;
+            }
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & MASK);
+            Entry entry = slots[level][slot];
+            slots[level][slot] = null;
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                place(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void place(Entry entry) {
+        // Anything due now or already late goes out on the next tick
+        long deadline = Math.max(entry.deadlineTick, currentTick + 1);
+        long delta = deadline - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        if (delta >= 1L << (SLOT_BITS * LEVELS)) {
+            deadline = currentTick + (1L << (SLOT_BITS * LEVELS)) - 1;
+        }
+        int slot = (int) ((deadline >>> (SLOT_BITS * level)) & MASK);
+        entry.level = level;
+        entry.slot = slot;
+        entry.prev = null;
+        entry.next = slots[level][slot];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        slots[level][slot] = entry;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else if (slots[entry.level][entry.slot] == entry) {
+            slots[entry.level][entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private static final class Entry {
+        final long reservationId;
+        final long deadlineTick;
+        int level;
+        int slot;
+        Entry prev;
+        Entry next;
+
+        Entry(long reservationId, long deadlineTick) {
+            this.reservationId = reservationId;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
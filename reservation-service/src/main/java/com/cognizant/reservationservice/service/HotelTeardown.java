@@ -0,0 +1,206 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.model.ReservationStatus;
+import com.cognizant.reservationservice.model.TeardownProgress;
+import com.cognizant.reservationservice.model.TeardownStatus;
+import com.cognizant.reservationservice.repository.TeardownProgressRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Deletes every reservation of a hotel in chunks of reservation.teardown.chunk-size, walking the
+ * hotel's rows in reservation id order. Each chunk is one transaction of a few set-based
+ * statements: lock the chunk's PENDING and CONFIRMED rows, copy the rooms they hold into the
+ * inventory outbox with INSERT ... SELECT, delete the chunk with one ranged DELETE and save the
+ * TeardownProgress checkpoint. No reservation is loaded as an entity.
+ *
+ * Held reservations are queued by hold token, since hotel-service releases each hold on its own.
+ * Reservations made before holds existed are summed per room type and stay into a single outbox
+ * row. The relay then sends each room type one call per batch.
+ *
+ * A teardown that fails or is cut short by a restart keeps its checkpoint, and the next call for
+ * the same hotel resumes after the last deleted chunk with its counters intact.
+ */
+@Component
+public class HotelTeardown {
+
+    static final String CHUNK_END_SQL = "SELECT MAX(reservation_id) FROM (SELECT reservation_id FROM reservations "
+            + "WHERE hotel_id = ? AND reservation_id > ? ORDER BY reservation_id LIMIT ?) chunk";
+
+    static final String LOCK_SQL = "SELECT reservation_id, room_type, check_in_date, status FROM reservations "
+            + "WHERE hotel_id = ? AND reservation_id > ? AND reservation_id <= ? "
+            + "AND status IN ('PENDING', 'CONFIRMED') FOR UPDATE";
+
+    static final String QUEUE_HOLDS_SQL = "INSERT INTO inventory_outbox (reservation_id, hotel_id, room_type, "
+            + "hold_token, number_of_rooms, check_in_date, check_out_date, attempts, parked, next_attempt_at, created_at) "
+            + "SELECT reservation_id, hotel_id, room_type, hold_token, number_of_rooms, check_in_date, check_out_date, "
+            + "0, FALSE, ?, ? FROM reservations WHERE hotel_id = ? AND reservation_id > ? AND reservation_id <= ? "
+            + "AND status IN ('PENDING', 'CONFIRMED') AND hold_token IS NOT NULL";
+
+    static final String QUEUE_COUNTS_SQL = "INSERT INTO inventory_outbox (hotel_id, room_type, number_of_rooms, "
+            + "check_in_date, check_out_date, attempts, parked, next_attempt_at, created_at) "
+            + "SELECT hotel_id, room_type, SUM(number_of_rooms), check_in_date, check_out_date, 0, FALSE, ?, ? "
+            + "FROM reservations WHERE hotel_id = ? AND reservation_id > ? AND reservation_id <= ? "
+            + "AND status IN ('PENDING', 'CONFIRMED') AND hold_token IS NULL "
+            + "GROUP BY hotel_id, room_type, check_in_date, check_out_date";
+
+    static final String DELETE_SQL = "DELETE FROM reservations WHERE hotel_id = ? AND reservation_id > ? "
+            + "AND reservation_id <= ?";
+
+    static final String COUNT_SQL = "SELECT COUNT(*) FROM reservations WHERE hotel_id = ?";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Value("${reservation.teardown.chunk-size:5000}")
+    private int chunkSize;
+
+    @Autowired
+    private TeardownProgressRepository teardownProgressRepository;
+
+    @Autowired
+    private ReservationIntervalIndex intervalIndex;
+
+    @Autowired
+    private HoldExpiryScheduler holdExpiryScheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<Long, Boolean> running = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public TeardownProgress run(Long hotelId) {
+        if (running.putIfAbsent(hotelId, Boolean.TRUE) != null) {
+            throw new RuntimeException("Reservations for Hotel ID " + hotelId + " are already being deleted");
+        }
+        try {
+            TeardownProgress progress = start(hotelId);
+            List<Reservation> released;
+            do {
+                try {
+                    released = transactionTemplate.execute(status -> deleteChunk(progress));
+                } catch (RuntimeException e) {
+                    fail(hotelId, e);
+                    throw e;
+                }
+                if (released != null) {
+                    forget(released);
+                    System.out.println("Hotel ID " + hotelId + ": deleted " + progress.getReservationsDeleted()
+                            + " of " + progress.getReservationsTotal() + " reservations");
+                }
+            } while (released != null);
+            progress.setStatus(TeardownStatus.COMPLETED);
+            progress.setFinishedAt(LocalDateTime.now());
+            progress.setUpdatedAt(progress.getFinishedAt());
+            teardownProgressRepository.save(progress);
+            System.out.println("Successfully deleted " + progress.getReservationsDeleted()
+                    + " reservations for Hotel ID: " + hotelId);
+            return progress;
+        } finally {
+            running.remove(hotelId);
+        }
+    }
+
+    public Optional<TeardownProgress> getProgress(Long hotelId) {
+        return teardownProgressRepository.findById(hotelId);
+    }
+
+    private TeardownProgress start(Long hotelId) {
+        TeardownProgress progress = teardownProgressRepository.findById(hotelId).orElse(null);
+        if (progress == null || progress.getStatus() == TeardownStatus.COMPLETED) {
+            progress = new TeardownProgress(hotelId);
+        } else {
+            System.out.println("Resuming teardown of Hotel ID " + hotelId + " after reservation "
+                    + progress.getLastReservationId());
+        }
+        Long remaining = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, hotelId);
+        progress.setStatus(TeardownStatus.RUNNING);
+        progress.setLastError(null);
+        progress.setFinishedAt(null);
+        progress.setReservationsTotal(progress.getReservationsDeleted() + (remaining != null ? remaining : 0));
+        progress.setUpdatedAt(LocalDateTime.now());
+        return teardownProgressRepository.save(progress);
+    }
+
+    // Deletes the next chunk and returns the room-holding reservations it took, or null when none are left
+    private List<Reservation> deleteChunk(TeardownProgress progress) {
+        Long hotelId = progress.getHotelId();
+        long after = progress.getLastReservationId() != null ? progress.getLastReservationId() : 0;
+        Long last = jdbcTemplate.queryForObject(CHUNK_END_SQL, Long.class, hotelId, after, chunkSize);
+        if (last == null) {
+            return null;
+        }
+        List<Reservation> held = jdbcTemplate.query(LOCK_SQL, (rs, rowNum) -> {
+            Reservation reservation = new Reservation();
+            reservation.setReservationId(rs.getLong("reservation_id"));
+            reservation.setHotelId(hotelId);
+            reservation.setRoomType(rs.getString("room_type"));
+            reservation.setCheckInDate(rs.getDate("check_in_date").toLocalDate());
+            reservation.setStatus(ReservationStatus.valueOf(rs.getString("status")));
+            return reservation;
+        }, hotelId, after, last);
+        int queued = 0;
+        if (!held.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            queued += jdbcTemplate.update(QUEUE_HOLDS_SQL, now, now, hotelId, after, last);
+            queued += jdbcTemplate.update(QUEUE_COUNTS_SQL, now, now, hotelId, after, last);
+        }
+        int deleted = jdbcTemplate.update(DELETE_SQL, hotelId, after, last);
+
+        progress.setLastReservationId(last);
+        progress.setReservationsDeleted(progress.getReservationsDeleted() + deleted);
+        progress.setReleasesQueued(progress.getReleasesQueued() + queued);
+        progress.setChunksCompleted(progress.getChunksCompleted() + 1);
+        progress.setUpdatedAt(LocalDateTime.now());
+        teardownProgressRepository.save(progress);
+        return held;
+    }
+
+    // The chunk is committed, so its reservations leave the overlap index and the expiry wheel
+    private void forget(List<Reservation> released) {
+        for (Reservation reservation : released) {
+            intervalIndex.remove(reservation);
+            if (reservation.getStatus() == ReservationStatus.PENDING) {
+                holdExpiryScheduler.released(reservation.getReservationId());
+            }
+        }
+    }
+
+    // Counters of the rolled back chunk never reached the table, so the checkpoint is reloaded
+    private void fail(Long hotelId, RuntimeException e) {
+        String error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        System.err.println("Error deleting reservations for Hotel ID " + hotelId + ": " + error);
+        try {
+            teardownProgressRepository.findById(hotelId).ifPresent(progress -> {
+                progress.setStatus(TeardownStatus.FAILED);
+                progress.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                progress.setUpdatedAt(LocalDateTime.now());
+                teardownProgressRepository.save(progress);
+            });
+        } catch (RuntimeException saveError) {
+            System.err.println("Could not record failed teardown of Hotel ID " + hotelId + ": " + saveError.getMessage());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.model.IdempotencyKey;
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.repository.IdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes POST /reservations safe to repeat under an Idempotency-Key header. The first request with
+ * a key creates the reservation and stores the key in the same transaction; later requests with
+ * the key get that reservation back. A request that arrives while the first is still running
+ * waits for it instead of taking rooms a second time.
+ *
+ * Completed keys are kept in a bounded LRU of reservation.idempotency.max-entries keys, each for
+ * reservation.idempotency.ttl-hours, in front of the idempotency_keys table. A keyed request that
+ * misses the LRU costs one primary-key lookup. Two instances racing on one key both get past the
+ * lookup, but only one key insert commits; the other request's reservation rolls back and it
+ * returns the winner's.
+ */
+@Component
+public class IdempotencyKeys {
+
+    static final int MAX_KEY_LENGTH = 100;
+
+    @Value("${reservation.idempotency.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${reservation.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${reservation.idempotency.wait-seconds:30}")
+    private long waitSeconds;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final LinkedHashMap<String, Completed> completed = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Completed> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Runs create once for the key and returns the id of the reservation it made, or the id made
+     * by an earlier or concurrent request with the same key and the same body.
+     */
+    public Long execute(String key, String requestHash, Supplier<Long> create) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        Completed done = remembered(key);
+        if (done != null) {
+            return replay(done.requestHash, requestHash, done.reservationId);
+        }
+
+        InFlight mine = new InFlight(requestHash);
+        InFlight first = inFlight.putIfAbsent(key, mine);
+        if (first != null) {
+            return replay(first.requestHash, requestHash, await(first));
+        }
+        try {
+            Long reservationId = stored(key, requestHash);
+            if (reservationId == null) {
+                try {
+                    reservationId = create.get();
+                } catch (DataIntegrityViolationException e) {
+                    // Another instance stored the key between our lookup and our insert
+                    reservationId = stored(key, requestHash);
+                    if (reservationId == null) {
+                        throw e;
+                    }
+                }
+            }
+            remember(key, new Completed(requestHash, reservationId, System.nanoTime()));
+            mine.result.complete(reservationId);
+            return reservationId;
+        } catch (RuntimeException e) {
+            // Failures are not remembered, so a retry after this one does the work again
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // Stores the reservation and its key together, so neither is kept without the other
+    @Transactional
+    public Reservation saveWithKey(String key, String requestHash, Supplier<Reservation> save) {
+        Reservation saved = save.get();
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyKeyRepository.insert(key, requestHash, saved.getReservationId(), now, now.plusHours(ttlHours));
+        return saved;
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.idempotency.purge-ms:3600000}")
+    public void purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            System.out.println("Purged " + purged + " expired idempotency keys");
+        }
+    }
+
+    // What makes two reservation requests the same request
+    public static String requestHash(Reservation reservation) {
+        String request = reservation.getUserId() + "|" + reservation.getHotelId() + "|" + reservation.getRoomType()
+                + "|" + reservation.getCheckInDate() + "|" + reservation.getCheckOutDate()
+                + "|" + reservation.getNumberOfGuests() + "|" + reservation.getNumberOfRooms();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(request.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Long stored(String key, String requestHash) {
+        Optional<IdempotencyKey> stored = idempotencyKeyRepository.findById(key);
+        if (stored.isEmpty()) {
+            return null;
+        }
+        IdempotencyKey record = stored.get();
+        if (!record.getExpiresAt().isAfter(LocalDateTime.now())) {
+            // Expired but not purged yet; clear it so the insert for this request can go in
+            idempotencyKeyRepository.deleteIfExpired(key, LocalDateTime.now());
+            return null;
+        }
+        return replay(record.getRequestHash(), requestHash, record.getReservationId());
+    }
+
+    private Long await(InFlight first) {
+        try {
+            return first.result.get(waitSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a request with the same Idempotency-Key");
+        }
+    }
+
+    private static Long replay(String firstHash, String requestHash, Long reservationId) {
+        if (!firstHash.equals(requestHash)) {
+            throw new RuntimeException("Idempotency-Key was already used for a different reservation request");
+        }
+        return reservationId;
+    }
+
+    private synchronized Completed remembered(String key) {
+        Completed done = completed.get(key);
+        if (done != null && System.nanoTime() - done.storedAt > TimeUnit.HOURS.toNanos(ttlHours)) {
+            completed.remove(key);
+            return null;
+        }
+        return done;
+    }
+
+    private synchronized void remember(String key, Completed done) {
+        if (maxEntries > 0) {
+            completed.put(key, done);
+        }
+    }
+
+    private static final class InFlight {
+
+        private final String requestHash;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        InFlight(String requestHash) {
+            this.requestHash = requestHash;
+        }
+    }
+
+    private static final class Completed {
+
+        private final String requestHash;
+        private final Long reservationId;
+        private final long storedAt;
+
+        Completed(String requestHash, Long reservationId, long storedAt) {
+            this.requestHash = requestHash;
+            this.reservationId = reservationId;
+            this.storedAt = storedAt;
+        }
+    }
+}
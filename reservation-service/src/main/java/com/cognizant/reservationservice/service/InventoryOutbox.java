@@ -0,0 +1,222 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.client.HotelServiceClient;
+import com.cognizant.reservationservice.model.InventoryOutboxEntry;
+import com.cognizant.reservationservice.model.OutboxMetrics;
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.model.ReservationStatus;
+import com.cognizant.reservationservice.repository.InventoryOutboxRepository;
+import feign.FeignException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gives rooms back to hotel-service for cancelled, expired and deleted reservations without the
+ * caller waiting on it. enqueue writes an outbox row in the caller's transaction, so the rooms are
+ * owed exactly when the reservation change commits; the relay then delivers due rows every
+ * reservation.outbox.poll-ms.
+ *
+ * The relay reads up to reservation.outbox.batch-size rows at a time and sends each hotel and
+ * room type one release call, carrying hold tokens and, for reservations made before holds
+ * existed, room releases named after the reservation (or after the row, when HotelTeardown summed
+ * several reservations into it). Delivered rows are deleted. A failed call
+ * backs its rows off exponentially from backoff-initial-ms up to backoff-max-ms; after
+ * max-attempts tries, or as soon as hotel-service rejects the call with a 4xx that retrying cannot
+ * fix, the rows are parked and no longer relayed. A rejected call of several rows is first split
+ * into one call per row, so only the rows hotel-service refuses on their own are parked. hotel-service
+ * skips holds and room releases it has already released, so a row delivered twice (a delete that
+ * failed after the call, or two instances relaying at once) returns its rooms only once.
+ */
+@Component
+public class InventoryOutbox {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Value("${reservation.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${reservation.outbox.backoff-initial-ms:1000}")
+    private long backoffInitialMillis;
+
+    @Value("${reservation.outbox.backoff-max-ms:300000}")
+    private long backoffMaxMillis;
+
+    @Value("${reservation.outbox.max-attempts:20}")
+    private int maxAttempts;
+
+    @Autowired
+    private InventoryOutboxRepository inventoryOutboxRepository;
+
+    @Autowired
+    private HotelServiceClient hotelServiceClient;
+
+    private final LongAdder entriesDelivered = new LongAdder();
+    private final LongAdder duplicatesSkipped = new LongAdder();
+    private final LongAdder deliveryCalls = new LongAdder();
+    private final LongAdder deliveryFailures = new LongAdder();
+    private final LongAdder delayMillis = new LongAdder();
+
+    // Records the rooms a reservation holds as owed back; only PENDING and CONFIRMED ones hold any
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Reservation reservation) {
+        if (holdsRooms(reservation)) {
+            inventoryOutboxRepository.save(new InventoryOutboxEntry(reservation));
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<Reservation> reservations) {
+        List<InventoryOutboxEntry> entries = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            if (holdsRooms(reservation)) {
+                entries.add(new InventoryOutboxEntry(reservation));
+            }
+        }
+        if (!entries.isEmpty()) {
+            inventoryOutboxRepository.saveAll(entries);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.outbox.poll-ms:1000}")
+    public void relay() {
+        List<InventoryOutboxEntry> due;
+        do {
+            // Delivered rows are deleted and failed ones move into the future, so the first page is always new
+            due = inventoryOutboxRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            deliver(due);
+        } while (due.size() == batchSize);
+    }
+
+    public OutboxMetrics getMetrics() {
+        OutboxMetrics metrics = new OutboxMetrics();
+        metrics.setPendingEntries(inventoryOutboxRepository.countByParked(false));
+        metrics.setParkedEntries(inventoryOutboxRepository.countByParked(true));
+        LocalDateTime oldest = inventoryOutboxRepository.findOldestCreatedAt();
+        metrics.setOldestPendingSeconds(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).getSeconds());
+        long delivered = entriesDelivered.sum();
+        metrics.setEntriesDelivered(delivered);
+        metrics.setDuplicatesSkipped(duplicatesSkipped.sum());
+        metrics.setDeliveryCalls(deliveryCalls.sum());
+        metrics.setDeliveryFailures(deliveryFailures.sum());
+        metrics.setAverageDelaySeconds(delivered == 0 ? 0.0 : delayMillis.sum() / 1000.0 / delivered);
+        return metrics;
+    }
+
+    private void deliver(List<InventoryOutboxEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<String, List<InventoryOutboxEntry>> byRoomType = new LinkedHashMap<>();
+        for (InventoryOutboxEntry entry : entries) {
+            byRoomType.computeIfAbsent(entry.getHotelId() + ":" + entry.getRoomType().trim().toUpperCase(Locale.ROOT),
+                    k -> new ArrayList<>()).add(entry);
+        }
+        List<Long> delivered = new ArrayList<>(entries.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (List<InventoryOutboxEntry> group : byRoomType.values()) {
+            for (InventoryOutboxEntry entry : send(group)) {
+                delivered.add(entry.getOutboxId());
+                delayMillis.add(Math.max(Duration.between(entry.getCreatedAt(), now).toMillis(), 0));
+            }
+        }
+        if (!delivered.isEmpty()) {
+            inventoryOutboxRepository.deleteDelivered(delivered);
+            entriesDelivered.add(delivered.size());
+        }
+    }
+
+    // Returns the entries hotel-service took
+    private List<InventoryOutboxEntry> send(List<InventoryOutboxEntry> group) {
+        InventoryOutboxEntry first = group.get(0);
+        List<String> holdTokens = new ArrayList<>();
+        List<HotelServiceClient.RoomReleaseDto> roomReleases = new ArrayList<>();
+        int attempts = 0;
+        for (InventoryOutboxEntry entry : group) {
+            if (entry.getHoldToken() != null) {
+                holdTokens.add(entry.getHoldToken());
+            } else {
+                String releaseId = entry.getReservationId() != null ? "reservation-" + entry.getReservationId()
+                        : "outbox-" + entry.getOutboxId();
+                roomReleases.add(new HotelServiceClient.RoomReleaseDto(releaseId, entry.getNumberOfRooms(),
+                        entry.getCheckInDate(), entry.getCheckOutDate()));
+            }
+            attempts = Math.max(attempts, entry.getAttempts());
+        }
+        deliveryCalls.increment();
+        try {
+            HotelServiceClient.HoldReleaseResultDto result = hotelServiceClient.releaseHolds(first.getHotelId(),
+                    new HotelServiceClient.HoldReleaseRequestDto(first.getRoomType(), holdTokens, roomReleases));
+            if (result != null) {
+                duplicatesSkipped.add(result.getAlreadyReleased());
+                if (result.getNotFound() != null && !result.getNotFound().isEmpty()) {
+                    System.err.println("Hotel " + first.getHotelId() + " has no holds " + result.getNotFound()
+                            + " to release");
+                }
+            }
+            return group;
+        } catch (Exception e) {
+            deliveryFailures.increment();
+            String error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            if (error.length() > MAX_ERROR_LENGTH) {
+                error = error.substring(0, MAX_ERROR_LENGTH);
+            }
+            List<Long> outboxIds = new ArrayList<>(group.size());
+            for (InventoryOutboxEntry entry : group) {
+                outboxIds.add(entry.getOutboxId());
+            }
+            String rows = "outbox entries " + outboxIds + " for hotel " + first.getHotelId() + " " + first.getRoomType();
+            if (isRejected(e) && group.size() > 1) {
+                // hotel-service refuses the whole call for one bad entry, so find it before parking anything
+                System.err.println("Hotel " + first.getHotelId() + " rejected " + rows + ", sending them one at a time: "
+                        + error);
+                List<InventoryOutboxEntry> delivered = new ArrayList<>(group.size());
+                for (InventoryOutboxEntry entry : group) {
+                    delivered.addAll(send(List.of(entry)));
+                }
+                return delivered;
+            }
+            if (isRejected(e) || attempts + 1 >= maxAttempts) {
+                System.err.println("Parking " + rows + " after " + (attempts + 1) + " attempts: " + error);
+                inventoryOutboxRepository.park(outboxIds, error);
+            } else {
+                long backoff = backoffMillis(attempts);
+                System.err.println("Error releasing rooms of " + rows + ", retrying in " + backoff + " ms: " + error);
+                inventoryOutboxRepository.scheduleRetry(outboxIds, LocalDateTime.now().plusNanos(backoff * 1_000_000),
+                        error);
+            }
+            return List.of();
+        }
+    }
+
+    // A 4xx other than a timeout or throttling means hotel-service would refuse the same call again
+    private static boolean isRejected(Exception e) {
+        if (!(e instanceof FeignException)) {
+            return false;
+        }
+        int status = ((FeignException) e).status();
+        return status >= 400 && status < 500 && status != 408 && status != 429;
+    }
+
+    private long backoffMillis(int attempts) {
+        return Math.min(backoffInitialMillis << Math.min(attempts, 20), backoffMaxMillis);
+    }
+
+    private static boolean holdsRooms(Reservation reservation) {
+        return reservation.getStatus() == ReservationStatus.PENDING
+                || reservation.getStatus() == ReservationStatus.CONFIRMED;
+    }
+}
@@ -0,0 +1,222 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.model.OccupancyPeak;
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.model.ReservationStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory overlap index over the reservations that hold rooms (PENDING and CONFIRMED), one
+ * StayIntervalTree per hotel and room type. Replaces scanning a hotel's reservations with the
+ * JPQL date predicate: an overlap query walks one tree and touches only the subtrees that can
+ * hold a stay in the window, and the busiest night is a sorted sweep over just those stays. Both
+ * cost time in the number of overlapping stays k, not in the hotel's n reservations; see
+ * StayIntervalTree.overlapping and peak for the bounds.
+ *
+ * Built from the reservations table once the application is ready, read in keyset pages of
+ * reservation.index.load-batch-size rows, then kept current by ReservationServiceImpl on create,
+ * update, cancel and delete. Writes are serialized with each other and with a rebuild; readers
+ * only lock the one tree they query.
+ */
+@Component
+public class ReservationIntervalIndex {
+
+    private static final String LOAD_SQL = "SELECT reservation_id, hotel_id, room_type, check_in_date, "
+            + "check_out_date, number_of_rooms FROM reservations "
+            + "WHERE reservation_id > ? AND status IN ('PENDING', 'CONFIRMED') ORDER BY reservation_id LIMIT ?";
+
+    @Value("${reservation.index.load-batch-size:100000}")
+    private int loadBatchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile ConcurrentMap<String, StayIntervalTree> trees = new ConcurrentHashMap<>();
+    private volatile boolean built;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        Map<String, List<StayIntervalTree.Stay>> stays = new HashMap<>();
+        long[] lastId = {0};
+        int[] page = new int[1];
+        long total = 0;
+        do {
+            page[0] = 0;
+            jdbcTemplate.query(LOAD_SQL, (RowCallbackHandler) rs -> {
+                long reservationId = rs.getLong("reservation_id");
+                StayIntervalTree.Stay stay = new StayIntervalTree.Stay(reservationId,
+                        (int) rs.getDate("check_in_date").toLocalDate().toEpochDay(),
+                        (int) rs.getDate("check_out_date").toLocalDate().toEpochDay(),
+                        rs.getInt("number_of_rooms"));
+                stays.computeIfAbsent(key(rs.getLong("hotel_id"), rs.getString("room_type")),
+                        k -> new ArrayList<>()).add(stay);
+                lastId[0] = reservationId;
+                page[0]++;
+            }, lastId[0], loadBatchSize);
+            total += page[0];
+        } while (page[0] == loadBatchSize);
+
+        ConcurrentMap<String, StayIntervalTree> rebuilt = new ConcurrentHashMap<>(stays.size() * 2);
+        stays.forEach((key, list) -> {
+            list.sort(StayIntervalTree.ORDER);
+            rebuilt.put(key, StayIntervalTree.of(list));
+        });
+        trees = rebuilt;
+        built = true;
+        System.out.println("Reservation interval index built with " + total + " stays over " + rebuilt.size()
+                + " hotel room types in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Indexes a stored reservation if it holds rooms. Adding one that is already indexed (a
+     * reservation saved while a rebuild was reading the table) replaces it.
+     */
+    public synchronized void add(Reservation reservation) {
+        if (!holdsRooms(reservation)) {
+            return;
+        }
+        StayIntervalTree.Stay stay = new StayIntervalTree.Stay(reservation.getReservationId(),
+                (int) reservation.getCheckInDate().toEpochDay(), (int) reservation.getCheckOutDate().toEpochDay(),
+                reservation.getNumberOfRooms());
+        StayIntervalTree tree = trees.computeIfAbsent(key(reservation.getHotelId(), reservation.getRoomType()),
+                k -> new StayIntervalTree());
+        synchronized (tree) {
+            tree.remove(stay.start, stay.reservationId);
+            tree.add(stay);
+        }
+    }
+
+    // Takes a reservation out by the hotel, room type and check-in it was indexed under
+    public synchronized void remove(Long reservationId, Long hotelId, String roomType, LocalDate checkInDate) {
+        String key = key(hotelId, roomType);
+        StayIntervalTree tree = trees.get(key);
+        if (tree == null) {
+            return;
+        }
+        synchronized (tree) {
+            tree.remove((int) checkInDate.toEpochDay(), reservationId);
+            if (tree.size() == 0) {
+                trees.remove(key);
+            }
+        }
+    }
+
+    public void remove(Reservation reservation) {
+        remove(reservation.getReservationId(), reservation.getHotelId(), reservation.getRoomType(),
+                reservation.getCheckInDate());
+    }
+
+    // Ids of the room-holding reservations with at least one night in [checkInDate, checkOutDate)
+    public List<Long> findOverlapping(Long hotelId, String roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+        StayIntervalTree.Stay[] stays = overlapping(hotelId, roomType, checkInDate, checkOutDate);
+        List<Long> ids = new ArrayList<>(stays.length);
+        for (StayIntervalTree.Stay stay : stays) {
+            ids.add(stay.reservationId);
+        }
+        return ids;
+    }
+
+    /**
+     * The night in [checkInDate, checkOutDate) with the most rooms held. Each overlapping stay is
+     * clipped to the window and becomes an arrival and a departure event; departures sort before
+     * arrivals on the same night, so back-to-back stays never count together.
+     *
+     * Costs the overlap search plus O(k log k) to sort the 2k events of the k overlapping stays.
+     * The tree keeps no per-node occupancy, so the peak is not answered in O(log n) the way a
+     * segment tree over nights would.
+     */
+    public OccupancyPeak peak(Long hotelId, String roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+        StayIntervalTree.Stay[] stays = overlapping(hotelId, roomType, checkInDate, checkOutDate);
+        int from = (int) checkInDate.toEpochDay();
+        int to = (int) checkOutDate.toEpochDay();
+        // Night offset, then 0 for a departure or 1 for an arrival, then the stay's position
+        long[] events = new long[stays.length * 2];
+        for (int i = 0; i < stays.length; i++) {
+            long arrival = Math.max(stays[i].start, from) - from;
+            long departure = Math.min(stays[i].end, to) - from;
+            events[2 * i] = arrival << 33 | 1L << 32 | i;
+            events[2 * i + 1] = departure << 33 | i;
+        }
+        Arrays.sort(events);
+        int rooms = 0;
+        int peakRooms = 0;
+        long peakNight = -1;
+        for (long event : events) {
+            StayIntervalTree.Stay stay = stays[(int) event];
+            if ((event & 1L << 32) != 0) {
+                rooms += stay.rooms;
+                if (rooms > peakRooms) {
+                    peakRooms = rooms;
+                    peakNight = event >>> 33;
+                }
+            } else {
+                rooms -= stay.rooms;
+            }
+        }
+        return new OccupancyPeak(hotelId, roomType, checkInDate, checkOutDate, peakRooms,
+                peakNight < 0 ? null : checkInDate.plusDays(peakNight), stays.length);
+    }
+
+    public int size() {
+        int size = 0;
+        for (StayIntervalTree tree : trees.values()) {
+            synchronized (tree) {
+                size += tree.size();
+            }
+        }
+        return size;
+    }
+
+    private StayIntervalTree.Stay[] overlapping(Long hotelId, String roomType, LocalDate checkInDate,
+                                                LocalDate checkOutDate) {
+        ensureBuilt();
+        StayIntervalTree tree = trees.get(key(hotelId, roomType));
+        if (tree == null) {
+            return new StayIntervalTree.Stay[0];
+        }
+        synchronized (tree) {
+            return tree.overlapping((int) checkInDate.toEpochDay(), (int) checkOutDate.toEpochDay());
+        }
+    }
+
+    // Queries that arrive before the ready event build the index themselves
+    private void ensureBuilt() {
+        if (!built) {
+            synchronized (this) {
+                if (!built) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private static boolean holdsRooms(Reservation reservation) {
+        return reservation.getStatus() == ReservationStatus.PENDING
+                || reservation.getStatus() == ReservationStatus.CONFIRMED;
+    }
+
+    private static String key(Long hotelId, String roomType) {
+        return hotelId + ":" + roomType.trim().toUpperCase(Locale.ROOT);
+    }
+}
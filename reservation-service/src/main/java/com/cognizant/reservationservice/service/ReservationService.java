@@ -1,8 +1,14 @@
 package com.cognizant.reservationservice.service;
 
+import com.cognizant.reservationservice.model.HoldMetrics;
+import com.cognizant.reservationservice.model.OccupancyPeak;
+import com.cognizant.reservationservice.model.OutboxMetrics;
 import com.cognizant.reservationservice.model.Reservation;
 import com.cognizant.reservationservice.model.ReservationStatus;
+import com.cognizant.reservationservice.model.TeardownProgress;
+import com.cognizant.reservationservice.model.ValidationMetrics;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,6 +16,9 @@ public interface ReservationService {
     
     Reservation createReservation(Reservation reservation);
     
+    // Creates the reservation once per key; repeats with the same key return the first result
+    Reservation createReservation(Reservation reservation, String idempotencyKey);
+    
     Optional<Reservation> getReservationById(Long reservationId);
     
     List<Reservation> getAllReservations();
@@ -28,5 +37,18 @@ public interface ReservationService {
     
     Reservation confirmReservation(Long reservationId);
     
-    void deleteReservationsByHotelId(Long hotelId);
+    // Deletes in chunks, resuming an earlier teardown of the same hotel that did not finish
+    TeardownProgress deleteReservationsByHotelId(Long hotelId);
+    
+    Optional<TeardownProgress> getHotelTeardown(Long hotelId);
+    
+    HoldMetrics getHoldMetrics();
+    
+    OutboxMetrics getOutboxMetrics();
+    
+    ValidationMetrics getValidationMetrics();
+    
+    List<Reservation> getOverlappingReservations(Long hotelId, String roomType, LocalDate checkInDate, LocalDate checkOutDate);
+    
+    OccupancyPeak getPeakOccupancy(Long hotelId, String roomType, LocalDate checkInDate, LocalDate checkOutDate);
 }
@@ -1,15 +1,25 @@
 package com.cognizant.reservationservice.service;
 
 import com.cognizant.reservationservice.client.HotelServiceClient;
+import com.cognizant.reservationservice.model.HoldMetrics;
+import com.cognizant.reservationservice.model.OccupancyPeak;
+import com.cognizant.reservationservice.model.OutboxMetrics;
 import com.cognizant.reservationservice.model.Reservation;
 import com.cognizant.reservationservice.model.ReservationStatus;
+import com.cognizant.reservationservice.model.TeardownProgress;
+import com.cognizant.reservationservice.model.ValidationMetrics;
 import com.cognizant.reservationservice.repository.ReservationRepository;
+import feign.FeignException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,32 +32,64 @@ public class ReservationServiceImpl implements ReservationService {
     @Autowired
     private HotelServiceClient hotelServiceClient;
     
+    @Autowired
+    private ReservationIntervalIndex intervalIndex;
+    
+    @Autowired
+    private HoldExpiryScheduler holdExpiryScheduler;
+    
+    @Autowired
+    private IdempotencyKeys idempotencyKeys;
+    
+    @Autowired
+    private InventoryOutbox inventoryOutbox;
+    
+    @Autowired
+    private HotelTeardown hotelTeardown;
+    
+    @Autowired
+    private ReservationValidator reservationValidator;
+    
     @Override
     public Reservation createReservation(Reservation reservation) {
-        // Check room availability before creating reservation
+        return createReservation(reservation, null, null);
+    }
+    
+    @Override
+    public Reservation createReservation(Reservation reservation, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createReservation(reservation);
+        }
+        String requestHash = IdempotencyKeys.requestHash(reservation);
+        Reservation[] created = new Reservation[1];
+        Long reservationId = idempotencyKeys.execute(idempotencyKey, requestHash, () -> {
+            created[0] = createReservation(reservation, idempotencyKey, requestHash);
+            return created[0].getReservationId();
+        });
+        if (created[0] != null) {
+            return created[0];
+        }
+        // A repeat of an earlier request; hand back the reservation as it is now
+        return reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new RuntimeException("Reservation not found with id: " + reservationId));
+    }
+    
+    private Reservation createReservation(Reservation reservation, String idempotencyKey, String requestHash) {
+        // User, hotel and price are checked in parallel before any rooms are taken
+        HotelServiceClient.PriceQuoteDto quote = reservationValidator.validate(reservation);
+        reservation.setTotalCost(quote.getTotalCost());
+        
+        // Check and take room availability in a single call to hotel-service
+        HotelServiceClient.HoldDto hold;
         try {
-            boolean isAvailable = hotelServiceClient.checkRoomAvailability(
-                reservation.getHotelId(), 
-                reservation.getRoomType(), 
-                reservation.getNumberOfRooms()
-            );
-            
-            if (!isAvailable) {
-                throw new RuntimeException("Insufficient rooms available for the requested reservation");
-            }
-            
-            // Update room availability (decrease available rooms)
-            boolean updateSuccess = hotelServiceClient.updateRoomAvailability(
-                reservation.getHotelId(),
+            hold = hotelServiceClient.createHold(reservation.getHotelId(), new HotelServiceClient.HoldRequestDto(
                 reservation.getRoomType(),
                 reservation.getNumberOfRooms(),
-                true // isReservation = true (making a reservation)
-            );
-            
-            if (!updateSuccess) {
-                throw new RuntimeException("Failed to update room availability");
-            }
-            
+                reservation.getCheckInDate(),
+                reservation.getCheckOutDate()
+            ));
+        } catch (FeignException.Conflict e) {
+            throw new RuntimeException("Room availability check failed: Insufficient rooms available for the requested reservation");
         } catch (Exception e) {
             System.err.println("Error checking/updating room availability: " + e.getMessage());
             throw new RuntimeException("Room availability check failed: " + e.getMessage());
@@ -57,10 +99,23 @@ public class ReservationServiceImpl implements ReservationService {
         if (reservation.getStatus() == null) {
             reservation.setStatus(ReservationStatus.PENDING); // Changed to PENDING initially
         }
+        reservation.setHoldToken(hold.getHoldToken());
         reservation.setCreatedAt(LocalDateTime.now());
         reservation.setUpdatedAt(LocalDateTime.now());
         
-        return reservationRepository.save(reservation);
+        Reservation savedReservation;
+        try {
+            savedReservation = idempotencyKey == null
+                    ? reservationRepository.save(reservation)
+                    : idempotencyKeys.saveWithKey(idempotencyKey, requestHash, () -> reservationRepository.save(reservation));
+        } catch (RuntimeException e) {
+            // Give the rooms back if the reservation could not be stored
+            releaseHoldQuietly(reservation);
+            throw e;
+        }
+        intervalIndex.add(savedReservation);
+        holdExpiryScheduler.track(savedReservation);
+        return savedReservation;
     }
     
     @Override
@@ -88,6 +143,10 @@ public class ReservationServiceImpl implements ReservationService {
         Optional<Reservation> existingReservation = reservationRepository.findById(reservationId);
         if (existingReservation.isPresent()) {
             Reservation reservationToUpdate = existingReservation.get();
+            // Where the reservation sits in the overlap index until the update is stored
+            Long previousHotelId = reservationToUpdate.getHotelId();
+            String previousRoomType = reservationToUpdate.getRoomType();
+            LocalDate previousCheckInDate = reservationToUpdate.getCheckInDate();
             reservationToUpdate.setUserId(reservation.getUserId());
             reservationToUpdate.setHotelId(reservation.getHotelId());
             reservationToUpdate.setRoomType(reservation.getRoomType());
@@ -97,41 +156,44 @@ public class ReservationServiceImpl implements ReservationService {
             reservationToUpdate.setTotalCost(reservation.getTotalCost());
             reservationToUpdate.setStatus(reservation.getStatus());
             reservationToUpdate.setUpdatedAt(LocalDateTime.now());
-            return reservationRepository.save(reservationToUpdate);
+            Reservation updatedReservation = reservationRepository.save(reservationToUpdate);
+            intervalIndex.remove(reservationId, previousHotelId, previousRoomType, previousCheckInDate);
+            intervalIndex.add(updatedReservation);
+            if (updatedReservation.getStatus() == ReservationStatus.PENDING) {
+                holdExpiryScheduler.track(updatedReservation);
+            } else {
+                holdExpiryScheduler.released(reservationId);
+            }
+            return updatedReservation;
         } else {
             throw new RuntimeException("Reservation not found with id: " + reservationId);
         }
     }
     
     @Override
+    @Transactional
     public Reservation cancelReservation(Long reservationId) {
         Optional<Reservation> existingReservation = reservationRepository.findById(reservationId);
         if (existingReservation.isPresent()) {
             Reservation reservation = existingReservation.get();
+            // An expired reservation's rooms have already gone back to the hotel
+            if (reservation.getStatus() == ReservationStatus.EXPIRED) {
+                throw new RuntimeException("Cannot cancel reservation with status: " + reservation.getStatus());
+            }
             
             // Calculate refund amount based on cancellation policy
             double refundAmount = calculateRefundAmount(reservation);
             
-            // Restore room availability when canceling reservation
-            try {
-                boolean updateSuccess = hotelServiceClient.updateRoomAvailability(
-                    reservation.getHotelId(),
-                    reservation.getRoomType(),
-                    reservation.getNumberOfRooms(),
-                    false // isReservation = false (canceling a reservation)
-                );
-                
-                if (!updateSuccess) {
-                    System.err.println("Warning: Failed to restore room availability for canceled reservation " + reservationId);
-                }
-            } catch (Exception e) {
-                System.err.println("Error restoring room availability: " + e.getMessage());
-            }
+            // Rooms go back to the hotel through the outbox once this transaction commits
+            inventoryOutbox.enqueue(reservation);
             
             reservation.setStatus(ReservationStatus.CANCELLED);
             reservation.setRefundedAmount(refundAmount);
             reservation.setUpdatedAt(LocalDateTime.now());
-            return reservationRepository.save(reservation);
+            Reservation cancelledReservation = reservationRepository.save(reservation);
+            intervalIndex.remove(cancelledReservation);
+            holdExpiryScheduler.released(reservationId);
+            return cancelledReservation;
         } else {
             throw new RuntimeException("Reservation not found with id: " + reservationId);
         }
@@ -160,8 +222,11 @@ public class ReservationServiceImpl implements ReservationService {
     
     @Override
     public void deleteReservation(Long reservationId) {
-        if (reservationRepository.existsById(reservationId)) {
+        Optional<Reservation> existingReservation = reservationRepository.findById(reservationId);
+        if (existingReservation.isPresent()) {
             reservationRepository.deleteById(reservationId);
+            intervalIndex.remove(existingReservation.get());
+            holdExpiryScheduler.released(reservationId);
         } else {
             throw new RuntimeException("Reservation not found with id: " + reservationId);
         }
@@ -178,9 +243,19 @@ public class ReservationServiceImpl implements ReservationService {
         if (existingReservation.isPresent()) {
             Reservation reservation = existingReservation.get();
             if (reservation.getStatus() == ReservationStatus.PENDING) {
+                // Guarded so a confirmation and an expiry of the same reservation cannot both win
+                LocalDateTime now = LocalDateTime.now();
+                if (reservationRepository.transition(reservationId, ReservationStatus.PENDING,
+                        ReservationStatus.CONFIRMED, now) == 0) {
+                    ReservationStatus current = reservationRepository.findById(reservationId)
+                            .map(Reservation::getStatus).orElse(null);
+                    throw new RuntimeException("Cannot confirm reservation with status: " + current);
+                }
+                holdExpiryScheduler.confirmed(reservationId);
+                commitHoldQuietly(reservation);
                 reservation.setStatus(ReservationStatus.CONFIRMED);
-                reservation.setUpdatedAt(LocalDateTime.now());
-                return reservationRepository.save(reservation);
+                reservation.setUpdatedAt(now);
+                return reservation;
             } else {
                 throw new RuntimeException("Cannot confirm reservation with status: " + reservation.getStatus());
             }
@@ -189,43 +264,76 @@ public class ReservationServiceImpl implements ReservationService {
     }
     
     @Override
-    public void deleteReservationsByHotelId(Long hotelId) {
-        List<Reservation> reservations = reservationRepository.findByHotelId(hotelId);
-        
-        if (reservations.isEmpty()) {
-            System.out.println("No reservations found for Hotel ID: " + hotelId);
+    public TeardownProgress deleteReservationsByHotelId(Long hotelId) {
+        return hotelTeardown.run(hotelId);
+    }
+    
+    @Override
+    public Optional<TeardownProgress> getHotelTeardown(Long hotelId) {
+        return hotelTeardown.getProgress(hotelId);
+    }
+    
+    @Override
+    public HoldMetrics getHoldMetrics() {
+        return holdExpiryScheduler.getMetrics();
+    }
+    
+    @Override
+    public OutboxMetrics getOutboxMetrics() {
+        return inventoryOutbox.getMetrics();
+    }
+    
+    @Override
+    public ValidationMetrics getValidationMetrics() {
+        return reservationValidator.getMetrics();
+    }
+    
+    @Override
+    public List<Reservation> getOverlappingReservations(Long hotelId, String roomType, LocalDate checkInDate,
+                                                        LocalDate checkOutDate) {
+        validateWindow(roomType, checkInDate, checkOutDate);
+        List<Long> ids = intervalIndex.findOverlapping(hotelId, roomType, checkInDate, checkOutDate);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Reservation> reservations = new ArrayList<>(reservationRepository.findAllById(ids));
+        reservations.sort(Comparator.comparing(Reservation::getCheckInDate)
+                .thenComparing(Reservation::getReservationId));
+        return reservations;
+    }
+    
+    @Override
+    public OccupancyPeak getPeakOccupancy(Long hotelId, String roomType, LocalDate checkInDate,
+                                          LocalDate checkOutDate) {
+        validateWindow(roomType, checkInDate, checkOutDate);
+        return intervalIndex.peak(hotelId, roomType, checkInDate, checkOutDate);
+    }
+    
+    private void validateWindow(String roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (roomType == null || roomType.isBlank()) {
+            throw new RuntimeException("Room type is required");
+        }
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new RuntimeException("Check-out date must be after check-in date");
+        }
+    }
+    
+    private void releaseHoldQuietly(Reservation reservation) {
+        try {
+            hotelServiceClient.releaseHold(reservation.getHotelId(), reservation.getHoldToken());
+        } catch (Exception e) {
+            System.err.println("Error releasing hold " + reservation.getHoldToken() + ": " + e.getMessage());
+        }
+    }
+    
+    private void commitHoldQuietly(Reservation reservation) {
+        if (reservation.getHoldToken() == null) {
             return;
         }
-        
-        System.out.println("Found " + reservations.size() + " reservations for Hotel ID: " + hotelId);
-        
-        // Restore room availability for each reservation before deleting
-        for (Reservation reservation : reservations) {
-            try {
-                // Only restore availability if reservation was confirmed or pending
-                if (reservation.getStatus() == ReservationStatus.CONFIRMED || 
-                    reservation.getStatus() == ReservationStatus.PENDING) {
-                    
-                    boolean updateSuccess = hotelServiceClient.updateRoomAvailability(
-                        reservation.getHotelId(),
-                        reservation.getRoomType(),
-                        reservation.getNumberOfRooms(),
-                        false // isReservation = false (canceling/deleting reservation)
-                    );
-                    
-                    if (!updateSuccess) {
-                        System.err.println("Warning: Failed to restore room availability for reservation " + 
-                                         reservation.getReservationId());
-                    }
-                }
-            } catch (Exception e) {
-                System.err.println("Error restoring room availability for reservation " + 
-                                 reservation.getReservationId() + ": " + e.getMessage());
-            }
+        try {
+            hotelServiceClient.commitHold(reservation.getHotelId(), reservation.getHoldToken());
+        } catch (Exception e) {
+            System.err.println("Error committing hold " + reservation.getHoldToken() + ": " + e.getMessage());
         }
-        
-        // Delete all reservations for the hotel
-        reservationRepository.deleteAll(reservations);
-        System.out.println("Successfully deleted " + reservations.size() + " reservations for Hotel ID: " + hotelId);
     }
 }
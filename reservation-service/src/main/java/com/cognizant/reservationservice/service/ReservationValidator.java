@@ -0,0 +1,219 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.client.HotelServiceClient;
+import com.cognizant.reservationservice.client.UserServiceClient;
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.model.ValidationMetrics;
+import feign.FeignException;
+import feign.Request;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Checks a new reservation against user-service (the user exists) and hotel-service (the hotel
+ * sells the room type, priced for the stay) before it takes any rooms. Both calls run at once on
+ * a pool of reservation.validation.threads, so the check takes as long as the slower call rather
+ * than both together.
+ *
+ * Each call has its own deadline, user-timeout-ms and hotel-timeout-ms. The first call to fail or
+ * miss its deadline rejects the reservation straight away, and the other call is cancelled.
+ * Cancelling does not unblock a Feign call waiting on a socket, so the calls' own connect and read
+ * timeouts are kept within the same deadlines: user-service's in application.yml, since that client
+ * only serves this check, and the quote's per request, since holds and releases share its client. When the pool and its queue of
+ * queue-capacity are full, the reservation is refused with ValidationUnavailableException rather
+ * than checked on the request thread.
+ */
+@Component
+public class ReservationValidator {
+
+    private static final long QUOTE_CONNECT_TIMEOUT_MILLIS = 1000;
+
+    @Value("${reservation.validation.threads:32}")
+    private int threads;
+
+    @Value("${reservation.validation.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${reservation.validation.user-timeout-ms:2000}")
+    private long userTimeoutMillis;
+
+    @Value("${reservation.validation.hotel-timeout-ms:3000}")
+    private long hotelTimeoutMillis;
+
+    @Autowired
+    private UserServiceClient userServiceClient;
+
+    @Autowired
+    private HotelServiceClient hotelServiceClient;
+
+    private ThreadPoolExecutor executor;
+
+    private Request.Options quoteOptions;
+
+    private final LongAdder validations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder saturations = new LongAdder();
+    private final LongAdder userCalls = new LongAdder();
+    private final LongAdder userNanos = new LongAdder();
+    private final LongAdder quoteCalls = new LongAdder();
+    private final LongAdder quoteNanos = new LongAdder();
+    private final LongAdder stageNanos = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "reservation-validation-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        quoteOptions = new Request.Options(Math.min(QUOTE_CONNECT_TIMEOUT_MILLIS, hotelTimeoutMillis), TimeUnit.MILLISECONDS,
+                hotelTimeoutMillis, TimeUnit.MILLISECONDS, true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Returns hotel-service's quote for the stay once both checks have passed
+    public HotelServiceClient.PriceQuoteDto validate(Reservation reservation) {
+        long start = System.nanoTime();
+        CompletableFuture<UserServiceClient.UserDto> user = null;
+        CompletableFuture<HotelServiceClient.PriceQuoteDto> quote;
+        try {
+            user = call("User validation failed", "user-service", userTimeoutMillis, userCalls, userNanos,
+                    () -> findUser(reservation.getUserId()));
+            quote = call("Price quote failed", "hotel-service", hotelTimeoutMillis, quoteCalls, quoteNanos,
+                    () -> getQuote(reservation));
+        } catch (RejectedExecutionException e) {
+            // Both checks need a thread; one that got in alone is dropped
+            if (user != null) {
+                user.cancel(true);
+            }
+            saturations.increment();
+            throw new ValidationUnavailableException("Reservation checks are at capacity, please retry shortly");
+        }
+
+        CompletableFuture<Void> rejected = new CompletableFuture<>();
+        user.whenComplete((value, error) -> {
+            if (error != null) {
+                rejected.completeExceptionally(error);
+            }
+        });
+        quote.whenComplete((value, error) -> {
+            if (error != null) {
+                rejected.completeExceptionally(error);
+            }
+        });
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(user, quote), rejected).join();
+            return quote.join();
+        } catch (CompletionException e) {
+            rejections.increment();
+            user.cancel(true);
+            quote.cancel(true);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause.getMessage());
+        } finally {
+            validations.increment();
+            stageNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public ValidationMetrics getMetrics() {
+        ValidationMetrics metrics = new ValidationMetrics();
+        metrics.setValidations(validations.sum());
+        metrics.setRejections(rejections.sum());
+        metrics.setTimeouts(timeouts.sum());
+        metrics.setSaturations(saturations.sum());
+        metrics.setQueuedCalls(executor.getQueue().size());
+        metrics.setAverageUserMillis(averageMillis(userNanos, userCalls.sum()));
+        metrics.setAverageQuoteMillis(averageMillis(quoteNanos, quoteCalls.sum()));
+        metrics.setAverageStageMillis(averageMillis(stageNanos, validations.sum()));
+        return metrics;
+    }
+
+    private UserServiceClient.UserDto findUser(Long userId) {
+        try {
+            return userServiceClient.getUserById(userId);
+        } catch (FeignException.NotFound e) {
+            throw new RuntimeException("User validation failed: User not found with id: " + userId);
+        } catch (Exception e) {
+            System.err.println("Error validating user: " + e.getMessage());
+            throw new RuntimeException("User validation failed: " + e.getMessage());
+        }
+    }
+
+    // The price comes from hotel-service, not from the client; a missing hotel or room type fails here too
+    private HotelServiceClient.PriceQuoteDto getQuote(Reservation reservation) {
+        try {
+            return hotelServiceClient.getQuote(reservation.getHotelId(), reservation.getRoomType(),
+                    reservation.getNumberOfRooms(), reservation.getCheckInDate(), reservation.getCheckOutDate(),
+                    quoteOptions);
+        } catch (FeignException.BadRequest e) {
+            throw new RuntimeException("Price quote failed: " + e.contentUTF8());
+        } catch (Exception e) {
+            System.err.println("Error getting price quote: " + e.getMessage());
+            throw new RuntimeException("Price quote failed: " + e.getMessage());
+        }
+    }
+
+    private <T> CompletableFuture<T> call(String failure, String service, long timeoutMillis, LongAdder calls,
+                                          LongAdder nanos, Supplier<T> check) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                result.complete(check.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                calls.increment();
+                nanos.add(System.nanoTime() - start);
+            }
+        });
+        CompletableFuture<T> checked = result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).handle((value, error) -> {
+            if (error == null) {
+                return value;
+            }
+            // Stops a call that missed its deadline, or one that is no longer needed
+            task.cancel(true);
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                timeouts.increment();
+                throw new RuntimeException(failure + ": " + service + " did not answer within " + timeoutMillis + " ms");
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(failure + ": " + cause.getMessage());
+        });
+        checked.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                result.cancel(true);
+            }
+        });
+        return checked;
+    }
+
+    private static double averageMillis(LongAdder nanos, long count) {
+        return count == 0 ? 0.0 : nanos.sum() / 1e6 / count;
+    }
+}
@@ -0,0 +1,234 @@
+package com.cognizant.reservationservice.service;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Stays of one hotel and room type as half-open [check-in, check-out) intervals of epoch days.
+ * A treap ordered by (check-in, reservation id) with each node's priority taken from a hash of the
+ * reservation id, so the shape does not depend on insertion order and a bulk build from sorted
+ * stays gives the same tree as inserting them one by one. Every node also carries the latest
+ * check-out in its subtree, which lets an overlap search skip any subtree that ends before the
+ * window and, by the ordering, everything to the right of a node that starts after it.
+ *
+ * Not thread-safe; ReservationIntervalIndex guards each tree.
+ */
+final class StayIntervalTree {
+
+    // Check-in, then reservation id: the order nodes sit in, also used to sort before a bulk build
+    static final Comparator<Stay> ORDER = Comparator.<Stay>comparingInt(stay -> stay.start)
+            .thenComparingLong(stay -> stay.reservationId);
+
+    private Node root;
+    private int size;
+
+    StayIntervalTree() {
+    }
+
+    /**
+     * Builds the tree in O(n) from stays already sorted by ORDER: a Cartesian tree on the hashed
+     * priorities, built left to right with a stack of the rightmost path.
+     */
+    static StayIntervalTree of(List<Stay> sorted) {
+        StayIntervalTree tree = new StayIntervalTree();
+        Deque<Node> rightPath = new ArrayDeque<>();
+        for (Stay stay : sorted) {
+            Node node = new Node(stay);
+            Node last = null;
+            while (!rightPath.isEmpty() && rightPath.peek().priority < node.priority) {
+                last = rightPath.pop();
+                update(last);
+            }
+            node.left = last;
+            if (!rightPath.isEmpty()) {
+                rightPath.peek().right = node;
+            }
+            rightPath.push(node);
+        }
+        while (!rightPath.isEmpty()) {
+            Node node = rightPath.pop();
+            update(node);
+            tree.root = node;
+        }
+        tree.size = sorted.size();
+        return tree;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(Stay stay) {
+        root = insert(root, new Node(stay));
+        size++;
+    }
+
+    boolean remove(int start, long reservationId) {
+        int before = size;
+        root = delete(root, start, reservationId);
+        return size < before;
+    }
+
+    /**
+     * Stays overlapping [from, to), in check-in order. Back-to-back stays do not overlap: a room
+     * vacated on the morning of the check-in day is free that night.
+     *
+     * Visits the reported stays and the paths leading to them, so it takes O(k log n) at worst for k
+     * stays in a tree of n, with the depth O(log n) expected from the hashed priorities. That is not
+     * the O(log n + k) of an interval tree that stores stays at their centre night.
+     */
+    Stay[] overlapping(int from, int to) {
+        Collector collector = new Collector();
+        collect(root, from, to, collector);
+        return Arrays.copyOf(collector.stays, collector.count);
+    }
+
+    private static void collect(Node node, int from, int to, Collector collector) {
+        while (node != null && node.maxEnd > from) {
+            collect(node.left, from, to, collector);
+            if (node.stay.start >= to) {
+                return;
+            }
+            if (node.stay.end > from) {
+                collector.add(node.stay);
+            }
+            node = node.right;
+        }
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (ORDER.compare(added.stay, node.stay) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node delete(Node node, int start, long reservationId) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = start != node.stay.start ? Integer.compare(start, node.stay.start)
+                : Long.compare(reservationId, node.stay.reservationId);
+        if (cmp == 0) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = delete(node.left, start, reservationId);
+        } else {
+            node.right = delete(node.right, start, reservationId);
+        }
+        update(node);
+        return node;
+    }
+
+    // Joins two treaps where every key of left sorts before every key of right
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        int maxEnd = node.stay.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    // SplitMix64 finalizer: well spread priorities even for consecutive ids
+    private static int priority(long reservationId) {
+        long z = reservationId + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31));
+    }
+
+    static final class Stay {
+        final long reservationId;
+        final int start;
+        final int end;
+        final int rooms;
+
+        Stay(long reservationId, int start, int end, int rooms) {
+            this.reservationId = reservationId;
+            this.start = start;
+            this.end = end;
+            this.rooms = rooms;
+        }
+    }
+
+    private static final class Node {
+        final Stay stay;
+        final int priority;
+        int maxEnd;
+        Node left;
+        Node right;
+
+        Node(Stay stay) {
+            this.stay = stay;
+            this.priority = priority(stay.reservationId);
+            this.maxEnd = stay.end;
+        }
+    }
+
+    private static final class Collector {
+        Stay[] stays = new Stay[16];
+        int count;
+
+        void add(Stay stay) {
+            if (count == stays.length) {
+                stays = Arrays.copyOf(stays, count * 2);
+            }
+            stays[count++] = stay;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.cognizant.reservationservice.service;
+
+/**
+ * Thrown when the reservation checks cannot be started because ReservationValidator's pool and
+ * queue are full. The reservation itself may be fine, so callers answer 503 rather than 400.
+ */
+public class ValidationUnavailableException extends RuntimeException {
+
+    public ValidationUnavailableException(String message) {
+        super(message);
+    }
+}
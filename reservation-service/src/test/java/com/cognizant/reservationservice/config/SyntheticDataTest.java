@@ -0,0 +1,93 @@
+package com.cognizant.reservationservice.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataTest {
+
+    private final SyntheticData data = new SyntheticData(42, 100_000, 50_000, 500, 1.0, LocalDate.of(2025, 1, 1), 730);
+
+    @Test
+    void reservation_IsAFunctionOfSeedAndId() {
+        // Given
+        SyntheticData again = new SyntheticData(42, 100_000, 50_000, 500, 1.0, LocalDate.of(2025, 1, 1), 730);
+        SyntheticData otherSeed = new SyntheticData(7, 100_000, 50_000, 500, 1.0, LocalDate.of(2025, 1, 1), 730);
+
+        // When
+        SyntheticData.Reservation reservation = data.reservation(987_654);
+
+        // Then - same settings give the same rows, whichever order they are asked for in
+        assertEquals(reservation.hotelId, again.reservation(987_654).hotelId);
+        assertEquals(reservation.checkInDate, again.reservation(987_654).checkInDate);
+        assertNotEquals(reservation.createdAt, otherSeed.reservation(987_654).createdAt);
+    }
+
+    @Test
+    void reservation_MatchesTheRowsOtherServicesGenerate() {
+        // The same values are pinned in hotel-service's and payment-service's SyntheticDataTest
+        assertEquals(7450.0, data.roomCost(12_345, "AC"));
+        assertEquals(4550.0, data.roomCost(12_345, "NON_AC"));
+
+        // When
+        SyntheticData.Reservation reservation = data.reservation(987_654);
+
+        // Then
+        assertEquals(280, reservation.hotelId);
+        assertEquals(15_054, reservation.userId);
+        assertEquals("AC", reservation.roomType);
+        assertEquals(11400.0, reservation.totalCost);
+        assertEquals("COMPLETED", reservation.status);
+    }
+
+    @Test
+    void reservations_AreSkewedTowardsPopularCitiesAndPeakSeason() {
+        // When
+        int inTopCity = 0;
+        int inJune = 0;
+        int inOctober = 0;
+        for (long id = 1; id <= 20_000; id++) {
+            SyntheticData.Reservation reservation = data.reservation(id);
+            assertTrue(reservation.hotelId >= 1 && reservation.hotelId <= 100_000);
+            assertTrue(reservation.userId >= 1 && reservation.userId <= 50_000);
+            assertTrue(reservation.checkOutDate.isAfter(reservation.checkInDate));
+            long nights = reservation.checkOutDate.toEpochDay() - reservation.checkInDate.toEpochDay();
+            assertEquals(nights * reservation.numberOfRooms * data.roomCost(reservation.hotelId, reservation.roomType),
+                    reservation.totalCost);
+            if (data.cityOf(reservation.hotelId) == 0) {
+                inTopCity++;
+            }
+            if (reservation.checkInDate.getMonth() == Month.JUNE) {
+                inJune++;
+            } else if (reservation.checkInDate.getMonth() == Month.OCTOBER) {
+                inOctober++;
+            }
+        }
+
+        // Then - 1/H(500) of bookings is about 15% for the top city; June beats October
+        assertTrue(inTopCity > 2_400 && inTopCity < 3_600, "top city bookings: " + inTopCity);
+        assertTrue(inJune > inOctober * 1.3, "June " + inJune + " vs October " + inOctober);
+    }
+
+    @Test
+    void reservations_AreNeverPending() {
+        // Given - the window's midpoint, after which bookings are still in the future
+        LocalDate referenceDate = LocalDate.of(2025, 1, 1).plusDays(365);
+
+        for (long id = 1; id <= 20_000; id++) {
+            // When
+            SyntheticData.Reservation reservation = data.reservation(id);
+
+            // Then - a pending row would have no hold in hotel-service for the expiry wheel to release
+            assertNotEquals("PENDING", reservation.status);
+            if ("COMPLETED".equals(reservation.status)) {
+                assertTrue(reservation.checkOutDate.isBefore(referenceDate));
+            }
+            assertEquals("CANCELLED".equals(reservation.status) ? reservation.totalCost * 0.75 : 0.0,
+                    reservation.refundedAmount);
+        }
+    }
+}
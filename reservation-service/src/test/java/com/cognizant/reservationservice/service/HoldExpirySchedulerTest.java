@@ -0,0 +1,136 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.model.HoldMetrics;
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.model.ReservationStatus;
+import com.cognizant.reservationservice.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldExpirySchedulerTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private InventoryOutbox inventoryOutbox;
+
+    @Mock
+    private ReservationIntervalIndex intervalIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private HoldExpiryScheduler holdExpiryScheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(holdExpiryScheduler, "ttlMinutes", 15L);
+        ReflectionTestUtils.setField(holdExpiryScheduler, "tickMillis", 1000L);
+        ReflectionTestUtils.setField(holdExpiryScheduler, "releaseBatchSize", 500);
+        ReflectionTestUtils.setField(holdExpiryScheduler, "retrySeconds", 30L);
+        holdExpiryScheduler.init();
+    }
+
+    @Test
+    void tick_ExpiresDueHoldsAndQueuesTheirRooms() {
+        // Given - four stale holds and one fresh hold
+        Reservation a = reservation(1L, 10L, "AC", "h1", 20);
+        Reservation b = reservation(2L, 10L, "AC", "h2", 20);
+        Reservation c = reservation(3L, 10L, "NON_AC", "h3", 20);
+        Reservation d = reservation(4L, 10L, "AC", "h4", 20);
+        Reservation fresh = reservation(5L, 10L, "AC", "h5", 1);
+        for (Reservation reservation : Arrays.asList(a, b, c, d, fresh)) {
+            holdExpiryScheduler.track(reservation);
+        }
+        // Reservation 4 was confirmed in the meantime, so the lock no longer returns it
+        when(reservationRepository.lockByIdsAndStatus(anyCollection(), eq(ReservationStatus.PENDING)))
+                .thenReturn(Arrays.asList(a, b, c));
+
+        // When - late deadlines fall due on the next tick
+        holdExpiryScheduler.expireDue(System.currentTimeMillis() + 1000);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> locked = ArgumentCaptor.forClass(Collection.class);
+        verify(reservationRepository).lockByIdsAndStatus(locked.capture(), eq(ReservationStatus.PENDING));
+        assertEquals(4, locked.getValue().size());
+        verify(reservationRepository).transitionAll(eq(Arrays.asList(1L, 2L, 3L)), eq(ReservationStatus.PENDING),
+                eq(ReservationStatus.EXPIRED), any(LocalDateTime.class));
+        verify(inventoryOutbox).enqueueAll(Arrays.asList(a, b, c));
+        verify(intervalIndex, times(3)).remove(any(Reservation.class));
+
+        HoldMetrics metrics = holdExpiryScheduler.getMetrics();
+        assertEquals(1, metrics.getActiveHolds());
+        assertEquals(3, metrics.getHoldsExpired());
+    }
+
+    @Test
+    void tick_RetriesBatchWhenStatusUpdateFails() {
+        // Given
+        holdExpiryScheduler.track(reservation(1L, 10L, "AC", "h1", 20));
+        when(reservationRepository.lockByIdsAndStatus(anyCollection(), eq(ReservationStatus.PENDING)))
+                .thenThrow(new RuntimeException("Lock wait timeout"));
+
+        // When
+        holdExpiryScheduler.expireDue(System.currentTimeMillis() + 1000);
+
+        // Then - still tracked, nothing queued
+        assertEquals(1, holdExpiryScheduler.getMetrics().getActiveHolds());
+        verifyNoInteractions(inventoryOutbox);
+    }
+
+    @Test
+    void confirmedAndReleased_StopTracking() {
+        // Given
+        holdExpiryScheduler.track(reservation(1L, 10L, "AC", "h1", 1));
+        holdExpiryScheduler.track(reservation(2L, 10L, "AC", "h2", 1));
+        holdExpiryScheduler.track(reservation(3L, 10L, "AC", "h3", 1));
+
+        // When
+        holdExpiryScheduler.confirmed(1L);
+        holdExpiryScheduler.released(2L);
+        holdExpiryScheduler.released(9L);
+
+        // Then
+        HoldMetrics metrics = holdExpiryScheduler.getMetrics();
+        assertEquals(1, metrics.getActiveHolds());
+        assertEquals(3, metrics.getHoldsTracked());
+        assertEquals(1, metrics.getHoldsConfirmed());
+        assertEquals(1, metrics.getHoldsCancelled());
+        assertTrue(metrics.getAverageSecondsToConfirm() >= 59);
+    }
+
+    private Reservation reservation(Long reservationId, Long hotelId, String roomType, String holdToken,
+                                    int minutesAgo) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(reservationId);
+        reservation.setHotelId(hotelId);
+        reservation.setRoomType(roomType);
+        reservation.setHoldToken(holdToken);
+        reservation.setNumberOfRooms(1);
+        reservation.setCheckInDate(LocalDate.of(2026, 3, 1));
+        reservation.setCheckOutDate(LocalDate.of(2026, 3, 3));
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setCreatedAt(LocalDateTime.now().minusMinutes(minutesAgo));
+        return reservation;
+    }
+}
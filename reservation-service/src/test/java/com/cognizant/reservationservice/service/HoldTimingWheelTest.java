@@ -0,0 +1,113 @@
+package com.cognizant.reservationservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldTimingWheelTest {
+
+    @Test
+    void advance_ReturnsDeadlinesOnceTheyPass() {
+        // Given - one-second ticks starting at t = 0
+        HoldTimingWheel wheel = new HoldTimingWheel(1000, 0);
+        wheel.schedule(1L, 5_000);
+        wheel.schedule(2L, 900_000);
+        wheel.schedule(3L, 4_500);
+
+        // When & Then - 4.5 s rounds up to the fifth tick
+        assertEquals(Collections.emptyList(), wheel.advance(4_999));
+        assertEquals(Arrays.asList(1L, 3L), sorted(wheel.advance(5_000)));
+        assertEquals(Collections.emptyList(), wheel.advance(899_999));
+        assertEquals(Arrays.asList(2L), wheel.advance(900_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancelAndReschedule_ReplaceTheDeadline() {
+        // Given
+        HoldTimingWheel wheel = new HoldTimingWheel(1000, 0);
+        wheel.schedule(1L, 10_000);
+        wheel.schedule(2L, 10_000);
+
+        // When
+        long cancelled = wheel.cancel(1L);
+        wheel.schedule(2L, 70_000);
+
+        // Then
+        assertEquals(10_000, cancelled);
+        assertEquals(-1, wheel.cancel(1L));
+        assertEquals(Collections.emptyList(), wheel.advance(69_000));
+        assertEquals(Arrays.asList(2L), wheel.advance(70_000));
+    }
+
+    @Test
+    void schedule_LateAndFarDeadlines() {
+        // Given - one already past, one beyond the top level's span of 64^4 ticks
+        HoldTimingWheel wheel = new HoldTimingWheel(1, 1_000);
+        wheel.schedule(1L, 10);
+        long far = 1_000 + (1L << 24) + 100;
+        wheel.schedule(2L, far);
+
+        // When & Then
+        assertEquals(Arrays.asList(1L), wheel.advance(1_001));
+        assertEquals(Collections.emptyList(), wheel.advance(far - 1));
+        assertEquals(Arrays.asList(2L), wheel.advance(far));
+    }
+
+    @Test
+    void advance_MatchesBruteForceUnderRandomChurn() {
+        // Given - deadlines spread over all four levels, some cancelled or moved along the way
+        Random random = new Random(11);
+        HoldTimingWheel wheel = new HoldTimingWheel(1, 0);
+        Map<Long, Long> deadlines = new HashMap<>();
+        long now = 0;
+        for (long id = 0; id < 20_000; id++) {
+            long deadline = now + 1 + (long) (Math.pow(random.nextDouble(), 4) * 300_000);
+            wheel.schedule(id, deadline);
+            deadlines.put(id, deadline);
+            if (random.nextInt(5) == 0) {
+                long victim = random.nextInt((int) id + 1);
+                Long previous = deadlines.remove(victim);
+                assertEquals(previous == null ? -1 : previous, wheel.cancel(victim));
+            }
+            if (random.nextInt(10) == 0) {
+                now += random.nextInt(2_000);
+                assertEquals(due(deadlines, now), sorted(wheel.advance(now)));
+            }
+        }
+
+        // When & Then - drain in uneven steps
+        while (!deadlines.isEmpty()) {
+            now += 1 + random.nextInt(5_000);
+            assertEquals(due(deadlines, now), sorted(wheel.advance(now)));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    private static List<Long> due(Map<Long, Long> deadlines, long now) {
+        List<Long> due = new ArrayList<>();
+        deadlines.entrySet().removeIf(entry -> {
+            if (entry.getValue() <= now) {
+                due.add(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+        Collections.sort(due);
+        return due;
+    }
+
+    private static List<Long> sorted(List<Long> ids) {
+        List<Long> copy = new ArrayList<>(ids);
+        Collections.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,82 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.model.TeardownProgress;
+import com.cognizant.reservationservice.model.TeardownStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fills an in-memory H2 database with synthetic reservations and times deleting the reservations
+ * of the largest hotels, checking that the rooms they held are queued in the outbox:
+ *
+ *   mvn test -Dtest=HotelTeardownBenchmarkTest -Dbenchmark.reservations=10000000 -DargLine=-Xmx24g
+ *
+ * Synthetic reservations have no hold tokens, so their rooms are queued as summed counts.
+ */
+@EnabledIfSystemProperty(named = "benchmark.reservations", matches = "\\d+")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:teardown;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.com.cognizant.reservationservice=INFO",
+        "eureka.client.enabled=false",
+        "reservation.outbox.poll-ms=3600000",
+        "reservation.holds.ttl-minutes=100000000",
+        "synthetic-data.enabled=true",
+        "synthetic-data.reservations=${benchmark.reservations}"
+})
+class HotelTeardownBenchmarkTest {
+
+    private static final int HOTELS = 5;
+
+    @Autowired
+    private HotelTeardown hotelTeardown;
+
+    @Autowired
+    private ReservationIntervalIndex intervalIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void teardownLatency() {
+        List<Map<String, Object>> largest = jdbcTemplate.queryForList("SELECT hotel_id, COUNT(*) AS reservations, "
+                + "SUM(CASE WHEN status IN ('PENDING', 'CONFIRMED') THEN number_of_rooms ELSE 0 END) AS rooms "
+                + "FROM reservations GROUP BY hotel_id ORDER BY reservations DESC LIMIT " + HOTELS);
+        for (Map<String, Object> hotel : largest) {
+            Long hotelId = ((Number) hotel.get("hotel_id")).longValue();
+            long reservations = ((Number) hotel.get("reservations")).longValue();
+            long rooms = ((Number) hotel.get("rooms")).longValue();
+            long stays = intervalIndex.size();
+            Long queuedBefore = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(number_of_rooms), 0) FROM inventory_outbox WHERE hotel_id = ?", Long.class, hotelId);
+
+            long t0 = System.nanoTime();
+            TeardownProgress progress = hotelTeardown.run(hotelId);
+            long nanos = System.nanoTime() - t0;
+
+            assertEquals(TeardownStatus.COMPLETED, progress.getStatus());
+            assertEquals(reservations, progress.getReservationsDeleted());
+            assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations WHERE hotel_id = ?",
+                    Long.class, hotelId));
+            Long queued = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(number_of_rooms), 0) FROM inventory_outbox WHERE hotel_id = ?", Long.class, hotelId);
+            assertEquals(rooms, queued - queuedBefore);
+            System.out.printf("Hotel %d: deleted %d reservations in %d chunks in %.1f ms, queued %d rooms in %d "
+                    + "outbox rows, %d stays left the index%n", hotelId, reservations, progress.getChunksCompleted(),
+                    nanos / 1e6, rooms, progress.getReleasesQueued(), stays - intervalIndex.size());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.model.InventoryOutboxEntry;
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.model.ReservationStatus;
+import com.cognizant.reservationservice.model.TeardownProgress;
+import com.cognizant.reservationservice.model.TeardownStatus;
+import com.cognizant.reservationservice.repository.InventoryOutboxRepository;
+import com.cognizant.reservationservice.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs HotelTeardown's SQL for real, which HotelTeardownTest's mocked JdbcTemplate cannot
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:hotel-teardown;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "reservation.teardown.chunk-size=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HotelTeardown.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotelTeardownDatabaseTest {
+
+    @Autowired
+    private HotelTeardown hotelTeardown;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private InventoryOutboxRepository inventoryOutboxRepository;
+
+    @MockBean
+    private ReservationIntervalIndex intervalIndex;
+
+    @MockBean
+    private HoldExpiryScheduler holdExpiryScheduler;
+
+    private final LocalDate checkIn = LocalDate.of(2026, 3, 1);
+    private final LocalDate checkOut = LocalDate.of(2026, 3, 3);
+
+    @Test
+    void run_QueuesHeldRoomsAsRelayableOutboxRows() {
+        // Given - a held reservation, two without holds for the same stay, a cancelled one, another hotel's
+        reservationRepository.save(reservation(7L, "h-1", 2, ReservationStatus.PENDING));
+        reservationRepository.save(reservation(7L, null, 1, ReservationStatus.CONFIRMED));
+        reservationRepository.save(reservation(7L, null, 3, ReservationStatus.CONFIRMED));
+        reservationRepository.save(reservation(7L, null, 4, ReservationStatus.CANCELLED));
+        reservationRepository.save(reservation(8L, "h-2", 1, ReservationStatus.CONFIRMED));
+
+        // When
+        TeardownProgress progress = hotelTeardown.run(7L);
+
+        // Then - the summed rows are not parked, so the relay picks every one of them up
+        assertEquals(TeardownStatus.COMPLETED, progress.getStatus());
+        assertEquals(4, progress.getReservationsDeleted());
+        assertEquals(1, reservationRepository.count());
+        List<InventoryOutboxEntry> due = inventoryOutboxRepository.findDue(LocalDateTime.now().plusSeconds(1),
+                PageRequest.of(0, 10));
+        assertEquals(progress.getReleasesQueued(), due.size());
+        assertTrue(due.stream().noneMatch(InventoryOutboxEntry::isParked));
+        assertEquals(6, due.stream().mapToInt(InventoryOutboxEntry::getNumberOfRooms).sum());
+        assertTrue(due.stream().anyMatch(entry -> "h-1".equals(entry.getHoldToken())));
+        assertTrue(due.stream().allMatch(entry -> entry.getHotelId() == 7L));
+    }
+
+    private Reservation reservation(Long hotelId, String holdToken, int rooms, ReservationStatus status) {
+        Reservation reservation = new Reservation(1L, hotelId, "AC", checkIn, checkOut, 1, rooms, 100.0);
+        reservation.setHoldToken(holdToken);
+        reservation.setStatus(status);
+        return reservation;
+    }
+}
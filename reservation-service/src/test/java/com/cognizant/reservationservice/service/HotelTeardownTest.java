@@ -0,0 +1,155 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.model.ReservationStatus;
+import com.cognizant.reservationservice.model.TeardownProgress;
+import com.cognizant.reservationservice.model.TeardownStatus;
+import com.cognizant.reservationservice.repository.TeardownProgressRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotelTeardownTest {
+
+    @Mock
+    private TeardownProgressRepository teardownProgressRepository;
+
+    @Mock
+    private ReservationIntervalIndex intervalIndex;
+
+    @Mock
+    private HoldExpiryScheduler holdExpiryScheduler;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private HotelTeardown hotelTeardown;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(hotelTeardown, "chunkSize", 2);
+        hotelTeardown.init();
+        when(teardownProgressRepository.save(any(TeardownProgress.class))).thenAnswer(i -> i.getArgument(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_DeletesChunkByChunkAndQueuesHeldRooms() {
+        // Given - reservations 3 (PENDING) and 4 (CONFIRMED) in the first chunk, 9 (CANCELLED) in the second
+        when(teardownProgressRepository.findById(7L)).thenReturn(Optional.empty());
+        when(jdbcTemplate.queryForObject(HotelTeardown.COUNT_SQL, Long.class, 7L)).thenReturn(3L);
+        when(jdbcTemplate.queryForObject(HotelTeardown.CHUNK_END_SQL, Long.class, 7L, 0L, 2)).thenReturn(4L);
+        when(jdbcTemplate.queryForObject(HotelTeardown.CHUNK_END_SQL, Long.class, 7L, 4L, 2)).thenReturn(9L);
+        when(jdbcTemplate.queryForObject(HotelTeardown.CHUNK_END_SQL, Long.class, 7L, 9L, 2)).thenReturn(null);
+        Reservation pending = held(3L, ReservationStatus.PENDING);
+        Reservation confirmed = held(4L, ReservationStatus.CONFIRMED);
+        when(jdbcTemplate.query(eq(HotelTeardown.LOCK_SQL), any(RowMapper.class), eq(7L), eq(0L), eq(4L)))
+            .thenReturn(Arrays.asList(pending, confirmed));
+        when(jdbcTemplate.query(eq(HotelTeardown.LOCK_SQL), any(RowMapper.class), eq(7L), eq(4L), eq(9L)))
+            .thenReturn(Collections.emptyList());
+        when(jdbcTemplate.update(eq(HotelTeardown.QUEUE_HOLDS_SQL), any(Timestamp.class), any(Timestamp.class),
+                eq(7L), eq(0L), eq(4L))).thenReturn(1);
+        when(jdbcTemplate.update(eq(HotelTeardown.QUEUE_COUNTS_SQL), any(Timestamp.class), any(Timestamp.class),
+                eq(7L), eq(0L), eq(4L))).thenReturn(1);
+        when(jdbcTemplate.update(HotelTeardown.DELETE_SQL, 7L, 0L, 4L)).thenReturn(2);
+        when(jdbcTemplate.update(HotelTeardown.DELETE_SQL, 7L, 4L, 9L)).thenReturn(1);
+
+        // When
+        TeardownProgress progress = hotelTeardown.run(7L);
+
+        // Then - the chunk holding no rooms queues nothing
+        assertEquals(TeardownStatus.COMPLETED, progress.getStatus());
+        assertEquals(3, progress.getReservationsTotal());
+        assertEquals(3, progress.getReservationsDeleted());
+        assertEquals(2, progress.getReleasesQueued());
+        assertEquals(2, progress.getChunksCompleted());
+        assertEquals(9L, progress.getLastReservationId());
+        assertNotNull(progress.getFinishedAt());
+        verify(jdbcTemplate, times(1)).update(eq(HotelTeardown.QUEUE_HOLDS_SQL), any(), any(), any(), any(), any());
+        verify(intervalIndex).remove(pending);
+        verify(intervalIndex).remove(confirmed);
+        verify(holdExpiryScheduler).released(3L);
+        verify(holdExpiryScheduler, never()).released(4L);
+    }
+
+    @Test
+    void run_ResumesAfterTheLastCheckpoint() {
+        // Given - an earlier teardown deleted 50 reservations up to id 100 and then failed
+        TeardownProgress earlier = new TeardownProgress(7L);
+        earlier.setStatus(TeardownStatus.FAILED);
+        earlier.setReservationsDeleted(50);
+        earlier.setChunksCompleted(25);
+        earlier.setLastReservationId(100L);
+        earlier.setLastError("Lock wait timeout exceeded");
+        when(teardownProgressRepository.findById(7L)).thenReturn(Optional.of(earlier));
+        when(jdbcTemplate.queryForObject(HotelTeardown.COUNT_SQL, Long.class, 7L)).thenReturn(1L);
+        when(jdbcTemplate.queryForObject(HotelTeardown.CHUNK_END_SQL, Long.class, 7L, 100L, 2)).thenReturn(120L);
+        when(jdbcTemplate.queryForObject(HotelTeardown.CHUNK_END_SQL, Long.class, 7L, 120L, 2)).thenReturn(null);
+        when(jdbcTemplate.update(HotelTeardown.DELETE_SQL, 7L, 100L, 120L)).thenReturn(1);
+
+        // When
+        TeardownProgress progress = hotelTeardown.run(7L);
+
+        // Then
+        assertEquals(TeardownStatus.COMPLETED, progress.getStatus());
+        assertEquals(51, progress.getReservationsTotal());
+        assertEquals(51, progress.getReservationsDeleted());
+        assertEquals(26, progress.getChunksCompleted());
+        assertNull(progress.getLastError());
+        verifyNoInteractions(intervalIndex, holdExpiryScheduler);
+    }
+
+    @Test
+    void run_RecordsTheFailureAndKeepsTheCheckpoint() {
+        // Given
+        TeardownProgress stored = new TeardownProgress(7L);
+        when(teardownProgressRepository.findById(7L)).thenReturn(Optional.empty(), Optional.of(stored));
+        when(jdbcTemplate.queryForObject(HotelTeardown.COUNT_SQL, Long.class, 7L)).thenReturn(2L);
+        when(jdbcTemplate.queryForObject(HotelTeardown.CHUNK_END_SQL, Long.class, 7L, 0L, 2))
+            .thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> hotelTeardown.run(7L));
+        assertEquals("Lock wait timeout exceeded", exception.getMessage());
+        ArgumentCaptor<TeardownProgress> saved = ArgumentCaptor.forClass(TeardownProgress.class);
+        verify(teardownProgressRepository, times(2)).save(saved.capture());
+        assertSame(stored, saved.getValue());
+        assertEquals(TeardownStatus.FAILED, stored.getStatus());
+        assertEquals("Lock wait timeout exceeded", stored.getLastError());
+        assertNull(stored.getLastReservationId());
+    }
+
+    private Reservation held(Long reservationId, ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(reservationId);
+        reservation.setHotelId(7L);
+        reservation.setRoomType("AC");
+        reservation.setCheckInDate(LocalDate.of(2026, 3, 1));
+        reservation.setStatus(status);
+        return reservation;
+    }
+}
@@ -0,0 +1,186 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.model.IdempotencyKey;
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeysTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @InjectMocks
+    private IdempotencyKeys idempotencyKeys;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyKeys, "maxEntries", 2);
+        ReflectionTestUtils.setField(idempotencyKeys, "ttlHours", 24L);
+        ReflectionTestUtils.setField(idempotencyKeys, "waitSeconds", 5L);
+    }
+
+    @Test
+    void execute_RepeatsReturnFirstResultFromMemory() {
+        // Given
+        when(idempotencyKeyRepository.findById("k1")).thenReturn(Optional.empty());
+        AtomicInteger creates = new AtomicInteger();
+
+        // When
+        Long first = idempotencyKeys.execute("k1", "h1", () -> 10L + creates.incrementAndGet());
+        Long second = idempotencyKeys.execute("k1", "h1", () -> 10L + creates.incrementAndGet());
+
+        // Then - one create, one database lookup
+        assertEquals(11L, first);
+        assertEquals(11L, second);
+        assertEquals(1, creates.get());
+        verify(idempotencyKeyRepository, times(1)).findById("k1");
+    }
+
+    @Test
+    void execute_ReplaysKeyStoredInDatabase() {
+        // Given - stored by another instance or before a restart
+        when(idempotencyKeyRepository.findById("k1")).thenReturn(Optional.of(stored("h1", 7L, 1)));
+
+        // When
+        Long reservationId = idempotencyKeys.execute("k1", "h1", () -> fail("should not create"));
+
+        // Then
+        assertEquals(7L, reservationId);
+    }
+
+    @Test
+    void execute_RejectsKeyReusedForDifferentRequest() {
+        // Given
+        when(idempotencyKeyRepository.findById("k1")).thenReturn(Optional.of(stored("h1", 7L, 1)));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> idempotencyKeys.execute("k1", "h2", () -> 8L));
+        assertEquals("Idempotency-Key was already used for a different reservation request", exception.getMessage());
+    }
+
+    @Test
+    void execute_ExpiredKeyIsClearedAndRunsAgain() {
+        // Given
+        when(idempotencyKeyRepository.findById("k1")).thenReturn(Optional.of(stored("h1", 7L, -1)));
+
+        // When
+        Long reservationId = idempotencyKeys.execute("k1", "h2", () -> 8L);
+
+        // Then
+        assertEquals(8L, reservationId);
+        verify(idempotencyKeyRepository).deleteIfExpired(eq("k1"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void execute_FailureIsNotRemembered() {
+        // Given
+        when(idempotencyKeyRepository.findById("k1")).thenReturn(Optional.empty());
+
+        // When
+        assertThrows(RuntimeException.class, () -> idempotencyKeys.execute("k1", "h1", () -> {
+            throw new RuntimeException("Room availability check failed");
+        }));
+        Long reservationId = idempotencyKeys.execute("k1", "h1", () -> 9L);
+
+        // Then
+        assertEquals(9L, reservationId);
+    }
+
+    @Test
+    void execute_LosingConcurrentInsertReturnsWinner() {
+        // Given - the lookup misses, then another instance commits the key first
+        when(idempotencyKeyRepository.findById("k1")).thenReturn(Optional.empty(), Optional.of(stored("h1", 7L, 1)));
+
+        // When
+        Long reservationId = idempotencyKeys.execute("k1", "h1", () -> {
+            throw new DataIntegrityViolationException("Duplicate entry 'k1'");
+        });
+
+        // Then
+        assertEquals(7L, reservationId);
+    }
+
+    @Test
+    void execute_ConcurrentRequestWaitsForFirst() throws Exception {
+        // Given - the first request is held inside create
+        when(idempotencyKeyRepository.findById("k1")).thenReturn(Optional.empty());
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger creates = new AtomicInteger();
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> idempotencyKeys.execute("k1", "h1", () -> {
+            creates.incrementAndGet();
+            creating.countDown();
+            await(release);
+            return 11L;
+        }));
+        assertTrue(creating.await(5, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<Long> second = CompletableFuture.supplyAsync(
+            () -> idempotencyKeys.execute("k1", "h1", () -> 12L + creates.incrementAndGet()));
+        Thread.sleep(100);
+        assertFalse(second.isDone());
+        release.countDown();
+
+        // Then
+        assertEquals(11L, first.get(5, TimeUnit.SECONDS));
+        assertEquals(11L, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    void requestHash_CoversTheRequestedStay() {
+        // Given
+        Reservation a = reservation(2);
+        Reservation b = reservation(2);
+        Reservation c = reservation(3);
+
+        // When & Then
+        assertEquals(IdempotencyKeys.requestHash(a), IdempotencyKeys.requestHash(b));
+        assertNotEquals(IdempotencyKeys.requestHash(a), IdempotencyKeys.requestHash(c));
+        assertEquals(64, IdempotencyKeys.requestHash(a).length());
+    }
+
+    private IdempotencyKey stored(String requestHash, Long reservationId, int expiresInHours) {
+        IdempotencyKey key = new IdempotencyKey();
+        key.setIdempotencyKey("k1");
+        key.setRequestHash(requestHash);
+        key.setReservationId(reservationId);
+        key.setExpiresAt(LocalDateTime.now().plusHours(expiresInHours));
+        return key;
+    }
+
+    private Reservation reservation(int rooms) {
+        return new Reservation(1L, 1L, "AC", LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3), 2, rooms, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.client.HotelServiceClient;
+import com.cognizant.reservationservice.model.InventoryOutboxEntry;
+import com.cognizant.reservationservice.model.OutboxMetrics;
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.model.ReservationStatus;
+import com.cognizant.reservationservice.repository.InventoryOutboxRepository;
+import feign.FeignException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryOutboxTest {
+
+    @Mock
+    private InventoryOutboxRepository inventoryOutboxRepository;
+
+    @Mock
+    private HotelServiceClient hotelServiceClient;
+
+    @InjectMocks
+    private InventoryOutbox inventoryOutbox;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(inventoryOutbox, "batchSize", 500);
+        ReflectionTestUtils.setField(inventoryOutbox, "backoffInitialMillis", 1000L);
+        ReflectionTestUtils.setField(inventoryOutbox, "backoffMaxMillis", 60000L);
+        ReflectionTestUtils.setField(inventoryOutbox, "maxAttempts", 5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueueAll_SkipsReservationsThatHoldNoRooms() {
+        // When
+        inventoryOutbox.enqueueAll(Arrays.asList(reservation(1L, "AC", "h1", ReservationStatus.CONFIRMED),
+                reservation(2L, "AC", null, ReservationStatus.CANCELLED),
+                reservation(3L, "AC", null, ReservationStatus.PENDING)));
+
+        // Then
+        ArgumentCaptor<List<InventoryOutboxEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(inventoryOutboxRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertEquals("h1", saved.getValue().get(0).getHoldToken());
+        assertEquals(3L, saved.getValue().get(1).getReservationId());
+    }
+
+    @Test
+    void relay_SendsOneCallPerHotelAndRoomTypeAndDeletesDelivered() {
+        // Given - two AC entries (one without a hold) and one NON_AC entry at hotel 10
+        when(inventoryOutboxRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(Arrays.asList(entry(1L, 11L, "AC", "h1", 0), entry(2L, 12L, "ac", null, 0),
+                    entry(3L, 13L, "NON_AC", "h3", 0)));
+        when(hotelServiceClient.releaseHolds(eq(10L), any(HotelServiceClient.HoldReleaseRequestDto.class)))
+            .thenReturn(new HotelServiceClient.HoldReleaseResultDto(10L, "AC", 2, 3, 1, Collections.emptyList()));
+
+        // When
+        inventoryOutbox.relay();
+
+        // Then
+        ArgumentCaptor<HotelServiceClient.HoldReleaseRequestDto> requests =
+            ArgumentCaptor.forClass(HotelServiceClient.HoldReleaseRequestDto.class);
+        verify(hotelServiceClient, times(2)).releaseHolds(eq(10L), requests.capture());
+        HotelServiceClient.HoldReleaseRequestDto ac = requests.getAllValues().get(0);
+        assertEquals(Arrays.asList("h1"), ac.getHoldTokens());
+        assertEquals("reservation-12", ac.getRoomReleases().get(0).getReleaseId());
+        assertEquals(2, ac.getRoomReleases().get(0).getNumberOfRooms());
+        assertEquals(Arrays.asList("h3"), requests.getAllValues().get(1).getHoldTokens());
+        verify(inventoryOutboxRepository).deleteDelivered(Arrays.asList(1L, 2L, 3L));
+        verify(inventoryOutboxRepository, never()).scheduleRetry(anyCollection(), any(), any());
+
+        OutboxMetrics metrics = inventoryOutbox.getMetrics();
+        assertEquals(3, metrics.getEntriesDelivered());
+        assertEquals(2, metrics.getDuplicatesSkipped());
+        assertEquals(2, metrics.getDeliveryCalls());
+    }
+
+    @Test
+    void relay_BacksOffFailedGroupAndDeliversTheRest() {
+        // Given - hotel 20 is unreachable; its entry has failed three times already
+        when(inventoryOutboxRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(Arrays.asList(entry(1L, 11L, "AC", "h1", 0), entry(2L, 21L, 20L, "AC", "h2", 3)));
+        when(hotelServiceClient.releaseHolds(eq(10L), any(HotelServiceClient.HoldReleaseRequestDto.class)))
+            .thenReturn(new HotelServiceClient.HoldReleaseResultDto(10L, "AC", 1, 2, 0, Collections.emptyList()));
+        when(hotelServiceClient.releaseHolds(eq(20L), any(HotelServiceClient.HoldReleaseRequestDto.class)))
+            .thenThrow(new RuntimeException("Connection refused"));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        inventoryOutbox.relay();
+
+        // Then - 1 s doubled three times
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(inventoryOutboxRepository).scheduleRetry(eq(Arrays.asList(2L)), nextAttempt.capture(),
+                eq("Connection refused"));
+        assertFalse(nextAttempt.getValue().isBefore(before.plusSeconds(8)));
+        assertTrue(nextAttempt.getValue().isBefore(before.plusSeconds(9)));
+        verify(inventoryOutboxRepository).deleteDelivered(Arrays.asList(1L));
+        assertEquals(1, inventoryOutbox.getMetrics().getDeliveryFailures());
+    }
+
+    @Test
+    void relay_ParksOnlyTheEntryHotelServiceRejects() {
+        // Given - hotel-service refuses any call carrying reservation-11, however often it is repeated
+        FeignException.BadRequest badRequest = mock(FeignException.BadRequest.class);
+        when(badRequest.status()).thenReturn(400);
+        when(badRequest.getMessage()).thenReturn("Release id belongs to another hold: reservation-11");
+        when(inventoryOutboxRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(Arrays.asList(entry(1L, 11L, "AC", null, 0), entry(2L, 12L, "AC", "h2", 0),
+                    entry(3L, 13L, "AC", null, 0)));
+        when(hotelServiceClient.releaseHolds(eq(10L), any(HotelServiceClient.HoldReleaseRequestDto.class)))
+            .thenAnswer(invocation -> {
+                HotelServiceClient.HoldReleaseRequestDto request = invocation.getArgument(1);
+                if (request.getRoomReleases().stream().anyMatch(release -> "reservation-11".equals(release.getReleaseId()))) {
+                    throw badRequest;
+                }
+                return new HotelServiceClient.HoldReleaseResultDto(10L, "AC", 1, 2, 0, Collections.emptyList());
+            });
+
+        // When
+        inventoryOutbox.relay();
+
+        // Then - one call for the group, then one per entry; the valid entries still give their rooms back
+        verify(hotelServiceClient, times(4)).releaseHolds(eq(10L), any(HotelServiceClient.HoldReleaseRequestDto.class));
+        verify(inventoryOutboxRepository).park(Arrays.asList(1L), "Release id belongs to another hold: reservation-11");
+        verify(inventoryOutboxRepository).deleteDelivered(Arrays.asList(2L, 3L));
+        verify(inventoryOutboxRepository, never()).scheduleRetry(anyCollection(), any(), any());
+    }
+
+    @Test
+    void relay_ParksAGroupOnceItRunsOutOfAttempts() {
+        // Given - the fifth failure of an entry allowed five attempts
+        when(inventoryOutboxRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(Arrays.asList(entry(1L, 11L, "AC", "h1", 4)));
+        when(hotelServiceClient.releaseHolds(eq(10L), any(HotelServiceClient.HoldReleaseRequestDto.class)))
+            .thenThrow(new RuntimeException("Read timed out"));
+        when(inventoryOutboxRepository.countByParked(anyBoolean())).thenAnswer(invocation ->
+            (boolean) invocation.getArgument(0) ? 1L : 0L);
+
+        // When
+        inventoryOutbox.relay();
+
+        // Then
+        verify(inventoryOutboxRepository).park(Arrays.asList(1L), "Read timed out");
+        verify(inventoryOutboxRepository, never()).scheduleRetry(anyCollection(), any(), any());
+        assertEquals(1, inventoryOutbox.getMetrics().getParkedEntries());
+    }
+
+    @Test
+    void relay_NamesSummedRoomReleasesAfterTheOutboxEntry() {
+        // Given - rooms of several deleted reservations summed into one entry
+        InventoryOutboxEntry summed = entry(5L, null, "AC", null, 0);
+        summed.setNumberOfRooms(6);
+        when(inventoryOutboxRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(Arrays.asList(summed));
+        when(hotelServiceClient.releaseHolds(eq(10L), any(HotelServiceClient.HoldReleaseRequestDto.class)))
+            .thenReturn(new HotelServiceClient.HoldReleaseResultDto(10L, "AC", 1, 0, 0, Collections.emptyList()));
+
+        // When
+        inventoryOutbox.relay();
+
+        // Then
+        ArgumentCaptor<HotelServiceClient.HoldReleaseRequestDto> request =
+            ArgumentCaptor.forClass(HotelServiceClient.HoldReleaseRequestDto.class);
+        verify(hotelServiceClient).releaseHolds(eq(10L), request.capture());
+        assertEquals("outbox-5", request.getValue().getRoomReleases().get(0).getReleaseId());
+        assertEquals(6, request.getValue().getRoomReleases().get(0).getNumberOfRooms());
+        verify(inventoryOutboxRepository).deleteDelivered(Arrays.asList(5L));
+    }
+
+    @Test
+    void relay_KeepsPagingWhileBatchesAreFull() {
+        // Given
+        ReflectionTestUtils.setField(inventoryOutbox, "batchSize", 1);
+        when(inventoryOutboxRepository.findDue(any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(Arrays.asList(entry(1L, 11L, "AC", "h1", 0)), Collections.emptyList());
+
+        // When
+        inventoryOutbox.relay();
+
+        // Then
+        verify(inventoryOutboxRepository, times(2)).findDue(any(LocalDateTime.class), any(Pageable.class));
+        verify(inventoryOutboxRepository).deleteDelivered(Arrays.asList(1L));
+    }
+
+    private InventoryOutboxEntry entry(Long outboxId, Long reservationId, String roomType, String holdToken, int attempts) {
+        return entry(outboxId, reservationId, 10L, roomType, holdToken, attempts);
+    }
+
+    private InventoryOutboxEntry entry(Long outboxId, Long reservationId, Long hotelId, String roomType,
+                                       String holdToken, int attempts) {
+        Reservation reservation = reservation(reservationId, roomType, holdToken, ReservationStatus.CONFIRMED);
+        reservation.setHotelId(hotelId);
+        InventoryOutboxEntry entry = new InventoryOutboxEntry(reservation);
+        entry.setOutboxId(outboxId);
+        entry.setAttempts(attempts);
+        entry.setCreatedAt(LocalDateTime.now());
+        return entry;
+    }
+
+    private Reservation reservation(Long reservationId, String roomType, String holdToken, ReservationStatus status) {
+        Reservation reservation = new Reservation(1L, 10L, roomType, LocalDate.of(2026, 3, 1),
+                LocalDate.of(2026, 3, 3), 2, 2, 100.0);
+        reservation.setReservationId(reservationId);
+        reservation.setHoldToken(holdToken);
+        reservation.setStatus(status);
+        return reservation;
+    }
+}
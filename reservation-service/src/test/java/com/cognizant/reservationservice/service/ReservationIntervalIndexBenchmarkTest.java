@@ -0,0 +1,126 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.model.ReservationStatus;
+import com.cognizant.reservationservice.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fills an in-memory H2 database with synthetic reservations, lets the interval index load them
+ * on startup, and times overlap and peak queries on the index against the JPQL overlap query:
+ *
+ *   mvn test -Dtest=ReservationIntervalIndexBenchmarkTest -Dbenchmark.reservations=10000000 -DargLine=-Xmx24g
+ *
+ * The JPQL side reads every reservation of the hotel per query, so it runs far fewer queries.
+ */
+@EnabledIfSystemProperty(named = "benchmark.reservations", matches = "\\d+")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.com.cognizant.reservationservice=INFO",
+        "eureka.client.enabled=false",
+        "synthetic-data.enabled=true",
+        "synthetic-data.reservations=${benchmark.reservations}"
+})
+class ReservationIntervalIndexBenchmarkTest {
+
+    private static final int INDEX_QUERIES = 20_000;
+    private static final int JPQL_QUERIES = 20;
+
+    @Autowired
+    private ReservationIntervalIndex intervalIndex;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void overlapLatency() {
+        long reservations = Long.parseLong(System.getProperty("benchmark.reservations"));
+        System.out.printf("Index holds %d room-holding stays of %d reservations%n", intervalIndex.size(), reservations);
+
+        // Week-long windows starting on the check-in of a random stored reservation
+        Random random = new Random(42);
+        Object[][] queries = new Object[INDEX_QUERIES][];
+        for (int i = 0; i < INDEX_QUERIES; i++) {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT hotel_id, room_type, check_in_date FROM reservations WHERE reservation_id = ?",
+                    1 + (long) (random.nextDouble() * reservations));
+            LocalDate checkIn = ((Date) row.get("check_in_date")).toLocalDate();
+            queries[i] = new Object[] {((Number) row.get("hotel_id")).longValue(), row.get("room_type"),
+                    checkIn, checkIn.plusDays(7)};
+        }
+
+        long[] overlapNanos = new long[INDEX_QUERIES];
+        long[] peakNanos = new long[INDEX_QUERIES];
+        long found = 0;
+        for (int i = 0; i < INDEX_QUERIES; i++) {
+            Object[] query = queries[i];
+            long t0 = System.nanoTime();
+            List<Long> ids = intervalIndex.findOverlapping((Long) query[0], (String) query[1],
+                    (LocalDate) query[2], (LocalDate) query[3]);
+            long t1 = System.nanoTime();
+            intervalIndex.peak((Long) query[0], (String) query[1], (LocalDate) query[2], (LocalDate) query[3]);
+            peakNanos[i] = System.nanoTime() - t1;
+            overlapNanos[i] = t1 - t0;
+            found += ids.size();
+        }
+        report("Index overlap, 7 nights", reservations, overlapNanos);
+        report("Index peak occupancy, 7 nights", reservations, peakNanos);
+        System.out.printf("Index queries returned %.1f stays on average%n", (double) found / INDEX_QUERIES);
+
+        long[] jpqlNanos = new long[JPQL_QUERIES];
+        for (int i = 0; i < JPQL_QUERIES; i++) {
+            Object[] query = queries[i];
+            long t0 = System.nanoTime();
+            List<Reservation> confirmed = reservationRepository.findConflictingReservations((Long) query[0],
+                    (LocalDate) query[2], (LocalDate) query[3], ReservationStatus.CONFIRMED);
+            jpqlNanos[i] = System.nanoTime() - t0;
+
+            // Every confirmed stay of the room type with a night in the window is in the index too
+            Set<Long> indexed = new HashSet<>(intervalIndex.findOverlapping((Long) query[0], (String) query[1],
+                    (LocalDate) query[2], (LocalDate) query[3]));
+            for (Reservation reservation : confirmed) {
+                if (reservation.getRoomType().equals(query[1])
+                        && reservation.getCheckOutDate().isAfter((LocalDate) query[2])
+                        && reservation.getCheckInDate().isBefore((LocalDate) query[3])) {
+                    assertTrue(indexed.contains(reservation.getReservationId()));
+                }
+            }
+        }
+        report("JPQL findConflictingReservations, 7 nights", reservations, jpqlNanos);
+    }
+
+    private static void report(String operation, long reservations, long[] nanos) {
+        Arrays.sort(nanos);
+        long total = 0;
+        for (long n : nanos) {
+            total += n;
+        }
+        System.out.printf("%s over %d reservations: mean %.1f us, p50 %.1f us, p99 %.1f us%n", operation,
+                reservations, total / 1000.0 / nanos.length, nanos[nanos.length / 2] / 1000.0,
+                nanos[(int) (nanos.length * 0.99)] / 1000.0);
+    }
+}
@@ -0,0 +1,172 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.model.OccupancyPeak;
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.model.ReservationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationIntervalIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ReservationIntervalIndex intervalIndex;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(intervalIndex, "loadBatchSize", 2);
+        // Three stored stays over two pages; the table holds only rooms-holding rows
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("reservation_id")).thenReturn(1L, 2L, 3L);
+        when(rs.getLong("hotel_id")).thenReturn(1L, 1L, 2L);
+        when(rs.getString("room_type")).thenReturn("AC", "ac", "AC");
+        when(rs.getDate("check_in_date")).thenReturn(date(0), date(2), date(0));
+        when(rs.getDate("check_out_date")).thenReturn(date(3), date(5), date(9));
+        when(rs.getInt("number_of_rooms")).thenReturn(2, 1, 4);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).doAnswer(invocation -> {
+            ((RowCallbackHandler) invocation.getArgument(1)).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+        intervalIndex.rebuild();
+    }
+
+    @Test
+    void rebuild_PagesThroughTableAndGroupsByHotelAndRoomType() {
+        // Then - the short second page ends the load
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(0L), eq(2));
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(2L), eq(2));
+        assertEquals(3, intervalIndex.size());
+        assertEquals(Arrays.asList(1L, 2L), intervalIndex.findOverlapping(1L, "AC", DAY, DAY.plusDays(10)));
+        assertEquals(Arrays.asList(3L), intervalIndex.findOverlapping(2L, "ac", DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    void findOverlapping_TreatsStaysAsHalfOpen() {
+        // When & Then - stay 1 checks out on day 3, stay 2 checks in on day 2
+        assertEquals(Arrays.asList(1L), intervalIndex.findOverlapping(1L, "AC", DAY.plusDays(1), DAY.plusDays(2)));
+        assertEquals(Arrays.asList(2L), intervalIndex.findOverlapping(1L, "AC", DAY.plusDays(3), DAY.plusDays(4)));
+        assertEquals(Collections.emptyList(), intervalIndex.findOverlapping(1L, "AC", DAY.plusDays(5), DAY.plusDays(8)));
+        assertEquals(Collections.emptyList(), intervalIndex.findOverlapping(1L, "NON_AC", DAY, DAY.plusDays(8)));
+    }
+
+    @Test
+    void peak_CountsRoomsOnTheBusiestNight() {
+        // Given - a third AC stay of 3 rooms arriving the night stay 1 leaves
+        intervalIndex.add(reservation(4L, 3, 4, 3, ReservationStatus.CONFIRMED));
+
+        // When
+        OccupancyPeak peak = intervalIndex.peak(1L, "AC", DAY, DAY.plusDays(7));
+        OccupancyPeak quiet = intervalIndex.peak(1L, "AC", DAY.plusDays(6), DAY.plusDays(7));
+
+        // Then - 2 + 1 on day 2, 1 + 3 on day 3
+        assertEquals(4, peak.getPeakRooms());
+        assertEquals(DAY.plusDays(3), peak.getPeakDate());
+        assertEquals(3, peak.getOverlappingReservations());
+        assertEquals(0, quiet.getPeakRooms());
+        assertNull(quiet.getPeakDate());
+    }
+
+    @Test
+    void addAndRemove_KeepIndexCurrent() {
+        // When - a pending stay is added twice, a cancelled one is ignored, stay 1 is removed
+        Reservation pending = reservation(5L, 1, 2, 1, ReservationStatus.PENDING);
+        intervalIndex.add(pending);
+        intervalIndex.add(pending);
+        intervalIndex.add(reservation(6L, 1, 2, 1, ReservationStatus.CANCELLED));
+        intervalIndex.remove(1L, 1L, "AC", DAY);
+
+        // Then
+        assertEquals(Arrays.asList(5L, 2L), intervalIndex.findOverlapping(1L, "AC", DAY, DAY.plusDays(3)));
+        assertEquals(3, intervalIndex.size());
+    }
+
+    @Test
+    void tree_MatchesBruteForceUnderRandomChurn() {
+        // Given
+        Random random = new Random(7);
+        StayIntervalTree tree = new StayIntervalTree();
+        List<StayIntervalTree.Stay> live = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            if (!live.isEmpty() && random.nextInt(4) == 0) {
+                StayIntervalTree.Stay removed = live.remove(random.nextInt(live.size()));
+                assertTrue(tree.remove(removed.start, removed.reservationId));
+            } else {
+                int start = random.nextInt(400);
+                StayIntervalTree.Stay stay = new StayIntervalTree.Stay(i, start, start + 1 + random.nextInt(14), 1);
+                tree.add(stay);
+                live.add(stay);
+            }
+        }
+        live.sort(StayIntervalTree.ORDER);
+        StayIntervalTree built = StayIntervalTree.of(live);
+
+        // When & Then
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(420);
+            int to = from + 1 + random.nextInt(30);
+            List<Long> expected = new ArrayList<>();
+            for (StayIntervalTree.Stay stay : live) {
+                if (stay.start < to && stay.end > from) {
+                    expected.add(stay.reservationId);
+                }
+            }
+            assertEquals(expected, ids(tree.overlapping(from, to)));
+            assertEquals(expected, ids(built.overlapping(from, to)));
+        }
+        assertEquals(live.size(), tree.size());
+    }
+
+    private List<Long> ids(StayIntervalTree.Stay[] stays) {
+        List<Long> ids = new ArrayList<>();
+        for (StayIntervalTree.Stay stay : stays) {
+            ids.add(stay.reservationId);
+        }
+        return ids;
+    }
+
+    private Reservation reservation(Long reservationId, int checkIn, int checkOut, int rooms, ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setReservationId(reservationId);
+        reservation.setHotelId(1L);
+        reservation.setRoomType("AC");
+        reservation.setCheckInDate(DAY.plusDays(checkIn));
+        reservation.setCheckOutDate(DAY.plusDays(checkOut));
+        reservation.setNumberOfRooms(rooms);
+        reservation.setStatus(status);
+        return reservation;
+    }
+
+    private static Date date(int day) {
+        return Date.valueOf(DAY.plusDays(day));
+    }
+}
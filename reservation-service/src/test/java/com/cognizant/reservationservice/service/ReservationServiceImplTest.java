@@ -3,7 +3,10 @@ package com.cognizant.reservationservice.service;
 import com.cognizant.reservationservice.client.HotelServiceClient;
 import com.cognizant.reservationservice.model.Reservation;
 import com.cognizant.reservationservice.model.ReservationStatus;
+import com.cognizant.reservationservice.model.TeardownProgress;
+import com.cognizant.reservationservice.model.TeardownStatus;
 import com.cognizant.reservationservice.repository.ReservationRepository;
+import feign.FeignException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -30,6 +33,24 @@ class ReservationServiceImplTest {
     @Mock
     private HotelServiceClient hotelServiceClient;
 
+    @Mock
+    private ReservationIntervalIndex intervalIndex;
+
+    @Mock
+    private HoldExpiryScheduler holdExpiryScheduler;
+
+    @Mock
+    private IdempotencyKeys idempotencyKeys;
+
+    @Mock
+    private InventoryOutbox inventoryOutbox;
+
+    @Mock
+    private HotelTeardown hotelTeardown;
+
+    @Mock
+    private ReservationValidator reservationValidator;
+
     @InjectMocks
     private ReservationServiceImpl reservationService;
 
@@ -54,9 +75,11 @@ class ReservationServiceImplTest {
 
     @Test
     void createReservation_Success() {
-        // Given
-        when(hotelServiceClient.checkRoomAvailability(1L, "AC", 2)).thenReturn(true);
-        when(hotelServiceClient.updateRoomAvailability(1L, "AC", 2, true)).thenReturn(true);
+        // Given - the client's 4000 is replaced by hotel-service's price
+        when(reservationValidator.validate(testReservation))
+            .thenReturn(new HotelServiceClient.PriceQuoteDto(1L, "AC", 2, 2, 2300.0, 4600.0));
+        when(hotelServiceClient.createHold(eq(1L), any(HotelServiceClient.HoldRequestDto.class)))
+            .thenReturn(new HotelServiceClient.HoldDto("hold-1", 1L, "AC", 2, "HELD"));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
         // When
@@ -66,37 +89,107 @@ class ReservationServiceImplTest {
         assertNotNull(result);
         assertEquals(ReservationStatus.PENDING, result.getStatus());
         assertEquals(1L, result.getHotelId());
-        verify(hotelServiceClient).checkRoomAvailability(1L, "AC", 2);
-        verify(hotelServiceClient).updateRoomAvailability(1L, "AC", 2, true);
+        assertEquals("hold-1", testReservation.getHoldToken());
+        assertEquals(4600.0, testReservation.getTotalCost());
+        verify(hotelServiceClient).createHold(eq(1L), any(HotelServiceClient.HoldRequestDto.class));
+        verify(hotelServiceClient, never()).checkRoomAvailability(anyLong(), anyString(), anyInt(), any(), any());
+        verify(hotelServiceClient, never()).updateRoomAvailability(anyLong(), anyString(), anyInt(), anyBoolean(), any(), any());
         verify(reservationRepository).save(any(Reservation.class));
+        verify(intervalIndex).add(testReservation);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createReservation_WithIdempotencyKeyStoresKeyWithReservation() {
+        // Given
+        when(reservationValidator.validate(testReservation))
+            .thenReturn(new HotelServiceClient.PriceQuoteDto(1L, "AC", 2, 2, 2300.0, 4600.0));
+        when(hotelServiceClient.createHold(eq(1L), any(HotelServiceClient.HoldRequestDto.class)))
+            .thenReturn(new HotelServiceClient.HoldDto("hold-1", 1L, "AC", 2, "HELD"));
+        when(idempotencyKeys.execute(eq("key-1"), anyString(), any()))
+            .thenAnswer(invocation -> ((java.util.function.Supplier<Long>) invocation.getArgument(2)).get());
+        when(idempotencyKeys.saveWithKey(eq("key-1"), anyString(), any())).thenReturn(testReservation);
+
+        // When
+        Reservation result = reservationService.createReservation(testReservation, "key-1");
+
+        // Then - saved through the key store, not looked up again
+        assertSame(testReservation, result);
+        verify(idempotencyKeys).saveWithKey(eq("key-1"), eq(IdempotencyKeys.requestHash(testReservation)), any());
+        verify(reservationRepository, never()).findById(anyLong());
+        verify(intervalIndex).add(testReservation);
+    }
+
+    @Test
+    void createReservation_RepeatedIdempotencyKeyReturnsStoredReservation() {
+        // Given
+        when(idempotencyKeys.execute(eq("key-1"), anyString(), any())).thenReturn(1L);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
+
+        // When
+        Reservation result = reservationService.createReservation(testReservation, "key-1");
+
+        // Then - no quote, no hold, no insert
+        assertSame(testReservation, result);
+        verifyNoInteractions(reservationValidator, hotelServiceClient);
+        verify(reservationRepository, never()).save(any(Reservation.class));
     }
 
     @Test
     void createReservation_InsufficientRooms() {
         // Given
-        when(hotelServiceClient.checkRoomAvailability(1L, "AC", 2)).thenReturn(false);
+        when(reservationValidator.validate(testReservation))
+            .thenReturn(new HotelServiceClient.PriceQuoteDto(1L, "AC", 2, 2, 2300.0, 4600.0));
+        when(hotelServiceClient.createHold(eq(1L), any(HotelServiceClient.HoldRequestDto.class)))
+            .thenThrow(mock(FeignException.Conflict.class));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> reservationService.createReservation(testReservation));
         assertEquals("Room availability check failed: Insufficient rooms available for the requested reservation", exception.getMessage());
-        verify(hotelServiceClient).checkRoomAvailability(1L, "AC", 2);
-        verify(hotelServiceClient, never()).updateRoomAvailability(anyLong(), anyString(), anyInt(), anyBoolean());
         verify(reservationRepository, never()).save(any(Reservation.class));
     }
 
     @Test
-    void createReservation_UpdateRoomAvailabilityFails() {
+    void createReservation_HotelServiceUnavailable() {
         // Given
-        when(hotelServiceClient.checkRoomAvailability(1L, "AC", 2)).thenReturn(true);
-        when(hotelServiceClient.updateRoomAvailability(1L, "AC", 2, true)).thenReturn(false);
+        when(reservationValidator.validate(testReservation))
+            .thenReturn(new HotelServiceClient.PriceQuoteDto(1L, "AC", 2, 2, 2300.0, 4600.0));
+        when(hotelServiceClient.createHold(eq(1L), any(HotelServiceClient.HoldRequestDto.class)))
+            .thenThrow(new RuntimeException("Connection refused"));
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> reservationService.createReservation(testReservation));
-        assertEquals("Room availability check failed: Failed to update room availability", exception.getMessage());
-        verify(hotelServiceClient).checkRoomAvailability(1L, "AC", 2);
-        verify(hotelServiceClient).updateRoomAvailability(1L, "AC", 2, true);
+        assertEquals("Room availability check failed: Connection refused", exception.getMessage());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    void createReservation_SaveFails_ReleasesHold() {
+        // Given
+        when(reservationValidator.validate(testReservation))
+            .thenReturn(new HotelServiceClient.PriceQuoteDto(1L, "AC", 2, 2, 2300.0, 4600.0));
+        when(hotelServiceClient.createHold(eq(1L), any(HotelServiceClient.HoldRequestDto.class)))
+            .thenReturn(new HotelServiceClient.HoldDto("hold-1", 1L, "AC", 2, "HELD"));
+        when(reservationRepository.save(any(Reservation.class))).thenThrow(new RuntimeException("Database down"));
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> reservationService.createReservation(testReservation));
+        verify(hotelServiceClient).releaseHold(1L, "hold-1");
+    }
+
+    @Test
+    void createReservation_ValidationRejected_TakesNoRooms() {
+        // Given
+        when(reservationValidator.validate(testReservation))
+            .thenThrow(new RuntimeException("Price quote failed: Connection refused"));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> reservationService.createReservation(testReservation));
+        assertEquals("Price quote failed: Connection refused", exception.getMessage());
+        verify(hotelServiceClient, never()).createHold(anyLong(), any());
         verify(reservationRepository, never()).save(any(Reservation.class));
     }
 
@@ -150,7 +243,6 @@ class ReservationServiceImplTest {
         testReservation.setCheckInDate(LocalDate.now().plusDays(10));
         testReservation.setTotalCost(4000.0);
         when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
-        when(hotelServiceClient.updateRoomAvailability(1L, "AC", 2, false)).thenReturn(true);
         when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
         // When
@@ -161,7 +253,8 @@ class ReservationServiceImplTest {
         assertEquals(ReservationStatus.CANCELLED, result.getStatus());
         assertEquals(4000.0, result.getRefundedAmount()); // 100% refund
         verify(reservationRepository).findById(1L);
-        verify(hotelServiceClient).updateRoomAvailability(1L, "AC", 2, false);
+        verify(inventoryOutbox).enqueue(testReservation);
+        verifyNoInteractions(hotelServiceClient);
         verify(reservationRepository).save(any(Reservation.class));
     }
 
@@ -171,7 +264,6 @@ class ReservationServiceImplTest {
         testReservation.setCheckInDate(LocalDate.now().plusDays(4));
         testReservation.setTotalCost(4000.0);
         when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
-        when(hotelServiceClient.updateRoomAvailability(1L, "AC", 2, false)).thenReturn(true);
         when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
         // When
@@ -182,7 +274,8 @@ class ReservationServiceImplTest {
         assertEquals(ReservationStatus.CANCELLED, result.getStatus());
         assertEquals(3000.0, result.getRefundedAmount()); // 75% refund
         verify(reservationRepository).findById(1L);
-        verify(hotelServiceClient).updateRoomAvailability(1L, "AC", 2, false);
+        verify(inventoryOutbox).enqueue(testReservation);
+        verifyNoInteractions(hotelServiceClient);
         verify(reservationRepository).save(any(Reservation.class));
     }
 
@@ -192,7 +285,6 @@ class ReservationServiceImplTest {
         testReservation.setCheckInDate(LocalDate.now());
         testReservation.setTotalCost(4000.0);
         when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
-        when(hotelServiceClient.updateRoomAvailability(1L, "AC", 2, false)).thenReturn(true);
         when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
         // When
@@ -203,10 +295,44 @@ class ReservationServiceImplTest {
         assertEquals(ReservationStatus.CANCELLED, result.getStatus());
         assertEquals(0.0, result.getRefundedAmount()); // 0% refund
         verify(reservationRepository).findById(1L);
-        verify(hotelServiceClient).updateRoomAvailability(1L, "AC", 2, false);
+        verify(inventoryOutbox).enqueue(testReservation);
+        verifyNoInteractions(hotelServiceClient);
         verify(reservationRepository).save(any(Reservation.class));
     }
 
+    @Test
+    void cancelReservation_QueuesRoomsBeforeStatusChanges() {
+        // Given
+        testReservation.setCheckInDate(LocalDate.now().plusDays(10));
+        testReservation.setHoldToken("hold-1");
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
+        ReservationStatus[] queuedStatus = new ReservationStatus[1];
+        doAnswer(invocation -> queuedStatus[0] = ((Reservation) invocation.getArgument(0)).getStatus())
+            .when(inventoryOutbox).enqueue(testReservation);
+
+        // When
+        Reservation result = reservationService.cancelReservation(1L);
+
+        // Then - queued while still PENDING, so the outbox knows it holds rooms
+        assertEquals(ReservationStatus.CANCELLED, result.getStatus());
+        assertEquals(ReservationStatus.PENDING, queuedStatus[0]);
+        verifyNoInteractions(hotelServiceClient);
+    }
+
+    @Test
+    void cancelReservation_Expired() {
+        // Given
+        testReservation.setStatus(ReservationStatus.EXPIRED);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> reservationService.cancelReservation(1L));
+        assertEquals("Cannot cancel reservation with status: EXPIRED", exception.getMessage());
+        verifyNoInteractions(inventoryOutbox);
+    }
+
     @Test
     void cancelReservation_NotFound() {
         // Given
@@ -217,14 +343,15 @@ class ReservationServiceImplTest {
             () -> reservationService.cancelReservation(1L));
         assertEquals("Reservation not found with id: 1", exception.getMessage());
         verify(reservationRepository).findById(1L);
-        verify(hotelServiceClient, never()).updateRoomAvailability(anyLong(), anyString(), anyInt(), anyBoolean());
+        verifyNoInteractions(inventoryOutbox);
     }
 
     @Test
     void confirmReservation_Success() {
         // Given
         when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
-        when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
+        when(reservationRepository.transition(eq(1L), eq(ReservationStatus.PENDING), eq(ReservationStatus.CONFIRMED),
+                any(LocalDateTime.class))).thenReturn(1);
 
         // When
         Reservation result = reservationService.confirmReservation(1L);
@@ -233,7 +360,25 @@ class ReservationServiceImplTest {
         assertNotNull(result);
         assertEquals(ReservationStatus.CONFIRMED, result.getStatus());
         verify(reservationRepository).findById(1L);
-        verify(reservationRepository).save(any(Reservation.class));
+        verify(holdExpiryScheduler).confirmed(1L);
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    void confirmReservation_ExpiredWhileConfirming() {
+        // Given - the expiry scheduler moved the reservation on between the read and the update
+        Reservation expired = new Reservation();
+        expired.setStatus(ReservationStatus.EXPIRED);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation), Optional.of(expired));
+        when(reservationRepository.transition(eq(1L), eq(ReservationStatus.PENDING), eq(ReservationStatus.CONFIRMED),
+                any(LocalDateTime.class))).thenReturn(0);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> reservationService.confirmReservation(1L));
+        assertEquals("Cannot confirm reservation with status: EXPIRED", exception.getMessage());
+        verify(holdExpiryScheduler, never()).confirmed(anyLong());
+        verify(hotelServiceClient, never()).commitHold(anyLong(), anyString());
     }
 
     @Test
@@ -280,71 +425,60 @@ class ReservationServiceImplTest {
     @Test
     void deleteReservation_Success() {
         // Given
-        when(reservationRepository.existsById(1L)).thenReturn(true);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(testReservation));
 
         // When
         reservationService.deleteReservation(1L);
 
         // Then
-        verify(reservationRepository).existsById(1L);
+        verify(reservationRepository).findById(1L);
         verify(reservationRepository).deleteById(1L);
+        verify(intervalIndex).remove(testReservation);
     }
 
     @Test
     void deleteReservation_NotFound() {
         // Given
-        when(reservationRepository.existsById(1L)).thenReturn(false);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
         RuntimeException exception = assertThrows(RuntimeException.class, 
             () -> reservationService.deleteReservation(1L));
         assertEquals("Reservation not found with id: 1", exception.getMessage());
-        verify(reservationRepository).existsById(1L);
+        verify(reservationRepository).findById(1L);
         verify(reservationRepository, never()).deleteById(anyLong());
+        verifyNoInteractions(intervalIndex);
     }
 
     @Test
     void deleteReservationsByHotelId_Success() {
         // Given
-        Reservation reservation1 = new Reservation();
-        reservation1.setReservationId(1L);
-        reservation1.setHotelId(1L);
-        reservation1.setRoomType("AC");
-        reservation1.setNumberOfRooms(2);
-        reservation1.setStatus(ReservationStatus.CONFIRMED);
-
-        Reservation reservation2 = new Reservation();
-        reservation2.setReservationId(2L);
-        reservation2.setHotelId(1L);
-        reservation2.setRoomType("NON_AC");
-        reservation2.setNumberOfRooms(1);
-        reservation2.setStatus(ReservationStatus.PENDING);
-
-        List<Reservation> reservations = Arrays.asList(reservation1, reservation2);
-        when(reservationRepository.findByHotelId(1L)).thenReturn(reservations);
-        when(hotelServiceClient.updateRoomAvailability(anyLong(), anyString(), anyInt(), eq(false))).thenReturn(true);
+        TeardownProgress progress = new TeardownProgress(1L);
+        progress.setStatus(TeardownStatus.COMPLETED);
+        progress.setReservationsDeleted(2);
+        when(hotelTeardown.run(1L)).thenReturn(progress);
 
         // When
-        reservationService.deleteReservationsByHotelId(1L);
+        TeardownProgress result = reservationService.deleteReservationsByHotelId(1L);
 
-        // Then
-        verify(reservationRepository).findByHotelId(1L);
-        verify(hotelServiceClient, times(2)).updateRoomAvailability(anyLong(), anyString(), anyInt(), eq(false));
-        verify(reservationRepository).deleteAll(reservations);
+        // Then - rows are deleted in chunks, never loaded
+        assertSame(progress, result);
+        verify(hotelTeardown).run(1L);
+        verify(reservationRepository, never()).findByHotelId(anyLong());
+        verify(reservationRepository, never()).deleteAll(any());
+        verifyNoInteractions(hotelServiceClient);
     }
 
     @Test
-    void deleteReservationsByHotelId_NoReservations() {
+    void getHotelTeardown_NotStarted() {
         // Given
-        when(reservationRepository.findByHotelId(1L)).thenReturn(Arrays.asList());
+        when(hotelTeardown.getProgress(1L)).thenReturn(Optional.empty());
 
         // When
-        reservationService.deleteReservationsByHotelId(1L);
+        Optional<TeardownProgress> result = reservationService.getHotelTeardown(1L);
 
         // Then
-        verify(reservationRepository).findByHotelId(1L);
-        verify(hotelServiceClient, never()).updateRoomAvailability(anyLong(), anyString(), anyInt(), anyBoolean());
-        verify(reservationRepository, never()).deleteAll(any());
+        assertFalse(result.isPresent());
     }
 
     @Test
@@ -361,12 +495,15 @@ class ReservationServiceImplTest {
         when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
 
         // When
+        LocalDate checkInDate = testReservation.getCheckInDate();
         Reservation result = reservationService.updateReservation(1L, updatedReservation);
 
-        // Then
+        // Then - the overlap index drops the entry under the old hotel and room type
         assertNotNull(result);
         verify(reservationRepository).findById(1L);
         verify(reservationRepository).save(any(Reservation.class));
+        verify(intervalIndex).remove(1L, 1L, "AC", checkInDate);
+        verify(intervalIndex).add(testReservation);
     }
 
     @Test
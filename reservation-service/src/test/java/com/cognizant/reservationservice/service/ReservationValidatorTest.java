@@ -0,0 +1,199 @@
+package com.cognizant.reservationservice.service;
+
+import com.cognizant.reservationservice.client.HotelServiceClient;
+import com.cognizant.reservationservice.client.UserServiceClient;
+import com.cognizant.reservationservice.model.Reservation;
+import com.cognizant.reservationservice.model.ValidationMetrics;
+import feign.FeignException;
+import feign.MethodMetadata;
+import feign.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationValidatorTest {
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @Mock
+    private HotelServiceClient hotelServiceClient;
+
+    @InjectMocks
+    private ReservationValidator reservationValidator;
+
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reservationValidator, "threads", 4);
+        ReflectionTestUtils.setField(reservationValidator, "queueCapacity", 10);
+        ReflectionTestUtils.setField(reservationValidator, "userTimeoutMillis", 2000L);
+        ReflectionTestUtils.setField(reservationValidator, "hotelTimeoutMillis", 2000L);
+        reservationValidator.init();
+
+        reservation = new Reservation(1L, 10L, "AC", LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3), 2, 2, 100.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationValidator.shutdown();
+    }
+
+    @Test
+    void validate_CallsUserAndHotelServiceAtOnce() {
+        // Given - each service takes 300 ms to answer
+        when(userServiceClient.getUserById(1L)).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return new UserServiceClient.UserDto(1L, "guest", "guest@example.com", "Guest", "555", "CUSTOMER");
+        });
+        when(hotelServiceClient.getQuote(eq(10L), eq("AC"), eq(2), any(LocalDate.class), any(LocalDate.class),
+                any(Request.Options.class)))
+            .thenAnswer(invocation -> {
+                Thread.sleep(300);
+                return new HotelServiceClient.PriceQuoteDto(10L, "AC", 2, 2, 2300.0, 4600.0);
+            });
+
+        // When
+        long start = System.nanoTime();
+        HotelServiceClient.PriceQuoteDto quote = reservationValidator.validate(reservation);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then - about as long as one call, not both
+        assertEquals(4600.0, quote.getTotalCost());
+        assertTrue(millis < 550, "validation took " + millis + " ms");
+        ValidationMetrics metrics = reservationValidator.getMetrics();
+        assertEquals(1, metrics.getValidations());
+        assertEquals(0, metrics.getRejections());
+    }
+
+    @Test
+    void validate_FailsOnTheFirstRejectionWithoutWaitingForTheOtherCall() {
+        // Given - the user is unknown while the quote is still on its way; the quote may be cancelled unstarted
+        when(userServiceClient.getUserById(1L)).thenThrow(mock(FeignException.NotFound.class));
+        lenient().when(hotelServiceClient.getQuote(eq(10L), eq("AC"), eq(2), any(LocalDate.class), any(LocalDate.class),
+                any(Request.Options.class)))
+            .thenAnswer(invocation -> {
+                Thread.sleep(1500);
+                return new HotelServiceClient.PriceQuoteDto(10L, "AC", 2, 2, 2300.0, 4600.0);
+            });
+
+        // When & Then
+        long start = System.nanoTime();
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> reservationValidator.validate(reservation));
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        assertEquals("User validation failed: User not found with id: 1", exception.getMessage());
+        assertTrue(millis < 1000, "rejection took " + millis + " ms");
+        assertEquals(1, reservationValidator.getMetrics().getRejections());
+    }
+
+    @Test
+    void validate_RejectsACallThatMissesItsDeadline() {
+        // Given
+        ReflectionTestUtils.setField(reservationValidator, "hotelTimeoutMillis", 100L);
+        when(userServiceClient.getUserById(1L))
+            .thenReturn(new UserServiceClient.UserDto(1L, "guest", "guest@example.com", "Guest", "555", "CUSTOMER"));
+        when(hotelServiceClient.getQuote(eq(10L), eq("AC"), eq(2), any(LocalDate.class), any(LocalDate.class),
+                any(Request.Options.class)))
+            .thenAnswer(invocation -> {
+                Thread.sleep(1500);
+                return new HotelServiceClient.PriceQuoteDto(10L, "AC", 2, 2, 2300.0, 4600.0);
+            });
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> reservationValidator.validate(reservation));
+        assertEquals("Price quote failed: hotel-service did not answer within 100 ms", exception.getMessage());
+        assertEquals(1, reservationValidator.getMetrics().getTimeouts());
+    }
+
+    @Test
+    void validate_ReportsHotelServiceRejection() {
+        // Given
+        FeignException.BadRequest badRequest = mock(FeignException.BadRequest.class);
+        when(badRequest.contentUTF8()).thenReturn("Room type SUITE not found");
+        lenient().when(userServiceClient.getUserById(1L))
+            .thenReturn(new UserServiceClient.UserDto(1L, "guest", "guest@example.com", "Guest", "555", "CUSTOMER"));
+        when(hotelServiceClient.getQuote(eq(10L), eq("AC"), eq(2), any(LocalDate.class), any(LocalDate.class),
+                any(Request.Options.class)))
+            .thenThrow(badRequest);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> reservationValidator.validate(reservation));
+        assertEquals("Price quote failed: Room type SUITE not found", exception.getMessage());
+    }
+
+    @Test
+    void validate_GivesTheQuoteItsOwnDeadline() {
+        // Given
+        when(userServiceClient.getUserById(1L))
+            .thenReturn(new UserServiceClient.UserDto(1L, "guest", "guest@example.com", "Guest", "555", "CUSTOMER"));
+        when(hotelServiceClient.getQuote(eq(10L), eq("AC"), eq(2), any(LocalDate.class), any(LocalDate.class),
+                any(Request.Options.class)))
+            .thenReturn(new HotelServiceClient.PriceQuoteDto(10L, "AC", 2, 2, 2300.0, 4600.0));
+
+        // When
+        reservationValidator.validate(reservation);
+
+        // Then - the socket gives up by the deadline, and Feign takes the options as options, not as a body
+        ArgumentCaptor<Request.Options> options = ArgumentCaptor.forClass(Request.Options.class);
+        verify(hotelServiceClient).getQuote(eq(10L), eq("AC"), eq(2), any(LocalDate.class), any(LocalDate.class),
+                options.capture());
+        assertEquals(2000, options.getValue().readTimeoutMillis());
+        assertEquals(1000, options.getValue().connectTimeoutMillis());
+        MethodMetadata quote = new SpringMvcContract().parseAndValidateMetadata(HotelServiceClient.class).stream()
+            .filter(metadata -> metadata.method().getName().equals("getQuote"))
+            .findFirst().orElseThrow();
+        assertNull(quote.bodyIndex());
+    }
+
+    @Test
+    void validate_RefusesWithoutCallingEitherServiceWhenThePoolIsFull() throws Exception {
+        // Given - one thread, busy, and a queue of one, already taken
+        reservationValidator.shutdown();
+        ReflectionTestUtils.setField(reservationValidator, "threads", 1);
+        ReflectionTestUtils.setField(reservationValidator, "queueCapacity", 1);
+        reservationValidator.init();
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(reservationValidator, "executor");
+        CountDownLatch busy = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(busy));
+        executor.execute(() -> awaitQuietly(busy));
+
+        // When & Then - refused at once rather than checked on the request thread
+        try {
+            ValidationUnavailableException exception = assertThrows(ValidationUnavailableException.class,
+                () -> reservationValidator.validate(reservation));
+            assertEquals("Reservation checks are at capacity, please retry shortly", exception.getMessage());
+            verifyNoInteractions(userServiceClient, hotelServiceClient);
+            assertEquals(1, reservationValidator.getMetrics().getSaturations());
+        } finally {
+            busy.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.cognizant.userservice.config;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * The synthetic users, as pure functions of the seed and a user id. Every user draws from its own
+ * random stream, so any worker can produce any range of ids in any order and a run with the same
+ * settings always writes the same rows. Ids run from 1 to synthetic-data.users, which is the range
+ * reservation-service picks its guests from; nothing else about a user is read by other services.
+ *
+ * random and mix copy the seeding in hotel-service's com.cognizant.hotelservice.config.SyntheticData,
+ * which is canonical, so every table derives its stream from the seed the same way.
+ */
+final class SyntheticData {
+
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Priya", "Rahul", "Ananya", "Vikram", "Sneha", "Arjun", "Kavya", "Rohan", "Isha",
+        "Karan", "Meera", "Aditya", "Pooja", "Nikhil", "Divya"};
+    private static final String[] LAST_NAMES = {
+        "Sharma", "Patel", "Iyer", "Reddy", "Gupta", "Nair", "Singh", "Das", "Mehta", "Kapoor", "Rao", "Joshi"};
+
+    // The users table's stream; the other services use other stream numbers for their tables
+    private static final long USER_STREAM = 0x3L;
+
+    private final long seed;
+    private final LocalDate startDate;
+
+    SyntheticData(long seed, LocalDate startDate) {
+        this.seed = seed;
+        this.startDate = startDate;
+    }
+
+    User user(long userId) {
+        SplittableRandom random = random(USER_STREAM, userId);
+        User user = new User();
+        user.userId = userId;
+        user.username = "user" + userId;
+        user.email = "user" + userId + "@example.com";
+        user.fullName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        user.phoneNumber = String.valueOf(6_000_000_000L + random.nextLong(4_000_000_000L));
+        // Signed up at most three years before the booking window opens
+        user.createdAt = startDate.minusDays(random.nextInt(3 * 365)).atTime(random.nextInt(24), random.nextInt(60));
+        return user;
+    }
+
+    private SplittableRandom random(long stream, long id) {
+        return new SplittableRandom(mix(seed ^ (stream * 0x9E3779B97F4A7C15L)) + id);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // A plain row of the users table
+    static final class User {
+        long userId;
+        String username;
+        String email;
+        String fullName;
+        String phoneNumber;
+        LocalDateTime createdAt;
+    }
+}
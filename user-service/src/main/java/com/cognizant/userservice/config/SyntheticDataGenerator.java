@@ -0,0 +1,131 @@
+package com.cognizant.userservice.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills an empty users table with synthetic-data.users generated customers (see SyntheticData)
+ * when synthetic-data.enabled is set, with ids 1..n so reservations generated elsewhere point at
+ * them. Id ranges are split across synthetic-data.threads workers writing JDBC batches of
+ * synthetic-data.batch-size rows. Every generated user's password is "password123", hashed once.
+ * Runs before DataInitializer, whose admin and customer accounts then get the next ids.
+ *
+ * Plain INSERTs only, so it works against MySQL and H2 alike.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "synthetic-data.enabled", havingValue = "true")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String INSERT_SQL = "INSERT INTO users (user_id, username, password, email, full_name, "
+            + "phone_number, role, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Ids per task handed to a worker
+    private static final int CHUNK = 20_000;
+
+    @Value("${synthetic-data.seed:42}")
+    private long seed;
+
+    @Value("${synthetic-data.users:1000000}")
+    private int users;
+
+    @Value("${synthetic-data.start-date:2025-01-01}")
+    private String startDate;
+
+    @Value("${synthetic-data.threads:4}")
+    private int threads;
+
+    @Value("${synthetic-data.batch-size:1000}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private String passwordHash;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existing != null && existing > 0) {
+            System.out.println("Synthetic data skipped: users table already has " + existing + " rows");
+            return;
+        }
+        SyntheticData data = new SyntheticData(seed, LocalDate.parse(startDate));
+        passwordHash = passwordEncoder.encode("password123");
+        long started = System.nanoTime();
+        writeInParallel(data, users);
+        restartIdentityAfter("users", "user_id", users);
+        report("users", users, started);
+    }
+
+    private void writeInParallel(SyntheticData data, long count) throws InterruptedException, ExecutionException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (long from = 1; from <= count; from += CHUNK) {
+                long first = from;
+                long last = Math.min(count, from + CHUNK - 1);
+                tasks.add(workers.submit(() -> writeRange(data, first, last)));
+            }
+            // get() rethrows the first failure
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void writeRange(SyntheticData data, long first, long last) {
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (long id = first; id <= last; id++) {
+            SyntheticData.User user = data.user(id);
+            rows.add(new Object[] {user.userId, user.username, passwordHash, user.email, user.fullName,
+                    user.phoneNumber, "CUSTOMER", user.createdAt, user.createdAt});
+            if (rows.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+
+    /*
+     * Rows were written with explicit ids. MySQL moves AUTO_INCREMENT past them by itself; H2 keeps
+     * counting from 1 unless told.
+     */
+    private void restartIdentityAfter(String table, String column, long maxId) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(database)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + (maxId + 1));
+        }
+    }
+
+    private static void report(String what, long rows, long started) {
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        System.out.println("Synthetic data: " + rows + " " + what + " written in " + millis + " ms ("
+                + (rows * 1000L / millis) + " rows/s)");
+    }
+}
@@ -0,0 +1,43 @@
+package com.cognizant.userservice.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataTest {
+
+    private final SyntheticData data = new SyntheticData(42, LocalDate.of(2025, 1, 1));
+
+    @Test
+    void user_IsAFunctionOfSeedAndId() {
+        // Given
+        SyntheticData again = new SyntheticData(42, LocalDate.of(2025, 1, 1));
+        SyntheticData otherSeed = new SyntheticData(7, LocalDate.of(2025, 1, 1));
+
+        // When
+        SyntheticData.User user = data.user(321);
+
+        // Then - same settings give the same rows, whichever order they are asked for in
+        assertEquals("Rahul Nair", user.fullName);
+        assertEquals("6220326970", user.phoneNumber);
+        assertEquals(user.createdAt, again.user(321).createdAt);
+        assertNotEquals(user.phoneNumber, otherSeed.user(321).phoneNumber);
+    }
+
+    @Test
+    void user_HasUniqueLoginAndSignedUpByTheBookingWindow() {
+        for (long id = 1; id <= 2_000; id++) {
+            // When
+            SyntheticData.User user = data.user(id);
+
+            // Then
+            assertEquals(id, user.userId);
+            assertEquals("user" + id, user.username);
+            assertEquals("user" + id + "@example.com", user.email);
+            assertEquals(10, user.phoneNumber.length());
+            assertFalse(user.createdAt.toLocalDate().isAfter(LocalDate.of(2025, 1, 1)));
+        }
+    }
+}